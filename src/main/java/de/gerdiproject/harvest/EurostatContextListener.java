@@ -15,14 +15,18 @@
  */
 package de.gerdiproject.harvest;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import javax.servlet.ServletContextEvent;
 import javax.servlet.annotation.WebListener;
 
 import de.gerdiproject.harvest.application.ContextListener;
 import de.gerdiproject.harvest.etls.AbstractETL;
 import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.eurostat.partition.DataflowPartitions;
+import de.gerdiproject.harvest.eurostat.partition.IDataflowPartition;
 
 /**
  * This class serves as an entry point for initializing the web service.
@@ -32,9 +36,55 @@ import de.gerdiproject.harvest.etls.EurostatETL;
 @WebListener
 public class EurostatContextListener extends ContextListener
 {
+    private static List<EurostatETL> eurostatETLs = Collections.emptyList();
+
+
+    @Override
+    public void contextInitialized(final ServletContextEvent sce)
+    {
+        super.contextInitialized(sce);
+
+        // load the cached SDEM and refresh it in the background,
+        // and prepare the documents of the next harvest periodically
+        for (final EurostatETL etl : eurostatETLs) {
+            etl.getSdemCache().warmUp();
+            etl.getStagingArea().schedule();
+        }
+    }
+
+
     @Override
     protected List<? extends AbstractETL<?, ?>> createETLs()
     {
-        return Arrays.asList(new EurostatETL());
+        final List<EurostatETL> etls = new ArrayList<>();
+
+        // one ETL per partition, all of which are harvested concurrently
+        for (final IDataflowPartition partition : DataflowPartitions.fromEnvironment())
+            etls.add(new EurostatETL(partition));
+
+        setEurostatETLs(etls);
+        return etls;
+    }
+
+
+    /**
+     * Returns all EUROSTAT ETLs that were created by this service.
+     *
+     * @return an unmodifiable list of EUROSTAT ETLs
+     */
+    public static List<EurostatETL> getEurostatETLs()
+    {
+        return eurostatETLs;
+    }
+
+
+    /**
+     * Registers the EUROSTAT ETLs that were created by this service.
+     *
+     * @param etls the created EUROSTAT ETLs
+     */
+    private static void setEurostatETLs(final List<EurostatETL> etls)
+    {
+        eurostatETLs = Collections.unmodifiableList(etls);
     }
 }
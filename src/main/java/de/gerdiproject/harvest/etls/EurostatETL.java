@@ -15,21 +15,42 @@
  */
 package de.gerdiproject.harvest.etls;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.function.Function;
 
 import de.gerdiproject.harvest.config.Configuration;
+import de.gerdiproject.harvest.config.parameters.IntegerParameter;
 import de.gerdiproject.harvest.config.parameters.StringParameter;
 import de.gerdiproject.harvest.config.parameters.constants.ParameterMappingFunctions;
 import de.gerdiproject.harvest.etls.extractors.EurostatExtractor;
 import de.gerdiproject.harvest.etls.extractors.SdmxVO;
 import de.gerdiproject.harvest.etls.transformers.EurostatTransformer;
 import de.gerdiproject.harvest.eurostat.constants.EurostatConstants;
+import de.gerdiproject.harvest.eurostat.constants.HttpConstants;
+import de.gerdiproject.harvest.eurostat.constants.SdemConstants;
+import de.gerdiproject.harvest.eurostat.enums.CombinationCapMode;
+import de.gerdiproject.harvest.eurostat.enums.DimensionSelection;
+import de.gerdiproject.harvest.eurostat.enums.DiscoverySource;
+import de.gerdiproject.harvest.eurostat.enums.DocumentProfile;
+import de.gerdiproject.harvest.eurostat.enums.SamplingMode;
+import de.gerdiproject.harvest.eurostat.enums.StructureReaderType;
+import de.gerdiproject.harvest.eurostat.constants.PartitionConstants;
+import de.gerdiproject.harvest.eurostat.filters.HarvestFilter;
+import de.gerdiproject.harvest.eurostat.partition.IDataflowPartition;
+import de.gerdiproject.harvest.eurostat.partition.ThemePartition;
+import de.gerdiproject.harvest.eurostat.plan.HarvestPlanner;
+import de.gerdiproject.harvest.eurostat.sdem.SdemSnapshotCache;
+import de.gerdiproject.harvest.eurostat.staging.StagingArea;
+import de.gerdiproject.harvest.eurostat.target.DataStructureCache;
+import de.gerdiproject.harvest.eurostat.target.HarvestTarget;
+import de.gerdiproject.harvest.eurostat.target.TargetedHarvester;
 import de.gerdiproject.json.datacite.DataCiteJson;
 import de.gerdiproject.json.datacite.Rights;
 
@@ -48,19 +69,167 @@ public class EurostatETL extends StaticIteratorETL<SdmxVO, DataCiteJson>
     // configurable default values
     private StringParameter publisherParam;
     private StringParameter languageParam;
+    private StringParameter labelLanguagesParam;
     private StringParameter formatParam;
     private StringParameter rightsNameParam;
     private StringParameter rightsUriParam;
     private StringParameter restBaseUrlParam;
     private StringParameter dataProductRegexParam;
     private StringParameter allowedDimensionsParam;
+    private StringParameter dimensionSelectionParam;
+    private StringParameter harvestFilterParam;
+    private IntegerParameter maxCombinationsParam;
+    private StringParameter combinationCapModeParam;
+    private StringParameter samplingModeParam;
+    private IntegerParameter sampleCountParam;
+    private StringParameter sampleFractionParam;
+    private IntegerParameter samplingSeedParam;
+    private StringParameter structureReaderParam;
+    private StringParameter deltaIndexFolderParam;
+    private IntegerParameter duplicateFilterMegabytesParam;
+    private StringParameter documentProfileParam;
+    private IntegerParameter prefetchDataStructuresParam;
+    private IntegerParameter pipelineQueueSizeParam;
+    private IntegerParameter heapLimitPercentParam;
+    private IntegerParameter structureBatchSizeParam;
+    private IntegerParameter hedgingPercentileParam;
+    private IntegerParameter hedgingBudgetPercentParam;
+    private StringParameter geoCodeFileParam;
+    private StringParameter cacheFolderParam;
+    private IntegerParameter sdemMaxAgeParam;
+    private StringParameter discoverySourceParam;
+    private StringParameter tocUrlParam;
+    private StringParameter workQueueParam;
+    private IntegerParameter leaseTimeoutParam;
+    private StringParameter stagingFolderParam;
+    private IntegerParameter stagingIntervalParam;
+    private IntegerParameter stagingMaxAgeParam;
+
+    private final IDataflowPartition partition;
+    private final HarvestPlanner planner;
+    private final SdemSnapshotCache sdemCache;
+    private final StagingArea stagingArea;
+    private final DataStructureCache dataStructureCache;
+    private final TargetedHarvester targetedHarvester;
+    private HarvestFilter harvestFilter;
+    private String harvestFilterRules;
+    private volatile HarvestContext harvestContext = new HarvestContext(null);
+
+    // a harvest that was prepared or started, guarded by the harvest lock
+    private final Object harvestLock = new Object();
+    private boolean isHarvestPending;
+    private boolean isHarvestRunning;
 
     /**
-     * Constructor
+     * Constructor for an ETL that harvests all dataflows.
      */
     public EurostatETL()
     {
-        super(new EurostatExtractor(), new EurostatTransformer());
+        this(ThemePartition.all());
+    }
+
+
+    /**
+     * Constructor for an ETL that only harvests the dataflows of a partition.
+     * The name of the partition is appended to the name of the ETL, so each
+     * partition has its own parameters, state, and version.
+     *
+     * @param partition the dataflows that are harvested by this ETL
+     */
+    public EurostatETL(final IDataflowPartition partition)
+    {
+        super(partition.getName().isEmpty()
+              ? EurostatETL.class.getSimpleName()
+              : String.format(PartitionConstants.ETL_NAME_FORMAT, EurostatETL.class.getSimpleName(), partition.getName()),
+              new EurostatExtractor(),
+              new EurostatTransformer());
+        this.partition = partition;
+        this.planner = new HarvestPlanner(this);
+        this.sdemCache = new SdemSnapshotCache(this);
+        this.stagingArea = new StagingArea(this);
+        this.dataStructureCache = new DataStructureCache();
+        this.targetedHarvester = new TargetedHarvester(this);
+    }
+
+
+    /**
+     * Prepares a harvest of all dataflows, which starts with a new
+     * {@linkplain HarvestContext}. Until the harvest finishes, no targeted
+     * re-harvest can be reserved.
+     *
+     * @throws IllegalStateException if a targeted re-harvest is running
+     */
+    @Override
+    public void prepareHarvest()
+    {
+        synchronized (harvestLock) {
+            if (isHarvestRunning)
+                throw new IllegalStateException(String.format(EurostatConstants.HARVEST_IN_PROGRESS_ERROR, getName()));
+
+            harvestContext = new HarvestContext(null);
+            isHarvestPending = true;
+        }
+
+        super.prepareHarvest();
+    }
+
+
+    @Override
+    public void harvest()
+    {
+        synchronized (harvestLock) {
+            isHarvestPending = false;
+            isHarvestRunning = true;
+        }
+
+        try {
+            super.harvest();
+        } finally {
+            synchronized (harvestLock) {
+                isHarvestRunning = false;
+            }
+        }
+    }
+
+
+    /**
+     * Reserves the ETL for a harvest that is restricted to a single dataflow
+     * or record, unless another harvest was prepared or is running. The check
+     * and the reservation happen atomically, so a harvest that is started via
+     * the REST interface at the same time is refused.
+     *
+     * @param target the dataflow or record that is to be re-harvested
+     *
+     * @return true if the ETL was reserved, and {@linkplain #harvestReserved()} must be called
+     */
+    public boolean reserveHarvest(final HarvestTarget target)
+    {
+        synchronized (harvestLock) {
+            if (isHarvestPending || isHarvestRunning)
+                return false;
+
+            harvestContext = new HarvestContext(target);
+            isHarvestRunning = true;
+            return true;
+        }
+    }
+
+
+    /**
+     * Prepares and runs a harvest that was reserved via
+     * {@linkplain #reserveHarvest(HarvestTarget)}, and releases the
+     * reservation afterwards.
+     */
+    public void harvestReserved()
+    {
+        try {
+            super.prepareHarvest();
+            super.harvest();
+        } finally {
+            synchronized (harvestLock) {
+                isHarvestRunning = false;
+            }
+        }
     }
 
 
@@ -76,6 +245,39 @@ public class EurostatETL extends StaticIteratorETL<SdmxVO, DataCiteJson>
         final Function<String, String> urlMappingFunction =
             ParameterMappingFunctions.createMapperForETL(ParameterMappingFunctions::mapToUrlString, this);
 
+        final Function<String, Integer> unsignedIntegerMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(ParameterMappingFunctions::mapToUnsignedInteger, this);
+
+        final Function<String, String> dimensionSelectionMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(
+                (final String value) -> mapToEnumValue(DimensionSelection.class, value), this);
+
+        final Function<String, String> capModeMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(
+                (final String value) -> mapToEnumValue(CombinationCapMode.class, value), this);
+
+        final Function<String, String> samplingModeMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(
+                (final String value) -> mapToEnumValue(SamplingMode.class, value), this);
+
+        final Function<String, String> fractionMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(EurostatETL::mapToFraction, this);
+
+        final Function<String, String> structureReaderMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(
+                (final String value) -> mapToEnumValue(StructureReaderType.class, value), this);
+
+        final Function<String, String> discoverySourceMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(
+                (final String value) -> mapToEnumValue(DiscoverySource.class, value), this);
+
+        final Function<String, String> documentProfileMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(
+                (final String value) -> mapToEnumValue(DocumentProfile.class, value), this);
+
+        final Function<String, String> harvestFilterMappingFunction =
+            ParameterMappingFunctions.createMapperForETL(EurostatETL::mapToHarvestFilter, this);
+
         // register parameters
         // Structural Definition Exchange Message (SDEM)
         this.sdemUrlParam = Configuration.registerParameter(
@@ -106,6 +308,13 @@ public class EurostatETL extends StaticIteratorETL<SdmxVO, DataCiteJson>
                                      EurostatConstants.LANGUAGE_DEFAULT_VALUE,
                                      stringMappingFunction));
 
+        this.labelLanguagesParam = Configuration.registerParameter(
+                                       new StringParameter(
+                                           EurostatConstants.LABEL_LANGUAGES_KEY,
+                                           getName(),
+                                           EurostatConstants.LABEL_LANGUAGES_DEFAULT_VALUE,
+                                           stringMappingFunction));
+
         this.formatParam = Configuration.registerParameter(
                                new StringParameter(
                                    EurostatConstants.FORMAT_KEY,
@@ -148,6 +357,269 @@ public class EurostatETL extends StaticIteratorETL<SdmxVO, DataCiteJson>
                                               EurostatConstants.ALLOWED_DIMENSIONS_DEFAULT_VALUE,
                                               stringMappingFunction));
 
+        this.dimensionSelectionParam = Configuration.registerParameter(
+                                           new StringParameter(
+                                               EurostatConstants.DIMENSION_SELECTION_KEY,
+                                               getName(),
+                                               EurostatConstants.DIMENSION_SELECTION_DEFAULT_VALUE,
+                                               dimensionSelectionMappingFunction));
+
+        this.harvestFilterParam = Configuration.registerParameter(
+                                      new StringParameter(
+                                          EurostatConstants.HARVEST_FILTER_KEY,
+                                          getName(),
+                                          EurostatConstants.HARVEST_FILTER_DEFAULT_VALUE,
+                                          harvestFilterMappingFunction));
+
+        this.maxCombinationsParam = Configuration.registerParameter(
+                                        new IntegerParameter(
+                                            EurostatConstants.MAX_COMBINATIONS_KEY,
+                                            getName(),
+                                            EurostatConstants.MAX_COMBINATIONS_DEFAULT_VALUE,
+                                            unsignedIntegerMappingFunction));
+
+        this.combinationCapModeParam = Configuration.registerParameter(
+                                           new StringParameter(
+                                               EurostatConstants.COMBINATION_CAP_MODE_KEY,
+                                               getName(),
+                                               EurostatConstants.COMBINATION_CAP_MODE_DEFAULT_VALUE,
+                                               capModeMappingFunction));
+
+        this.samplingModeParam = Configuration.registerParameter(
+                                     new StringParameter(
+                                         EurostatConstants.SAMPLING_MODE_KEY,
+                                         getName(),
+                                         EurostatConstants.SAMPLING_MODE_DEFAULT_VALUE,
+                                         samplingModeMappingFunction));
+
+        this.sampleCountParam = Configuration.registerParameter(
+                                    new IntegerParameter(
+                                        EurostatConstants.SAMPLE_COUNT_KEY,
+                                        getName(),
+                                        EurostatConstants.SAMPLE_COUNT_DEFAULT_VALUE,
+                                        unsignedIntegerMappingFunction));
+
+        this.sampleFractionParam = Configuration.registerParameter(
+                                       new StringParameter(
+                                           EurostatConstants.SAMPLE_FRACTION_KEY,
+                                           getName(),
+                                           EurostatConstants.SAMPLE_FRACTION_DEFAULT_VALUE,
+                                           fractionMappingFunction));
+
+        this.samplingSeedParam = Configuration.registerParameter(
+                                     new IntegerParameter(
+                                         EurostatConstants.SAMPLING_SEED_KEY,
+                                         getName(),
+                                         EurostatConstants.SAMPLING_SEED_DEFAULT_VALUE,
+                                         unsignedIntegerMappingFunction));
+
+        this.structureReaderParam = Configuration.registerParameter(
+                                        new StringParameter(
+                                            EurostatConstants.STRUCTURE_READER_KEY,
+                                            getName(),
+                                            EurostatConstants.STRUCTURE_READER_DEFAULT_VALUE,
+                                            structureReaderMappingFunction));
+
+        this.deltaIndexFolderParam = Configuration.registerParameter(
+                                         new StringParameter(
+                                             EurostatConstants.DELTA_INDEX_FOLDER_KEY,
+                                             getName(),
+                                             EurostatConstants.DELTA_INDEX_FOLDER_DEFAULT_VALUE,
+                                             stringMappingFunction));
+
+        this.duplicateFilterMegabytesParam = Configuration.registerParameter(
+                                                 new IntegerParameter(
+                                                     EurostatConstants.DUPLICATE_FILTER_MEGABYTES_KEY,
+                                                     getName(),
+                                                     EurostatConstants.DUPLICATE_FILTER_MEGABYTES_DEFAULT_VALUE,
+                                                     unsignedIntegerMappingFunction));
+
+        this.documentProfileParam = Configuration.registerParameter(
+                                        new StringParameter(
+                                            EurostatConstants.DOCUMENT_PROFILE_KEY,
+                                            getName(),
+                                            EurostatConstants.DOCUMENT_PROFILE_DEFAULT_VALUE,
+                                            documentProfileMappingFunction));
+
+        this.prefetchDataStructuresParam = Configuration.registerParameter(
+                                               new IntegerParameter(
+                                                   EurostatConstants.PREFETCH_DATA_STRUCTURES_KEY,
+                                                   getName(),
+                                                   EurostatConstants.PREFETCH_DATA_STRUCTURES_DEFAULT_VALUE,
+                                                   unsignedIntegerMappingFunction));
+
+        this.pipelineQueueSizeParam = Configuration.registerParameter(
+                                          new IntegerParameter(
+                                              EurostatConstants.PIPELINE_QUEUE_SIZE_KEY,
+                                              getName(),
+                                              EurostatConstants.PIPELINE_QUEUE_SIZE_DEFAULT_VALUE,
+                                              unsignedIntegerMappingFunction));
+
+        this.heapLimitPercentParam = Configuration.registerParameter(
+                                         new IntegerParameter(
+                                             EurostatConstants.HEAP_LIMIT_PERCENT_KEY,
+                                             getName(),
+                                             EurostatConstants.HEAP_LIMIT_PERCENT_DEFAULT_VALUE,
+                                             unsignedIntegerMappingFunction));
+
+        this.structureBatchSizeParam = Configuration.registerParameter(
+                                           new IntegerParameter(
+                                               EurostatConstants.STRUCTURE_BATCH_SIZE_KEY,
+                                               getName(),
+                                               EurostatConstants.STRUCTURE_BATCH_SIZE_DEFAULT_VALUE,
+                                               unsignedIntegerMappingFunction));
+
+        this.hedgingPercentileParam = Configuration.registerParameter(
+                                          new IntegerParameter(
+                                              EurostatConstants.HEDGING_PERCENTILE_KEY,
+                                              getName(),
+                                              EurostatConstants.HEDGING_PERCENTILE_DEFAULT_VALUE,
+                                              unsignedIntegerMappingFunction));
+
+        this.hedgingBudgetPercentParam = Configuration.registerParameter(
+                                             new IntegerParameter(
+                                                 EurostatConstants.HEDGING_BUDGET_PERCENT_KEY,
+                                                 getName(),
+                                                 EurostatConstants.HEDGING_BUDGET_PERCENT_DEFAULT_VALUE,
+                                                 unsignedIntegerMappingFunction));
+
+        this.geoCodeFileParam = Configuration.registerParameter(
+                                    new StringParameter(
+                                        EurostatConstants.GEO_CODE_FILE_KEY,
+                                        getName(),
+                                        EurostatConstants.GEO_CODE_FILE_DEFAULT_VALUE,
+                                        stringMappingFunction));
+
+        this.cacheFolderParam = Configuration.registerParameter(
+                                    new StringParameter(
+                                        EurostatConstants.CACHE_FOLDER_KEY,
+                                        getName(),
+                                        EurostatConstants.CACHE_FOLDER_DEFAULT_VALUE,
+                                        stringMappingFunction));
+
+        this.sdemMaxAgeParam = Configuration.registerParameter(
+                                   new IntegerParameter(
+                                       EurostatConstants.SDEM_MAX_AGE_KEY,
+                                       getName(),
+                                       EurostatConstants.SDEM_MAX_AGE_DEFAULT_VALUE,
+                                       unsignedIntegerMappingFunction));
+
+        this.discoverySourceParam = Configuration.registerParameter(
+                                        new StringParameter(
+                                            EurostatConstants.DISCOVERY_SOURCE_KEY,
+                                            getName(),
+                                            EurostatConstants.DISCOVERY_SOURCE_DEFAULT_VALUE,
+                                            discoverySourceMappingFunction));
+
+        this.tocUrlParam = Configuration.registerParameter(
+                               new StringParameter(
+                                   EurostatConstants.TOC_URL_KEY,
+                                   getName(),
+                                   EurostatConstants.TOC_URL_DEFAULT_VALUE,
+                                   stringMappingFunction));
+
+        this.workQueueParam = Configuration.registerParameter(
+                                  new StringParameter(
+                                      EurostatConstants.WORK_QUEUE_KEY,
+                                      getName(),
+                                      EurostatConstants.WORK_QUEUE_DEFAULT_VALUE,
+                                      stringMappingFunction));
+
+        this.leaseTimeoutParam = Configuration.registerParameter(
+                                     new IntegerParameter(
+                                         EurostatConstants.LEASE_TIMEOUT_KEY,
+                                         getName(),
+                                         EurostatConstants.LEASE_TIMEOUT_DEFAULT_VALUE,
+                                         unsignedIntegerMappingFunction));
+
+        this.stagingFolderParam = Configuration.registerParameter(
+                                      new StringParameter(
+                                          EurostatConstants.STAGING_FOLDER_KEY,
+                                          getName(),
+                                          EurostatConstants.STAGING_FOLDER_DEFAULT_VALUE,
+                                          stringMappingFunction));
+
+        this.stagingIntervalParam = Configuration.registerParameter(
+                                        new IntegerParameter(
+                                            EurostatConstants.STAGING_INTERVAL_KEY,
+                                            getName(),
+                                            EurostatConstants.STAGING_INTERVAL_DEFAULT_VALUE,
+                                            unsignedIntegerMappingFunction));
+
+        this.stagingMaxAgeParam = Configuration.registerParameter(
+                                      new IntegerParameter(
+                                          EurostatConstants.STAGING_MAX_AGE_KEY,
+                                          getName(),
+                                          EurostatConstants.STAGING_MAX_AGE_DEFAULT_VALUE,
+                                          unsignedIntegerMappingFunction));
+    }
+
+
+    /**
+     * Getter for the partition of dataflows that is harvested by this ETL.
+     *
+     * @return the partition of dataflows that is harvested by this ETL
+     */
+    public IDataflowPartition getPartition()
+    {
+        return partition;
+    }
+
+
+    /**
+     * Getter for the planner that projects the size of the next harvest.
+     *
+     * @return the harvest planner of this ETL
+     */
+    public HarvestPlanner getPlanner()
+    {
+        return planner;
+    }
+
+
+    /**
+     * Getter for the cache of the Structural Data Exchange Message (SDEM).
+     *
+     * @return the SDEM snapshot cache of this ETL
+     */
+    public SdemSnapshotCache getSdemCache()
+    {
+        return sdemCache;
+    }
+
+
+    /**
+     * Getter for the staging area, which prepares the documents of the next
+     * harvest ahead of time.
+     *
+     * @return the staging area of this ETL
+     */
+    public StagingArea getStagingArea()
+    {
+        return stagingArea;
+    }
+
+
+    /**
+     * Getter for the cache of data structures that were retrieved by
+     * targeted harvests.
+     *
+     * @return the data structure cache of this ETL
+     */
+    public DataStructureCache getDataStructureCache()
+    {
+        return dataStructureCache;
+    }
+
+
+    /**
+     * Getter for the harvester that re-harvests single dataflows or records.
+     *
+     * @return the targeted harvester of this ETL
+     */
+    public TargetedHarvester getTargetedHarvester()
+    {
+        return targetedHarvester;
     }
 
 
@@ -205,6 +677,19 @@ public class EurostatETL extends StaticIteratorETL<SdmxVO, DataCiteJson>
     }
 
 
+    /**
+     * Getter for the languages in which titles and descriptions are generated.
+     * The order of the languages also defines which language is used if a
+     * label does not exist in a language.
+     *
+     * @return a list of language codes, e.g. ["en", "de", "fr"]
+     */
+    public List<String> getLabelLanguages()
+    {
+        return Arrays.asList(this.labelLanguagesParam.getValue().trim().split("\\s*,\\s*"));
+    }
+
+
     /**
      * Getter for the default DataCite formats
      * The (only) value is directly retrieved from the corresponding parameter
@@ -268,4 +753,480 @@ public class EurostatETL extends StaticIteratorETL<SdmxVO, DataCiteJson>
     {
         return Arrays.asList(this.allowedDimensionsParam.getValue().split("\\s*,\\s*"));
     }
+
+
+    /**
+     * Getter for the selection of the dimensions that are combined.
+     *
+     * @return the selection of the dimensions that are combined
+     */
+    public DimensionSelection getDimensionSelection()
+    {
+        return DimensionSelection.valueOf(this.dimensionSelectionParam.getValue().toUpperCase(Locale.ENGLISH));
+    }
+
+
+    /**
+     * Getter for the compiled filter rules that restrict which dataflows
+     * and which codes of each dimension are harvested.
+     * The filter is only recompiled if the parameter value changed.
+     *
+     * @return the compiled harvest filter
+     */
+    public synchronized HarvestFilter getHarvestFilter()
+    {
+        final String rules = this.harvestFilterParam.getValue();
+
+        if (harvestFilter == null || !rules.equals(harvestFilterRules)) {
+            harvestFilter = HarvestFilter.compile(rules);
+            harvestFilterRules = rules;
+        }
+
+        return harvestFilter;
+    }
+
+
+    /**
+     * Getter for the maximum number of dimension combinations of a single dataflow.
+     *
+     * @return the maximum number of combinations per dataflow, or 0 if there is no maximum
+     */
+    public long getMaxCombinationsPerDataflow()
+    {
+        return this.maxCombinationsParam.getValue();
+    }
+
+
+    /**
+     * Getter for the strategy that is applied to dataflows which exceed the
+     * maximum number of dimension combinations.
+     *
+     * @return the strategy for dataflows with too many combinations
+     */
+    public CombinationCapMode getCombinationCapMode()
+    {
+        return CombinationCapMode.valueOf(this.combinationCapModeParam.getValue().toUpperCase(Locale.ENGLISH));
+    }
+
+
+    /**
+     * Getter for the mode that defines whether only a sample of the
+     * dimension combinations of each data structure is harvested.
+     *
+     * @return the sampling mode
+     */
+    public SamplingMode getSamplingMode()
+    {
+        return SamplingMode.valueOf(this.samplingModeParam.getValue().toUpperCase(Locale.ENGLISH));
+    }
+
+
+    /**
+     * Getter for the number of combinations that are sampled from each data structure.
+     *
+     * @return the number of sampled combinations per data structure
+     */
+    public int getSampleCount()
+    {
+        return this.sampleCountParam.getValue();
+    }
+
+
+    /**
+     * Getter for the fraction of the combinations that is sampled from each data structure.
+     *
+     * @return a fraction that is greater than 0 and at most 1
+     */
+    public double getSampleFraction()
+    {
+        return Double.parseDouble(this.sampleFractionParam.getValue());
+    }
+
+
+    /**
+     * Getter for the seed of the sampling, so that samples are reproducible.
+     *
+     * @return the seed of the sampling
+     */
+    public long getSamplingSeed()
+    {
+        return this.samplingSeedParam.getValue();
+    }
+
+
+    /**
+     * Getter for the parser that converts data structure definitions.
+     *
+     * @return the type of the structure reader
+     */
+    public StructureReaderType getStructureReaderType()
+    {
+        return StructureReaderType.valueOf(this.structureReaderParam.getValue().toUpperCase(Locale.ENGLISH));
+    }
+
+
+    /**
+     * Getter for the folder in which the delta index of the previous harvest is stored.
+     * If the folder is empty, all documents are harvested regardless of
+     * whether they changed since the previous harvest.
+     * Partitioned ETLs use a sub-folder that is named after the partition.
+     *
+     * @return the path of the delta index folder, or an empty String
+     */
+    public String getDeltaIndexFolder()
+    {
+        return getPartitionFolder(this.deltaIndexFolderParam.getValue().trim());
+    }
+
+
+    /**
+     * Getter for the size of the off-heap Bloom filter that suppresses
+     * documents with duplicate identifiers.
+     *
+     * @return the size of the filter in megabytes, or 0 if duplicates are not suppressed
+     */
+    public int getDuplicateFilterMegabytes()
+    {
+        return this.duplicateFilterMegabytesParam.getValue();
+    }
+
+
+    /**
+     * Getter for the profile that determines which fields the harvested documents contain.
+     *
+     * @return the profile of the harvested documents
+     */
+    public DocumentProfile getDocumentProfile()
+    {
+        return DocumentProfile.valueOf(this.documentProfileParam.getValue().toUpperCase(Locale.ENGLISH));
+    }
+
+
+    /**
+     * Getter for the number of upcoming data structures that are retrieved
+     * in the background while the current data structure is harvested.
+     *
+     * @return the number of data structures that are retrieved ahead,
+     *          or 0 if the data structures are retrieved one after another
+     */
+    public int getPrefetchDataStructures()
+    {
+        return this.prefetchDataStructuresParam.getValue();
+    }
+
+
+    /**
+     * Getter for the maximum number of transformed documents that are
+     * buffered between the transformation and the loader, which run
+     * in separate threads.
+     *
+     * @return the maximum number of buffered documents,
+     *          or 0 if documents are transformed in the thread of the loader
+     */
+    public int getPipelineQueueSize()
+    {
+        return this.pipelineQueueSizeParam.getValue();
+    }
+
+
+    /**
+     * Getter for the heap usage above which no further data structures are
+     * retrieved until memory is freed.
+     *
+     * @return the heap usage limit in percent, or 0 if the heap usage is not checked
+     */
+    public int getHeapLimitPercent()
+    {
+        return this.heapLimitPercentParam.getValue();
+    }
+
+
+    /**
+     * Getter for the number of data structures that are retrieved together
+     * in a single request, including the code lists they refer to.
+     *
+     * @return the number of data structures per request, at least 1
+     */
+    public int getStructureBatchSize()
+    {
+        return Math.max(1, this.structureBatchSizeParam.getValue());
+    }
+
+
+    /**
+     * Getter for the percentile of recent structure request latencies after
+     * which a duplicate request is sent for a request that did not complete.
+     *
+     * @return a percentile between 1 and 99, or 0 if requests are never hedged
+     */
+    public int getHedgingPercentile()
+    {
+        return Math.min(HttpConstants.MAX_HEDGING_PERCENTILE, this.hedgingPercentileParam.getValue());
+    }
+
+
+    /**
+     * Getter for the maximum share of structure requests that may be hedged.
+     *
+     * @return the maximum share of hedged requests in percent
+     */
+    public int getHedgingBudgetPercent()
+    {
+        return this.hedgingBudgetPercentParam.getValue();
+    }
+
+
+    /**
+     * Getter for the folder in which a snapshot of the SDEM is cached between restarts.
+     * If the folder is empty, the SDEM is only cached in memory.
+     * Partitioned ETLs use a sub-folder that is named after the partition.
+     *
+     * @return the path of the cache folder, or an empty String
+     */
+    public String getCacheFolder()
+    {
+        return getPartitionFolder(this.cacheFolderParam.getValue().trim());
+    }
+
+
+    /**
+     * Appends the name of the partition to a folder, so partitions never share files.
+     *
+     * @param folder the path of a folder, or an empty String
+     *
+     * @return the path of the partition sub-folder, or an empty String if the folder is empty
+     */
+    private String getPartitionFolder(final String folder)
+    {
+        return folder.isEmpty() || partition.getName().isEmpty()
+               ? folder
+               : new File(folder, partition.getName()).getPath();
+    }
+
+
+    /**
+     * Getter for the maximum age of a cached SDEM snapshot that can be
+     * harvested without retrieving the SDEM again.
+     *
+     * @return the maximum age of the SDEM snapshot in milliseconds
+     */
+    public long getSdemMaxAgeMillis()
+    {
+        return this.sdemMaxAgeParam.getValue() * SdemConstants.MILLIS_PER_MINUTE;
+    }
+
+
+    /**
+     * Getter for the source from which the dataflows that are to be harvested are discovered.
+     *
+     * @return the source of the dataflows
+     */
+    public DiscoverySource getDiscoverySource()
+    {
+        return DiscoverySource.valueOf(this.discoverySourceParam.getValue().toUpperCase(Locale.ENGLISH));
+    }
+
+
+    /**
+     * Getter for the location of the table of contents of the bulk download.
+     *
+     * @return a URL or the path of a local copy of the table of contents
+     */
+    public String getTocUrl()
+    {
+        return this.tocUrlParam.getValue().trim();
+    }
+
+
+    /**
+     * Getter for the work queue setting, which determines how the dataflows
+     * are distributed among several harvester instances.
+     *
+     * @return an empty String if no queue is used, "local" for a queue that is shared
+     *          by the ETLs of this process, or the path of a folder that is shared by all instances
+     */
+    public String getWorkQueue()
+    {
+        return this.workQueueParam.getValue().trim();
+    }
+
+
+    /**
+     * Getter for the number of seconds after which the claim of a dataflow
+     * expires, if it was not renewed by the claiming instance.
+     *
+     * @return the lease timeout in seconds
+     */
+    public int getLeaseTimeoutSeconds()
+    {
+        return Math.max(1, this.leaseTimeoutParam.getValue());
+    }
+
+
+    /**
+     * Getter for the folder in which the documents of the next harvest are
+     * prepared ahead of time. If the folder is empty, no documents are prepared.
+     * Partitioned ETLs use a sub-folder that is named after the partition.
+     *
+     * @return the path of the staging folder, or an empty String
+     */
+    public String getStagingFolder()
+    {
+        return getPartitionFolder(this.stagingFolderParam.getValue().trim());
+    }
+
+
+    /**
+     * Getter for the interval in which the documents of the next harvest are
+     * prepared in the background.
+     *
+     * @return the interval in milliseconds, or 0 if documents are only prepared on request
+     */
+    public long getStagingIntervalMillis()
+    {
+        return this.stagingIntervalParam.getValue() * SdemConstants.MILLIS_PER_MINUTE;
+    }
+
+
+    /**
+     * Getter for the maximum age of prepared documents that can be submitted
+     * by a harvest without transforming them again.
+     *
+     * @return the maximum age of prepared documents in milliseconds
+     */
+    public long getStagingMaxAgeMillis()
+    {
+        return this.stagingMaxAgeParam.getValue() * SdemConstants.MILLIS_PER_MINUTE;
+    }
+
+
+    /**
+     * Returns a fingerprint of all parameters that affect the content of the
+     * harvested documents, including the version of the harvester. Documents
+     * that were prepared with a different fingerprint are outdated.
+     *
+     * @return a fingerprint of the document configuration
+     */
+    public String getDocumentFingerprint()
+    {
+        return String.join("\n",
+                           String.valueOf(EurostatETL.class.getPackage().getImplementationVersion()),
+                           getPublisher(),
+                           getLanguage(),
+                           labelLanguagesParam.getValue(),
+                           formatParam.getValue(),
+                           rightsNameParam.getValue(),
+                           rightsUriParam.getValue(),
+                           getRestBaseUrl(),
+                           allowedDimensionsParam.getValue(),
+                           dimensionSelectionParam.getValue(),
+                           harvestFilterParam.getValue(),
+                           String.valueOf(getMaxCombinationsPerDataflow()),
+                           combinationCapModeParam.getValue(),
+                           samplingModeParam.getValue(),
+                           String.valueOf(getSampleCount()),
+                           sampleFractionParam.getValue(),
+                           String.valueOf(getSamplingSeed()),
+                           documentProfileParam.getValue(),
+                           geoCodeFileParam.getValue());
+    }
+
+
+    /**
+     * Getter for the context of the current or latest harvest of this ETL,
+     * which is shared by its extractor and its transformer.
+     *
+     * @return the context of the current harvest
+     */
+    public HarvestContext getHarvestContext()
+    {
+        return harvestContext;
+    }
+
+
+    /**
+     * Getter for a file that maps GEO codes to bounding boxes and centroids.
+     * If the path is empty, the GEO codes that are bundled with the harvester are used.
+     *
+     * @return the GEO code file, or null if the bundled GEO codes are to be used
+     */
+    public File getGeoCodeFile()
+    {
+        final String path = this.geoCodeFileParam.getValue().trim();
+        return path.isEmpty() ? null : new File(path);
+    }
+
+
+    /**
+     * Validates a String that represents a constant of an enumeration.
+     *
+     * @param enumClass the class of the enumeration
+     * @param value the String that is to be mapped
+     * @param <E> the type of the enumeration
+     *
+     * @throws IllegalArgumentException if the value is not a constant of the enumeration
+     *
+     * @return the trimmed value
+     */
+    private static <E extends Enum<E>> String mapToEnumValue(final Class<E> enumClass, final String value)
+    throws IllegalArgumentException
+    {
+        final String trimmedValue = value == null ? "" : value.trim();
+
+        try {
+            Enum.valueOf(enumClass, trimmedValue.toUpperCase(Locale.ENGLISH));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                String.format(EurostatConstants.INVALID_ENUM_PARAM_ERROR,
+                              value,
+                              Arrays.toString(enumClass.getEnumConstants()))); // NOPMD stack trace not needed here
+        }
+
+        return trimmedValue;
+    }
+
+
+    /**
+     * Validates a String that represents a fraction.
+     *
+     * @param value the String that is to be mapped
+     *
+     * @throws IllegalArgumentException if the value is not a number greater than 0 and at most 1
+     *
+     * @return the trimmed value
+     */
+    private static String mapToFraction(final String value) throws IllegalArgumentException
+    {
+        final String trimmedValue = value == null ? "" : value.trim();
+        final double fraction;
+
+        try {
+            fraction = Double.parseDouble(trimmedValue);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(
+                String.format(EurostatConstants.INVALID_FRACTION_ERROR, value)); // NOPMD stack trace not needed here
+        }
+
+        if (!(fraction > 0 && fraction <= 1))
+            throw new IllegalArgumentException(String.format(EurostatConstants.INVALID_FRACTION_ERROR, value));
+
+        return trimmedValue;
+    }
+
+
+    /**
+     * Validates a String of {@linkplain HarvestFilter} rules by compiling them.
+     *
+     * @param value the String that is to be mapped
+     *
+     * @throws IllegalArgumentException if the rules cannot be compiled
+     *
+     * @return the trimmed value
+     */
+    private static String mapToHarvestFilter(final String value) throws IllegalArgumentException
+    {
+        final String trimmedValue = value == null ? "" : value.trim();
+        HarvestFilter.compile(trimmedValue);
+        return trimmedValue;
+    }
 }
@@ -0,0 +1,228 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.cancel.CancellationToken;
+import de.gerdiproject.harvest.eurostat.staging.StagedDataflow;
+import de.gerdiproject.harvest.eurostat.target.HarvestTarget;
+
+/**
+ * This class contains the state of a single run of an extractor and a
+ * transformer. A new context is created for every harvest, so the state of
+ * a harvest can never leak into another one, and the extractor and the
+ * transformer of the staging area, the planner, or the command-line batch
+ * mode use contexts of their own.
+ *
+ * @author agent
+ */
+public class HarvestContext
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(HarvestContext.class);
+
+    private final HarvestTarget target;
+    private final CancellationToken cancellation;
+    private final Set<String> retainedDataStructureIds;
+    private final List<Runnable> loadListeners;
+    private volatile List<StagedDataflow> stagedDataflows;
+    private volatile List<String> selectedDataStructureIds;
+    private volatile boolean isExtractionComplete;
+
+
+    /**
+     * Constructor
+     *
+     * @param target the dataflow or record that is re-harvested, or null if all dataflows are harvested
+     */
+    public HarvestContext(final HarvestTarget target)
+    {
+        this.target = target;
+        this.cancellation = new CancellationToken();
+        this.retainedDataStructureIds = ConcurrentHashMap.newKeySet();
+        this.loadListeners = new CopyOnWriteArrayList<>();
+        this.stagedDataflows = Collections.emptyList();
+        this.selectedDataStructureIds = Collections.emptyList();
+    }
+
+
+    /**
+     * Getter for the dataflow or record that is re-harvested by this run.
+     *
+     * @return the target of this run, or null if all dataflows are harvested
+     */
+    public HarvestTarget getTarget()
+    {
+        return target;
+    }
+
+
+    /**
+     * Getter for the token that is cancelled when this run is aborted.
+     *
+     * @return the cancellation token of this run
+     */
+    public CancellationToken getCancellation()
+    {
+        return cancellation;
+    }
+
+
+    /**
+     * Aborts this run, unless it was already aborted. All operations that
+     * observe the cancellation token of the run are cancelled.
+     *
+     * @param reason a log message that explains why the run is aborted
+     */
+    public void abort(final String reason)
+    {
+        if (!cancellation.isCancelled()) {
+            LOGGER.warn(reason);
+            cancellation.cancel();
+        }
+    }
+
+
+    /**
+     * Checks if this run was aborted, either by the ETL or because one of its
+     * threads was interrupted.
+     *
+     * @return true if this run was aborted
+     */
+    public boolean isAborted()
+    {
+        return cancellation.isCancelled();
+    }
+
+
+    /**
+     * Marks that all dataflows of this run were iterated by the extractor.
+     */
+    public void markExtractionComplete()
+    {
+        this.isExtractionComplete = true;
+    }
+
+
+    /**
+     * Checks if all dataflows of this run were iterated by the extractor.
+     * The documents of a run that stopped before are incomplete.
+     *
+     * @return true if all dataflows of this run were iterated
+     */
+    public boolean isExtractionComplete()
+    {
+        return isExtractionComplete;
+    }
+
+
+    /**
+     * Registers a callback that is executed once all documents of this run
+     * were consumed by the loader, unless the run was aborted or did not
+     * iterate all dataflows.
+     *
+     * @param listener a callback that is executed after the documents were loaded
+     */
+    public void onDocumentsLoaded(final Runnable listener)
+    {
+        loadListeners.add(listener);
+    }
+
+
+    /**
+     * Executes the callbacks of {@linkplain #onDocumentsLoaded(Runnable)}
+     * after the loader consumed all documents of this run. Nothing happens
+     * if the run was aborted, or if the extractor did not iterate all dataflows.
+     */
+    public void markDocumentsLoaded()
+    {
+        if (isAborted() || !isExtractionComplete)
+            return;
+
+        for (final Runnable listener : loadListeners)
+            listener.run();
+
+        loadListeners.clear();
+    }
+
+
+    /**
+     * Getter for the data structures that are not harvested by this run, but
+     * whose documents are kept, because they did not change since the previous
+     * harvest or because they are harvested by another harvester instance.
+     * The set is filled by the extractor while the dataflows are selected and claimed.
+     *
+     * @return a modifiable, thread-safe set of the IDs of the retained data structures
+     */
+    public Set<String> getRetainedDataStructureIds()
+    {
+        return retainedDataStructureIds;
+    }
+
+
+    /**
+     * Getter for the dataflows of which the documents were prepared ahead of
+     * time, and are submitted from the staging area.
+     *
+     * @return the staged dataflows of this run
+     */
+    public List<StagedDataflow> getStagedDataflows()
+    {
+        return stagedDataflows;
+    }
+
+
+    /**
+     * Sets the dataflows of which the documents are submitted from the staging area.
+     *
+     * @param stagedDataflows the staged dataflows of this run
+     */
+    public void setStagedDataflows(final List<StagedDataflow> stagedDataflows)
+    {
+        this.stagedDataflows = stagedDataflows;
+    }
+
+
+    /**
+     * Getter for the data structures that were selected for this run, before
+     * they are claimed or taken from the staging area. Each data structure is
+     * listed once.
+     *
+     * @return the IDs of the selected data structures
+     */
+    public List<String> getSelectedDataStructureIds()
+    {
+        return selectedDataStructureIds;
+    }
+
+
+    /**
+     * Sets the data structures that were selected for this run.
+     *
+     * @param selectedDataStructureIds the IDs of the selected data structures
+     */
+    public void setSelectedDataStructureIds(final List<String> selectedDataStructureIds)
+    {
+        this.selectedDataStructureIds = selectedDataStructureIds;
+    }
+}
@@ -0,0 +1,232 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.extractors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * This class represents the cartesian product of the codes of several dimensions.
+ * Instead of materializing all combinations, each combination can be computed
+ * from its index, treating the codes of each dimension as the digits of a
+ * mixed radix number.
+ *
+ * @author agent
+ */
+public class CombinationSpace
+{
+    private final List<DimensionModel> dimensions;
+    private final long size;
+
+    /**
+     * The sorted indices of the combinations of a sample, or null if all combinations are part of the space
+     */
+    private final long[] sampledIndices;
+
+
+    /**
+     * Constructor
+     *
+     * @param dimensions the dimensions of which the codes are to be combined
+     */
+    public CombinationSpace(final List<DimensionModel> dimensions)
+    {
+        this.dimensions = Collections.unmodifiableList(new ArrayList<>(dimensions));
+
+        long product = 1;
+
+        for (final DimensionModel dimension : dimensions) {
+            final int codeCount = dimension.getCodes().size();
+
+            // saturate instead of overflowing
+            product = product > Long.MAX_VALUE / Math.max(codeCount, 1)
+                      ? Long.MAX_VALUE
+                      : product * codeCount;
+        }
+
+        this.size = product;
+        this.sampledIndices = null;
+    }
+
+
+    /**
+     * Constructor for a truncated or sampled combination space.
+     *
+     * @param dimensions the dimensions of which the codes are to be combined
+     * @param size the number of combinations
+     * @param sampledIndices the sorted indices of the sampled combinations, or null
+     */
+    private CombinationSpace(final List<DimensionModel> dimensions, final long size, final long[] sampledIndices)
+    {
+        this.dimensions = dimensions;
+        this.size = size;
+        this.sampledIndices = sampledIndices;
+    }
+
+
+    /**
+     * Returns the dimensions that are combined.
+     *
+     * @return an unmodifiable list of dimensions
+     */
+    public List<DimensionModel> getDimensions()
+    {
+        return dimensions;
+    }
+
+
+    /**
+     * Returns the number of combinations, or {@linkplain Long#MAX_VALUE}
+     * if the number cannot be represented as a long.
+     *
+     * @return the number of combinations
+     */
+    public long size()
+    {
+        return size;
+    }
+
+
+    /**
+     * Computes the combination with the specified index.
+     *
+     * @param index a number between 0 and {@linkplain #size()} - 1
+     *
+     * @return a map of dimension IDs to the codes of the combination
+     */
+    public Map<String, DimensionCode> get(final long index)
+    {
+        final Map<String, DimensionCode> combination = new HashMap<>(dimensions.size() * 2);
+        long remainder = resolveIndex(index);
+
+        for (int i = dimensions.size() - 1; i >= 0; i--) {
+            final DimensionModel dimension = dimensions.get(i);
+            final List<DimensionCode> codes = dimension.getCodes();
+
+            combination.put(dimension.getId(), codes.get((int)(remainder % codes.size())));
+            remainder /= codes.size();
+        }
+
+        return combination;
+    }
+
+
+    /**
+     * Creates a combination space that only contains the first combinations of this space.
+     *
+     * @param maxSize the maximum number of combinations
+     *
+     * @return a combination space that has no more than maxSize combinations
+     */
+    public CombinationSpace truncate(final long maxSize)
+    {
+        return size <= maxSize
+               ? this
+               : new CombinationSpace(dimensions, maxSize, sampledIndices);
+    }
+
+
+    /**
+     * Creates a combination space that only contains a uniform random sample
+     * of the combinations of this space, in their original order. The sample
+     * is drawn with Floyd's algorithm, so only the sampled indices are held
+     * in memory. The same seed always yields the same sample.
+     *
+     * @param sampleSize the number of combinations to be sampled
+     * @param seed the seed of the random number generator
+     *
+     * @return a combination space that has no more than sampleSize combinations
+     */
+    public CombinationSpace sample(final int sampleSize, final long seed)
+    {
+        if (size <= sampleSize)
+            return this;
+
+        final SplittableRandom random = new SplittableRandom(seed);
+        final Set<Long> sample = new HashSet<>(sampleSize * 2);
+
+        for (long j = size - sampleSize; j < size; j++) {
+            final long candidate = random.nextLong(j + 1);
+
+            if (!sample.add(candidate))
+                sample.add(j);
+        }
+
+        final long[] indices = new long[sampleSize];
+        int i = 0;
+
+        for (final long sampledIndex : sample)
+            indices[i++] = resolveIndex(sampledIndex);
+
+        Arrays.sort(indices);
+        return new CombinationSpace(dimensions, sampleSize, indices);
+    }
+
+
+    /**
+     * Maps an index of this space to the index of the combination in the
+     * complete cartesian product.
+     *
+     * @param index a number between 0 and {@linkplain #size()} - 1
+     *
+     * @return the index of the combination in the complete cartesian product
+     */
+    private long resolveIndex(final long index)
+    {
+        return sampledIndices == null ? index : sampledIndices[(int) index];
+    }
+
+
+    /**
+     * Creates a smaller combination space by removing the dimensions with the
+     * most codes, until the number of combinations no longer exceeds a limit.
+     * Each combination of the resulting space therefore aggregates all codes
+     * of the removed dimensions.
+     *
+     * @param maxSize the maximum number of combinations
+     *
+     * @return a combination space that has no more than maxSize combinations
+     */
+    public CombinationSpace aggregate(final long maxSize)
+    {
+        if (size <= maxSize)
+            return this;
+
+        final List<DimensionModel> largestFirst = new ArrayList<>(dimensions);
+        largestFirst.sort(Comparator.comparingInt((final DimensionModel d) -> d.getCodes().size()).reversed());
+
+        final List<DimensionModel> keptDimensions = new ArrayList<>(dimensions);
+        CombinationSpace aggregated = this;
+
+        for (final DimensionModel removedDimension : largestFirst) {
+            keptDimensions.remove(removedDimension);
+            aggregated = new CombinationSpace(keptDimensions);
+
+            if (aggregated.size() <= maxSize)
+                break;
+        }
+
+        return aggregated;
+    }
+}
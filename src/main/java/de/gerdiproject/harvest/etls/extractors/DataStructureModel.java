@@ -0,0 +1,41 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.extractors;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that contains the parts of a data structure
+ * definition (DSD) that are required for generating documents. Unlike the
+ * sdmxsource beans, it does not hold on to any cross references.
+ *
+ * @author agent
+ */
+@Value
+public class DataStructureModel
+{
+    /**
+     * The ID of the data structure, e.g. "DSD_nama_10_gdp"
+     */
+    private final String id;
+
+    /**
+     * All dimensions of the data structure that have a non-empty codelist
+     */
+    private final List<DimensionModel> dimensions;
+}
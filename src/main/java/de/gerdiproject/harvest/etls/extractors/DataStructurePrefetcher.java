@@ -0,0 +1,314 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.extractors;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.EurostatConstants;
+import de.gerdiproject.harvest.eurostat.constants.MemoryConstants;
+import de.gerdiproject.harvest.eurostat.constants.PipelineConstants;
+import de.gerdiproject.harvest.eurostat.memory.HeapAdmissionControl;
+import de.gerdiproject.harvest.eurostat.sdem.DataflowEntry;
+
+/**
+ * This class retrieves the data structures of upcoming dataflows in the
+ * background, so the next data structure is downloaded and parsed while
+ * the documents of the current one are transformed and loaded.
+ * The number of data structures that are retrieved ahead is bounded, and
+ * no data structures are retrieved ahead while the heap usage exceeds its limit.
+ * Consecutive data structures can be retrieved in batches, each of which
+ * requires a single request. Since Eurostat does not document requests of
+ * several data structures, a batch that fails is retrieved one by one, and
+ * all later batches are retrieved one by one as well.
+ *
+ * @author agent
+ */
+class DataStructurePrefetcher
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataStructurePrefetcher.class);
+
+    private final EurostatExtractor extractor;
+    private final HeapAdmissionControl heapAdmission;
+    private final int depth;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Map<String, Future<Map<String, DataStructureModel>>> pendingBatches;
+    private boolean isSuspended;
+    private volatile boolean isBatchingDisabled;
+
+
+    /**
+     * Constructor
+     *
+     * @param extractor the extractor that retrieves the data structures
+     * @param heapAdmission the control that checks the heap usage
+     * @param depth the maximum number of data structures that are retrieved ahead
+     * @param batchSize the number of data structures that are retrieved in a single request
+     */
+    DataStructurePrefetcher(
+        final EurostatExtractor extractor,
+        final HeapAdmissionControl heapAdmission,
+        final int depth,
+        final int batchSize)
+    {
+        this.extractor = extractor;
+        this.heapAdmission = heapAdmission;
+        this.depth = depth;
+        this.batchSize = batchSize;
+        this.pendingBatches = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, PipelineConstants.PREFETCH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Retrieves a data structure, and starts retrieving the data structures
+     * of the upcoming dataflows.
+     *
+     * @param dataStructureId the ID of the data structure that is to be retrieved
+     * @param upcomingDataflows the dataflows of which the data structures are retrieved afterwards
+     *
+     * @throws SdmxException if the DSD could not be retrieved or parsed
+     *
+     * @return a compact model of the data structure
+     */
+    DataStructureModel fetch(final String dataStructureId, final Iterable<DataflowEntry> upcomingDataflows)
+    throws SdmxException
+    {
+        final List<String> candidateIds = new ArrayList<>();
+        candidateIds.add(dataStructureId);
+
+        final Iterator<DataflowEntry> upcomingIter = upcomingDataflows.iterator();
+
+        while (candidateIds.size() <= depth + batchSize && upcomingIter.hasNext())
+            candidateIds.add(upcomingIter.next().getDataStructureId());
+
+        // retrieved data structures occupy the heap until they are harvested
+        final boolean isUnderPressure = heapAdmission.isUnderPressure();
+
+        if (isUnderPressure && !isSuspended)
+            LOGGER.warn(String.format(MemoryConstants.PREFETCH_SUSPENDED,
+                                      heapAdmission.getHeapUsage() * MemoryConstants.PERCENT));
+
+        isSuspended = isUnderPressure;
+
+        // each data structure that is not yet pending starts a new batch
+        final int requiredCount = isUnderPressure ? 1 : Math.min(1 + depth, candidateIds.size());
+
+        for (int i = 0; i < requiredCount; i++) {
+            if (!pendingBatches.containsKey(candidateIds.get(i)))
+                submitBatch(candidateIds.subList(i, candidateIds.size()));
+        }
+
+        final Future<Map<String, DataStructureModel>> pendingBatch = pendingBatches.remove(dataStructureId);
+
+        // the prefetcher was closed, because the harvest was aborted
+        if (pendingBatch == null)
+            throw new SdmxException(new CancellationException(),
+                                    String.format(PipelineConstants.PREFETCH_INTERRUPTED, dataStructureId));
+
+        final DataStructureModel dataStructure = getBatch(dataStructureId, pendingBatch).get(dataStructureId);
+
+        // data structures that are missing from a batch are retrieved one by one
+        return dataStructure == null
+               ? extractor.fetchDataStructure(dataStructureId)
+               : dataStructure;
+    }
+
+
+    /**
+     * Stops waiting for a data structure that is no longer needed. Its
+     * retrieval is cancelled, unless other data structures of its batch
+     * are still needed.
+     *
+     * @param dataStructureId the ID of the data structure
+     */
+    void discard(final String dataStructureId)
+    {
+        final Future<Map<String, DataStructureModel>> pendingBatch = pendingBatches.remove(dataStructureId);
+
+        if (pendingBatch != null && !pendingBatches.containsValue(pendingBatch))
+            pendingBatch.cancel(true);
+    }
+
+
+    /**
+     * Cancels all pending retrievals and stops the background thread.
+     */
+    void close()
+    {
+        // batches that never started must not block threads that wait for them
+        for (final Runnable queuedBatch : executor.shutdownNow()) {
+            if (queuedBatch instanceof Future)
+                ((Future<?>) queuedBatch).cancel(false);
+        }
+
+        pendingBatches.clear();
+    }
+
+
+    /**
+     * Starts retrieving a batch of data structures in the background.
+     * The batch consists of the first data structures of a list that are not
+     * already being retrieved.
+     *
+     * @param dataStructureIds the IDs of the data structures of which the batch is formed
+     */
+    private void submitBatch(final List<String> dataStructureIds)
+    {
+        final List<String> batch = new ArrayList<>();
+
+        for (final String dataStructureId : dataStructureIds) {
+            if (batch.size() == batchSize)
+                break;
+
+            if (!pendingBatches.containsKey(dataStructureId) && !batch.contains(dataStructureId))
+                batch.add(dataStructureId);
+        }
+
+        try {
+            final Future<Map<String, DataStructureModel>> pendingBatch = executor.submit(() -> fetchBatch(batch));
+
+            for (final String dataStructureId : batch)
+                pendingBatches.put(dataStructureId, pendingBatch);
+
+        } catch (final RejectedExecutionException e) { // NOPMD the prefetcher was closed
+        }
+    }
+
+
+    /**
+     * Retrieves a batch of data structures. If the batch cannot be retrieved
+     * in a single request, its data structures and those of all later
+     * batches are retrieved one by one.
+     *
+     * @param batch the IDs of the data structures of the batch
+     *
+     * @throws SdmxException if a single data structure could not be retrieved or parsed,
+     *          or the retrieval was interrupted
+     *
+     * @return a map of data structure IDs to compact models of the data structures
+     */
+    private Map<String, DataStructureModel> fetchBatch(final List<String> batch) throws SdmxException
+    {
+        if (batch.size() == 1)
+            return Collections.singletonMap(batch.get(0), extractor.fetchDataStructure(batch.get(0)));
+
+        if (!isBatchingDisabled) {
+            try {
+                return extractor.fetchDataStructures(batch);
+
+            } catch (final SdmxException e) {
+                // an aborted harvest must not retrieve the data structures one by one
+                if (Thread.currentThread().isInterrupted())
+                    throw e;
+
+                LOGGER.warn(String.format(EurostatConstants.BATCH_FAILED, batch, e.getMessage()));
+                isBatchingDisabled = true;
+            }
+        }
+
+        return fetchEach(batch);
+    }
+
+
+    /**
+     * Retrieves the data structures of a batch one by one. Data structures
+     * that cannot be retrieved are left out, so they are retrieved again when
+     * they are needed, and their failure is handled like that of any other
+     * data structure.
+     *
+     * @param batch the IDs of the data structures of the batch
+     *
+     * @throws SdmxException if the retrieval was interrupted
+     *
+     * @return a map of data structure IDs to compact models of the data structures that were retrieved
+     */
+    private Map<String, DataStructureModel> fetchEach(final List<String> batch) throws SdmxException
+    {
+        final Map<String, DataStructureModel> dataStructures = new HashMap<>();
+
+        for (final String dataStructureId : batch) {
+            try {
+                dataStructures.put(dataStructureId, extractor.fetchDataStructure(dataStructureId));
+
+            } catch (final SdmxException e) {
+                if (Thread.currentThread().isInterrupted())
+                    throw e;
+
+                LOGGER.debug(e.getMessage());
+            }
+        }
+
+        return dataStructures;
+    }
+
+
+    /**
+     * Waits for the retrieval of a batch of data structures.
+     *
+     * @param dataStructureId the ID of the data structure that is waited for
+     * @param pendingBatch the pending retrieval of the batch
+     *
+     * @throws SdmxException if the batch could not be retrieved or the thread was interrupted
+     *
+     * @return a map of data structure IDs to compact models of the data structures
+     */
+    private static Map<String, DataStructureModel> getBatch(
+        final String dataStructureId,
+        final Future<Map<String, DataStructureModel>> pendingBatch) throws SdmxException
+    {
+        try {
+            return pendingBatch.get();
+
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SdmxException(e, String.format(PipelineConstants.PREFETCH_INTERRUPTED, dataStructureId));
+
+        } catch (final CancellationException e) {
+            throw new SdmxException(e, String.format(PipelineConstants.PREFETCH_INTERRUPTED, dataStructureId));
+
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof SdmxException)
+                throw (SdmxException) cause;
+
+            if (cause instanceof Error)
+                throw (Error) cause;
+
+            throw (RuntimeException) cause;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.extractors;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that represents a code of a dimension codelist.
+ * One instance is created per code and data structure, and shared by all
+ * {@linkplain SdmxVO}s that contain the code.
+ *
+ * @author agent
+ */
+@Value
+public class DimensionCode
+{
+    /**
+     * The ID of the code, e.g. "DE"
+     */
+    private final String id;
+
+    /**
+     * The names of the code in all configured languages
+     */
+    private final LocalizedLabels names;
+}
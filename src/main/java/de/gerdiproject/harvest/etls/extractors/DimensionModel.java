@@ -0,0 +1,40 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.extractors;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that represents a dimension of a data structure
+ * with all codes of its codelist.
+ *
+ * @author agent
+ */
+@Value
+public class DimensionModel
+{
+    /**
+     * The ID of the dimension, e.g. "GEO"
+     */
+    private final String id;
+
+    /**
+     * All codes of the codelist of the dimension
+     */
+    private final List<DimensionCode> codes;
+}
@@ -15,34 +15,58 @@
  */
 package de.gerdiproject.harvest.etls.extractors;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.sdmxsource.sdmx.api.exception.SdmxException;
-import org.sdmxsource.sdmx.api.manager.parse.StructureParsingManager;
-import org.sdmxsource.sdmx.api.model.StructureWorkspace;
-import org.sdmxsource.sdmx.api.model.beans.codelist.CodeBean;
-import org.sdmxsource.sdmx.api.model.beans.datastructure.DataStructureBean;
-import org.sdmxsource.sdmx.api.model.beans.datastructure.DataflowBean;
-import org.sdmxsource.sdmx.api.model.superbeans.codelist.CodeSuperBean;
-import org.sdmxsource.sdmx.api.model.superbeans.codelist.CodelistSuperBean;
-import org.sdmxsource.sdmx.api.model.superbeans.datastructure.DataStructureSuperBean;
-import org.sdmxsource.sdmx.api.model.superbeans.datastructure.DimensionSuperBean;
-import org.sdmxsource.sdmx.api.util.ReadableDataLocation;
-import org.sdmxsource.util.factory.SdmxSourceReadableDataLocationFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 import de.gerdiproject.harvest.etls.AbstractETL;
 import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.etls.HarvestContext;
+import de.gerdiproject.harvest.etls.enums.ETLState;
+import de.gerdiproject.harvest.eurostat.cancel.CancellationToken;
+import de.gerdiproject.harvest.eurostat.constants.DedupConstants;
 import de.gerdiproject.harvest.eurostat.constants.EurostatConstants;
-import de.gerdiproject.harvest.eurostat.utils.SdmxUtil;
+import de.gerdiproject.harvest.eurostat.constants.HttpConstants;
+import de.gerdiproject.harvest.eurostat.constants.MemoryConstants;
+import de.gerdiproject.harvest.eurostat.constants.QueueConstants;
+import de.gerdiproject.harvest.eurostat.constants.TargetConstants;
+import de.gerdiproject.harvest.eurostat.constants.TocConstants;
+import de.gerdiproject.harvest.eurostat.enums.CombinationCapMode;
+import de.gerdiproject.harvest.eurostat.enums.DimensionSelection;
+import de.gerdiproject.harvest.eurostat.enums.DiscoverySource;
+import de.gerdiproject.harvest.eurostat.enums.SamplingMode;
+import de.gerdiproject.harvest.eurostat.enums.StructureReaderType;
+import de.gerdiproject.harvest.eurostat.filters.HarvestFilter;
+import de.gerdiproject.harvest.eurostat.http.AdaptiveRateController;
+import de.gerdiproject.harvest.eurostat.http.HedgingPolicy;
+import de.gerdiproject.harvest.eurostat.http.StructureFetcher;
+import de.gerdiproject.harvest.eurostat.jfr.DsdFetchEvent;
+import de.gerdiproject.harvest.eurostat.jfr.SdemLoadEvent;
+import de.gerdiproject.harvest.eurostat.memory.HeapAdmissionControl;
+import de.gerdiproject.harvest.eurostat.partition.IDataflowPartition;
+import de.gerdiproject.harvest.eurostat.queue.IWorkQueue;
+import de.gerdiproject.harvest.eurostat.queue.WorkQueues;
+import de.gerdiproject.harvest.eurostat.sdem.DataflowEntry;
+import de.gerdiproject.harvest.eurostat.sdem.SdemSnapshot;
+import de.gerdiproject.harvest.eurostat.staging.StagedDataflow;
+import de.gerdiproject.harvest.eurostat.structure.IStructureReader;
+import de.gerdiproject.harvest.eurostat.target.HarvestTarget;
+import de.gerdiproject.harvest.eurostat.toc.TableOfContents;
+import de.gerdiproject.harvest.eurostat.toc.TocState;
+import de.gerdiproject.harvest.eurostat.utils.HashUtil;
 
 /**
  * This {@linkplain AbstractIteratorExtractor} implementation extracts all
@@ -55,34 +79,120 @@ public class EurostatExtractor extends AbstractIteratorExtractor<SdmxVO>
     private String version;
     private EurostatETL eurostatETL;
 
-    private StructureParsingManager parser;
-    private StructureWorkspace sdem;
-    private SdmxSourceReadableDataLocationFactory rdlFactory;
+    private SdemSnapshot sdem;
+    private TableOfContents toc;
+    private TocState tocState;
+    private IStructureReader structureReader;
+    private StructureReaderType structureReaderType;
+    private StructureFetcher structureFetcher;
+    private HeapAdmissionControl heapAdmission;
+    private volatile IWorkQueue workQueue;
+    private volatile DataStructurePrefetcher prefetcher;
+    private volatile HarvestContext harvestContext;
+    private final Set<String> unloadedDataStructureIds = ConcurrentHashMap.newKeySet();
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(EurostatExtractor.class);
 
     @Override
     public void init(final AbstractETL<?, ?> etl)
+    {
+        init((EurostatETL) etl, ((EurostatETL) etl).getHarvestContext());
+    }
+
+
+    /**
+     * Initializes the extractor for a run that is not started by the ETL
+     * itself, e.g. for planning or for preparing documents ahead of time.
+     *
+     * @param etl the ETL that provides the configuration
+     * @param context the state of the run, which is shared with the transformer
+     */
+    public void init(final EurostatETL etl, final HarvestContext context)
     {
         super.init(etl);
-        eurostatETL = (EurostatETL) etl;
+        eurostatETL = etl;
+        harvestContext = context;
+
+        initRetrieval();
+        toc = null;
+        tocState = null;
+
+        if (eurostatETL.getDiscoverySource() == DiscoverySource.TOC) {
+            loadTableOfContents();
+            return;
+        }
 
-        //This nonsense is the only way to avoid a NullPointerException that I (weber@lrz.de) found.
-        //We need to let spring initialise the specific class in order to initialise them correctly
-        final ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext("spring/beans.xml");
-        rdlFactory = (SdmxSourceReadableDataLocationFactory) context.getBean("readableDataLocationFactory");
-        parser = (StructureParsingManager) context.getBean("structureParsingManager");
+        final SdemLoadEvent sdemLoadEvent = new SdemLoadEvent();
+        sdemLoadEvent.begin();
+
+        // the SDEM is only retrieved if the cached snapshot is outdated
+        sdem = eurostatETL.getSdemCache().getCurrentSnapshot();
+        version = sdem.getVersion();
+
+        if (sdemLoadEvent.shouldCommit()) {
+            sdemLoadEvent.setSdemUrl(sdem.getSdemUrl());
+            sdemLoadEvent.setVersion(version);
+            sdemLoadEvent.setDataflowCount(sdem.getDataflows().size());
+            sdemLoadEvent.setSnapshotAge(System.currentTimeMillis() - sdem.getRetrievedAt());
+            sdemLoadEvent.commit();
+        }
+    }
+
+
+    /**
+     * Initializes the extractor for planning a harvest. Unlike a harvest, a
+     * plan always selects the dataflows of the cached SDEM snapshot of the ETL,
+     * so neither the table of contents nor an outdated SDEM is retrieved.
+     * The same extractor can be initialized for several plans.
+     *
+     * @param etl the ETL that provides the configuration
+     * @param context the state of the planning
+     */
+    public void initForPlanning(final EurostatETL etl, final HarvestContext context)
+    {
+        eurostatETL = etl;
+        harvestContext = context;
 
-        final ReadableDataLocation rdl = rdlFactory.getReadableDataLocation(this.eurostatETL.getSdemUrl());
-        sdem = parser.parseStructures(rdl);
-        version = sdem.getStructureBeans(false).getHeader().getId();
+        initRetrieval();
+        toc = null;
+        tocState = null;
+        sdem = eurostatETL.getSdemCache().getCurrentSnapshot();
+        version = sdem.getVersion();
+    }
+
+
+    /**
+     * Prepares the retrieval of data structures with the current configuration.
+     * The structure reader is kept as long as the configured reader type does
+     * not change, since the sdmxsource reader creates a Spring context.
+     */
+    private void initRetrieval()
+    {
+        final StructureReaderType readerType = eurostatETL.getStructureReaderType();
+
+        if (structureReader == null || readerType != structureReaderType) {
+            structureReader = readerType.createReader();
+            structureReaderType = readerType;
+        }
+
+        structureFetcher = new StructureFetcher(
+            AdaptiveRateController.getShared(),
+            eurostatETL.getHedgingPercentile() == 0
+            ? null
+            : new HedgingPolicy(eurostatETL.getHedgingPercentile(), eurostatETL.getHedgingBudgetPercent()));
+        heapAdmission = new HeapAdmissionControl(eurostatETL.getHeapLimitPercent());
     }
 
 
     @Override
     public String getUniqueVersionString()
     {
-        return version;
+        // a re-harvest of a single dataflow or record must never be skipped
+        final HarvestTarget target = harvestContext.getTarget();
+
+        return target == null
+               ? version
+               : String.format(TargetConstants.VERSION_FORMAT, version, target);
     }
 
 
@@ -96,183 +206,859 @@ public class EurostatExtractor extends AbstractIteratorExtractor<SdmxVO>
     @Override
     protected Iterator<SdmxVO> extractAll() throws ExtractorException
     {
-        return new EurostatIterator(this.sdem.getStructureBeans(false).getDataflows(),
-                                    this.rdlFactory,
-                                    this.parser,
-                                    this.eurostatETL);
+        final HarvestTarget harvestTarget = harvestContext.getTarget();
+
+        // the documents of skipped dataflows are added to the retained data structures of the context
+        final List<DataflowEntry> selectedDataflows = getSelectedDataflows();
+        final List<String> selectedDataStructureIds = new ArrayList<>();
+
+        for (final DataflowEntry dataflow : selectedDataflows)
+            selectedDataStructureIds.add(dataflow.getDataStructureId());
+
+        // the transformer needs to know all data structures before the first document arrives
+        harvestContext.setSelectedDataStructureIds(selectedDataStructureIds);
+
+        clear();
+
+        // an aborted harvest cancels all retrievals and discards the queued dataflows
+        final CancellationToken cancellation = harvestContext.getCancellation();
+        cancellation.watch(eurostatETL.getName(), () -> eurostatETL.getState() == ETLState.ABORTING);
+
+        // a targeted harvest neither shares its dataflow nor submits prepared documents
+        if (harvestTarget != null) {
+            if (selectedDataflows.isEmpty())
+                LOGGER.warn(String.format(TargetConstants.DATAFLOW_NOT_FOUND, harvestTarget, eurostatETL.getName()));
+
+            return new EurostatIterator(
+                       selectedDataflows,
+                       this,
+                       null,
+                       harvestContext,
+                       this.eurostatETL);
+        }
+
+        workQueue = WorkQueues.create(eurostatETL.getWorkQueue(),
+                                      eurostatETL.getName() + '-' + version,
+                                      eurostatETL.getLeaseTimeoutSeconds());
+
+        // another instance must not skip a dataflow of which the documents were not loaded yet
+        if (workQueue != null)
+            harvestContext.onDocumentsLoaded(this::completeLoadedDataflows);
+
+        // the next data structures are retrieved while the current one is transformed
+        if (eurostatETL.getPrefetchDataStructures() > 0 || eurostatETL.getStructureBatchSize() > 1)
+            prefetcher = new DataStructurePrefetcher(this,
+                                                     heapAdmission,
+                                                     eurostatETL.getPrefetchDataStructures(),
+                                                     eurostatETL.getStructureBatchSize());
+
+        final DataStructurePrefetcher currentPrefetcher = prefetcher;
+
+        if (currentPrefetcher != null)
+            cancellation.onCancel(currentPrefetcher::close);
+
+        final List<DataflowEntry> harvestedDataflows = workQueue == null
+                                                       ? takeStagedDataflows(selectedDataflows)
+                                                       : publishDataflows(selectedDataflows);
+
+        return new EurostatIterator(
+                   harvestedDataflows,
+                   this,
+                   prefetcher,
+                   harvestContext,
+                   this.eurostatETL);
     }
 
 
     /**
-     * Get a list of dimension values which are both configured and present in the data structure
+     * Removes the dataflows of which the documents were prepared in the
+     * staging area from the selected dataflows. The prepared documents are
+     * submitted by the transformer instead. Since the work queue decides which
+     * instance harvests a dataflow, prepared documents are not used if a work
+     * queue is configured.
      *
-     * @param the SdmxVO in question
+     * @param selectedDataflows the dataflows that were selected by this instance
      *
-     * @return a list of all possible combinations of codes of each allowed and present dimension
+     * @return the dataflows that still need to be transformed
      */
-    public static List<Map<String, CodeSuperBean>> getDimensionCombinations(
-        final DataStructureSuperBean dataStructureSuperBean,
-        final EurostatETL etl)
+    private List<DataflowEntry> takeStagedDataflows(final List<DataflowEntry> selectedDataflows)
     {
-        final HashMap<String, List<CodeSuperBean>> input = new HashMap<String, List<CodeSuperBean>>();
+        final List<StagedDataflow> stagedDataflows =
+            eurostatETL.getStagingArea().takeCurrentDataflows(selectedDataflows, this::getDataflowVersion);
+
+        harvestContext.setStagedDataflows(stagedDataflows);
 
-        // get all dimensions that are allowed AND existent in source
-        for (final DimensionSuperBean dimensionSuperBean : dataStructureSuperBean.getDimensions()) {
-            final String id = dimensionSuperBean.getId();
+        if (stagedDataflows.isEmpty())
+            return selectedDataflows;
 
-            if (etl.getAllowedDimensions().contains(id))
-                LOGGER.debug(String.format("%s is an allowed dimension", id));
+        final Set<String> stagedIds = new HashSet<>();
+
+        for (final StagedDataflow stagedDataflow : stagedDataflows) {
+            stagedIds.add(stagedDataflow.getDataStructureId());
+            onDataflowExpanded(stagedDataflow.getDataStructureId());
+        }
 
-            final List<CodeSuperBean> codeList = getCodeList(dataStructureSuperBean, id);
+        final List<DataflowEntry> remainingDataflows = new ArrayList<>();
 
-            if (!codeList.isEmpty())
-                input.put(id, getCodeList(dataStructureSuperBean, id));
+        for (final DataflowEntry dataflow : selectedDataflows) {
+            if (!stagedIds.contains(dataflow.getDataStructureId()))
+                remainingDataflows.add(dataflow);
         }
 
-        //Build a list of all possible combinations of values of each dimension.
-        return SdmxUtil.mapOfListsToListOfMaps(input);
+        return remainingDataflows;
     }
 
 
     /**
-     * Get a list of all Codes given a dimensionId
+     * Publishes the selected dataflows to the work queue and returns the
+     * dataflows of the shared queue. The list is rotated by an offset that
+     * depends on this instance, so that several instances start claiming
+     * dataflows at different positions of the queue.
      *
-     * @param source the SdmxVO to be searched
-     * @param dimensionId the ID of the dimension to be iterated over
+     * @param selectedDataflows the dataflows that were selected by this instance
      *
-     * @return A list of all code values for the dimension in source
+     * @return the dataflows of the shared work queue
      */
-    public static List<CodeSuperBean> getCodeList(
-        final DataStructureSuperBean dataStructureSuperBean, final String dimensionId)
+    private List<DataflowEntry> publishDataflows(final List<DataflowEntry> selectedDataflows)
     {
-        final LinkedList<CodeSuperBean> codes = new LinkedList<CodeSuperBean>();
+        final Map<String, DataflowEntry> dataflowMap = new HashMap<>();
+        final List<String> dataStructureIds = new ArrayList<>();
 
-        final DimensionSuperBean dimensionSuperBean = dataStructureSuperBean
-                                                      .getDimensionById(dimensionId);
+        for (final DataflowEntry dataflow : selectedDataflows) {
+            dataflowMap.put(dataflow.getDataStructureId(), dataflow);
+            dataStructureIds.add(dataflow.getDataStructureId());
+        }
+
+        final List<String> queuedIds = workQueue.publish(dataStructureIds);
+        final List<DataflowEntry> queuedDataflows = new ArrayList<>();
 
-        final CodelistSuperBean codeList = dimensionSuperBean == null
-                                           ? null
-                                           : dimensionSuperBean.getCodelist(true);
+        // dataflows that are unknown to this instance cannot be harvested here
+        for (final String dataStructureId : queuedIds) {
+            final DataflowEntry dataflow = dataflowMap.get(dataStructureId);
 
-        final List<CodeSuperBean> codeBeans =  codeList == null
-                                               ? null
-                                               : codeList.getCodes();
+            if (dataflow != null)
+                queuedDataflows.add(dataflow);
+        }
 
-        if (codeBeans == null)
-            LOGGER.warn(String.format("No Codes for %s, will be ignored!", dimensionId));
-        else
-            codes.addAll(codeBeans);
+        if (!queuedDataflows.isEmpty())
+            Collections.rotate(queuedDataflows, Math.floorMod(WorkQueues.getNodeId().hashCode(), queuedDataflows.size()));
 
-        return codes;
+        return queuedDataflows;
     }
 
 
     /**
-     * This iterator iterates over all dataflows in the sdem and retrieves the
-     * sdmx value objects.
+     * Returns all dataflows of the SDEM or the table of contents of which
+     * the data structure matches the configured data product regex, which
+     * belong to the partition of the ETL, and which are accepted by the
+     * configured {@linkplain HarvestFilter}. Dataflows of the table of
+     * contents that were not updated since the previous harvest are skipped.
+     * If the harvest is restricted to a {@linkplain HarvestTarget}, only the
+     * targeted dataflow is selected, regardless of its last update.
+     * Since the documents of a dataflow only depend on its data structure,
+     * only the first of several dataflows that share a data structure is
+     * harvested.
      *
+     * @return a list of dataflows that are to be harvested
      */
-    private static class EurostatIterator implements Iterator<SdmxVO>
-    {
-        private final Queue<DataflowBean> dataflows = new LinkedList<>();
-        private final Queue<SdmxVO> chunkedDataflow = new LinkedList<>();
-        private final SdmxSourceReadableDataLocationFactory rdlFactory;
-        private final StructureParsingManager parser;
-        private final EurostatETL etl;
-
-
-        /**
-         * Adds a set of DataflowBeans to the harvest queue
-         *
-         * @param dataflows set of DataflowBeans to be added to the queue
-         */
-        public EurostatIterator(final Set<DataflowBean> dataflows,
-                                final SdmxSourceReadableDataLocationFactory rdlFactory,
-                                final StructureParsingManager parser,
-                                final EurostatETL etl)
-        {
-
-            this.rdlFactory = rdlFactory;
-            this.parser = parser;
-            this.etl = etl;
-
-            dataflows.forEach((d) -> {
-                if (d.getDataStructureRef().getMaintainableId().matches(
-                        this.etl.getDataProductRegex()))
-                {
-                    LOGGER.info(String.format("Will process '%s'",
-                                              d.getDataStructureRef().getMaintainableId()));
-                    this.dataflows.add(d);
+    public List<DataflowEntry> getSelectedDataflows()
+    {
+        final String dataProductRegex = this.eurostatETL.getDataProductRegex();
+        final HarvestFilter harvestFilter = this.eurostatETL.getHarvestFilter();
+        final IDataflowPartition partition = this.eurostatETL.getPartition();
+        final Collection<DataflowEntry> dataflows = toc == null ? sdem.getDataflows() : toc.getDataflows();
+        final List<DataflowEntry> selectedDataflows = new ArrayList<>();
+        final Map<String, String> harvestedDataStructures = new HashMap<>();
+        final Set<String> retainedDataStructureIds = harvestContext.getRetainedDataStructureIds();
+        final HarvestTarget harvestTarget = harvestContext.getTarget();
+        int filteredDataflows = 0;
+        int sharingDataflows = 0;
+
+        retainedDataStructureIds.clear();
+
+        for (final DataflowEntry dataflow : dataflows) {
+            final String dataStructureId = dataflow.getDataStructureId();
+
+            if (partition.contains(dataStructureId)
+                && dataStructureId.matches(dataProductRegex)
+                && (harvestTarget == null || harvestTarget.matches(dataflow))) {
+                if (!harvestFilter.acceptsDataflow(dataflow.getId(), dataStructureId))
+                    filteredDataflows++;
+
+                else if (harvestTarget == null && isUnchanged(dataStructureId))
+                    retainedDataStructureIds.add(dataStructureId);
+
+                else if (harvestedDataStructures.containsKey(dataStructureId)) {
+                    LOGGER.debug(String.format(DedupConstants.SHARED_DATA_STRUCTURE,
+                                               dataflow.getId(),
+                                               dataStructureId,
+                                               harvestedDataStructures.get(dataStructureId)));
+                    sharingDataflows++;
                 }
-            });
 
+                else {
+                    LOGGER.info(String.format("Will process '%s'", dataStructureId));
+                    harvestedDataStructures.put(dataStructureId, dataflow.getId());
+                    selectedDataflows.add(dataflow);
+                }
+            }
+        }
+
+        if (sharingDataflows > 0)
+            LOGGER.info(String.format(DedupConstants.SHARED_DATA_STRUCTURES, sharingDataflows));
+
+        if (filteredDataflows > 0)
+            LOGGER.info(String.format(EurostatConstants.DATAFLOW_FILTERED,
+                                      filteredDataflows,
+                                      filteredDataflows + selectedDataflows.size()
+                                      + retainedDataStructureIds.size() + sharingDataflows));
+
+        if (!retainedDataStructureIds.isEmpty())
+            LOGGER.info(String.format(TocConstants.UNCHANGED_DATAFLOWS, retainedDataStructureIds.size()));
+
+        return selectedDataflows;
+    }
+
+
+    /**
+     * Returns a version of a dataflow that changes whenever the documents of
+     * the dataflow may change, i.e. if the configuration of the documents,
+     * the dataflow itself, or the last update of its data in the table of
+     * contents changes. Since the SDEM does not tell when the data structure
+     * of a dataflow was updated, the age of prepared documents is limited as well.
+     *
+     * @param dataflow the dataflow of which the version is returned
+     *
+     * @return a version String of the dataflow
+     */
+    public String getDataflowVersion(final DataflowEntry dataflow)
+    {
+        final StringBuilder versionBuilder = new StringBuilder(eurostatETL.getDocumentFingerprint());
+        versionBuilder.append('\n').append(dataflow.getId())
+        .append('\n').append(dataflow.getDataStructureId())
+        .append('\n').append(dataflow.getNames());
+
+        if (toc != null)
+            versionBuilder.append('\n').append(toc.getLastUpdate(dataflow.getDataStructureId()));
+
+        return Long.toHexString(HashUtil.hash64(versionBuilder));
+    }
+
+
+    /**
+     * Getter for the token that cancels the retrievals of this extractor.
+     *
+     * @return the token that cancels the retrievals of this extractor
+     */
+    public CancellationToken getCancellation()
+    {
+        return harvestContext.getCancellation();
+    }
+
+
+    /**
+     * Reads the table of contents of the bulk download, and the state of the
+     * previous harvest of the table of contents.
+     *
+     * @throws IllegalStateException if the table of contents could not be read
+     */
+    private void loadTableOfContents() throws IllegalStateException
+    {
+        final String tocUrl = eurostatETL.getTocUrl();
+        final long startTime = System.currentTimeMillis();
+
+        try {
+            toc = TableOfContents.read(tocUrl);
+        } catch (final IOException e) {
+            throw new IllegalStateException(String.format(TocConstants.CANNOT_READ_TOC, tocUrl), e);
+        }
+
+        LOGGER.info(String.format(TocConstants.TOC_READ,
+                                  toc.getDataflows().size(),
+                                  tocUrl,
+                                  System.currentTimeMillis() - startTime));
+
+        final String cacheFolder = eurostatETL.getCacheFolder();
+        tocState = new TocState(cacheFolder.isEmpty() ? null : new File(cacheFolder, TocConstants.STATE_FILE_NAME));
+        sdem = null;
+        version = toc.getVersion();
+    }
+
+
+    /**
+     * Checks if a dataflow of the table of contents was harvested before and
+     * was not updated since. Unchanged dataflows remain part of the state of
+     * the table of contents.
+     *
+     * @param dataStructureId the ID of the data structure of the dataflow
+     *
+     * @return true if the dataflow does not need to be harvested
+     */
+    private boolean isUnchanged(final String dataStructureId)
+    {
+        if (toc == null)
+            return false;
+
+        final boolean isUnchanged = tocState.isUnchanged(dataStructureId, toc.getLastUpdate(dataStructureId));
+
+        if (isUnchanged)
+            tocState.setHarvested(dataStructureId, toc.getLastUpdate(dataStructureId));
+
+        return isUnchanged;
+    }
+
+
+    /**
+     * Marks a dataflow as harvested, so it is skipped by the next harvest of
+     * the table of contents unless it is updated.
+     *
+     * @param dataStructureId the ID of the data structure of the dataflow
+     */
+    void onDataflowExpanded(final String dataStructureId)
+    {
+        if (toc != null)
+            tocState.setHarvested(dataStructureId, toc.getLastUpdate(dataStructureId));
+    }
+
+
+    /**
+     * Claims a dataflow of the work queue. Dataflows that are harvested by
+     * other instances are retained, so their documents are not removed from
+     * the index.
+     *
+     * @param dataStructureId the ID of the data structure of the dataflow
+     *
+     * @return true if the dataflow is to be harvested by this instance
+     */
+    boolean claimDataflow(final String dataStructureId)
+    {
+        final IWorkQueue queue = workQueue;
+
+        if (queue == null)
+            return true;
+
+        // a dataflow that is re-claimed from the queue is no longer harvested by another instance
+        if (queue.claim(dataStructureId)) {
+            harvestContext.getRetainedDataStructureIds().remove(dataStructureId);
+            return true;
         }
 
+        LOGGER.info(String.format(QueueConstants.CLAIMED_ELSEWHERE, dataStructureId));
+        harvestContext.getRetainedDataStructureIds().add(dataStructureId);
+        return false;
+    }
+
+
+    /**
+     * Marks a claimed dataflow of the work queue as extracted. The dataflow
+     * stays claimed until all documents of the harvest were loaded, and is
+     * handed back to the queue if the harvest stops before.
+     *
+     * @param dataStructureId the ID of the data structure of the dataflow
+     */
+    void completeDataflow(final String dataStructureId)
+    {
+        if (workQueue != null)
+            unloadedDataStructureIds.add(dataStructureId);
+    }
+
+
+    /**
+     * Marks all extracted dataflows of the work queue as harvested, after
+     * their documents were loaded.
+     */
+    private void completeLoadedDataflows()
+    {
+        final IWorkQueue queue = workQueue;
+
+        if (queue == null)
+            return;
 
-        @Override
-        public boolean hasNext()
-        {
-            return !(dataflows.isEmpty() && chunkedDataflow.isEmpty());
+        for (final String dataStructureId : unloadedDataStructureIds) {
+            queue.complete(dataStructureId);
+            unloadedDataStructureIds.remove(dataStructureId);
         }
+    }
 
 
-        @Override
-        public SdmxVO next()
-        {
-            if (chunkedDataflow.isEmpty()) {
-                final DataflowBean dataflowBean = dataflows.remove();
-
-                try {
-                    //According to the documentation, the "right" way to retrieve all the
-                    //DataStructures would be via a parseStructures(rdl, rds, rdm)-call
-                    //that uses RESTSdmxBeanRetrievalManager in init().
-                    //Unfortunately the RESTSdmxBeanRetrievalManager is throwing
-                    //NullPointerExceptions. This is a workaround until the problem could be solved
-                    //or the source code is available to see WHY these exceptions are thrown.
-
-                    final String url = String.format(EurostatConstants.SDMX_BASE_URL_FORMAT,
-                                                     dataflowBean.getDataStructureRef().getMaintainableId());
-                    LOGGER.debug(url);
-                    final ReadableDataLocation rdl = rdlFactory.getReadableDataLocation(url);
-                    final StructureWorkspace workspace = parser.parseStructures(rdl);
-
-                    final DataStructureSuperBean dataStructureSuperBean =
-                        (DataStructureSuperBean) workspace.getSuperBeans()
-                        .getDataStructures().toArray()[0];
-                    final DataStructureBean dataStructureBean = dataStructureSuperBean.getBuiltFrom();
-
-                    //get all dimensions from the DataStructureBean, filling up chunkedDataflow
-                    for (final Map<String, CodeSuperBean> dimensionCombination :
-                         getDimensionCombinations(dataStructureSuperBean, this.etl)) {
-
-                        final Map<String, CodeBean> convertedDimensionCombination
-                            = new HashMap<String, CodeBean>();
-
-                        for (final Map.Entry<String, CodeSuperBean> entry : dimensionCombination.entrySet())
-                            convertedDimensionCombination.put(entry.getKey(), entry.getValue().getBuiltFrom());
-
-                        chunkedDataflow.add(new SdmxVO(
-                                                dataflowBean.getNames(),
-                                                dataStructureBean,
-                                                convertedDimensionCombination));
-                    }
-
-                } catch (final SdmxException e) {
-                    LOGGER.warn(String.format("Ignoring %s",
-                                              dataflowBean.getDataStructureRef().getMaintainableId()));
-                    LOGGER.warn(e.getMessage());
-                    return next();
-                }
+    /**
+     * Returns the dataflows of the work queue that are neither harvested nor
+     * claimed by any instance, e.g. because another instance handed them back.
+     *
+     * @return the IDs of the data structures of the dataflows that can be claimed
+     */
+    List<String> getUnclaimedDataflows()
+    {
+        final IWorkQueue queue = workQueue;
+
+        return queue == null ? Collections.emptyList() : queue.getUnclaimed();
+    }
+
+
+    /**
+     * Marks a dataflow that could not be harvested. Its documents of the
+     * previous harvest are retained, so that a transient failure, such as a
+     * throttled or refused request, does not delete them from the index.
+     * A claimed dataflow is handed back to the work queue, so that another
+     * instance can harvest it.
+     *
+     * @param dataStructureId the ID of the data structure of the dataflow
+     */
+    void releaseDataflow(final String dataStructureId)
+    {
+        harvestContext.getRetainedDataStructureIds().add(dataStructureId);
+
+        final IWorkQueue queue = workQueue;
+
+        if (queue != null)
+            queue.release(dataStructureId);
+    }
+
+
+    /**
+     * Saves the state of the table of contents after all dataflows were
+     * harvested. The state is not changed by targeted harvests, since the
+     * other dataflows were not harvested.
+     */
+    void onDataflowsExhausted()
+    {
+        if (toc != null && harvestContext.getTarget() == null)
+            tocState.save();
+    }
+
+
+    /**
+     * Getter for the dataflow or record that is re-harvested by the current
+     * harvest.
+     *
+     * @return the target of the current harvest, or null if all selected dataflows are harvested
+     */
+    HarvestTarget getHarvestTarget()
+    {
+        return harvestContext.getTarget();
+    }
+
+
+    /**
+     * Downloads and parses a data structure definition (DSD). If the heap
+     * usage exceeds the configured limit, the retrieval is delayed until
+     * memory is freed. If the harvest is aborted, the retrieval is cancelled.
+     * Targeted harvests reuse data structures that were retrieved by previous
+     * targeted harvests, as long as they are not older than a cached SDEM snapshot.
+     *
+     * @param dataStructureId the ID of the data structure, e.g. "DSD_nama_10_gdp"
+     *
+     * @throws SdmxException if the DSD could not be retrieved or parsed, or the retrieval was cancelled
+     *
+     * @return a compact model of the data structure
+     */
+    public DataStructureModel fetchDataStructure(final String dataStructureId) throws SdmxException
+    {
+        //According to the documentation, the "right" way to retrieve all the
+        //DataStructures would be via a parseStructures(rdl, rds, rdm)-call
+        //that uses RESTSdmxBeanRetrievalManager in init().
+        //Unfortunately the RESTSdmxBeanRetrievalManager is throwing
+        //NullPointerExceptions. This is a workaround until the problem could be solved
+        //or the source code is available to see WHY these exceptions are thrown.
+
+        final CancellationToken currentCancellation = harvestContext.getCancellation();
+        final boolean isTargeted = harvestContext.getTarget() != null;
+        final List<String> labelLanguages = this.eurostatETL.getLabelLanguages();
+
+        if (isTargeted) {
+            final DataStructureModel cachedStructure = eurostatETL.getDataStructureCache().get(
+                                                           dataStructureId,
+                                                           labelLanguages,
+                                                           eurostatETL.getSdemMaxAgeMillis());
+
+            if (cachedStructure != null)
+                return cachedStructure;
+        }
+
+        // aborting the harvest interrupts waiting for memory and parsing the DSD
+        try (CancellationToken.Registration registration = currentCancellation.interruptOnCancel()) {
+            admit(dataStructureId);
+
+            final DsdFetchEvent fetchEvent = new DsdFetchEvent();
+            fetchEvent.begin();
+
+            final String url = String.format(EurostatConstants.SDMX_BASE_URL_FORMAT, dataStructureId);
+            LOGGER.debug(url);
+
+            byte[] structure = null;
+            DataStructureModel dataStructure = null;
+
+            try {
+                structure = structureFetcher.fetch(url, currentCancellation);
+                dataStructure = structureReader.read(structure, labelLanguages);
+
+                if (isTargeted)
+                    eurostatETL.getDataStructureCache().put(dataStructure, labelLanguages);
+
+                return dataStructure;
+
+            } finally {
+                if (fetchEvent.shouldCommit())
+                    commitFetchEvent(fetchEvent,
+                                     dataStructureId,
+                                     structure,
+                                     dataStructure == null ? null : Collections.singletonList(dataStructure));
+            }
+        }
+    }
+
+
+    /**
+     * Downloads several data structure definitions (DSDs) and the code lists
+     * they refer to in a single request, and parses the combined structure
+     * message once. Code lists that are shared by several DSDs are therefore
+     * only transferred and parsed once.
+     *
+     * @param dataStructureIds the IDs of the data structures
+     *
+     * @throws SdmxException if the combined structure message could not be retrieved or parsed
+     *
+     * @return a map of data structure IDs to compact models of all data structures
+     *          that are part of the structure message
+     */
+    public Map<String, DataStructureModel> fetchDataStructures(final List<String> dataStructureIds) throws SdmxException
+    {
+        final String joinedIds = String.join(EurostatConstants.BATCH_ID_SEPARATOR, dataStructureIds);
+        final CancellationToken currentCancellation = harvestContext.getCancellation();
+
+        // aborting the harvest interrupts waiting for memory and parsing the DSDs
+        try (CancellationToken.Registration registration = currentCancellation.interruptOnCancel()) {
+            admit(joinedIds);
+
+            final DsdFetchEvent fetchEvent = new DsdFetchEvent();
+            fetchEvent.begin();
+
+            final String url = String.format(EurostatConstants.SDMX_BATCH_URL_FORMAT, joinedIds);
+            LOGGER.debug(url);
+
+            byte[] structure = null;
+            List<DataStructureModel> dataStructureList = null;
+
+            try {
+                structure = structureFetcher.fetch(url, currentCancellation);
+                dataStructureList = structureReader.readAll(structure, this.eurostatETL.getLabelLanguages());
+
+                final Map<String, DataStructureModel> dataStructures = new HashMap<>();
+
+                for (final DataStructureModel dataStructure : dataStructureList)
+                    dataStructures.put(dataStructure.getId(), dataStructure);
+
+                return dataStructures;
+
+            } finally {
+                if (fetchEvent.shouldCommit())
+                    commitFetchEvent(fetchEvent, joinedIds, structure, dataStructureList);
+            }
+        }
+    }
+
+
+    /**
+     * Blocks until the heap usage permits the retrieval of data structures.
+     *
+     * @param dataStructureIds the ID or IDs of the data structures that are to be retrieved
+     *
+     * @throws SdmxException if the thread was interrupted while waiting
+     */
+    private void admit(final String dataStructureIds) throws SdmxException
+    {
+        try {
+            heapAdmission.admit(dataStructureIds);
+
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SdmxException(e, String.format(MemoryConstants.ADMISSION_INTERRUPTED, dataStructureIds));
+        }
+    }
+
+
+    /**
+     * Completes a {@linkplain DsdFetchEvent} and records it.
+     *
+     * @param fetchEvent the event that is to be recorded
+     * @param dataStructureIds the ID or '+'-separated IDs of the fetched data structures
+     * @param structure the downloaded structure message, or null if the download failed
+     * @param dataStructures the parsed data structures, or null if the fetch failed
+     */
+    private static void commitFetchEvent(
+        final DsdFetchEvent fetchEvent,
+        final String dataStructureIds,
+        final byte[] structure,
+        final Collection<DataStructureModel> dataStructures)
+    {
+        fetchEvent.setDataStructureId(dataStructureIds);
+        fetchEvent.setBytes(structure == null ? 0 : structure.length);
+        fetchEvent.setSucceeded(dataStructures != null);
+
+        if (dataStructures != null) {
+            int dimensionCount = 0;
+            int codeCount = 0;
+
+            for (final DataStructureModel dataStructure : dataStructures) {
+                dimensionCount += dataStructure.getDimensions().size();
+
+                for (final DimensionModel dimension : dataStructure.getDimensions())
+                    codeCount += dimension.getCodes().size();
+            }
+
+            fetchEvent.setDimensionCount(dimensionCount);
+            fetchEvent.setCodeCount(codeCount);
+        }
+
+        fetchEvent.commit();
+    }
+
+
+    /**
+     * Get all combinations of codes of the dimensions of the data structure.
+     * If the {@linkplain DimensionSelection} is restricted to the allowed
+     * dimensions, only dimensions which are both configured and present in
+     * the data structure are combined.
+     * The codes of each dimension are filtered by the configured {@linkplain HarvestFilter}
+     * beforehand, so that combinations of filtered codes are never generated.
+     *
+     * @param dataStructure the data structure in question
+     * @param etl the ETL that provides the configuration
+     *
+     * @return all possible combinations of codes of each selected and present dimension
+     */
+    public static CombinationSpace getCombinationSpace(
+        final DataStructureModel dataStructure,
+        final EurostatETL etl)
+    {
+        final List<String> allowedDimensions = etl.getAllowedDimensions();
+        final boolean isAllowedOnly = etl.getDimensionSelection() == DimensionSelection.ALLOWED;
+        final HarvestFilter harvestFilter = etl.getHarvestFilter();
+        final List<DimensionModel> input = new ArrayList<>();
+
+        // get all dimensions that are existent in source, and allowed if so configured
+        for (final DimensionModel dimension : dataStructure.getDimensions()) {
+            final boolean isAllowed = allowedDimensions.contains(dimension.getId());
+
+            if (isAllowed)
+                LOGGER.debug(String.format("%s is an allowed dimension", dimension.getId()));
+
+            if (isAllowed || !isAllowedOnly)
+                input.add(filterCodes(dataStructure.getId(), dimension, harvestFilter));
+        }
+
+        return new CombinationSpace(input);
+    }
+
+
+    /**
+     * Removes all codes of a dimension that are rejected by a {@linkplain HarvestFilter}.
+     * If all codes are rejected, the resulting dimension has no codes, which
+     * causes the data structure to yield no combinations at all.
+     *
+     * @param dataStructureId the ID of the data structure, used for logging
+     * @param dimension the dimension of which the codes are to be filtered
+     * @param harvestFilter the filter that accepts or rejects codes
+     *
+     * @return the dimension itself, or a copy that only contains accepted codes
+     */
+    private static DimensionModel filterCodes(
+        final String dataStructureId,
+        final DimensionModel dimension,
+        final HarvestFilter harvestFilter)
+    {
+        if (!harvestFilter.hasCodeRules(dimension.getId()))
+            return dimension;
+
+        final List<DimensionCode> acceptedCodes = new ArrayList<>();
+
+        for (final DimensionCode code : dimension.getCodes()) {
+            if (harvestFilter.acceptsCode(dimension.getId(), code.getId()))
+                acceptedCodes.add(code);
+        }
+
+        LOGGER.debug(String.format(EurostatConstants.CODES_FILTERED,
+                                   dataStructureId,
+                                   acceptedCodes.size(),
+                                   dimension.getCodes().size(),
+                                   dimension.getId()));
+
+        return new DimensionModel(dimension.getId(), acceptedCodes);
+    }
+
+
+    /**
+     * Reduces the combinations of a data structure to the single combination
+     * of a targeted record. The truncation and the sampling are not applied,
+     * since the record was explicitly requested. If the combinations are
+     * aggregated by the configured cap, they are aggregated the same way
+     * beforehand, so the records of an aggregated data structure can be
+     * re-harvested as well.
+     *
+     * @param dataStructureId the ID of the data structure, used for logging
+     * @param combinations all combinations of the data structure
+     * @param target the targeted record
+     * @param etl the ETL that provides the configuration
+     *
+     * @return the combination of the record, or an empty combination space if
+     *          the record is not part of the combinations
+     */
+    public static CombinationSpace applyTarget(
+        final String dataStructureId,
+        final CombinationSpace combinations,
+        final HarvestTarget target,
+        final EurostatETL etl)
+    {
+        final long maxCombinations = etl.getMaxCombinationsPerDataflow();
+
+        // the records of an aggregated data structure lack the aggregated dimensions
+        final CombinationSpace harvestedCombinations =
+            maxCombinations > 0 && etl.getCombinationCapMode() == CombinationCapMode.AGGREGATE
+            ? combinations.aggregate(maxCombinations)
+            : combinations;
+
+        final Map<String, String> targetCodes = target.getDimensionCodes();
+        final List<DimensionModel> targetDimensions = new ArrayList<>();
+        boolean isFound = harvestedCombinations.getDimensions().size() == targetCodes.size();
+
+        for (final DimensionModel dimension : harvestedCombinations.getDimensions()) {
+            final String targetCode = targetCodes.get(dimension.getId());
+            final List<DimensionCode> matchingCodes = new ArrayList<>();
+
+            for (final DimensionCode code : dimension.getCodes()) {
+                if (code.getId().equals(targetCode))
+                    matchingCodes.add(code);
             }
 
-            return chunkedDataflow.remove();
+            isFound &= !matchingCodes.isEmpty();
+            targetDimensions.add(new DimensionModel(dimension.getId(), matchingCodes));
+        }
+
+        if (!isFound) {
+            LOGGER.warn(String.format(TargetConstants.RECORD_NOT_FOUND, target));
+            return combinations.truncate(0);
         }
+
+        LOGGER.info(String.format(TargetConstants.RECORD_FOUND, target, dataStructureId));
+        return new CombinationSpace(targetDimensions);
+    }
+
+
+    /**
+     * Applies the configured maximum number of combinations per dataflow.
+     * Depending on the configured {@linkplain CombinationCapMode}, a combination
+     * space that is too big is either skipped, truncated, or aggregated.
+     *
+     * @param dataStructureId the ID of the data structure, used for logging
+     * @param combinations all combinations of the data structure
+     * @param etl the ETL that provides the configuration
+     *
+     * @return the combinations that are to be harvested, or null if the data structure is to be skipped
+     */
+    public static CombinationSpace applyCombinationCap(
+        final String dataStructureId,
+        final CombinationSpace combinations,
+        final EurostatETL etl)
+    {
+        final long maxCombinations = etl.getMaxCombinationsPerDataflow();
+
+        if (maxCombinations <= 0 || combinations.size() <= maxCombinations)
+            return combinations;
+
+        final CombinationCapMode capMode = etl.getCombinationCapMode();
+        final CombinationSpace cappedCombinations;
+
+        switch (capMode) {
+            case TRUNCATE:
+                cappedCombinations = combinations.truncate(maxCombinations);
+                break;
+
+            case AGGREGATE:
+                cappedCombinations = combinations.aggregate(maxCombinations);
+                break;
+
+            default:
+                cappedCombinations = null;
+                break;
+        }
+
+        LOGGER.warn(String.format(EurostatConstants.COMBINATION_CAP_EXCEEDED,
+                                  dataStructureId,
+                                  combinations.size(),
+                                  maxCombinations,
+                                  capMode,
+                                  cappedCombinations == null ? 0 : cappedCombinations.size()));
+
+        return cappedCombinations;
+    }
+
+
+    /**
+     * Reduces the combinations of a data structure to a uniform random sample,
+     * if a sampling mode is configured. The sample of a data structure only
+     * depends on the seed and on the ID of the data structure.
+     *
+     * @param dataStructureId the ID of the data structure
+     * @param combinations the combinations that are to be harvested
+     * @param etl the ETL that provides the configuration
+     *
+     * @return the sampled combinations
+     */
+    public static CombinationSpace applySampling(
+        final String dataStructureId,
+        final CombinationSpace combinations,
+        final EurostatETL etl)
+    {
+        final SamplingMode samplingMode = etl.getSamplingMode();
+
+        if (samplingMode == SamplingMode.OFF)
+            return combinations;
+
+        final long sampleSize = samplingMode == SamplingMode.COUNT
+                                ? etl.getSampleCount()
+                                : (long) Math.ceil(etl.getSampleFraction() * combinations.size());
+
+        final CombinationSpace sampledCombinations = combinations.sample(
+                                                         (int) Math.min(sampleSize, EurostatConstants.MAX_SAMPLE_SIZE),
+                                                         etl.getSamplingSeed() ^ HashUtil.hash64(dataStructureId));
+
+        LOGGER.info(String.format(EurostatConstants.COMBINATIONS_SAMPLED,
+                                  dataStructureId,
+                                  sampledCombinations.size(),
+                                  combinations.size()));
+
+        return sampledCombinations;
     }
 
 
     @Override
     public void clear()
     {
-        // nothing to clean up
+        // the cancellation of a finished harvest no longer needs to be watched
+        if (harvestContext != null)
+            harvestContext.getCancellation().stopWatching();
+
+        // report how often slow structure requests were duplicated
+        final HedgingPolicy hedgingPolicy = structureFetcher == null ? null : structureFetcher.getHedgingPolicy();
+
+        if (hedgingPolicy != null && hedgingPolicy.getHedgeCount() > 0)
+            LOGGER.info(String.format(HttpConstants.HEDGING_SUMMARY,
+                                      hedgingPolicy.getHedgeCount(),
+                                      hedgingPolicy.getRequestCount(),
+                                      hedgingPolicy.getHedgeWinCount()));
+
+        // stop retrieving data structures in the background
+        if (prefetcher != null) {
+            prefetcher.close();
+            prefetcher = null;
+        }
+
+        // hand unfinished dataflows and dataflows of which the documents were not loaded back to the other instances
+        if (workQueue != null) {
+            workQueue.close();
+            workQueue = null;
+        }
+
+        unloadedDataStructureIds.clear();
     }
 }
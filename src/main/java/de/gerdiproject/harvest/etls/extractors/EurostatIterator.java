@@ -0,0 +1,342 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.extractors;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.etls.HarvestContext;
+import de.gerdiproject.harvest.eurostat.constants.CancellationConstants;
+import de.gerdiproject.harvest.eurostat.constants.QueueConstants;
+import de.gerdiproject.harvest.eurostat.jfr.CombinationExpansionEvent;
+import de.gerdiproject.harvest.eurostat.sdem.DataflowEntry;
+import de.gerdiproject.harvest.eurostat.target.HarvestTarget;
+
+/**
+ * This iterator iterates over all dataflows in the sdem and retrieves the
+ * sdmx value objects. The combinations of dimension codes of a dataflow are
+ * computed one at a time, so they never need to be held in memory at once.
+ * If the harvest is aborted, or if the iterating thread is interrupted, all
+ * remaining dataflows are discarded and the harvest is marked as aborted,
+ * so that its incomplete documents are never mistaken for a complete harvest.
+ * Before the iteration ends, dataflows that were handed back to the work
+ * queue by other instances are claimed again.
+ *
+ * @author agent
+ */
+class EurostatIterator implements Iterator<SdmxVO>
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(EurostatIterator.class);
+
+    private final Queue<DataflowEntry> dataflows;
+    private final Map<String, DataflowEntry> queuedDataflows;
+    private final Set<String> requeuedDataStructureIds;
+    private final Set<String> failedDataStructureIds;
+    private final EurostatExtractor extractor;
+    private final DataStructurePrefetcher prefetcher;
+    private final HarvestContext harvestContext;
+    private final EurostatETL etl;
+    private final List<String> labelLanguages;
+
+    private LocalizedLabels currentDataflowNames;
+    private String currentDataStructureId;
+    private CombinationSpace currentCombinations;
+    private long nextCombinationIndex;
+    private String claimedDataStructureId;
+    private boolean isExhausted;
+
+
+    /**
+     * Adds a collection of dataflows to the harvest queue
+     *
+     * @param dataflows the dataflows to be added to the queue
+     * @param extractor the extractor that retrieves the data structures
+     * @param prefetcher retrieves upcoming data structures in the background,
+     *         or null if the data structures are retrieved one after another
+     * @param harvestContext the state of the harvest, which stops the iteration when the harvest is aborted
+     * @param etl the ETL that provides the configuration
+     */
+    EurostatIterator(final Collection<DataflowEntry> dataflows,
+                     final EurostatExtractor extractor,
+                     final DataStructurePrefetcher prefetcher,
+                     final HarvestContext harvestContext,
+                     final EurostatETL etl)
+    {
+        this.dataflows = new LinkedList<>(dataflows);
+        this.queuedDataflows = new HashMap<>();
+        this.requeuedDataStructureIds = new HashSet<>();
+        this.failedDataStructureIds = new HashSet<>();
+
+        for (final DataflowEntry dataflow : dataflows)
+            queuedDataflows.put(dataflow.getDataStructureId(), dataflow);
+
+        this.extractor = extractor;
+        this.prefetcher = prefetcher;
+        this.harvestContext = harvestContext;
+        this.etl = etl;
+        this.labelLanguages = etl.getLabelLanguages();
+    }
+
+
+    @Override
+    public boolean hasNext()
+    {
+        while (!hasRemainingCombinations()
+               && !isAborted()
+               && (!dataflows.isEmpty() || requeueUnclaimedDataflows()))
+            expandDataflow(dataflows.remove());
+
+        // an aborted harvest releases the remaining dataflows immediately
+        if (isAborted()) {
+            discardDataflows();
+            return false;
+        }
+
+        final boolean hasNext = hasRemainingCombinations();
+
+        if (!hasNext && !isExhausted) {
+            isExhausted = true;
+            completeClaimedDataflow();
+            harvestContext.markExtractionComplete();
+            extractor.onDataflowsExhausted();
+
+            if (prefetcher != null)
+                prefetcher.close();
+        }
+
+        return hasNext;
+    }
+
+
+    @Override
+    public SdmxVO next()
+    {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        return new SdmxVO(currentDataflowNames,
+                          currentDataStructureId,
+                          currentCombinations.get(nextCombinationIndex++));
+    }
+
+
+    /**
+     * Checks if the harvest was aborted. An interrupted thread, e.g. the
+     * thread of a cancelled pipeline stage, aborts the harvest as well,
+     * since the remaining dataflows can no longer be iterated.
+     *
+     * @return true if the harvest was aborted
+     */
+    private boolean isAborted()
+    {
+        if (Thread.currentThread().isInterrupted())
+            harvestContext.abort(String.format(CancellationConstants.EXTRACTION_INTERRUPTED, etl.getName()));
+
+        return harvestContext.isAborted();
+    }
+
+
+    /**
+     * Checks if the current dataflow has combinations that were not yet iterated.
+     *
+     * @return true if the current dataflow has combinations left
+     */
+    private boolean hasRemainingCombinations()
+    {
+        return currentCombinations != null && nextCombinationIndex < currentCombinations.size();
+    }
+
+
+    /**
+     * Retrieves the data structure of a dataflow and prepares the iteration
+     * over its dimension combinations.
+     *
+     * @param dataflow the dataflow that is to be expanded
+     */
+    private void expandDataflow(final DataflowEntry dataflow)
+    {
+        final String dataStructureId = dataflow.getDataStructureId();
+
+        currentCombinations = null;
+        nextCombinationIndex = 0;
+        completeClaimedDataflow();
+
+        if (!extractor.claimDataflow(dataStructureId)) {
+            if (prefetcher != null)
+                prefetcher.discard(dataStructureId);
+
+            return;
+        }
+
+        claimedDataStructureId = dataStructureId;
+
+        try {
+            final DataStructureModel dataStructure = prefetcher == null
+                                                     ? extractor.fetchDataStructure(dataStructureId)
+                                                     : prefetcher.fetch(dataStructureId, dataflows);
+
+            final CombinationExpansionEvent expansionEvent = new CombinationExpansionEvent();
+            expansionEvent.begin();
+
+            final CombinationSpace allCombinations = EurostatExtractor.getCombinationSpace(dataStructure, etl);
+            final HarvestTarget target = extractor.getHarvestTarget();
+
+            // a targeted record is harvested regardless of the cap and the sampling
+            if (target != null && target.isRecord()) {
+                currentCombinations = EurostatExtractor.applyTarget(dataStructureId, allCombinations, target, etl);
+            } else {
+                final CombinationSpace cappedCombinations =
+                    EurostatExtractor.applyCombinationCap(dataStructureId, allCombinations, etl);
+
+                currentCombinations = cappedCombinations == null
+                                      ? null
+                                      : EurostatExtractor.applySampling(dataStructureId, cappedCombinations, etl);
+            }
+
+            if (expansionEvent.shouldCommit()) {
+                expansionEvent.setDataStructureId(dataStructureId);
+                expansionEvent.setDimensionCount(allCombinations.getDimensions().size());
+                expansionEvent.setCardinality(allCombinations.size());
+                expansionEvent.setPlannedCardinality(currentCombinations == null ? 0 : currentCombinations.size());
+                expansionEvent.setCapMode(etl.getCombinationCapMode().toString());
+                expansionEvent.commit();
+            }
+            currentDataStructureId = dataStructure.getId();
+            currentDataflowNames = dataflow.getNames(labelLanguages);
+            extractor.onDataflowExpanded(dataStructureId);
+
+        } catch (final SdmxException e) {
+            // a retrieval that was interrupted stops the harvest, and the claimed dataflow is released with the others
+            if (isInterruption(e)) {
+                harvestContext.abort(e.getMessage());
+                return;
+            }
+
+            LOGGER.warn(String.format("Ignoring %s", dataStructureId));
+            failedDataStructureIds.add(dataStructureId);
+            LOGGER.warn(e.getMessage());
+
+            extractor.releaseDataflow(dataStructureId);
+            claimedDataStructureId = null;
+        }
+    }
+
+
+    /**
+     * Queues the dataflows that were handed back to the work queue, or of
+     * which the leases expired, after all other dataflows were expanded.
+     * Each dataflow is queued at most once, and dataflows that could not be
+     * retrieved by this instance are not queued again.
+     *
+     * @return true if at least one dataflow was queued
+     */
+    private boolean requeueUnclaimedDataflows()
+    {
+        if (isExhausted)
+            return false;
+
+        for (final String dataStructureId : extractor.getUnclaimedDataflows()) {
+            final DataflowEntry dataflow = queuedDataflows.get(dataStructureId);
+
+            if (dataflow != null
+                && !failedDataStructureIds.contains(dataStructureId)
+                && requeuedDataStructureIds.add(dataStructureId))
+                dataflows.add(dataflow);
+        }
+
+        if (!dataflows.isEmpty())
+            LOGGER.info(String.format(QueueConstants.DATAFLOWS_REQUEUED, dataflows.size()));
+
+        return !dataflows.isEmpty();
+    }
+
+
+    /**
+     * Checks if the retrieval of a data structure failed, because it was
+     * interrupted or cancelled, e.g. while waiting for free heap memory or for
+     * the {@linkplain DataStructurePrefetcher}, rather than because the
+     * data structure could not be retrieved.
+     *
+     * @param failure the exception that was thrown by the retrieval
+     *
+     * @return true if the retrieval was interrupted or cancelled
+     */
+    private static boolean isInterruption(final SdmxException failure)
+    {
+        if (Thread.currentThread().isInterrupted())
+            return true;
+
+        for (Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof CancellationException)
+                return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Discards all dataflows and combinations that were not iterated yet, and
+     * hands the claimed dataflow back to the work queue.
+     */
+    private void discardDataflows()
+    {
+        if (isExhausted)
+            return;
+
+        isExhausted = true;
+        LOGGER.info(String.format(CancellationConstants.DATAFLOWS_DISCARDED,
+                                  dataflows.size() + (claimedDataStructureId == null ? 0 : 1)));
+
+        dataflows.clear();
+        currentCombinations = null;
+        currentDataflowNames = null;
+
+        if (claimedDataStructureId != null) {
+            extractor.releaseDataflow(claimedDataStructureId);
+            claimedDataStructureId = null;
+        }
+
+        if (prefetcher != null)
+            prefetcher.close();
+    }
+
+
+    /**
+     * Marks the claimed dataflow as harvested after all of its combinations were iterated.
+     */
+    private void completeClaimedDataflow()
+    {
+        if (claimedDataStructureId != null) {
+            extractor.completeDataflow(claimedDataStructureId);
+            claimedDataStructureId = null;
+        }
+    }
+}
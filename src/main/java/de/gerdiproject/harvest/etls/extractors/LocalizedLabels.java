@@ -0,0 +1,169 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.extractors;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sdmxsource.sdmx.api.model.beans.base.TextTypeWrapper;
+
+/**
+ * This class is a table of labels of a dataflow or code, with one label for
+ * each of the configured languages. Labels that do not exist in a language
+ * are resolved once via the configured language order, so that they can later
+ * be retrieved by index without scanning any lists.
+ *
+ * @author agent
+ */
+public class LocalizedLabels
+{
+    /**
+     * The maximum number of languages that can be resolved.
+     */
+    public static final int MAX_LANGUAGES = Long.SIZE;
+
+    private final String[] labels;
+    private final long availableLanguages;
+
+
+    /**
+     * Constructor
+     *
+     * @param labels the resolved labels, one per configured language
+     * @param availableLanguages a bit mask of languages in which a label was defined
+     */
+    private LocalizedLabels(final String[] labels, final long availableLanguages)
+    {
+        this.labels = labels;
+        this.availableLanguages = availableLanguages;
+    }
+
+
+    /**
+     * Resolves labels of SDMX text types for a list of languages.
+     *
+     * @param texts the localized texts of a dataflow or code
+     * @param languages the languages in order of preference
+     *
+     * @return a table of labels, one for each language
+     */
+    public static LocalizedLabels resolve(final List<TextTypeWrapper> texts, final List<String> languages)
+    {
+        final Map<String, String> textsByLocale = new HashMap<>();
+        String firstText = null;
+
+        for (final TextTypeWrapper text : texts) {
+            textsByLocale.putIfAbsent(text.getLocale(), text.getValue());
+
+            if (firstText == null)
+                firstText = text.getValue();
+        }
+
+        return resolve(textsByLocale, firstText, languages);
+    }
+
+
+    /**
+     * Resolves labels for a list of languages. A missing label is replaced by the
+     * label of the first language of the list that has one. If none of the
+     * languages has a label, the fallback text is used.
+     *
+     * @param textsByLocale a map of locales to texts
+     * @param fallbackText the text that is used if none of the languages has a label
+     * @param languages the languages in order of preference
+     *
+     * @return a table of labels, one for each language
+     */
+    public static LocalizedLabels resolve(final Map<String, String> textsByLocale,
+                                          final String fallbackText,
+                                          final List<String> languages)
+    {
+        final int languageCount = Math.min(languages.size(), MAX_LANGUAGES);
+        final String[] labels = new String[languageCount];
+        long availableLanguages = 0;
+        String preferredText = null;
+
+        for (int i = 0; i < languageCount; i++) {
+            labels[i] = textsByLocale.get(languages.get(i));
+
+            if (labels[i] != null) {
+                availableLanguages |= 1L << i;
+
+                if (preferredText == null)
+                    preferredText = labels[i];
+            }
+        }
+
+        if (preferredText == null)
+            preferredText = fallbackText;
+
+        for (int i = 0; i < languageCount; i++) {
+            if (labels[i] == null)
+                labels[i] = preferredText;
+        }
+
+        return new LocalizedLabels(labels, availableLanguages);
+    }
+
+
+    /**
+     * Returns the label of a language.
+     *
+     * @param languageIndex the index of the language within the configured languages
+     *
+     * @return the label of the language, or of the language it falls back to
+     */
+    public String get(final int languageIndex)
+    {
+        return labels[languageIndex];
+    }
+
+
+    /**
+     * Returns the label of the first configured language.
+     *
+     * @return the label of the first configured language
+     */
+    public String getPrimary()
+    {
+        return labels[0];
+    }
+
+
+    /**
+     * Checks if a label was defined for a language, or if it falls back to another language.
+     *
+     * @param languageIndex the index of the language within the configured languages
+     *
+     * @return true if the label was defined for the language
+     */
+    public boolean isAvailable(final int languageIndex)
+    {
+        return (availableLanguages & (1L << languageIndex)) != 0;
+    }
+
+
+    /**
+     * Returns the number of languages of the table.
+     *
+     * @return the number of languages of the table
+     */
+    public int size()
+    {
+        return labels.length;
+    }
+}
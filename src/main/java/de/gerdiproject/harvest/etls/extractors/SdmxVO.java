@@ -16,13 +16,8 @@
 
 package de.gerdiproject.harvest.etls.extractors;
 
-import java.util.List;
 import java.util.Map;
 
-import org.sdmxsource.sdmx.api.model.beans.base.TextTypeWrapper;
-import org.sdmxsource.sdmx.api.model.beans.codelist.CodeBean;
-import org.sdmxsource.sdmx.api.model.beans.datastructure.DataStructureBean;
-
 import lombok.Value;
 
 /**
@@ -35,30 +30,17 @@ import lombok.Value;
 public class SdmxVO
 {
     /**
-     * List of names for the dataflow in different locales
+     * Names of the dataflow in all configured languages
      */
-    private final List<TextTypeWrapper> names;
+    private final LocalizedLabels names;
 
     /**
-     * DataStructureBean with dimensions and codelists
+     * ID of the data structure of the dataflow, e.g. "DSD_nama_10_gdp"
      */
-    private final DataStructureBean dataStructureBean;
-
-    private final Map<String, CodeBean> dimensions;
-
+    private final String dataStructureId;
 
     /**
-     * Get the English name, if it exists, if not pick the first one
-     *
-     * @return containing the name of the Dataflow, which the SdmxVO describes
+     * Map of dimension IDs to the selected codes of the dimensions
      */
-    public String getEnglishOrFirstName()
-    {
-        for (final TextTypeWrapper text : this.names) {
-            if (text.getLocale().equals("en"))
-                return text.getValue();
-        }
-
-        return this.names.get(0).getValue();
-    }
+    private final Map<String, DimensionCode> dimensions;
 }
@@ -15,45 +15,234 @@
  */
 package de.gerdiproject.harvest.etls.transformers;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
 
-import org.sdmxsource.sdmx.api.model.beans.codelist.CodeBean;
-import org.sdmxsource.sdmx.api.model.beans.datastructure.DataStructureBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
 
 import de.gerdiproject.harvest.etls.AbstractETL;
 import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.etls.HarvestContext;
+import de.gerdiproject.harvest.etls.extractors.DimensionCode;
+import de.gerdiproject.harvest.etls.extractors.LocalizedLabels;
 import de.gerdiproject.harvest.etls.extractors.SdmxVO;
+import de.gerdiproject.harvest.eurostat.constants.CancellationConstants;
+import de.gerdiproject.harvest.eurostat.constants.DedupConstants;
+import de.gerdiproject.harvest.eurostat.constants.DeltaConstants;
 import de.gerdiproject.harvest.eurostat.constants.EurostatConstants;
+import de.gerdiproject.harvest.eurostat.constants.JfrConstants;
+import de.gerdiproject.harvest.eurostat.constants.PipelineConstants;
+import de.gerdiproject.harvest.eurostat.dedup.DuplicateIdentifierFilter;
+import de.gerdiproject.harvest.eurostat.delta.DeltaTracker;
+import de.gerdiproject.harvest.eurostat.enums.DocumentProfile;
+import de.gerdiproject.harvest.eurostat.geo.GeoBounds;
+import de.gerdiproject.harvest.eurostat.geo.GeoCodeIndex;
+import de.gerdiproject.harvest.eurostat.jfr.TransformBatchEvent;
+import de.gerdiproject.harvest.eurostat.pipeline.PipelineStage;
+import de.gerdiproject.harvest.eurostat.staging.StagedDataflow;
+import de.gerdiproject.harvest.eurostat.utils.FlyweightCache;
+import de.gerdiproject.harvest.eurostat.utils.HashUtil;
 import de.gerdiproject.json.datacite.DataCiteJson;
 import de.gerdiproject.json.datacite.Description;
 import de.gerdiproject.json.datacite.GeoLocation;
+import de.gerdiproject.json.datacite.RelatedIdentifier;
 import de.gerdiproject.json.datacite.ResourceType;
+import de.gerdiproject.json.datacite.Rights;
 import de.gerdiproject.json.datacite.Subject;
 import de.gerdiproject.json.datacite.Title;
 import de.gerdiproject.json.datacite.enums.DescriptionType;
+import de.gerdiproject.json.datacite.enums.RelatedIdentifierType;
+import de.gerdiproject.json.datacite.enums.RelationType;
 import de.gerdiproject.json.datacite.enums.ResourceTypeGeneral;
 import de.gerdiproject.json.datacite.extension.generic.ResearchData;
+import de.gerdiproject.json.geo.Point;
 
 /**
- * This transformer parses metadata from a {@linkplain DataStructureBean}
- * and creates {@linkplain LinkedList<DataCiteJson>} objects from it.
+ * This transformer parses metadata from a {@linkplain SdmxVO}
+ * and creates {@linkplain DataCiteJson} objects from it.
  *
  * @author Tobias Weber
  */
 public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, DataCiteJson>
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EurostatTransformer.class);
+
+    private final Gson gson = new Gson();
     private EurostatETL eurostatETL;
+    private HarvestContext harvestContext;
+    private DeltaTracker deltaTracker;
+    private DuplicateIdentifierFilter duplicateFilter;
+    private GeoCodeIndex geoCodeIndex;
+    private List<String> labelLanguages;
+    private TransformBatchEvent batchEvent;
+    private PipelineStage<DataCiteJson> transformStage;
+    private boolean isStaging;
+
+    // content hashes of the delta index and the staging area
+    private String documentFingerprint;
+    private final Map<String, Long> stagedContentHashes = new HashMap<>();
+
+    // parent documents of the lean profile
+    private DocumentProfile documentProfile;
+    private final Queue<DataCiteJson> parentDocuments = new ArrayDeque<>();
+    private String parentDataStructureId;
+    private Collection<RelatedIdentifier> parentReferences;
+
+    // parts that are shared by many documents
+    private ResourceType resourceType;
+    private Set<String> formats;
+    private Set<Rights> rightsList;
+    private FlyweightCache<String, Subject> subjectCache;
+    private FlyweightCache<List<String>, GeoLocation> geoLocationCache;
 
 
     @Override
     public void init(final AbstractETL<?, ?> etl)
     {
-        eurostatETL = (EurostatETL) etl;
+        init((EurostatETL) etl, ((EurostatETL) etl).getHarvestContext());
+    }
+
+
+    /**
+     * Initializes the transformer for a run that is not started by the ETL
+     * itself, e.g. for the command-line batch mode.
+     *
+     * @param etl the ETL that provides the configuration
+     * @param context the state of the run, which is shared with the extractor
+     */
+    public void init(final EurostatETL etl, final HarvestContext context)
+    {
+        initialize(etl, context, false);
+    }
+
+
+    /**
+     * Initializes the transformer for preparing the documents of the next
+     * harvest in the staging area. All documents are transformed, since
+     * unchanged and duplicate documents are only skipped when the prepared
+     * documents are submitted by a harvest.
+     *
+     * @param etl the ETL of which the documents are prepared
+     * @param context the state of the preparation, which is shared with the extractor
+     */
+    public void initForStaging(final EurostatETL etl, final HarvestContext context)
+    {
+        initialize(etl, context, true);
+    }
+
+
+    /**
+     * Initializes the transformer.
+     *
+     * @param etl the ETL that provides the configuration
+     * @param context the state of the run, which is shared with the extractor
+     * @param isStaging true if the documents are prepared in the staging area
+     */
+    private void initialize(final EurostatETL etl, final HarvestContext context, final boolean isStaging)
+    {
+        this.eurostatETL = etl;
+        this.harvestContext = context;
+        this.isStaging = isStaging;
+
+        // re-harvested records are always submitted, and must not change the delta index of the other records
+        deltaTracker = isStaging || harvestContext.getTarget() != null
+                       ? null
+                       : createDeltaTracker(eurostatETL.getDeltaIndexFolder());
+
+        // content hashes are only needed to detect changes, or to prepare documents for doing so
+        documentFingerprint = deltaTracker == null && !isStaging ? null : eurostatETL.getDocumentFingerprint();
+        stagedContentHashes.clear();
+        duplicateFilter = null;
+        geoCodeIndex = GeoCodeIndex.load(eurostatETL.getGeoCodeFile());
+        labelLanguages = eurostatETL.getLabelLanguages();
+        documentProfile = eurostatETL.getDocumentProfile();
+        parentDocuments.clear();
+        parentDataStructureId = null;
+        parentReferences = null;
+
+        resourceType = new ResourceType("Statistical Data", ResourceTypeGeneral.Dataset);
+        formats = eurostatETL.getFormats();
+        rightsList = eurostatETL.getRightsList();
+        subjectCache = new FlyweightCache<>(EurostatConstants.SUBJECT_CACHE_CAPACITY);
+        geoLocationCache = new FlyweightCache<>(EurostatConstants.GEO_LOCATION_CACHE_CAPACITY);
+    }
+
+
+    /**
+     * Transforms all elements of the iterator. Documents with duplicate
+     * identifiers are skipped. If a delta index is configured, documents that
+     * did not change since the previous harvest are skipped as well, and the
+     * documents of dataflows that were not harvested, because they did not
+     * change or because they were harvested by another instance, are kept
+     * in the index. If the lean profile is selected, the parent document of
+     * each dataflow precedes the documents of the dataflow.
+     * The prepared documents of the staging area are submitted before the
+     * transformed documents, and are skipped in the same way.
+     * If a pipeline queue size is configured, the elements are extracted and
+     * transformed in a thread of their own, while the loader consumes the
+     * documents. The queued documents are discarded when the harvest is aborted.
+     *
+     * @param elements the extracted elements
+     *
+     * @return an iterator of all transformed documents that are to be loaded
+     */
+    @Override
+    public Iterator<DataCiteJson> transform(final Iterator<SdmxVO> elements) throws TransformerException
+    {
+        final List<StagedDataflow> stagedDataflows = isStaging
+                                                     ? Collections.emptyList()
+                                                     : harvestContext.getStagedDataflows();
+        final Iterator<DataCiteJson> transformedDocuments = stagedDataflows.isEmpty()
+                                                            ? super.transform(elements)
+                                                            : eurostatETL.getStagingArea().readDocuments(
+                                                                stagedDataflows,
+                                                                this::mapStagedDocument,
+                                                                super.transform(elements),
+                                                                harvestContext.getCancellation());
+
+        duplicateFilter = isStaging || eurostatETL.getDuplicateFilterMegabytes() == 0
+                          ? null
+                          : createDuplicateFilter(harvestContext.getSelectedDataStructureIds());
+
+        final Iterator<DataCiteJson> documents =
+            deltaTracker == null && duplicateFilter == null && documentProfile == DocumentProfile.FULL
+            ? transformedDocuments
+            : new SkippingDocumentIterator(transformedDocuments, parentDocuments);
+
+        // the staging area is filled at its own pace
+        if (isStaging || eurostatETL.getPipelineQueueSize() == 0)
+            return new ExhaustionNotifyingIterator(documents, this::onDocumentsExhausted);
+
+        final PipelineStage<DataCiteJson> stage = new PipelineStage<>(documents,
+                                                                      PipelineConstants.TRANSFORM_THREAD_NAME,
+                                                                      eurostatETL.getPipelineQueueSize(),
+                                                                      PipelineConstants.BATCH_SIZE);
+
+        // an aborted harvest drops the queued documents immediately
+        harvestContext.getCancellation().onCancel(stage::cancel);
+
+        transformStage = stage;
+
+        // the documents are only exhausted when the consumer, not the thread of the stage, reached the end
+        return new ExhaustionNotifyingIterator(stage, this::onDocumentsExhausted);
     }
 
 
@@ -70,25 +259,380 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
     @Override
     protected DataCiteJson transformElement(final SdmxVO source)
     {
+        final long startTime = startTransform(source);
         final String identifier = getIdentifier(source);
+
+        // skip documents of which the identifiers were already harvested, before building them
+        if (duplicateFilter != null && duplicateFilter.isDuplicate(identifier, source.getDataStructureId())) {
+            finishTransform(startTime, true);
+            return null;
+        }
+
+        final DataCiteJson document = documentProfile == DocumentProfile.LEAN
+                                      ? createLeanDocument(source, identifier)
+                                      : createFullDocument(source, identifier);
+
+        if (isStaging)
+            stagedContentHashes.put(identifier, getContentHash(source));
+
+        // hash the values that the document is built from, instead of serializing the document
+        final boolean isUnchanged = deltaTracker != null && !deltaTracker.update(identifier, getContentHash(source));
+        finishTransform(startTime, isUnchanged);
+
+        // skip documents that did not change since the previous harvest
+        return isUnchanged ? null : document;
+    }
+
+
+    /**
+     * Converts a prepared document of the staging area. Prepared documents
+     * are skipped if their identifiers were already harvested, or if they did
+     * not change since the previous harvest.
+     *
+     * @param dataStructureId the ID of the data structure of the document
+     * @param identifier the identifier of the document
+     * @param contentHash the hash of the content of the document
+     * @param json the prepared document as a JSON String
+     *
+     * @return the DataCiteJson document, or null if it is to be skipped
+     */
+    private DataCiteJson mapStagedDocument(
+        final String dataStructureId,
+        final String identifier,
+        final long contentHash,
+        final String json)
+    {
+        if (duplicateFilter != null && duplicateFilter.isDuplicate(identifier, dataStructureId))
+            return null;
+
+        if (deltaTracker != null && !deltaTracker.update(identifier, contentHash))
+            return null;
+
+        return gson.fromJson(json, DataCiteJson.class);
+    }
+
+
+    /**
+     * Creates a document that contains all fields.
+     *
+     * @param source value object
+     * @param identifier the identifier of the document
+     *
+     * @return the DataCiteJson document
+     */
+    private DataCiteJson createFullDocument(final SdmxVO source, final String identifier)
+    {
         final DataCiteJson document = createDataCiteStub(identifier);
 
-        document.addTitles(getTitle(source));
+        document.addTitles(getTitles(source));
         document.setPublisher(eurostatETL.getPublisher());
         document.addSubjects(getSubjects(source));
         document.setLanguage(eurostatETL.getLanguage());
-        document.addFormats(eurostatETL.getFormats());
-        document.addRights(eurostatETL.getRightsList());
-        document.addDescriptions(getDescription(source));
+        document.addFormats(formats);
+        document.addRights(rightsList);
+        document.addDescriptions(getDescriptions(source));
+
+        if (hasGeoDimension(source))
+            document.addGeoLocations(getGeoLocations(source));
+
+        document.addResearchData(getResearchData(source, identifier));
+        return document;
+    }
+
+
+    /**
+     * Creates a document that only contains the fields that distinguish it
+     * from the other documents of its dataflow. The remaining metadata is
+     * part of the parent document of the dataflow, which is referenced via
+     * an IsPartOf relation. The parent document is created when the first
+     * document of a dataflow is transformed.
+     *
+     * @param source value object
+     * @param identifier the identifier of the document
+     *
+     * @return the DataCiteJson document
+     */
+    private DataCiteJson createLeanDocument(final SdmxVO source, final String identifier)
+    {
+        if (!source.getDataStructureId().equals(parentDataStructureId))
+            addParentDocument(source);
+
+        final DataCiteJson document = new DataCiteJson(identifier);
+
+        document.addTitles(getTitles(source));
+        document.addSubjects(getSubjects(source));
 
         if (hasGeoDimension(source))
             document.addGeoLocations(getGeoLocations(source));
 
-        document.addResearchData(getResearchData(source));
+        document.addRelatedIdentifiers(parentReferences);
         return document;
     }
 
 
+    /**
+     * Creates the parent document of a dataflow, which contains the metadata
+     * that is identical for all documents of the dataflow. Its identifier is
+     * the common prefix of the identifiers of the dataflow, which retrieves all
+     * data of the dataflow. The parent document is queued in front of the next
+     * document, unless it did not change since the previous harvest, or
+     * another data structure with the same identifier prefix already queued it.
+     *
+     * @param source the first value object of the dataflow
+     */
+    private void addParentDocument(final SdmxVO source)
+    {
+        parentDataStructureId = source.getDataStructureId();
+
+        final String parentIdentifier = getIdentifier(parentDataStructureId, "");
+        final DataCiteJson parent = createDataCiteStub(parentIdentifier);
+
+        parent.addTitles(getParentTitles(source));
+        parent.addDescriptions(getParentDescriptions(source));
+        parent.addResearchData(getResearchData(source, parentIdentifier));
+
+        parentReferences = Arrays.asList(
+                               new RelatedIdentifier(parentIdentifier, RelatedIdentifierType.URL, RelationType.IsPartOf));
+
+        // data structures that share their identifier prefix also share their parent document
+        if (duplicateFilter != null && duplicateFilter.isDuplicate(parentIdentifier, parentDataStructureId))
+            return;
+
+        if (isStaging)
+            stagedContentHashes.put(parentIdentifier, getParentContentHash(source));
+
+        if (deltaTracker == null || deltaTracker.update(parentIdentifier, getParentContentHash(source)))
+            parentDocuments.add(parent);
+    }
+
+
+    /**
+     * Commits the delta index and reports the suppressed duplicates after all
+     * documents were transformed, unless the harvest was aborted or the
+     * extractor did not iterate all dataflows. The retained data structures
+     * are only known at this point, since dataflows of the work queue may be
+     * claimed by other instances during the harvest.
+     */
+    private void onDocumentsExhausted()
+    {
+        // the pipeline stage stops handing over documents when its consumer is interrupted
+        if (Thread.currentThread().isInterrupted())
+            harvestContext.abort(String.format(CancellationConstants.TRANSFORMATION_INTERRUPTED, eurostatETL.getName()));
+
+        // the documents of an aborted harvest are incomplete
+        if (harvestContext.isAborted()) {
+            if (deltaTracker != null)
+                LOGGER.warn(CancellationConstants.DELTA_NOT_COMMITTED);
+
+            return;
+        }
+
+        // a source that stopped early would drop the hashes of all documents it did not reach
+        if (!harvestContext.isExtractionComplete()) {
+            if (deltaTracker != null)
+                LOGGER.warn(CancellationConstants.DELTA_INCOMPLETE);
+
+            return;
+        }
+
+        if (duplicateFilter != null)
+            LOGGER.info(String.format(DedupConstants.DUPLICATES_DROPPED, duplicateFilter.getDuplicateCount()));
+
+        if (deltaTracker != null) {
+            final Set<String> retainedIdentifierPrefixes = new HashSet<>();
+
+            for (final String dataStructureId : harvestContext.getRetainedDataStructureIds())
+                retainedIdentifierPrefixes.add(getIdentifier(dataStructureId, ""));
+
+            if (!retainedIdentifierPrefixes.isEmpty())
+                deltaTracker.setRetainedIdentifiers((final String identifier) ->
+                                                    retainedIdentifierPrefixes.contains(
+                                                        identifier.substring(0, identifier.indexOf('?') + 1)));
+
+            try {
+                deltaTracker.commit();
+            } catch (final IOException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+
+        // claimed dataflows are only marked as harvested once all of their documents were loaded
+        harvestContext.markDocumentsLoaded();
+    }
+
+
+    /**
+     * Adds a document to the current {@linkplain TransformBatchEvent}, if the
+     * event is being recorded. The current batch is recorded if the document
+     * belongs to another dataflow, or if the batch is full.
+     *
+     * @param source the value object that is about to be transformed
+     *
+     * @return the start time of the transformation in nanoseconds, or 0 if no event is being recorded
+     */
+    private long startTransform(final SdmxVO source)
+    {
+        if (batchEvent == null)
+            batchEvent = new TransformBatchEvent();
+
+        if (!batchEvent.isEnabled())
+            return 0;
+
+        final String dataStructureId = source.getDataStructureId();
+
+        if (batchEvent.getDataStructureId() != null
+            && (batchEvent.getDocumentCount() >= JfrConstants.TRANSFORM_BATCH_SIZE
+                || !batchEvent.getDataStructureId().equals(dataStructureId))) {
+            batchEvent.commit();
+            batchEvent = new TransformBatchEvent();
+        }
+
+        if (batchEvent.getDataStructureId() == null) {
+            batchEvent.begin();
+            batchEvent.setDataStructureId(dataStructureId);
+        }
+
+        return System.nanoTime();
+    }
+
+
+    /**
+     * Adds the duration of a transformation to the current {@linkplain TransformBatchEvent}.
+     *
+     * @param startTime the start time of the transformation in nanoseconds
+     * @param isUnchanged true if the document did not change since the previous harvest
+     */
+    private void finishTransform(final long startTime, final boolean isUnchanged)
+    {
+        if (!batchEvent.isEnabled() || batchEvent.getDataStructureId() == null)
+            return;
+
+        batchEvent.setTransformTime(batchEvent.getTransformTime() + System.nanoTime() - startTime);
+        batchEvent.setDocumentCount(batchEvent.getDocumentCount() + 1);
+
+        if (isUnchanged)
+            batchEvent.setUnchangedCount(batchEvent.getUnchangedCount() + 1);
+    }
+
+
+    /**
+     * Removes and returns the content hash of a document that was prepared
+     * for the staging area, so that the delta index can skip the document
+     * when it is submitted, without serializing it again.
+     *
+     * @param identifier the identifier of the prepared document
+     *
+     * @return the hash of the content of the document
+     */
+    public long takeContentHash(final String identifier)
+    {
+        final Long contentHash = stagedContentHashes.remove(identifier);
+        return contentHash == null ? 0 : contentHash;
+    }
+
+
+    /**
+     * Returns a hash of everything that the content of a document depends on,
+     * i.e. the configuration of the documents, the names of the dataflow, and
+     * the codes and labels of the dimension combination. The hash changes
+     * whenever the document changes, but it is much cheaper to compute than
+     * a hash of the serialized document.
+     *
+     * @param source the value object of the document
+     *
+     * @return a hash of the content of the document
+     */
+    private long getContentHash(final SdmxVO source)
+    {
+        final StringBuilder contentBuilder = new StringBuilder(documentFingerprint);
+        contentBuilder.append('\n').append(source.getDataStructureId());
+        appendLabels(contentBuilder, source.getNames());
+
+        for (final Map.Entry<String, DimensionCode> entry : source.getDimensions().entrySet()) {
+            contentBuilder.append('\n').append(entry.getKey()).append('=').append(entry.getValue().getId());
+            appendLabels(contentBuilder, entry.getValue().getNames());
+        }
+
+        return HashUtil.hash64(contentBuilder);
+    }
+
+
+    /**
+     * Returns a hash of everything that the content of the parent document
+     * of a dataflow depends on.
+     *
+     * @param source the first value object of the dataflow
+     *
+     * @return a hash of the content of the parent document
+     */
+    private long getParentContentHash(final SdmxVO source)
+    {
+        final StringBuilder contentBuilder = new StringBuilder(documentFingerprint);
+        contentBuilder.append('\n').append(source.getDataStructureId()).append('?');
+        appendLabels(contentBuilder, source.getNames());
+
+        return HashUtil.hash64(contentBuilder);
+    }
+
+
+    /**
+     * Appends the labels of all configured languages, and whether they are
+     * available, to the content of a document.
+     *
+     * @param contentBuilder the content of a document
+     * @param labels the labels that are appended
+     */
+    private static void appendLabels(final StringBuilder contentBuilder, final LocalizedLabels labels)
+    {
+        for (int i = 0; i < labels.size(); i++)
+            contentBuilder.append('\t').append(labels.isAvailable(i)).append(':').append(labels.get(i));
+    }
+
+
+    /**
+     * Creates a tracker for skipping unchanged documents, if a delta index folder is configured.
+     *
+     * @param deltaIndexFolder the folder in which the delta index is stored
+     *
+     * @return a tracker for skipping unchanged documents, or null if the delta index is disabled
+     */
+    private DeltaTracker createDeltaTracker(final String deltaIndexFolder)
+    {
+        if (deltaIndexFolder.isEmpty())
+            return null;
+
+        try {
+            return new DeltaTracker(new File(deltaIndexFolder));
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(DeltaConstants.CANNOT_OPEN_INDEX, deltaIndexFolder, e.getMessage()));
+            return null;
+        }
+    }
+
+
+    /**
+     * Creates a filter for suppressing documents with duplicate identifiers.
+     * Only the data structures that yield the same identifier prefix can
+     * produce duplicates, so these are determined before the first document
+     * is transformed.
+     *
+     * @param dataStructureIds the IDs of the data structures that were selected for this run
+     *
+     * @return a filter for suppressing documents with duplicate identifiers
+     */
+    private DuplicateIdentifierFilter createDuplicateFilter(final List<String> dataStructureIds)
+    {
+        final List<String> identifierPrefixes = new ArrayList<>(dataStructureIds.size());
+
+        for (final String dataStructureId : dataStructureIds)
+            identifierPrefixes.add(getIdentifier(dataStructureId, ""));
+
+        return new DuplicateIdentifierFilter(
+                   eurostatETL.getDuplicateFilterMegabytes() * DedupConstants.BYTES_PER_MEGABYTE,
+                   identifierPrefixes);
+    }
+
+
     /**
      * Returns an Identifier for the document.
      *
@@ -104,7 +648,7 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
     {
         final StringBuilder queryBuilder = new StringBuilder();
 
-        for (final Map.Entry<String, CodeBean> entry : source.getDimensions().entrySet()) {
+        for (final Map.Entry<String, DimensionCode> entry : source.getDimensions().entrySet()) {
             if (queryBuilder.length() != 0)
                 queryBuilder.append(EurostatConstants.QUERY_PARAM_SEPARATOR);
 
@@ -114,54 +658,102 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
                               entry.getValue().getId()));
         }
 
-        final String queryString = queryBuilder.toString();
+        return getIdentifier(source.getDataStructureId(), queryBuilder.toString());
+    }
+
 
+    /**
+     * Returns the identifier of a document of a data structure.
+     * If the query is empty, all identifiers of the data structure start with the returned String.
+     *
+     * @param dataStructureId the ID of the data structure
+     * @param queryString the selected codes of the dimensions as URL query
+     *
+     * @return the identifier of the document
+     */
+    private String getIdentifier(final String dataStructureId, final String queryString)
+    {
         return String.format(
                    EurostatConstants.IDENTIFIER_FORMAT,
                    eurostatETL.getRestBaseUrl(),
-                   source.getDataStructureBean().getId().replaceFirst("DSD_", ""),
+                   dataStructureId.replaceFirst("DSD_", ""),
                    queryString);
     }
 
 
     /**
-     * Creates a title for the document.
+     * Creates titles for the document.
      *
      * The title is composed of the name of the SDMX Dataflow and the
-     * selection of dimension + value.
+     * selection of dimension + value. One title is created for each
+     * configured language in which the dataflow has a name.
      *
      * @param source value object
      *
-     * @return Collection with one title
+     * @return Collection with one title per available language
      */
-    private Collection<Title> getTitle(final SdmxVO source)
+    private Collection<Title> getTitles(final SdmxVO source)
     {
-        final StringBuilder stringBuilder = new StringBuilder();
+        final LocalizedLabels dataflowNames = source.getNames();
+        final List<Title> titles = new LinkedList<>();
+
+        for (int i = 0; i < labelLanguages.size(); i++) {
+            if (i != 0 && !dataflowNames.isAvailable(i))
+                continue;
+
+            final StringBuilder stringBuilder = new StringBuilder();
+
+            for (final DimensionCode code : source.getDimensions().values()) {
+                if (stringBuilder.length() != 0)
+                    stringBuilder.append(EurostatConstants.TITLE_DIMENSION_SEPARATOR);
 
-        for (final Map.Entry<String, CodeBean> entry : source.getDimensions().entrySet()) {
-            if (stringBuilder.length() != 0)
-                stringBuilder.append(EurostatConstants.TITLE_DIMENSION_SEPARATOR);
+                final String dimension = String.format(
+                                             EurostatConstants.TITLE_DIMENSION_FORMAT,
+                                             code.getNames().get(i));
 
-            final String dimension = String.format(
-                                         EurostatConstants.TITLE_DIMENSION_FORMAT,
-                                         entry.getValue().getName());
+                stringBuilder.append(dimension);
+            }
 
-            stringBuilder.append(dimension);
+            final String titleString = String.format(
+                                           EurostatConstants.TITLE_FORMAT,
+                                           dataflowNames.get(i),
+                                           stringBuilder.toString());
+
+            titles.add(new Title(titleString, null, labelLanguages.get(i)));
         }
 
-        final String titleString = String.format(
-                                       EurostatConstants.TITLE_FORMAT,
-                                       source.getEnglishOrFirstName(),
-                                       stringBuilder.toString());
+        return titles;
+    }
+
+
+    /**
+     * Creates titles for the parent document of a dataflow, consisting of the
+     * name of the dataflow in each configured language in which it is available.
+     *
+     * @param source value object
+     *
+     * @return Collection with one title per available language
+     */
+    private Collection<Title> getParentTitles(final SdmxVO source)
+    {
+        final LocalizedLabels dataflowNames = source.getNames();
+        final List<Title> titles = new LinkedList<>();
 
-        return Arrays.asList(new Title(titleString));
+        for (int i = 0; i < labelLanguages.size(); i++) {
+            if (i == 0 || dataflowNames.isAvailable(i))
+                titles.add(new Title(dataflowNames.get(i), null, labelLanguages.get(i)));
+        }
+
+        return titles;
     }
 
 
     /**
      * Creates a collection of subjects for the document.
      *
-     * The subjects correspond to the name of the dimensions of the dimensionSelection.
+     * The subjects correspond to the name of the dimensions of the dimensionSelection
+     * in the first configured language. Subjects of the same name are shared
+     * among all documents.
      *
      * @param source value object
      *
@@ -171,50 +763,98 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
     {
         final List<Subject> subjects = new LinkedList<>();
 
-        for (final Map.Entry<String, CodeBean> entry : source.getDimensions().entrySet()) {
-            final Subject subject = new Subject(entry.getValue().getName(),
-                                                EurostatConstants.LANGUAGE_DEFAULT_VALUE);
-            subjects.add(subject);
-        }
+        for (final DimensionCode code : source.getDimensions().values())
+            subjects.add(subjectCache.get(code.getNames().getPrimary(),
+                                          (final String name) -> new Subject(name, labelLanguages.get(0))));
 
         return subjects;
     }
 
 
     /**
-     * Creates a description for the document.
+     * Creates descriptions for the document.
      *
-     * The description is composed of the name of the SDMX Dataflow.
+     * The description is composed of the name of the SDMX Dataflow and the
+     * selected codes of each dimension. One description is created for each
+     * configured language in which the dataflow has a name.
      *
      * @param source value object
      *
-     * @return Collection with one description
+     * @return Collection with one description per available language
      */
-    private Collection<Description> getDescription(final SdmxVO source)
+    private Collection<Description> getDescriptions(final SdmxVO source)
     {
-        final StringBuilder stringBuilder = new StringBuilder();
+        final LocalizedLabels dataflowNames = source.getNames();
+        final List<Description> descriptions = new LinkedList<>();
+
+        for (int i = 0; i < labelLanguages.size(); i++) {
+            if (i != 0 && !dataflowNames.isAvailable(i))
+                continue;
+
+            final StringBuilder stringBuilder = new StringBuilder();
 
-        for (final Map.Entry<String, CodeBean> entry : source.getDimensions().entrySet()) {
-            if (stringBuilder.length() != 0)
-                stringBuilder.append(EurostatConstants.DESCRIPTION_DIMENSION_SEPARATOR);
+            for (final Map.Entry<String, DimensionCode> entry : source.getDimensions().entrySet()) {
+                if (stringBuilder.length() != 0)
+                    stringBuilder.append(EurostatConstants.DESCRIPTION_DIMENSION_SEPARATOR);
 
-            final String dimension = String.format(
-                                         EurostatConstants.DESCRIPTION_DIMENSION_FORMAT,
-                                         entry.getKey(),
-                                         entry.getValue().getId(),
-                                         entry.getValue().getName());
+                final String dimension = String.format(
+                                             EurostatConstants.DESCRIPTION_DIMENSION_FORMAT,
+                                             entry.getKey(),
+                                             entry.getValue().getId(),
+                                             entry.getValue().getNames().get(i));
 
-            stringBuilder.append(dimension);
+                stringBuilder.append(dimension);
+            }
+
+            final String descriptionString = String.format(
+                                                 EurostatConstants.DESCRIPTION_FORMAT,
+                                                 dataflowNames.get(i),
+                                                 stringBuilder.toString());
+
+            descriptions.add(new Description(
+                                 descriptionString,
+                                 DescriptionType.Abstract,
+                                 labelLanguages.get(i)));
         }
 
-        final String descriptionString = String.format(
-                                             EurostatConstants.DESCRIPTION_FORMAT,
-                                             source.getEnglishOrFirstName(),
-                                             stringBuilder.toString());
+        return descriptions;
+    }
 
-        return Arrays.asList(new Description(
+
+    /**
+     * Creates descriptions for the parent document of a dataflow.
+     *
+     * The description is composed of the name of the SDMX Dataflow and the
+     * IDs of its dimensions. One description is created for each configured
+     * language in which the dataflow has a name.
+     *
+     * @param source value object
+     *
+     * @return Collection with one description per available language
+     */
+    private Collection<Description> getParentDescriptions(final SdmxVO source)
+    {
+        final LocalizedLabels dataflowNames = source.getNames();
+        final String dimensionIds = String.join(EurostatConstants.PARENT_DIMENSION_SEPARATOR,
+                                                source.getDimensions().keySet());
+        final List<Description> descriptions = new LinkedList<>();
+
+        for (int i = 0; i < labelLanguages.size(); i++) {
+            if (i != 0 && !dataflowNames.isAvailable(i))
+                continue;
+
+            final String descriptionString = String.format(
+                                                 EurostatConstants.PARENT_DESCRIPTION_FORMAT,
+                                                 dataflowNames.get(i),
+                                                 dimensionIds);
+
+            descriptions.add(new Description(
                                  descriptionString,
-                                 DescriptionType.Abstract));
+                                 DescriptionType.Abstract,
+                                 labelLanguages.get(i)));
+        }
+
+        return descriptions;
     }
 
 
@@ -235,7 +875,7 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
     /**
      * Creates a geoLocation-field for the document.
      *
-     * We only use the name to set geoLocationName
+     * The geoLocation of a GEO code is shared among all documents.
      *
      * @param source value object
      *
@@ -243,30 +883,60 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
      */
     private Collection<GeoLocation> getGeoLocations(final SdmxVO source)
     {
+        final DimensionCode geoCode = source.getDimensions().get(EurostatConstants.GEO_DIMENSION);
+        final List<String> geoKey = Arrays.asList(geoCode.getId(), geoCode.getNames().getPrimary());
+
         final List<GeoLocation> geoLocations = new LinkedList<>();
-        geoLocations.add(
-            new GeoLocation(
-                source.getDimensions().get(
-                    EurostatConstants.GEO_DIMENSION).getName()));
+        geoLocations.add(geoLocationCache.get(geoKey, this::createGeoLocation));
         return geoLocations;
     }
 
 
+    /**
+     * Creates the geoLocation of a GEO code.
+     *
+     * The name of the GEO code is used as geoLocationName. If the code
+     * is known to the {@linkplain GeoCodeIndex}, its centroid and bounding box
+     * are added as well.
+     *
+     * @param geoKey the ID and the name of the GEO code
+     *
+     * @return the geoLocation of the GEO code
+     */
+    private GeoLocation createGeoLocation(final List<String> geoKey)
+    {
+        final GeoLocation geoLocation = new GeoLocation(geoKey.get(1));
+        final GeoBounds bounds = geoCodeIndex.get(geoKey.get(0));
+
+        if (bounds != null) {
+            geoLocation.setPoint(new Point(bounds.getCentroidLongitude(), bounds.getCentroidLatitude()));
+            geoLocation.setBox(
+                bounds.getWestLongitude(),
+                bounds.getEastLongitude(),
+                bounds.getSouthLatitude(),
+                bounds.getNorthLatitude());
+        }
+
+        return geoLocation;
+    }
+
+
     /**
      * Creates ResearchData information for the document.
      *
      * The link to the research data is identical to the identifier of the document
      *
      * @param source value object
+     * @param identifier the identifier of the document
      *
      * @return Collection with one ResearchData object
      */
-    private Collection<ResearchData> getResearchData(final SdmxVO source)
+    private Collection<ResearchData> getResearchData(final SdmxVO source, final String identifier)
     {
         final List<ResearchData> researchData = new LinkedList<>();
         researchData.add(new ResearchData(
-                             getIdentifier(source),
-                             source.getEnglishOrFirstName()));
+                             identifier,
+                             source.getNames().getPrimary()));
         return researchData;
     }
 
@@ -286,10 +956,9 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
         document.setPublisher(eurostatETL.getPublisher());
         document.setPublicationYear(Calendar.getInstance().get(Calendar.YEAR));
         document.setLanguage(eurostatETL.getLanguage());
-        document.setResourceType(
-            new ResourceType("Statistical Data", ResourceTypeGeneral.Dataset));
-        document.addFormats(eurostatETL.getFormats());
-        document.addRights(eurostatETL.getRightsList());
+        document.setResourceType(resourceType);
+        document.addFormats(formats);
+        document.addRights(rightsList);
 
         return document;
     }
@@ -298,6 +967,162 @@ public class EurostatTransformer extends AbstractIteratorTransformer<SdmxVO, Dat
     @Override
     public void clear()
     {
-        // nothing to clean up
+        // stop the transformation before releasing the resources it uses
+        if (transformStage != null) {
+            transformStage.close();
+            transformStage = null;
+        }
+
+        // record the last transform batch
+        if (batchEvent != null) {
+            if (batchEvent.getDataStructureId() != null)
+                batchEvent.commit();
+
+            batchEvent = null;
+        }
+
+        // release the shared document parts
+        if (subjectCache != null) {
+            LOGGER.info(String.format(EurostatConstants.SHARED_PARTS_SUMMARY,
+                                      subjectCache.getHitCount(),
+                                      subjectCache.getRequestCount(),
+                                      geoLocationCache.getHitCount(),
+                                      geoLocationCache.getRequestCount()));
+            subjectCache.clear();
+            subjectCache = null;
+            geoLocationCache.clear();
+            geoLocationCache = null;
+        }
+
+        // release the off-heap memory of the duplicate filter
+        duplicateFilter = null;
+
+        parentDocuments.clear();
+        parentDataStructureId = null;
+        parentReferences = null;
+
+        // discard the delta index of an aborted or failed harvest
+        if (deltaTracker != null) {
+            deltaTracker.discard();
+            deltaTracker = null;
+        }
+    }
+
+
+    /**
+     * This iterator skips documents that were suppressed by the transformer,
+     * and inserts the parent documents that were created by the transformer.
+     *
+     * @author agent
+     */
+    private static class SkippingDocumentIterator implements Iterator<DataCiteJson>
+    {
+        private final Iterator<DataCiteJson> documents;
+        private final Queue<DataCiteJson> insertedDocuments;
+        private DataCiteJson nextDocument;
+
+
+        /**
+         * Constructor
+         *
+         * @param documents the transformed documents, containing null for suppressed documents
+         * @param insertedDocuments a queue of documents that precede the next transformed document
+         */
+        SkippingDocumentIterator(
+            final Iterator<DataCiteJson> documents,
+            final Queue<DataCiteJson> insertedDocuments)
+        {
+            this.documents = documents;
+            this.insertedDocuments = insertedDocuments;
+        }
+
+
+        @Override
+        public boolean hasNext()
+        {
+            while (nextDocument == null) {
+                if (!insertedDocuments.isEmpty())
+                    nextDocument = insertedDocuments.remove();
+
+                else if (documents.hasNext()) {
+                    final DataCiteJson document = documents.next();
+
+                    // documents that were inserted during the transformation come first
+                    if (insertedDocuments.isEmpty())
+                        nextDocument = document;
+                    else if (document != null)
+                        insertedDocuments.add(document);
+                }
+
+                else
+                    break;
+            }
+
+            return nextDocument != null;
+        }
+
+
+        @Override
+        public DataCiteJson next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            final DataCiteJson document = nextDocument;
+            nextDocument = null;
+            return document;
+        }
+    }
+
+
+    /**
+     * This iterator forwards the documents of another iterator, and executes
+     * a callback once, when the consumer of the documents reached their end.
+     *
+     * @author agent
+     */
+    private static class ExhaustionNotifyingIterator implements Iterator<DataCiteJson>
+    {
+        private final Iterator<DataCiteJson> documents;
+        private final Runnable onExhausted;
+        private boolean isExhausted;
+
+
+        /**
+         * Constructor
+         *
+         * @param documents the documents that are forwarded
+         * @param onExhausted a callback that is executed once when all documents were iterated
+         */
+        ExhaustionNotifyingIterator(final Iterator<DataCiteJson> documents, final Runnable onExhausted)
+        {
+            this.documents = documents;
+            this.onExhausted = onExhausted;
+        }
+
+
+        @Override
+        public boolean hasNext()
+        {
+            if (documents.hasNext())
+                return true;
+
+            if (!isExhausted) {
+                isExhausted = true;
+                onExhausted.run();
+            }
+
+            return false;
+        }
+
+
+        @Override
+        public DataCiteJson next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            return documents.next();
+        }
     }
 }
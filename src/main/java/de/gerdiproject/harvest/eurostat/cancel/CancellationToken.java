@@ -0,0 +1,222 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.cancel;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.CancellationConstants;
+
+/**
+ * This class signals the cancellation of a harvest to all operations that
+ * belong to it. Operations that block, such as downloads or waiting threads,
+ * register an action that unblocks them, e.g. by closing a connection, while
+ * all other operations check {@linkplain #isCancelled()} cooperatively.
+ * A token can watch a condition in the background, in order to be cancelled
+ * as soon as the harvest is aborted.
+ *
+ * @author agent
+ */
+public class CancellationToken
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CancellationToken.class);
+
+    private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+    private volatile boolean isCancelled;
+    private ScheduledExecutorService watcher;
+
+
+    /**
+     * Checks if the token was cancelled.
+     *
+     * @return true if the operations of the token are to be stopped
+     */
+    public boolean isCancelled()
+    {
+        return isCancelled;
+    }
+
+
+    /**
+     * Registers an action that is executed when the token is cancelled.
+     * If the token is already cancelled, the action is executed immediately.
+     *
+     * @param cancelAction an action that stops or unblocks an operation
+     *
+     * @return a registration that must be closed when the operation is finished
+     */
+    public Registration onCancel(final Runnable cancelAction)
+    {
+        return register(new Registration(cancelAction, false));
+    }
+
+
+    /**
+     * Registers the current thread, so that it is interrupted when the token is
+     * cancelled. Closing the registration clears an interrupt that was caused
+     * by the token, so the thread can continue to be used afterwards.
+     *
+     * @return a registration that must be closed when the operation is finished
+     */
+    public Registration interruptOnCancel()
+    {
+        final Thread currentThread = Thread.currentThread();
+        return register(new Registration(currentThread::interrupt, true));
+    }
+
+
+    /**
+     * Cancels the token and executes all registered actions.
+     */
+    public void cancel()
+    {
+        if (isCancelled)
+            return;
+
+        isCancelled = true;
+
+        for (final Registration registration : registrations)
+            registration.cancel();
+    }
+
+
+    /**
+     * Adds a registration to the token, and executes its action immediately
+     * if the token is already cancelled.
+     *
+     * @param registration the registration that is to be added
+     *
+     * @return the added registration
+     */
+    private Registration register(final Registration registration)
+    {
+        registrations.add(registration);
+
+        if (isCancelled)
+            registration.cancel();
+
+        return registration;
+    }
+
+
+    /**
+     * Starts checking a condition in the background, which cancels the token
+     * as soon as it is fulfilled.
+     *
+     * @param name the name of the watched operation, used for logging
+     * @param cancelCondition a condition that is true if the token is to be cancelled
+     */
+    public synchronized void watch(final String name, final BooleanSupplier cancelCondition)
+    {
+        stopWatching();
+
+        watcher = Executors.newSingleThreadScheduledExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, CancellationConstants.WATCH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final ScheduledExecutorService currentWatcher = watcher;
+        watcher.scheduleWithFixedDelay(() -> {
+            if (cancelCondition.getAsBoolean()) {
+                LOGGER.warn(String.format(CancellationConstants.HARVEST_CANCELLED, name));
+                cancel();
+                currentWatcher.shutdown();
+            }
+        },
+        CancellationConstants.POLL_INTERVAL_MILLIS,
+        CancellationConstants.POLL_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Stops checking the condition of {@linkplain #watch(String, BooleanSupplier)}.
+     */
+    public synchronized void stopWatching()
+    {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+
+
+    /**
+     * This class represents an action that is executed when its token is
+     * cancelled, as long as the registration is not closed.
+     *
+     * @author agent
+     */
+    public final class Registration implements AutoCloseable
+    {
+        private final Runnable cancelAction;
+        private final boolean isInterrupting;
+        private boolean isExecuted;
+
+
+        /**
+         * Constructor
+         *
+         * @param cancelAction an action that stops or unblocks an operation
+         * @param isInterrupting true if the action interrupts the registering thread
+         */
+        private Registration(final Runnable cancelAction, final boolean isInterrupting)
+        {
+            this.cancelAction = cancelAction;
+            this.isInterrupting = isInterrupting;
+        }
+
+
+        /**
+         * Executes the action once, unless the registration was closed.
+         */
+        private synchronized void cancel()
+        {
+            if (isExecuted || !registrations.contains(this))
+                return;
+
+            isExecuted = true;
+
+            try {
+                cancelAction.run();
+            } catch (final RuntimeException e) { // NOPMD a failing action must not prevent the others
+                LOGGER.warn(String.format(CancellationConstants.CANCEL_ACTION_FAILED, e.getMessage()));
+            }
+        }
+
+
+        /**
+         * Removes the action from the token. If the action interrupted the
+         * thread that registered it, the interrupt is cleared.
+         */
+        @Override
+        public synchronized void close()
+        {
+            registrations.remove(this);
+
+            if (isExecuted && isInterrupting)
+                Thread.interrupted();
+        }
+    }
+}
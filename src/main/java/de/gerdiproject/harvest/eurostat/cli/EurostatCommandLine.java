@@ -0,0 +1,307 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.cli;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+
+import de.gerdiproject.harvest.config.Configuration;
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.etls.HarvestContext;
+import de.gerdiproject.harvest.etls.extractors.EurostatExtractor;
+import de.gerdiproject.harvest.etls.extractors.SdmxVO;
+import de.gerdiproject.harvest.etls.transformers.EurostatTransformer;
+import de.gerdiproject.harvest.eurostat.constants.CommandLineConstants;
+import de.gerdiproject.harvest.eurostat.partition.DataflowPartitions;
+import de.gerdiproject.harvest.eurostat.partition.IDataflowPartition;
+import de.gerdiproject.json.datacite.DataCiteJson;
+
+/**
+ * This class harvests Eurostat from the command line, without a servlet
+ * container. The parameters are read from the same config.json as the
+ * service, and may be overridden by arguments. One ETL is created for each
+ * dataflow partition that is configured via system properties or environment
+ * variables, and all ETLs are harvested concurrently. The documents of each
+ * ETL are written to a file of the output folder, one JSON document per line.
+ * The process exits with a non-zero status if any ETL did not finish.
+ *
+ * @author agent
+ */
+public class EurostatCommandLine
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(EurostatCommandLine.class);
+
+    private final List<EurostatETL> etls;
+    private final Map<EurostatETL, HarvestContext> contexts;
+    private final File outputFolder;
+    private final Gson gson;
+
+
+    /**
+     * Constructor
+     *
+     * @param etls the ETLs that are to be harvested
+     * @param outputFolder the folder to which the documents are written
+     */
+    public EurostatCommandLine(final List<EurostatETL> etls, final File outputFolder)
+    {
+        this.etls = etls;
+        this.outputFolder = outputFolder;
+        this.gson = new Gson();
+
+        // each ETL is harvested once, so the contexts can be cancelled before the harvests start
+        this.contexts = new HashMap<>();
+
+        for (final EurostatETL etl : etls)
+            contexts.put(etl, new HarvestContext(null));
+    }
+
+
+    /**
+     * Harvests all configured ETLs and exits.
+     *
+     * @param args the path of the config.json, the output folder, and
+     *         optional parameter overrides of the form &lt;ETL&gt;.&lt;parameter&gt;=&lt;value&gt;
+     */
+    public static void main(final String[] args)
+    {
+        if (args.length < 2) {
+            LOGGER.error(CommandLineConstants.USAGE);
+            System.exit(CommandLineConstants.EXIT_USAGE);
+        }
+
+        final File configFile = new File(args[0]);
+        final File outputFolder = new File(args[1]);
+
+        if (!configFile.isFile()) {
+            LOGGER.error(String.format(CommandLineConstants.CONFIG_NOT_FOUND_ERROR, configFile));
+            System.exit(CommandLineConstants.EXIT_USAGE);
+        }
+
+        try {
+            Files.createDirectories(outputFolder.toPath());
+        } catch (final IOException e) {
+            LOGGER.error(String.format(CommandLineConstants.CANNOT_CREATE_OUTPUT_ERROR, outputFolder, e.getMessage()));
+            System.exit(CommandLineConstants.EXIT_FAILURE);
+        }
+
+        // the parameters of the ETLs are loaded as soon as they are registered
+        final Configuration configuration = new Configuration(CommandLineConstants.MODULE_NAME);
+        configuration.setCacheFilePath(configFile.getPath());
+        configuration.loadFromDisk();
+        configuration.addEventListeners();
+
+        final List<EurostatETL> etls = new ArrayList<>();
+
+        for (final IDataflowPartition partition : DataflowPartitions.fromEnvironment()) {
+            final EurostatETL etl = new EurostatETL(partition);
+            etl.init(CommandLineConstants.MODULE_NAME);
+            etls.add(etl);
+        }
+
+        for (int i = 2; i < args.length; i++) {
+            final int separatorIndex = args[i].indexOf(CommandLineConstants.PARAMETER_SEPARATOR);
+
+            if (separatorIndex < 1) {
+                LOGGER.error(String.format(CommandLineConstants.INVALID_PARAMETER_ERROR, args[i]));
+                System.exit(CommandLineConstants.EXIT_USAGE);
+            }
+
+            LOGGER.info(configuration.setParameter(args[i].substring(0, separatorIndex),
+                                                   args[i].substring(separatorIndex + 1)));
+        }
+
+        final List<BatchResult> results = new EurostatCommandLine(etls, outputFolder).harvest();
+        boolean isSuccessful = true;
+
+        for (final BatchResult result : results)
+            isSuccessful &= result.isSuccessful();
+
+        System.exit(isSuccessful ? CommandLineConstants.EXIT_SUCCESS : CommandLineConstants.EXIT_FAILURE);
+    }
+
+
+    /**
+     * Harvests all ETLs concurrently, and logs a summary when all of them
+     * are finished. Shutting down the JVM cancels all harvests.
+     *
+     * @return the results of all ETLs
+     */
+    public List<BatchResult> harvest()
+    {
+        final long startTime = System.currentTimeMillis();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, etls.size()));
+        final Thread shutdownHook = new Thread(() -> cancel(executor));
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        LOGGER.info(String.format(CommandLineConstants.HARVEST_STARTED, etls.size(), outputFolder));
+
+        final List<Future<BatchResult>> futures = new ArrayList<>();
+
+        for (final EurostatETL etl : etls)
+            futures.add(executor.submit(() -> harvest(etl)));
+
+        final List<BatchResult> results = new ArrayList<>();
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (final ExecutionException e) {
+                LOGGER.error(String.format(CommandLineConstants.ETL_FAILED,
+                                           etls.get(i).getName(), 0, 0, e.getCause()), e.getCause());
+                results.add(new BatchResult(etls.get(i).getName(), 0, 0, false));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel(executor);
+                break;
+            }
+        }
+
+        executor.shutdown();
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (final IllegalStateException e) { // NOPMD the JVM is already shutting down
+            LOGGER.debug(e.getMessage());
+        }
+
+        long documentCount = 0;
+        int failedCount = etls.size() - results.size();
+
+        for (final BatchResult result : results) {
+            documentCount += result.getDocumentCount();
+
+            if (!result.isSuccessful())
+                failedCount++;
+        }
+
+        LOGGER.info(String.format(CommandLineConstants.SUMMARY,
+                                  documentCount,
+                                  etls.size(),
+                                  System.currentTimeMillis() - startTime,
+                                  failedCount));
+        return results;
+    }
+
+
+    /**
+     * Extracts and transforms all documents of an ETL, and writes them to a
+     * file of the output folder. The file is replaced atomically after all
+     * documents were written, so an incomplete harvest never replaces the
+     * output of a previous one.
+     *
+     * @param etl the ETL that is to be harvested
+     *
+     * @return the result of the harvest
+     */
+    private BatchResult harvest(final EurostatETL etl)
+    {
+        Thread.currentThread().setName(String.format(CommandLineConstants.THREAD_NAME_FORMAT, etl.getName()));
+
+        final long startTime = System.currentTimeMillis();
+        final File outputFile = new File(outputFolder, etl.getName() + CommandLineConstants.OUTPUT_FILE_SUFFIX);
+        final File tempFile = new File(outputFile.getPath() + CommandLineConstants.TEMP_FILE_SUFFIX);
+        final EurostatExtractor extractor = new EurostatExtractor();
+        final EurostatTransformer transformer = new EurostatTransformer();
+        final HarvestContext context = contexts.get(etl);
+        long documentCount = 0;
+
+        try {
+            extractor.init(etl, context);
+            transformer.init(etl, context);
+
+            final Iterator<SdmxVO> elements = extractor.extract();
+            final Iterator<DataCiteJson> documents = transformer.transform(elements);
+
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                                                        new FileOutputStream(tempFile),
+                                                        StandardCharsets.UTF_8))) {
+                while (documents.hasNext()) {
+                    writer.write(gson.toJson(documents.next()));
+                    writer.write('\n');
+                    documentCount++;
+                }
+            }
+
+            final long duration = System.currentTimeMillis() - startTime;
+
+            if (context.isAborted()) {
+                Files.deleteIfExists(tempFile.toPath());
+                LOGGER.warn(String.format(CommandLineConstants.ETL_ABORTED, etl.getName(), documentCount, duration));
+                return new BatchResult(etl.getName(), documentCount, duration, false);
+            }
+
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info(String.format(CommandLineConstants.ETL_FINISHED, etl.getName(), documentCount, outputFile, duration));
+            return new BatchResult(etl.getName(), documentCount, duration, true);
+
+        } catch (final Exception e) { // NOPMD every failure only affects its own ETL
+            final long duration = System.currentTimeMillis() - startTime;
+            LOGGER.error(String.format(CommandLineConstants.ETL_FAILED, etl.getName(), documentCount, duration, e.getMessage()), e);
+            tempFile.delete();
+            return new BatchResult(etl.getName(), documentCount, duration, false);
+
+        } finally {
+            transformer.clear();
+            extractor.clear();
+        }
+    }
+
+
+    /**
+     * Cancels the harvests of all ETLs, and waits a limited time for them to
+     * discard their incomplete output.
+     *
+     * @param executor the executor that runs the harvests
+     */
+    private void cancel(final ExecutorService executor)
+    {
+        LOGGER.warn(CommandLineConstants.SHUTDOWN_REQUESTED);
+
+        for (final HarvestContext context : contexts.values())
+            context.getCancellation().cancel();
+
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(CommandLineConstants.CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
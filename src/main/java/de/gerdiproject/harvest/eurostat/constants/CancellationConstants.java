@@ -0,0 +1,42 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the cancellation
+ * of harvests that are in progress.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CancellationConstants
+{
+    public static final String WATCH_THREAD_NAME = "EurostatCancellationWatch";
+    public static final long POLL_INTERVAL_MILLIS = 500;
+
+    // log messages
+    public static final String HARVEST_CANCELLED = "The harvest of '%s' was aborted! Cancelling all retrievals.";
+    public static final String DATAFLOWS_DISCARDED = "Discarding %d dataflows that were not harvested yet.";
+    public static final String RETRIEVAL_CANCELLED = "The retrieval of '%s' was cancelled!";
+    public static final String DELTA_NOT_COMMITTED = "The delta index was not committed, because the harvest was aborted.";
+    public static final String DELTA_INCOMPLETE = "The delta index was not committed, because not all dataflows were iterated.";
+    public static final String EXTRACTION_INTERRUPTED = "The extraction of '%s' was interrupted! Aborting the harvest.";
+    public static final String TRANSFORMATION_INTERRUPTED = "The transformation of '%s' was interrupted! Aborting the harvest.";
+    public static final String CANCEL_ACTION_FAILED = "Could not cancel a running operation: %s";
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the command-line
+ * batch mode, which harvests without a servlet container.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CommandLineConstants
+{
+    public static final String MODULE_NAME = "EUROSTAT";
+    public static final String OUTPUT_FILE_SUFFIX = ".json";
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final char PARAMETER_SEPARATOR = '=';
+    public static final String THREAD_NAME_FORMAT = "EurostatBatch-%s";
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_FAILURE = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final long CANCEL_TIMEOUT_SECONDS = 30;
+
+    public static final String USAGE = "Usage: java -cp <classpath> "
+                                       + "de.gerdiproject.harvest.eurostat.cli.EurostatCommandLine "
+                                       + "<config.json> <outputFolder> [<ETL>.<parameter>=<value> ...]";
+
+    // log messages
+    public static final String HARVEST_STARTED = "Harvesting %d ETLs to %s.";
+    public static final String ETL_FINISHED = "%s: wrote %d documents to %s in %d ms.";
+    public static final String ETL_FAILED = "%s: failed after %d documents and %d ms: %s";
+    public static final String ETL_ABORTED = "%s: aborted after %d documents and %d ms.";
+    public static final String SUMMARY = "Harvested %d documents of %d ETLs in %d ms. %d ETLs did not finish.";
+    public static final String SHUTDOWN_REQUESTED = "Shutdown requested! Cancelling all harvests.";
+
+    // errors
+    public static final String CONFIG_NOT_FOUND_ERROR = "The configuration file %s does not exist!";
+    public static final String INVALID_PARAMETER_ERROR = "Invalid parameter '%s'! Expected <ETL>.<parameter>=<value>.";
+    public static final String CANNOT_CREATE_OUTPUT_ERROR = "Could not create the output folder %s: %s";
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the suppression
+ * of documents with duplicate identifiers.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DedupConstants
+{
+    public static final int BYTES_PER_MEGABYTE = 1 << 20;
+    public static final int HASH_FUNCTION_COUNT = 4;
+    public static final long SECOND_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+    // log messages
+    public static final String SHARED_DATA_STRUCTURES = "Skipping %d dataflows, because their data structures are already harvested via other dataflows.";
+    public static final String SHARED_DATA_STRUCTURE = "Skipping '%s', because its data structure '%s' is already harvested via '%s'.";
+    public static final String DUPLICATES_DROPPED = "Dropped %d documents with duplicate identifiers.";
+}
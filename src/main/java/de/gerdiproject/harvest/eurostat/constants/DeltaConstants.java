@@ -0,0 +1,49 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the delta index
+ * that is used to skip unchanged documents.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DeltaConstants
+{
+    // files
+    public static final String INDEX_FILE_NAME = "deltaIndex.bin";
+    public static final String IDENTIFIERS_FILE_NAME = "deltaIdentifiers.bin";
+    public static final String TOMBSTONES_FILE_NAME = "tombstones.txt";
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    // binary layout
+    public static final int INDEX_MAGIC_NUMBER = 0x45534449;
+    public static final int INDEX_FORMAT_VERSION = 1;
+    public static final int INDEX_HEADER_SIZE = 16;
+    public static final int LONGS_PER_ENTRY = 3;
+    public static final int ENTRY_SIZE = LONGS_PER_ENTRY * Long.BYTES;
+    public static final int INITIAL_CAPACITY = 1 << 16;
+
+    // log messages
+    public static final String CANNOT_OPEN_INDEX = "Could not open delta index in '%s'! All documents will be harvested: %s";
+    public static final String INVALID_INDEX = "The delta index '%s' is corrupt or outdated and will be ignored!";
+    public static final String DELTA_SUMMARY = "Delta harvest: %d added, %d changed, %d unchanged, %d retained, %d removed. Tombstones written to '%s'.";
+    public static final String DELTA_DISCARDED = "Delta harvest was not completed. The previous delta index is kept.";
+}
@@ -39,12 +39,17 @@ public class EurostatConstants
 
     public static final String SDMX_BASE_URL_FORMAT
         = "http://ec.europa.eu/eurostat/SDMX/diss-web/rest/datastructure/ESTAT/%s";
+    public static final String SDMX_BATCH_URL_FORMAT
+        = "http://ec.europa.eu/eurostat/SDMX/diss-web/rest/datastructure/ESTAT/%s/latest?references=children";
+    public static final String BATCH_ID_SEPARATOR = "+";
 
     // Metadata default values
     public static final String PUBLISHER_KEY = "publisher";
     public static final String PUBLISHER_DEFAULT_VALUE = "Eurostat";
     public static final String LANGUAGE_KEY = "language";
     public static final String LANGUAGE_DEFAULT_VALUE = "en";
+    public static final String LABEL_LANGUAGES_KEY = "labelLanguages";
+    public static final String LABEL_LANGUAGES_DEFAULT_VALUE = "en";
     public static final String FORMAT_KEY = "format";
     public static final String FORMAT_DEFAULT_VALUE = "application/json";
     public static final String RIGHTS_NAME_KEY = "rightsName";
@@ -59,16 +64,45 @@ public class EurostatConstants
     public static final String MALFORMED_SDEM_URL_ERROR = "You must correctly set the '"
                                                           + EurostatConstants.SDEM_URL_KEY
                                                           + "'-parameter in the config!";
+    public static final String HARVEST_IN_PROGRESS_ERROR = "Cannot prepare a harvest of '%s', because a targeted re-harvest is in progress!";
     public static final String NO_RECORDS_ERROR = "The URL '%s' did not yield any harvestable records! Change the parameters in the config!";
+    public static final String INVALID_ENUM_PARAM_ERROR = "Cannot change value to '%s'! Allowed values are: %s";
+    public static final String CANNOT_DOWNLOAD_STRUCTURE = "Could not download the structure message from %s!";
+    public static final String DATAFLOW_FILTERED = "Filtered out %d of %d dataflows.";
+    public static final String CODES_FILTERED = "%s: %d of %d codes of dimension %s remain after filtering.";
+    public static final String INVALID_FRACTION_ERROR = "Cannot change value to '%s'! The value must be a number greater than 0 and at most 1.";
+    public static final String COMBINATIONS_SAMPLED = "%s: Sampled %d of %d dimension combinations.";
+    public static final String COMBINATION_CAP_EXCEEDED = "%s has %d dimension combinations, exceeding the maximum of %d! Applying '%s', resulting in %d combinations.";
 
     //MISC
     public static final String GEO_DIMENSION = "GEO";
     public static final String ALLOWED_DIMENSIONS_KEY = "allowedDimensions";
     public static final String ALLOWED_DIMENSIONS_DEFAULT_VALUE = "NA_ITEM,GEO,UNIT,FREQ,INDICATORS,PARTNER";
+    public static final String DIMENSION_SELECTION_KEY = "dimensionSelection";
+    public static final String DIMENSION_SELECTION_DEFAULT_VALUE = "all";
 
     public static final String DATA_PRODUCT_REGEX_KEY = "dataProductRegex";
     public static final String DATA_PRODUCT_REGEX_DEFAULT_VALUE = "DSD_.*";
 
+    public static final String HARVEST_FILTER_KEY = "harvestFilter";
+    public static final String HARVEST_FILTER_DEFAULT_VALUE = "";
+
+    public static final String MAX_COMBINATIONS_KEY = "maxCombinationsPerDataflow";
+    public static final int MAX_COMBINATIONS_DEFAULT_VALUE = 0;
+    public static final String COMBINATION_CAP_MODE_KEY = "combinationCapMode";
+    public static final String COMBINATION_CAP_MODE_DEFAULT_VALUE = "skip";
+    public static final String SAMPLING_MODE_KEY = "samplingMode";
+    public static final String SAMPLING_MODE_DEFAULT_VALUE = "off";
+    public static final String SAMPLE_COUNT_KEY = "sampleCount";
+    public static final int SAMPLE_COUNT_DEFAULT_VALUE = 10;
+    public static final String SAMPLE_FRACTION_KEY = "sampleFraction";
+    public static final String SAMPLE_FRACTION_DEFAULT_VALUE = "0.01";
+    public static final String SAMPLING_SEED_KEY = "samplingSeed";
+    public static final int SAMPLING_SEED_DEFAULT_VALUE = 1;
+    public static final int MAX_SAMPLE_SIZE = 1_000_000;
+    public static final String STRUCTURE_READER_KEY = "structureReader";
+    public static final String STRUCTURE_READER_DEFAULT_VALUE = "sdmxsource";
+
     public static final String TITLE_FORMAT = "%s (%s)";
     public static final String TITLE_DIMENSION_FORMAT = "%s";
     public static final String TITLE_DIMENSION_SEPARATOR = ", ";
@@ -82,5 +116,71 @@ public class EurostatConstants
     public static final String QUERY_PARAM_FORMAT = "%s=%s";
     public static final char QUERY_PARAM_SEPARATOR = '&';
 
+    // Delta harvesting
+    public static final String DELTA_INDEX_FOLDER_KEY = "deltaIndexFolder";
+    public static final String DELTA_INDEX_FOLDER_DEFAULT_VALUE = "";
+
+    // SDEM snapshot
+    public static final String CACHE_FOLDER_KEY = "cacheFolder";
+    public static final String CACHE_FOLDER_DEFAULT_VALUE = "";
+    public static final String SDEM_MAX_AGE_KEY = "sdemMaxAgeMinutes";
+    public static final int SDEM_MAX_AGE_DEFAULT_VALUE = 720;
+
+    // Dataflow discovery
+    public static final String DISCOVERY_SOURCE_KEY = "discoverySource";
+    public static final String DISCOVERY_SOURCE_DEFAULT_VALUE = "sdem";
+    public static final String TOC_URL_KEY = "tocUrl";
+    public static final String TOC_URL_DEFAULT_VALUE
+        = "https://ec.europa.eu/eurostat/estat-navtree-portlet-prod/BulkDownloadListing?sort=1&file=table_of_contents_en.txt";
+
+    // Duplicate identifiers
+    public static final String DUPLICATE_FILTER_MEGABYTES_KEY = "duplicateFilterMegabytes";
+    public static final int DUPLICATE_FILTER_MEGABYTES_DEFAULT_VALUE = 0;
+
+    // Work queue
+    public static final String WORK_QUEUE_KEY = "workQueue";
+    public static final String WORK_QUEUE_DEFAULT_VALUE = "";
+    public static final String LEASE_TIMEOUT_KEY = "leaseTimeoutSeconds";
+    public static final int LEASE_TIMEOUT_DEFAULT_VALUE = 300;
+
+    // Staging area
+    public static final String STAGING_FOLDER_KEY = "stagingFolder";
+    public static final String STAGING_FOLDER_DEFAULT_VALUE = "";
+    public static final String STAGING_INTERVAL_KEY = "stagingIntervalMinutes";
+    public static final int STAGING_INTERVAL_DEFAULT_VALUE = 0;
+    public static final String STAGING_MAX_AGE_KEY = "stagingMaxAgeMinutes";
+    public static final int STAGING_MAX_AGE_DEFAULT_VALUE = 1440;
+
+    // Pipeline stages
+    public static final String PREFETCH_DATA_STRUCTURES_KEY = "prefetchDataStructures";
+    public static final int PREFETCH_DATA_STRUCTURES_DEFAULT_VALUE = 0;
+    public static final String PIPELINE_QUEUE_SIZE_KEY = "pipelineQueueSize";
+    public static final int PIPELINE_QUEUE_SIZE_DEFAULT_VALUE = 0;
+    public static final String STRUCTURE_BATCH_SIZE_KEY = "structureBatchSize";
+    public static final int STRUCTURE_BATCH_SIZE_DEFAULT_VALUE = 1;
+    public static final String BATCH_FAILED = "Could not retrieve the data structures %s in a single request: %s Retrieving all further data structures one by one.";
+    public static final String HEAP_LIMIT_PERCENT_KEY = "heapLimitPercent";
+    public static final int HEAP_LIMIT_PERCENT_DEFAULT_VALUE = 0;
+
+    // Hedged requests
+    public static final String HEDGING_PERCENTILE_KEY = "hedgingPercentile";
+    public static final int HEDGING_PERCENTILE_DEFAULT_VALUE = 0;
+    public static final String HEDGING_BUDGET_PERCENT_KEY = "hedgingBudgetPercent";
+    public static final int HEDGING_BUDGET_PERCENT_DEFAULT_VALUE = 5;
+
+    // Document profiles
+    public static final String DOCUMENT_PROFILE_KEY = "documentProfile";
+    public static final String DOCUMENT_PROFILE_DEFAULT_VALUE = "full";
+    public static final String PARENT_DESCRIPTION_FORMAT = "%s%nDimensions: %s";
+    public static final String PARENT_DIMENSION_SEPARATOR = ", ";
+
+    // Shared document parts
+    public static final int SUBJECT_CACHE_CAPACITY = 65_536;
+    public static final int GEO_LOCATION_CACHE_CAPACITY = 16_384;
+    public static final String SHARED_PARTS_SUMMARY = "Shared %d of %d subjects and %d of %d geo locations among the documents.";
+
+    // GeoLocations
+    public static final String GEO_CODE_FILE_KEY = "geoCodeFile";
+    public static final String GEO_CODE_FILE_DEFAULT_VALUE = "";
 
 }
@@ -0,0 +1,59 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import java.util.regex.Pattern;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding harvest filters.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FilterConstants
+{
+    public static final String RULE_SEPARATOR = ";";
+    public static final String LIST_SEPARATOR = "\\s*,\\s*";
+    public static final String MEMBERS_SUFFIX = " members";
+
+    public static final Pattern DATAFLOW_RULE_PATTERN =
+        Pattern.compile("(include|exclude)\\s+(.+)", Pattern.CASE_INSENSITIVE);
+    public static final Pattern CODE_LIST_RULE_PATTERN =
+        Pattern.compile("(\\w+)\\s+(not\\s+)?in\\s+(.+)", Pattern.CASE_INSENSITIVE);
+    public static final Pattern CODE_REGEX_RULE_PATTERN =
+        Pattern.compile("(\\w+)\\s+(not\\s+)?matches\\s+(.+)", Pattern.CASE_INSENSITIVE);
+    public static final String INCLUDE = "include";
+
+    // members of a group also comprise the NUTS regions of the member countries, i.e. the country code and 1-3 NUTS levels
+    public static final Pattern NUTS_REGION_PATTERN = Pattern.compile("[A-Z]{2}[0-9A-Z]{1,3}");
+
+    // aggregates that look like NUTS regions, e.g. EA19 or EEA30, but do not belong to the country of their prefix
+    public static final Pattern AGGREGATE_CODE_PATTERN = Pattern.compile("(EU|EA|EEA|EFTA).*");
+    public static final int COUNTRY_CODE_LENGTH = 2;
+
+    public static final String BUNDLED_CODE_GROUPS_RESOURCE = "/eurostat/codeGroups.csv";
+    public static final String COMMENT_PREFIX = "#";
+    public static final String GROUP_SEPARATOR = ";";
+
+    // errors
+    public static final String INVALID_RULE_ERROR = "Invalid filter rule '%s'! Expected 'include|exclude <ids>', '<DIMENSION> [not] in <codes>', or '<DIMENSION> [not] matches <regex>'.";
+    public static final String UNKNOWN_GROUP_ERROR = "Unknown code group '%s'! Known groups are: %s";
+    public static final String INVALID_REGEX_ERROR = "Invalid regular expression in filter rule '%s': %s";
+    public static final String MISSING_CODE_GROUPS = "The bundled code groups could not be loaded!";
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the lookup of
+ * coordinates of EUROSTAT GEO codes.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class GeoConstants
+{
+    public static final String BUNDLED_GEO_CODES_RESOURCE = "/eurostat/geoCodes.csv";
+    public static final String COMMENT_PREFIX = "#";
+    public static final String COLUMN_SEPARATOR = ";";
+    public static final int COLUMN_COUNT = 7;
+
+    // log messages
+    public static final String INVALID_LINE = "Ignoring invalid GEO code line '%s'";
+    public static final String CANNOT_LOAD_GEO_CODES = "Could not load GEO codes from '%s'! Falling back to the bundled GEO codes: %s";
+    public static final String MISSING_BUNDLED_GEO_CODES = "The bundled GEO codes could not be found!";
+}
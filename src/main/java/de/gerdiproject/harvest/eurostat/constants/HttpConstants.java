@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the adaptive
+ * control of the requests that retrieve structure messages.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HttpConstants
+{
+    // concurrency limit
+    public static final double INITIAL_LIMIT = 2;
+    public static final double MIN_LIMIT = 1;
+    public static final double MAX_LIMIT = 16;
+    public static final double DECREASE_FACTOR = 0.5;
+    public static final long DECREASE_INTERVAL_MILLIS = 1000;
+
+    // latency
+    public static final double LATENCY_TOLERANCE = 2.5;
+    public static final double AVERAGE_LATENCY_WEIGHT = 0.2;
+    public static final double BASELINE_DRIFT_WEIGHT = 0.01;
+    public static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    // throttling
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final int SERVICE_UNAVAILABLE = 503;
+    public static final int FIRST_ERROR_CODE = 400;
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final long DEFAULT_RETRY_AFTER_MILLIS = 5000;
+    public static final long MAX_RETRY_AFTER_MILLIS = 300_000;
+    public static final long MILLIS_PER_SECOND = 1000;
+    public static final int MAX_ATTEMPTS = 4;
+
+    // connections
+    public static final int CONNECT_TIMEOUT_MILLIS = 30_000;
+    public static final int READ_TIMEOUT_MILLIS = 120_000;
+    public static final int DOWNLOAD_BUFFER_SIZE = 8192;
+
+    // hedged requests
+    public static final int HEDGING_WINDOW_SIZE = 200;
+    public static final int HEDGING_MIN_SAMPLES = 20;
+    public static final int MAX_HEDGING_PERCENTILE = 99;
+    public static final int HEDGED_EXTRA_REQUESTS = 1;
+    public static final String HEDGE_TIMER_THREAD_NAME = "EurostatHedgeTimer";
+    public static final String HEDGE_THREAD_NAME = "EurostatHedgedFetch";
+
+    // JMX
+    public static final String MBEAN_NAME = "de.gerdiproject.eurostat:type=StructureRateController";
+
+    // log messages
+    public static final String THROTTLED = "Eurostat throttled the request of %s with HTTP %d! Pausing requests for %d ms and reducing the concurrency limit to %.2f.";
+    public static final String LATENCY_INCREASED = "The latency of structure requests rose to %.0f ms (baseline %.0f ms)! Reducing the concurrency limit to %.2f.";
+    public static final String HTTP_ERROR = "Could not download the structure message from %s: HTTP %d";
+    public static final String TOO_MANY_ATTEMPTS = "Could not download the structure message from %s after %d throttled attempts!";
+    public static final String REQUEST_HEDGED = "The request of %s did not respond within %d ms! Sending a hedged request.";
+    public static final String HEDGING_SUMMARY = "Hedged %d of %d structure requests. %d hedged requests completed first.";
+    public static final String CANNOT_REGISTER_MBEAN = "Could not register the rate controller as MBean: %s";
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding Java Flight Recorder events.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class JfrConstants
+{
+    public static final String CATEGORY_GERDI = "GeRDI";
+    public static final String CATEGORY_EUROSTAT = "Eurostat";
+
+    public static final String SDEM_LOAD_EVENT = "de.gerdiproject.eurostat.SdemLoad";
+    public static final String DSD_FETCH_EVENT = "de.gerdiproject.eurostat.DsdFetch";
+    public static final String COMBINATION_EXPANSION_EVENT = "de.gerdiproject.eurostat.CombinationExpansion";
+    public static final String TRANSFORM_BATCH_EVENT = "de.gerdiproject.eurostat.TransformBatch";
+
+    // the maximum number of documents of a single transform batch event
+    public static final int TRANSFORM_BATCH_SIZE = 1000;
+}
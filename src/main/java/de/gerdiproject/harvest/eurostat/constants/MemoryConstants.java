@@ -0,0 +1,40 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the admission
+ * of data structures depending on the heap usage.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemoryConstants
+{
+    public static final double PERCENT = 100.0;
+    public static final long POLL_INTERVAL_MILLIS = 5000;
+    public static final long COLLECTION_REQUEST_INTERVAL_MILLIS = 120_000;
+
+    // log messages
+    public static final String PRESSURE_PAUSE = "Heap usage of %.0f%% exceeds the limit of %.0f%%! Pausing before retrieving '%s'.";
+    public static final String PRESSURE_RELIEVED = "Heap usage dropped to %.0f%% after %d ms. Resuming with '%s'.";
+    public static final String PRESSURE_PERSISTS = "Heap usage is still %.0f%% after %d ms! Requesting a garbage collection before retrieving '%s'.";
+    public static final String PREFETCH_SUSPENDED = "Not retrieving upcoming data structures ahead, because the heap usage of %.0f%% exceeds the limit.";
+    public static final String ADMISSION_INTERRUPTED = "The retrieval of '%s' was interrupted while waiting for free heap memory!";
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the partitioning of dataflows.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PartitionConstants
+{
+    // system properties or environment variables
+    public static final String THEMES_KEY = "EUROSTAT_PARTITIONS";
+    public static final String COUNT_KEY = "EUROSTAT_PARTITION_COUNT";
+    public static final String NODE_PARTITIONS_KEY = "EUROSTAT_NODE_PARTITIONS";
+
+    public static final String LIST_SEPARATOR = "\\s*,\\s*";
+    public static final String DATA_STRUCTURE_PREFIX = "DSD_";
+    public static final char THEME_SEPARATOR = '_';
+    public static final String REMAINDER_PARTITION_NAME = "other";
+    public static final String HASH_PARTITION_NAME_FORMAT = "%dof%d";
+    public static final String ETL_NAME_FORMAT = "%s_%s";
+
+    // log messages
+    public static final String PARTITIONS_CREATED = "Harvesting %d of %d dataflow partitions on this node.";
+
+    // errors
+    public static final String AMBIGUOUS_PARTITIONS_ERROR = "Cannot partition dataflows by theme and by hash at the same time! Set either "
+                                                            + THEMES_KEY + " or " + COUNT_KEY + ".";
+    public static final String INVALID_COUNT_ERROR = "Invalid partition count '%s'! It must be a positive integer.";
+    public static final String UNKNOWN_PARTITIONS_ERROR = "Unknown partitions: %s";
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the stages of the
+ * harvesting pipeline, which run concurrently.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PipelineConstants
+{
+    public static final String PREFETCH_THREAD_NAME = "EurostatStructurePrefetch";
+    public static final String TRANSFORM_THREAD_NAME = "EurostatTransformStage";
+    public static final int BATCH_SIZE = 256;
+    public static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    public static final long POLL_INTERVAL_MILLIS = 250;
+
+    // log messages
+    public static final String STAGE_NOT_TERMINATED = "The pipeline stage '%s' did not terminate within %d seconds!";
+    public static final String PREFETCH_INTERRUPTED = "The retrieval of '%s' was interrupted!";
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the planning of harvests.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PlanConstants
+{
+    // size estimation: bytes of the JSON fields that are identical for all documents
+    public static final int DOCUMENT_BASE_BYTES = 900;
+
+    // size estimation: bytes of JSON syntax per dimension of a subject, title, and description
+    public static final int DIMENSION_BASE_BYTES = 60;
+
+    // size estimation: the dataflow name appears in the title, description, and research data
+    public static final int DATAFLOW_NAME_OCCURRENCES = 3;
+
+    // size estimation: the code name appears in the title, subject, and description
+    public static final int CODE_NAME_OCCURRENCES = 3;
+
+    // size estimation: the identifier appears as identifier and research data URL
+    public static final int IDENTIFIER_OCCURRENCES = 2;
+
+    // cap actions
+    public static final String CAP_ACTION_NONE = "NONE";
+
+    // states
+    public static final String STATE_IDLE = "IDLE";
+    public static final String STATE_PLANNING = "PLANNING";
+    public static final String STATE_DONE = "DONE";
+    public static final String STATE_FAILED = "FAILED";
+
+    // log messages
+    public static final String PLANNING_STARTED = "Started planning the harvest of %d dataflows.";
+    public static final String PLANNING_FINISHED = "Finished planning: %d dataflows, %d projected records, %d planned records, ~%d bytes.";
+    public static final String PLANNING_FAILED = "Planning the harvest failed!";
+    public static final String PLANNING_IN_PROGRESS = "A harvest plan is already being computed!";
+    public static final String PLANNING_TRIGGERED = "Started planning the harvest. Retrieve the plan via GET.";
+    public static final String THREAD_NAME = "EurostatHarvestPlanner";
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the work queue
+ * that distributes dataflows among several harvester instances.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class QueueConstants
+{
+    public static final String LOCAL_QUEUE = "local";
+    public static final String QUEUE_FILE_NAME = "queue.txt";
+    public static final String LEASE_FILE_SUFFIX = ".lease";
+    public static final String DONE_FILE_SUFFIX = ".done";
+    public static final String EXPIRED_FILE_FORMAT = "%s.%s.expired";
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final String INVALID_FILE_CHARACTERS = "[^A-Za-z0-9._-]";
+    public static final String FILE_CHARACTER_REPLACEMENT = "_";
+    public static final String THREAD_NAME = "EurostatLeaseRenewal";
+    public static final int RENEWALS_PER_TIMEOUT = 3;
+    public static final long MILLIS_PER_SECOND = 1000L;
+
+    // log messages
+    public static final String QUEUE_JOINED = "Joined the work queue '%s' of %d dataflows as node '%s'.";
+    public static final String LEASE_EXPIRED = "Taking over the expired lease of '%s'.";
+    public static final String LEASE_RENEWED = "Not taking over the lease of '%s', because it was renewed in the meantime.";
+    public static final String LEASE_LOST = "Could not restore the lease of '%s', because another node claimed it in the meantime.";
+    public static final String LEASE_RELEASED = "Handing '%s' back to the work queue.";
+    public static final String DATAFLOWS_REQUEUED = "Claiming %d dataflows that were handed back to the work queue.";
+    public static final String CLAIMED_ELSEWHERE = "Skipping '%s', because it is harvested by another node.";
+    public static final String QUEUE_ERROR = "Work queue error for '%s': %s";
+    public static final String CANNOT_PUBLISH_QUEUE = "Could not publish the work queue to %s: %s! Harvesting the local selection of dataflows.";
+}
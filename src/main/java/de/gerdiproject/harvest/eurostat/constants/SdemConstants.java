@@ -0,0 +1,48 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the cached SDEM snapshot.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SdemConstants
+{
+    public static final String SNAPSHOT_FILE_NAME = "sdemSnapshot.json.gz";
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final String THREAD_NAME = "EurostatSdemRefresh";
+    public static final long MILLIS_PER_MINUTE = 60_000L;
+
+    // states
+    public static final String STATE_IDLE = "IDLE";
+    public static final String STATE_REFRESHING = "REFRESHING";
+    public static final String STATE_FAILED = "FAILED";
+
+    // log messages
+    public static final String SNAPSHOT_LOADED = "Loaded SDEM snapshot %s with %d dataflows from %s.";
+    public static final String SNAPSHOT_REFRESHED = "Retrieved SDEM %s with %d dataflows in %d ms.";
+    public static final String CANNOT_LOAD_SNAPSHOT = "Could not load the SDEM snapshot from %s: %s";
+    public static final String CANNOT_SAVE_SNAPSHOT = "Could not save the SDEM snapshot to %s: %s";
+    public static final String REFRESH_FAILED = "Could not retrieve the SDEM from %s!";
+    public static final String USING_OUTDATED_SNAPSHOT = "Harvesting the outdated SDEM snapshot %s, because the SDEM could not be retrieved!";
+    public static final String NO_SNAPSHOT_ERROR = "The SDEM could not be retrieved from %s and there is no cached snapshot!";
+    public static final String REFRESH_TRIGGERED = "Started retrieving the SDEM. Retrieve the status via GET.";
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the staging area,
+ * in which the documents of the next harvest are prepared ahead of time.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StagingConstants
+{
+    public static final String INDEX_FILE_NAME = "stagingIndex.json.gz";
+    public static final String DOCUMENTS_FILE_SUFFIX = ".tsv.gz";
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final char IDENTIFIER_SEPARATOR = '\t';
+    public static final String THREAD_NAME = "EurostatStaging";
+
+    // states
+    public static final String STATE_IDLE = "IDLE";
+    public static final String STATE_PREPARING = "PREPARING";
+    public static final String STATE_FAILED = "FAILED";
+    public static final String STATE_DISABLED = "DISABLED";
+
+    // log messages
+    public static final String PREPARATION_STARTED = "Preparing the documents of %d dataflows in the background.";
+    public static final String PREPARATION_FINISHED = "Prepared %d documents of %d dataflows in %d ms. %d dataflows were already prepared.";
+    public static final String PREPARATION_CANCELLED = "The preparation of documents was cancelled after %d dataflows.";
+    public static final String PREPARATION_SKIPPED = "Not preparing any documents of '%s', because it is being harvested!";
+    public static final String PREPARATION_FAILED = "Could not prepare the documents of the next harvest!";
+    public static final String DATAFLOW_PREPARED = "Prepared %d documents of '%s'.";
+    public static final String DATAFLOW_NOT_PREPARED = "Could not prepare the documents of '%s': %s";
+    public static final String STAGED_DATAFLOWS = "Submitting the prepared documents of %d of %d dataflows.";
+    public static final String CANNOT_LOAD_INDEX = "Could not load the staging index from %s: %s";
+    public static final String CANNOT_SAVE_INDEX = "Could not save the staging index to %s: %s";
+    public static final String CANNOT_READ_DOCUMENTS = "Could not read the prepared documents of '%s'!";
+    public static final String CANNOT_DELETE_FILE = "Could not delete the outdated staging file %s: %s";
+    public static final String PREPARATION_TRIGGERED = "Started preparing the documents of the next harvest. Retrieve the status via GET.";
+}
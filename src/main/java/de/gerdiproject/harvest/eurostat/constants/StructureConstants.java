@@ -0,0 +1,52 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the parsing of structure messages.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StructureConstants
+{
+    // SDMX-ML 2.1 elements and attributes
+    public static final String CODELIST_ELEMENT = "Codelist";
+    public static final String CODE_ELEMENT = "Code";
+    public static final String NAME_ELEMENT = "Name";
+    public static final String CONCEPT_ELEMENT = "Concept";
+    public static final String DATA_STRUCTURE_ELEMENT = "DataStructure";
+    public static final String DIMENSION_LIST_ELEMENT = "DimensionList";
+    public static final String DIMENSION_ELEMENT = "Dimension";
+    public static final String MEASURE_DIMENSION_ELEMENT = "MeasureDimension";
+    public static final String ENUMERATION_ELEMENT = "Enumeration";
+    public static final String CONCEPT_IDENTITY_ELEMENT = "ConceptIdentity";
+    public static final String REF_ELEMENT = "Ref";
+    public static final String URN_ELEMENT = "URN";
+    public static final String ID_ATTRIBUTE = "id";
+    public static final String LANG_ATTRIBUTE = "lang";
+
+    // log messages
+    public static final String NO_CODES_WARNING = "No Codes for %s, will be ignored!";
+
+    // errors
+    public static final String CANNOT_PARSE_STRUCTURE = "Could not parse the structure message: %s";
+    public static final String NO_DATA_STRUCTURE_ERROR = "The structure message does not contain a data structure!";
+    public static final String PARSING_INTERRUPTED = "The parsing of the structure message was interrupted!";
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding targeted harvests,
+ * which re-harvest a single dataflow or a single record.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TargetConstants
+{
+    public static final String THREAD_NAME = "EurostatTargetedHarvest";
+    public static final String DATA_STRUCTURE_PREFIX = "DSD_";
+    public static final char PATH_SEPARATOR = '/';
+    public static final char QUERY_SEPARATOR = '?';
+    public static final String QUERY_PARAM_SEPARATOR = "&";
+    public static final char QUERY_VALUE_SEPARATOR = '=';
+    public static final String VERSION_FORMAT = "%s#%s";
+    public static final int STRUCTURE_CACHE_CAPACITY = 32;
+
+    // query parameters
+    public static final String DATAFLOW_PARAM = "dataflow";
+    public static final String IDENTIFIER_PARAM = "identifier";
+
+    // states
+    public static final String STATE_IDLE = "IDLE";
+    public static final String STATE_HARVESTING = "HARVESTING";
+    public static final String STATE_DONE = "DONE";
+    public static final String STATE_FAILED = "FAILED";
+
+    // log messages
+    public static final String HARVEST_STARTED = "Re-harvesting %s of '%s'.";
+    public static final String HARVEST_FINISHED = "Re-harvested %s of '%s' in %d ms.";
+    public static final String HARVEST_FAILED = "Could not re-harvest %s of '%s'!";
+    public static final String DATAFLOW_NOT_FOUND = "The dataflow %s is not part of the SDEM or the table of contents, or is not harvested by '%s'!";
+    public static final String RECORD_NOT_FOUND = "The record %s is not part of the combinations of its data structure!";
+    public static final String RECORD_FOUND = "Found the record %s in the combinations of %s.";
+    public static final String CACHED_STRUCTURE_USED = "Using the cached data structure %s, which was retrieved %d ms ago.";
+    public static final String HARVEST_TRIGGERED = "Started re-harvesting %s. Retrieve the status via GET.";
+
+    // errors
+    public static final String MISSING_TARGET_ERROR = "Specify either the query parameter '" + DATAFLOW_PARAM
+                                                      + "' or '" + IDENTIFIER_PARAM + "'!";
+    public static final String INVALID_IDENTIFIER_ERROR = "The identifier %s is not a record of %s!";
+    public static final String UNKNOWN_IDENTIFIER_ERROR = "The identifier %s is not a record of any ETL!";
+    public static final String NO_ETL_ERROR = "No ETL harvests the data structure %s!";
+    public static final String ETL_BUSY_ERROR = "'%s' is already harvesting! Try again after the harvest finished.";
+}
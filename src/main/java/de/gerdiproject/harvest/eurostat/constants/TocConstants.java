@@ -0,0 +1,62 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.constants;
+
+import java.time.format.DateTimeFormatter;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * A static collection of constant parameters regarding the discovery of
+ * dataflows via the table of contents of the Eurostat bulk download.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TocConstants
+{
+    // table of contents
+    public static final String TOC_LANGUAGE = "en";
+    public static final String COLUMN_SEPARATOR = "\t";
+    public static final String QUOTE = "\"";
+    public static final String ESCAPED_QUOTE = "\"\"";
+    public static final char BYTE_ORDER_MARK = '\uFEFF';
+    public static final String TITLE_COLUMN = "title";
+    public static final String CODE_COLUMN = "code";
+    public static final String TYPE_COLUMN = "type";
+    public static final String LAST_UPDATE_COLUMN = "last update of data";
+    public static final String TYPE_DATASET = "dataset";
+    public static final String TYPE_TABLE = "table";
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    public static final String DATA_STRUCTURE_PREFIX = "DSD_";
+    public static final String URL_SCHEME_SEPARATOR = "://";
+    public static final String FILE_URL_PREFIX = "file:";
+    public static final String VERSION_FORMAT = "%s-%d";
+
+    // state of the previous harvest
+    public static final String STATE_FILE_NAME = "tocState.tsv";
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final String STATE_LINE_FORMAT = "%s\t%s%n";
+
+    // log messages
+    public static final String TOC_READ = "Read %d datasets from the table of contents at %s in %d ms.";
+    public static final String CANNOT_READ_TOC = "Could not read the table of contents from %s!";
+    public static final String MISSING_COLUMN_ERROR = "The table of contents has no column '%s'!";
+    public static final String UNCHANGED_DATAFLOWS = "Skipping %d dataflows that were not updated since the previous harvest.";
+    public static final String CANNOT_LOAD_STATE = "Could not load the table of contents state from %s! All dataflows will be harvested: %s";
+    public static final String CANNOT_SAVE_STATE = "Could not save the table of contents state to %s: %s";
+}
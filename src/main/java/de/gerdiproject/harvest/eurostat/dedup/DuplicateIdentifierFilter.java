@@ -0,0 +1,215 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.dedup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.gerdiproject.harvest.eurostat.constants.EurostatConstants;
+
+/**
+ * This class detects documents of which the identifiers were already
+ * harvested. An identifier consists of a prefix that is derived from the
+ * data structure ID, and of the codes of the dimension combination. Since
+ * the combinations of a data structure are distinct, identifiers can only
+ * repeat if several data structures yield the same prefix. Only identifiers
+ * with those prefixes are checked, so all other identifiers neither fill
+ * the filter nor are ever suppressed. An {@linkplain OffHeapBloomFilter} of
+ * fixed size rejects most new identifiers. A possible duplicate is only
+ * confirmed if another data structure with the same prefix already yielded
+ * the same dimensions and each of the codes of the identifier. The codes
+ * are collected per data structure and dimension, so the memory of the
+ * confirmation is bounded by the code lists, not by the number of documents.
+ *
+ * @author agent
+ */
+public class DuplicateIdentifierFilter
+{
+    private final OffHeapBloomFilter bloomFilter;
+    private final Set<String> sharedPrefixes;
+    private final Map<String, Map<String, Map<List<String>, List<Set<String>>>>> harvestedCodes;
+    private long duplicateCount;
+
+
+    /**
+     * Constructor
+     *
+     * @param sizeInBytes the size of the Bloom filter
+     * @param identifierPrefixes the identifier prefixes of all data structures
+     *         that are harvested, one per data structure
+     */
+    public DuplicateIdentifierFilter(final int sizeInBytes, final Collection<String> identifierPrefixes)
+    {
+        final Set<String> uniquePrefixes = new HashSet<>();
+        this.sharedPrefixes = new HashSet<>();
+
+        for (final String prefix : identifierPrefixes) {
+            if (!uniquePrefixes.add(prefix))
+                sharedPrefixes.add(prefix);
+        }
+
+        // without shared prefixes, no identifier can repeat
+        this.bloomFilter = sharedPrefixes.isEmpty() ? null : new OffHeapBloomFilter(sizeInBytes);
+        this.harvestedCodes = new HashMap<>();
+    }
+
+
+    /**
+     * Registers the identifier of a document and checks if it was registered before.
+     *
+     * @param identifier the identifier of the document
+     * @param dataStructureId the ID of the data structure of the document
+     *
+     * @return true if the document is a duplicate and is to be suppressed
+     */
+    public synchronized boolean isDuplicate(final String identifier, final String dataStructureId)
+    {
+        if (bloomFilter == null)
+            return false;
+
+        final int querySeparatorIndex = identifier.indexOf('?') + 1;
+        final String prefix = identifier.substring(0, querySeparatorIndex);
+
+        if (!sharedPrefixes.contains(prefix))
+            return false;
+
+        final List<String> dimensionIds = new ArrayList<>();
+        final List<String> codeIds = new ArrayList<>();
+        parseQuery(identifier.substring(querySeparatorIndex), dimensionIds, codeIds);
+
+        final Map<String, Map<List<String>, List<Set<String>>>> siblingCodes =
+            harvestedCodes.computeIfAbsent(prefix, (final String p) -> new HashMap<>());
+
+        // the Bloom filter rules out most identifiers before their codes are compared
+        if (bloomFilter.add(identifier) && isHarvestedBySibling(siblingCodes, dataStructureId, dimensionIds, codeIds)) {
+            duplicateCount++;
+            return true;
+        }
+
+        final List<Set<String>> codesByDimension =
+            siblingCodes.computeIfAbsent(dataStructureId, (final String id) -> new HashMap<>())
+            .computeIfAbsent(dimensionIds, (final List<String> ids) -> createCodeSets(ids.size()));
+
+        for (int i = 0; i < codeIds.size(); i++)
+            codesByDimension.get(i).add(codeIds.get(i));
+
+        return false;
+    }
+
+
+    /**
+     * Returns the number of documents that were suppressed.
+     *
+     * @return the number of duplicates
+     */
+    public synchronized long getDuplicateCount()
+    {
+        return duplicateCount;
+    }
+
+
+    /**
+     * Checks if another data structure with the same identifier prefix
+     * yielded the same dimensions and each of the codes of an identifier.
+     *
+     * @param siblingCodes the harvested codes of the data structures with the same prefix
+     * @param dataStructureId the ID of the data structure of the identifier
+     * @param dimensionIds the dimensions of the identifier in their order
+     * @param codeIds the codes of the identifier in the order of the dimensions
+     *
+     * @return true if the identifier was harvested by another data structure
+     */
+    private static boolean isHarvestedBySibling(
+        final Map<String, Map<List<String>, List<Set<String>>>> siblingCodes,
+        final String dataStructureId,
+        final List<String> dimensionIds,
+        final List<String> codeIds)
+    {
+        for (final Map.Entry<String, Map<List<String>, List<Set<String>>>> sibling : siblingCodes.entrySet()) {
+            if (sibling.getKey().equals(dataStructureId))
+                continue;
+
+            final List<Set<String>> codesByDimension = sibling.getValue().get(dimensionIds);
+
+            if (codesByDimension != null && containsAll(codesByDimension, codeIds))
+                return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Checks if each code is among the harvested codes of its dimension.
+     *
+     * @param codesByDimension the harvested codes of each dimension
+     * @param codeIds the codes in the order of the dimensions
+     *
+     * @return true if all codes were harvested
+     */
+    private static boolean containsAll(final List<Set<String>> codesByDimension, final List<String> codeIds)
+    {
+        for (int i = 0; i < codeIds.size(); i++) {
+            if (!codesByDimension.get(i).contains(codeIds.get(i)))
+                return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Creates an empty set of codes for each dimension.
+     *
+     * @param dimensionCount the number of dimensions
+     *
+     * @return a list of empty code sets
+     */
+    private static List<Set<String>> createCodeSets(final int dimensionCount)
+    {
+        final List<Set<String>> codeSets = new ArrayList<>(dimensionCount);
+
+        for (int i = 0; i < dimensionCount; i++)
+            codeSets.add(new HashSet<>());
+
+        return codeSets;
+    }
+
+
+    /**
+     * Splits the query of an identifier into its dimensions and codes.
+     *
+     * @param query the query of the identifier, without the leading question mark
+     * @param dimensionIds the list to which the dimensions are added
+     * @param codeIds the list to which the codes are added
+     */
+    private static void parseQuery(final String query, final List<String> dimensionIds, final List<String> codeIds)
+    {
+        if (query.isEmpty())
+            return;
+
+        for (final String parameter : query.split(String.valueOf(EurostatConstants.QUERY_PARAM_SEPARATOR))) {
+            final int valueIndex = parameter.indexOf('=');
+            dimensionIds.add(valueIndex < 0 ? parameter : parameter.substring(0, valueIndex));
+            codeIds.add(valueIndex < 0 ? "" : parameter.substring(valueIndex + 1));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.dedup;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import de.gerdiproject.harvest.eurostat.constants.DedupConstants;
+import de.gerdiproject.harvest.eurostat.utils.HashUtil;
+
+/**
+ * This class is a Bloom filter of Strings with a fixed size. The bits are
+ * stored outside of the heap, so a large filter neither burdens the garbage
+ * collector nor competes with the documents for heap space.
+ *
+ * @author agent
+ */
+public class OffHeapBloomFilter
+{
+    private final LongBuffer bits;
+    private final long bitCount;
+
+
+    /**
+     * Constructor
+     *
+     * @param sizeInBytes the number of bytes of the filter, which is rounded down to a multiple of eight
+     */
+    public OffHeapBloomFilter(final int sizeInBytes)
+    {
+        final int longCount = Math.max(1, sizeInBytes / Long.BYTES);
+        this.bits = ByteBuffer.allocateDirect(longCount * Long.BYTES).asLongBuffer();
+        this.bitCount = (long) longCount * Long.SIZE;
+    }
+
+
+    /**
+     * Adds a String to the filter.
+     *
+     * @param value the String to be added
+     *
+     * @return true if the String might have been added before, false if it was certainly not
+     */
+    public boolean add(final String value)
+    {
+        final long hash1 = HashUtil.hash64(value);
+        final long hash2 = HashUtil.hash64(value, DedupConstants.SECOND_HASH_SEED) | 1;
+        boolean mightContain = true;
+
+        for (int i = 0; i < DedupConstants.HASH_FUNCTION_COUNT; i++) {
+            final long bitIndex = Math.floorMod(hash1 + i * hash2, bitCount);
+            final int longIndex = (int)(bitIndex >>> 6);
+            final long mask = 1L << bitIndex;
+            final long word = bits.get(longIndex);
+
+            if ((word & mask) == 0) {
+                bits.put(longIndex, word | mask);
+                mightContain = false;
+            }
+        }
+
+        return mightContain;
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.delta;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import de.gerdiproject.harvest.eurostat.constants.DeltaConstants;
+
+/**
+ * This class provides read access to the delta index of a previous harvest.
+ * The index consists of entries of identifier hashes, content hashes, and
+ * offsets into an identifier file, which are sorted by identifier hash.
+ * The index file is memory-mapped, so it does not occupy any heap space.
+ *
+ * @author agent
+ */
+public class DeltaIndex implements AutoCloseable
+{
+    private final ByteBuffer entries;
+    private final int size;
+    private final RandomAccessFile identifierFile;
+
+
+    /**
+     * Constructor that creates an empty index.
+     */
+    public DeltaIndex()
+    {
+        this.entries = ByteBuffer.allocate(0);
+        this.size = 0;
+        this.identifierFile = null;
+    }
+
+
+    /**
+     * Constructor that maps an existing index file into memory.
+     *
+     * @param indexFile the file containing the sorted index entries
+     * @param identifierFile the file containing the identifiers that are referenced by the entries
+     *
+     * @throws IOException if the files could not be read or are corrupt
+     */
+    public DeltaIndex(final File indexFile, final File identifierFile) throws IOException
+    {
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "r")) {
+            final FileChannel channel = index.getChannel();
+            final ByteBuffer mappedIndex = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (mappedIndex.remaining() < DeltaConstants.INDEX_HEADER_SIZE
+                || mappedIndex.getInt(0) != DeltaConstants.INDEX_MAGIC_NUMBER
+                || mappedIndex.getInt(Integer.BYTES) != DeltaConstants.INDEX_FORMAT_VERSION)
+                throw new IOException(String.format(DeltaConstants.INVALID_INDEX, indexFile));
+
+            final long entryCount = mappedIndex.getLong(2 * Integer.BYTES);
+
+            if (entryCount < 0
+                || DeltaConstants.INDEX_HEADER_SIZE + entryCount * DeltaConstants.ENTRY_SIZE != mappedIndex.capacity())
+                throw new IOException(String.format(DeltaConstants.INVALID_INDEX, indexFile));
+
+            mappedIndex.position(DeltaConstants.INDEX_HEADER_SIZE);
+            this.entries = mappedIndex.slice();
+            this.size = (int) entryCount;
+        }
+
+        this.identifierFile = new RandomAccessFile(identifierFile, "r");
+    }
+
+
+    /**
+     * Returns the number of entries of the index.
+     *
+     * @return the number of entries of the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+
+    /**
+     * Looks up the position of an identifier hash via binary search.
+     *
+     * @param identifierHash the hash of a document identifier
+     *
+     * @return the position of the entry, or -1 if the index does not contain the hash
+     */
+    public int find(final long identifierHash)
+    {
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long midHash = getIdentifierHash(mid);
+
+            if (midHash < identifierHash)
+                low = mid + 1;
+            else if (midHash > identifierHash)
+                high = mid - 1;
+            else
+                return mid;
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Returns the identifier hash of the entry at the specified position.
+     *
+     * @param position the position of the entry
+     *
+     * @return the identifier hash of the entry
+     */
+    public long getIdentifierHash(final int position)
+    {
+        return entries.getLong(position * DeltaConstants.ENTRY_SIZE);
+    }
+
+
+    /**
+     * Returns the content hash of the entry at the specified position.
+     *
+     * @param position the position of the entry
+     *
+     * @return the content hash of the entry
+     */
+    public long getContentHash(final int position)
+    {
+        return entries.getLong(position * DeltaConstants.ENTRY_SIZE + Long.BYTES);
+    }
+
+
+    /**
+     * Reads the identifier of the entry at the specified position from the identifier file.
+     *
+     * @param position the position of the entry
+     *
+     * @return the identifier of the entry
+     *
+     * @throws IOException if the identifier file could not be read
+     */
+    public String getIdentifier(final int position) throws IOException
+    {
+        final long offset = entries.getLong(position * DeltaConstants.ENTRY_SIZE + 2 * Long.BYTES);
+        identifierFile.seek(offset);
+
+        final byte[] identifierBytes = new byte[identifierFile.readInt()];
+        identifierFile.readFully(identifierBytes);
+
+        return new String(identifierBytes, StandardCharsets.UTF_8);
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        if (identifierFile != null)
+            identifierFile.close();
+    }
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.delta;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.DeltaConstants;
+import de.gerdiproject.harvest.eurostat.utils.HashUtil;
+
+/**
+ * This class compares the documents of an ongoing harvest with the
+ * {@linkplain DeltaIndex} of the previous harvest. It decides which documents
+ * were added or changed, and writes the identifiers of removed documents
+ * to a tombstone file when the harvest is committed.
+ * Only three longs per document are kept in memory; the identifiers
+ * are streamed to disk.
+ *
+ * @author agent
+ */
+public class DeltaTracker
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeltaTracker.class);
+
+    private final File indexFile;
+    private final File identifierFile;
+    private final File tempIndexFile;
+    private final File tempIdentifierFile;
+    private final File tombstoneFile;
+
+    private final DeltaIndex previousIndex;
+    private final BitSet visitedPreviousEntries;
+    private final DataOutputStream identifierOutput;
+    private Predicate<String> retainedIdentifiers;
+
+    private long[] entries;
+    private int entryCount;
+    private long identifierOffset;
+
+    private int addedCount;
+    private int changedCount;
+    private int unchangedCount;
+    private int retainedCount;
+    private boolean isClosed;
+
+
+    /**
+     * Constructor that opens the delta index of the previous harvest, if it exists.
+     *
+     * @param folder the folder in which the delta index is stored
+     *
+     * @throws IOException if the folder cannot be written to
+     */
+    public DeltaTracker(final File folder) throws IOException
+    {
+        if (!folder.isDirectory() && !folder.mkdirs())
+            throw new IOException(folder.getAbsolutePath());
+
+        this.indexFile = new File(folder, DeltaConstants.INDEX_FILE_NAME);
+        this.identifierFile = new File(folder, DeltaConstants.IDENTIFIERS_FILE_NAME);
+        this.tempIndexFile = new File(folder, DeltaConstants.INDEX_FILE_NAME + DeltaConstants.TEMP_FILE_SUFFIX);
+        this.tempIdentifierFile = new File(folder, DeltaConstants.IDENTIFIERS_FILE_NAME + DeltaConstants.TEMP_FILE_SUFFIX);
+        this.tombstoneFile = new File(folder, DeltaConstants.TOMBSTONES_FILE_NAME);
+
+        this.previousIndex = openPreviousIndex();
+        this.visitedPreviousEntries = new BitSet(previousIndex.size());
+        this.identifierOutput = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(tempIdentifierFile)));
+
+        this.entries = new long[DeltaConstants.INITIAL_CAPACITY * DeltaConstants.LONGS_PER_ENTRY];
+        this.retainedIdentifiers = (final String identifier) -> false;
+    }
+
+
+    /**
+     * Defines which documents of the previous harvest are kept although they
+     * are not part of the current harvest, because their dataflows were
+     * deliberately not harvested again. Instead of writing tombstones, their
+     * entries are copied to the delta index of the current harvest.
+     *
+     * @param retainedIdentifiers a predicate that accepts the identifiers of retained documents
+     */
+    public synchronized void setRetainedIdentifiers(final Predicate<String> retainedIdentifiers)
+    {
+        this.retainedIdentifiers = retainedIdentifiers;
+    }
+
+
+    /**
+     * Registers a document of the current harvest and checks if it differs
+     * from the document with the same identifier of the previous harvest.
+     *
+     * @param identifier the identifier of the document
+     * @param contentHash a hash of everything that the content of the document depends on
+     *
+     * @return true if the document was added or changed since the previous harvest
+     */
+    public synchronized boolean update(final String identifier, final long contentHash)
+    {
+        final long identifierHash = HashUtil.hash64(identifier);
+
+        appendEntry(identifierHash, contentHash, writeIdentifier(identifier));
+
+        final int previousPosition = previousIndex.find(identifierHash);
+
+        if (previousPosition < 0) {
+            addedCount++;
+            return true;
+        }
+
+        visitedPreviousEntries.set(previousPosition);
+
+        if (previousIndex.getContentHash(previousPosition) != contentHash) {
+            changedCount++;
+            return true;
+        }
+
+        unchangedCount++;
+        return false;
+    }
+
+
+    /**
+     * Writes tombstones for all documents that were not part of the current harvest,
+     * and replaces the previous delta index with the one of the current harvest.
+     *
+     * @throws IOException if the index or tombstones could not be written
+     */
+    public synchronized void commit() throws IOException
+    {
+        if (isClosed)
+            return;
+
+        isClosed = true;
+
+        // retained entries are appended to the identifier file, so it is closed afterwards
+        final int removedCount = writeTombstones();
+        identifierOutput.close();
+        previousIndex.close();
+
+        sortEntries(0, entryCount - 1);
+        writeIndex();
+
+        Files.move(tempIdentifierFile.toPath(), identifierFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tempIndexFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        LOGGER.info(String.format(
+                        DeltaConstants.DELTA_SUMMARY,
+                        addedCount,
+                        changedCount,
+                        unchangedCount,
+                        retainedCount,
+                        removedCount,
+                        tombstoneFile.getAbsolutePath()));
+    }
+
+
+    /**
+     * Discards all changes of the current harvest, keeping the previous delta index.
+     */
+    public synchronized void discard()
+    {
+        if (isClosed)
+            return;
+
+        isClosed = true;
+
+        try {
+            identifierOutput.close();
+            previousIndex.close();
+        } catch (final IOException e) { // NOPMD the temporary files are deleted anyway
+        }
+
+        tempIdentifierFile.delete(); // NOPMD failing to delete a temporary file is not critical
+        tempIndexFile.delete(); // NOPMD failing to delete a temporary file is not critical
+        LOGGER.warn(DeltaConstants.DELTA_DISCARDED);
+    }
+
+
+    /**
+     * Attempts to open the delta index of the previous harvest.
+     *
+     * @return the delta index of the previous harvest, or an empty index
+     */
+    private DeltaIndex openPreviousIndex()
+    {
+        if (indexFile.exists() && identifierFile.exists()) {
+            try {
+                return new DeltaIndex(indexFile, identifierFile);
+            } catch (final IOException e) {
+                LOGGER.warn(String.format(DeltaConstants.CANNOT_OPEN_INDEX, indexFile, e.getMessage()));
+            }
+        }
+
+        return new DeltaIndex();
+    }
+
+
+    /**
+     * Appends an identifier to the temporary identifier file.
+     *
+     * @param identifier the identifier to be written
+     *
+     * @return the offset of the identifier within the file
+     */
+    private long writeIdentifier(final String identifier)
+    {
+        final long offset = identifierOffset;
+        final byte[] identifierBytes = identifier.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            identifierOutput.writeInt(identifierBytes.length);
+            identifierOutput.write(identifierBytes);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        identifierOffset += Integer.BYTES + identifierBytes.length;
+        return offset;
+    }
+
+
+    /**
+     * Appends an entry to the in-memory list of entries, growing it if necessary.
+     *
+     * @param identifierHash the hash of the document identifier
+     * @param contentHash the hash of the document content
+     * @param offset the offset of the identifier in the identifier file
+     */
+    private void appendEntry(final long identifierHash, final long contentHash, final long offset)
+    {
+        final int index = entryCount * DeltaConstants.LONGS_PER_ENTRY;
+
+        if (index + DeltaConstants.LONGS_PER_ENTRY > entries.length)
+            entries = Arrays.copyOf(entries, entries.length * 2);
+
+        entries[index] = identifierHash;
+        entries[index + 1] = contentHash;
+        entries[index + 2] = offset;
+        entryCount++;
+    }
+
+
+    /**
+     * Writes the identifiers of all documents of the previous harvest that
+     * were not visited during the current harvest to the tombstone file.
+     * Retained documents are copied to the entries of the current harvest instead.
+     *
+     * @return the number of written tombstones
+     *
+     * @throws IOException if the tombstone file could not be written
+     */
+    private int writeTombstones() throws IOException
+    {
+        int removedCount = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tombstoneFile.toPath(), StandardCharsets.UTF_8)) {
+            for (int i = visitedPreviousEntries.nextClearBit(0);
+                 i < previousIndex.size();
+                 i = visitedPreviousEntries.nextClearBit(i + 1)) {
+                final String identifier = previousIndex.getIdentifier(i);
+
+                if (retainedIdentifiers.test(identifier)) {
+                    appendEntry(previousIndex.getIdentifierHash(i),
+                                previousIndex.getContentHash(i),
+                                writeIdentifier(identifier));
+                    retainedCount++;
+                } else {
+                    writer.write(identifier);
+                    writer.newLine();
+                    removedCount++;
+                }
+            }
+        }
+
+        return removedCount;
+    }
+
+
+    /**
+     * Writes the sorted entries of the current harvest to the temporary index file.
+     *
+     * @throws IOException if the index file could not be written
+     */
+    private void writeIndex() throws IOException
+    {
+        try (DataOutputStream indexOutput = new DataOutputStream(
+                                                 new BufferedOutputStream(new FileOutputStream(tempIndexFile)))) {
+            indexOutput.writeInt(DeltaConstants.INDEX_MAGIC_NUMBER);
+            indexOutput.writeInt(DeltaConstants.INDEX_FORMAT_VERSION);
+            indexOutput.writeLong(entryCount);
+
+            final int longCount = entryCount * DeltaConstants.LONGS_PER_ENTRY;
+
+            for (int i = 0; i < longCount; i++)
+                indexOutput.writeLong(entries[i]);
+        }
+    }
+
+
+    /**
+     * Sorts the entries between two positions by their identifier hashes, using quicksort.
+     *
+     * @param from the position of the first entry to be sorted
+     * @param to the position of the last entry to be sorted
+     */
+    private void sortEntries(final int from, final int to)
+    {
+        int low = from;
+        int high = to;
+
+        while (low < high) {
+            final long pivot = entries[((low + high) >>> 1) * DeltaConstants.LONGS_PER_ENTRY];
+            int i = low;
+            int j = high;
+
+            while (i <= j) {
+                while (entries[i * DeltaConstants.LONGS_PER_ENTRY] < pivot)
+                    i++;
+
+                while (entries[j * DeltaConstants.LONGS_PER_ENTRY] > pivot)
+                    j--;
+
+                if (i <= j)
+                    swapEntries(i++, j--);
+            }
+
+            // recurse into the smaller partition to limit the stack depth
+            if (j - low < high - i) {
+                sortEntries(low, j);
+                low = i;
+            } else {
+                sortEntries(i, high);
+                high = j;
+            }
+        }
+    }
+
+
+    /**
+     * Swaps two entries.
+     *
+     * @param a the position of the first entry
+     * @param b the position of the second entry
+     */
+    private void swapEntries(final int a, final int b)
+    {
+        final int indexA = a * DeltaConstants.LONGS_PER_ENTRY;
+        final int indexB = b * DeltaConstants.LONGS_PER_ENTRY;
+
+        for (int i = 0; i < DeltaConstants.LONGS_PER_ENTRY; i++) {
+            final long temp = entries[indexA + i];
+            entries[indexA + i] = entries[indexB + i];
+            entries[indexB + i] = temp;
+        }
+    }
+}
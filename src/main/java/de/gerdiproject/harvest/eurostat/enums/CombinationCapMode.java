@@ -0,0 +1,41 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.enums;
+
+/**
+ * This enumeration defines what happens to a data structure of which the
+ * number of dimension combinations exceeds the configured maximum.
+ *
+ * @author agent
+ */
+public enum CombinationCapMode
+{
+    /**
+     * The data structure is not harvested at all.
+     */
+    SKIP,
+
+    /**
+     * Only the first combinations up to the maximum are harvested.
+     */
+    TRUNCATE,
+
+    /**
+     * The dimensions with the most codes are dropped until the number
+     * of combinations no longer exceeds the maximum.
+     */
+    AGGREGATE
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.enums;
+
+/**
+ * This enumeration defines which dimensions of a data structure are combined.
+ *
+ * @author agent
+ */
+public enum DimensionSelection
+{
+    /**
+     * All dimensions that have codes are combined.
+     */
+    ALL,
+
+    /**
+     * Only dimensions that are listed in the allowed dimensions are combined.
+     */
+    ALLOWED
+}
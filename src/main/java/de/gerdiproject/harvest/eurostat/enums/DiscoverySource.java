@@ -0,0 +1,38 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.enums;
+
+/**
+ * This enumeration defines where the harvester discovers the dataflows
+ * that are to be harvested.
+ *
+ * @author agent
+ */
+public enum DiscoverySource
+{
+    /**
+     * All dataflows of the Structural Definitions Exchange Message (SDEM)
+     * are harvested.
+     */
+    SDEM,
+
+    /**
+     * The table of contents of the bulk download is read in a single pass,
+     * and only datasets that were updated since the previous harvest are
+     * harvested.
+     */
+    TOC
+}
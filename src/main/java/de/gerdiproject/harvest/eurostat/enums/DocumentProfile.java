@@ -0,0 +1,37 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.enums;
+
+/**
+ * This enumeration defines which fields the harvested documents contain.
+ *
+ * @author agent
+ */
+public enum DocumentProfile
+{
+    /**
+     * Every document contains all fields, including the metadata that is
+     * identical for all documents of a dataflow.
+     */
+    FULL,
+
+    /**
+     * Every document only contains the fields that distinguish it from the
+     * other documents of its dataflow, and refers to a parent document of the
+     * dataflow that contains the shared metadata.
+     */
+    LEAN
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.enums;
+
+/**
+ * This enumeration defines whether only a uniform random sample of the
+ * dimension combinations of each data structure is harvested.
+ *
+ * @author agent
+ */
+public enum SamplingMode
+{
+    /**
+     * All combinations are harvested.
+     */
+    OFF,
+
+    /**
+     * A fixed number of combinations is sampled from each data structure.
+     */
+    COUNT,
+
+    /**
+     * A fixed fraction of the combinations of each data structure is sampled,
+     * but at least one combination.
+     */
+    FRACTION
+}
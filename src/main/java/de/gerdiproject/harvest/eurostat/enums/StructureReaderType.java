@@ -0,0 +1,54 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.enums;
+
+import de.gerdiproject.harvest.eurostat.structure.IStructureReader;
+import de.gerdiproject.harvest.eurostat.structure.SdmxSourceStructureReader;
+import de.gerdiproject.harvest.eurostat.structure.StaxStructureReader;
+
+/**
+ * This enumeration defines which parser converts data structure definitions
+ * to the compact model of the harvester.
+ *
+ * @author agent
+ */
+public enum StructureReaderType
+{
+    /**
+     * The structure message is parsed by sdmxsource, which resolves all
+     * cross-references of the message.
+     */
+    SDMXSOURCE,
+
+    /**
+     * The structure message is parsed in a single streaming pass, which only
+     * collects dimensions, code lists, and concepts.
+     */
+    STAX;
+
+
+    /**
+     * Creates a reader of this type.
+     *
+     * @return a new structure reader
+     */
+    public IStructureReader createReader()
+    {
+        return this == STAX
+               ? new StaxStructureReader()
+               : new SdmxSourceStructureReader();
+    }
+}
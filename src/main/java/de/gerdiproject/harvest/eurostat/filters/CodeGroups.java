@@ -0,0 +1,121 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.filters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.gerdiproject.harvest.eurostat.constants.FilterConstants;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class provides named groups of codes, such as the member states of the
+ * European Union, that can be referenced in a {@linkplain HarvestFilter}.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CodeGroups
+{
+    private static Map<String, Set<String>> groups;
+
+
+    /**
+     * Returns the members of a named group.
+     *
+     * @param groupName the name of the group, e.g. "EU27_2020"
+     *
+     * @throws IllegalArgumentException if the group does not exist
+     *
+     * @return an unmodifiable set of the member codes of the group
+     */
+    public static Set<String> getMembers(final String groupName) throws IllegalArgumentException
+    {
+        final Map<String, Set<String>> loadedGroups = getGroups();
+        final Set<String> members = loadedGroups.get(groupName);
+
+        if (members == null)
+            throw new IllegalArgumentException(
+                String.format(FilterConstants.UNKNOWN_GROUP_ERROR, groupName, loadedGroups.keySet()));
+
+        return members;
+    }
+
+
+    /**
+     * Loads the bundled code groups, if they were not loaded yet.
+     *
+     * @return a map of group names to member codes
+     */
+    private static synchronized Map<String, Set<String>> getGroups()
+    {
+        if (groups == null) {
+            try (InputStream input = CodeGroups.class.getResourceAsStream(FilterConstants.BUNDLED_CODE_GROUPS_RESOURCE)) {
+                if (input == null)
+                    throw new IllegalStateException(FilterConstants.MISSING_CODE_GROUPS);
+
+                groups = parse(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+            } catch (final IOException e) {
+                throw new IllegalStateException(FilterConstants.MISSING_CODE_GROUPS, e);
+            }
+        }
+
+        return groups;
+    }
+
+
+    /**
+     * Parses lines of group names and comma separated members.
+     *
+     * @param reader a reader of the lines to be parsed
+     *
+     * @return a map of group names to member codes
+     *
+     * @throws IOException if the lines could not be read
+     */
+    private static Map<String, Set<String>> parse(final BufferedReader reader) throws IOException
+    {
+        final Map<String, Set<String>> parsedGroups = new HashMap<>();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+
+            if (line.isEmpty() || line.startsWith(FilterConstants.COMMENT_PREFIX))
+                continue;
+
+            final String[] columns = line.split(FilterConstants.GROUP_SEPARATOR);
+
+            if (columns.length == 2) {
+                final Set<String> members = new HashSet<>(
+                    Arrays.asList(columns[1].trim().split(FilterConstants.LIST_SEPARATOR)));
+                parsedGroups.put(columns[0].trim(), Collections.unmodifiableSet(members));
+            }
+        }
+
+        return Collections.unmodifiableMap(parsedGroups);
+    }
+}
@@ -0,0 +1,312 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.filters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import de.gerdiproject.harvest.eurostat.constants.FilterConstants;
+
+/**
+ * This class is a compiled set of filter rules that restrict which dataflows
+ * and which codes of each dimension are harvested. The rules are separated by
+ * semicolons and may look as follows:
+ * <pre>
+ * include DSD_educ_*, DSD_nama_*;
+ * exclude DSD_nama_10_gdp;
+ * GEO in EU27_2020 members;
+ * UNIT not in PC_*, NR;
+ * NA_ITEM matches B1.*
+ * </pre>
+ * Dataflow rules match either the dataflow ID or the data structure ID, and
+ * may contain the wildcards '*' and '?'. Several code rules of the same
+ * dimension must all be fulfilled. The members of a named group also comprise
+ * the NUTS regions of the member countries.
+ *
+ * @author agent
+ */
+public class HarvestFilter
+{
+    private final List<Pattern> includedDataflows;
+    private final List<Pattern> excludedDataflows;
+    private final Map<String, Predicate<String>> codePredicates;
+
+
+    /**
+     * Constructor
+     *
+     * @param includedDataflows patterns of dataflows that are harvested
+     * @param excludedDataflows patterns of dataflows that are not harvested
+     * @param codePredicates a map of dimension IDs to predicates that accept codes
+     */
+    private HarvestFilter(final List<Pattern> includedDataflows,
+                          final List<Pattern> excludedDataflows,
+                          final Map<String, Predicate<String>> codePredicates)
+    {
+        this.includedDataflows = includedDataflows;
+        this.excludedDataflows = excludedDataflows;
+        this.codePredicates = codePredicates;
+    }
+
+
+    /**
+     * Compiles a String of filter rules.
+     *
+     * @param rules filter rules, separated by semicolons
+     *
+     * @throws IllegalArgumentException if a rule is not valid
+     *
+     * @return a compiled harvest filter
+     */
+    public static HarvestFilter compile(final String rules) throws IllegalArgumentException
+    {
+        final List<Pattern> includedDataflows = new ArrayList<>();
+        final List<Pattern> excludedDataflows = new ArrayList<>();
+        final Map<String, Predicate<String>> codePredicates = new HashMap<>();
+
+        for (final String untrimmedRule : rules.split(FilterConstants.RULE_SEPARATOR)) {
+            final String rule = untrimmedRule.trim();
+
+            if (rule.isEmpty())
+                continue;
+
+            final Matcher dataflowMatcher = FilterConstants.DATAFLOW_RULE_PATTERN.matcher(rule);
+            final Matcher codeListMatcher = FilterConstants.CODE_LIST_RULE_PATTERN.matcher(rule);
+            final Matcher codeRegexMatcher = FilterConstants.CODE_REGEX_RULE_PATTERN.matcher(rule);
+
+            if (dataflowMatcher.matches()) {
+                final List<Pattern> target = dataflowMatcher.group(1).equalsIgnoreCase(FilterConstants.INCLUDE)
+                                             ? includedDataflows
+                                             : excludedDataflows;
+
+                for (final String id : dataflowMatcher.group(2).trim().split(FilterConstants.LIST_SEPARATOR))
+                    target.add(compileWildcards(id));
+
+            } else if (codeListMatcher.matches()) {
+                final Predicate<String> predicate = compileCodeList(codeListMatcher.group(3));
+                addCodePredicate(codePredicates,
+                                 codeListMatcher.group(1),
+                                 codeListMatcher.group(2) == null ? predicate : predicate.negate());
+
+            } else if (codeRegexMatcher.matches()) {
+                final Predicate<String> predicate = compileRegex(rule, codeRegexMatcher.group(3).trim());
+                addCodePredicate(codePredicates,
+                                 codeRegexMatcher.group(1),
+                                 codeRegexMatcher.group(2) == null ? predicate : predicate.negate());
+
+            } else
+                throw new IllegalArgumentException(String.format(FilterConstants.INVALID_RULE_ERROR, rule));
+        }
+
+        return new HarvestFilter(includedDataflows, excludedDataflows, codePredicates);
+    }
+
+
+    /**
+     * Checks if a dataflow is to be harvested.
+     *
+     * @param dataflowId the ID of the dataflow
+     * @param dataStructureId the ID of the data structure of the dataflow
+     *
+     * @return true if the dataflow is to be harvested
+     */
+    public boolean acceptsDataflow(final String dataflowId, final String dataStructureId)
+    {
+        for (final Pattern excluded : excludedDataflows) {
+            if (excluded.matcher(dataflowId).matches() || excluded.matcher(dataStructureId).matches())
+                return false;
+        }
+
+        if (includedDataflows.isEmpty())
+            return true;
+
+        for (final Pattern included : includedDataflows) {
+            if (included.matcher(dataflowId).matches() || included.matcher(dataStructureId).matches())
+                return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Checks if there are rules for the codes of a dimension.
+     *
+     * @param dimensionId the ID of the dimension
+     *
+     * @return true if there are rules for the codes of the dimension
+     */
+    public boolean hasCodeRules(final String dimensionId)
+    {
+        return codePredicates.containsKey(dimensionId);
+    }
+
+
+    /**
+     * Checks if a code of a dimension is to be harvested.
+     *
+     * @param dimensionId the ID of the dimension
+     * @param codeId the ID of the code
+     *
+     * @return true if the code is to be harvested
+     */
+    public boolean acceptsCode(final String dimensionId, final String codeId)
+    {
+        final Predicate<String> predicate = codePredicates.get(dimensionId);
+        return predicate == null || predicate.test(codeId);
+    }
+
+
+    /**
+     * Adds a predicate to the predicates of a dimension, combining them via logical AND.
+     *
+     * @param codePredicates a map of dimension IDs to predicates
+     * @param dimensionId the ID of the dimension
+     * @param predicate the predicate that is to be added
+     */
+    private static void addCodePredicate(final Map<String, Predicate<String>> codePredicates,
+                                         final String dimensionId,
+                                         final Predicate<String> predicate)
+    {
+        codePredicates.merge(dimensionId, predicate, Predicate::and);
+    }
+
+
+    /**
+     * Compiles a comma separated list of codes, wildcard patterns, and group members.
+     *
+     * @param codeList a comma separated list, e.g. "EU27_2020 members, PC_*, NR"
+     *
+     * @throws IllegalArgumentException if a referenced group does not exist
+     *
+     * @return a predicate that accepts all listed codes
+     */
+    private static Predicate<String> compileCodeList(final String codeList) throws IllegalArgumentException
+    {
+        final Set<String> exactCodes = new HashSet<>();
+        final Set<String> groupMembers = new HashSet<>();
+        final List<Pattern> codePatterns = new ArrayList<>();
+
+        for (final String code : codeList.trim().split(FilterConstants.LIST_SEPARATOR)) {
+            if (code.endsWith(FilterConstants.MEMBERS_SUFFIX)) {
+                final String groupName = code.substring(0, code.length() - FilterConstants.MEMBERS_SUFFIX.length()).trim();
+                groupMembers.addAll(CodeGroups.getMembers(groupName));
+
+            } else if (code.indexOf('*') != -1 || code.indexOf('?') != -1)
+                codePatterns.add(compileWildcards(code));
+            else
+                exactCodes.add(code);
+        }
+
+        return (final String codeId) -> {
+            if (exactCodes.contains(codeId) || isGroupMember(codeId, groupMembers))
+                return true;
+
+            for (final Pattern codePattern : codePatterns) {
+                if (codePattern.matcher(codeId).matches())
+                    return true;
+            }
+
+            return false;
+        };
+    }
+
+
+    /**
+     * Compiles a regular expression that must match the entire code ID.
+     *
+     * @param rule the rule that contains the regular expression, used for error messages
+     * @param regex the regular expression
+     *
+     * @throws IllegalArgumentException if the regular expression is invalid
+     *
+     * @return a predicate that accepts all matching codes
+     */
+    private static Predicate<String> compileRegex(final String rule, final String regex) throws IllegalArgumentException
+    {
+        try {
+            final Pattern pattern = Pattern.compile(regex);
+            return (final String codeId) -> pattern.matcher(codeId).matches();
+
+        } catch (final PatternSyntaxException e) {
+            throw new IllegalArgumentException(
+                String.format(FilterConstants.INVALID_REGEX_ERROR, rule, e.getDescription()), e);
+        }
+    }
+
+
+    /**
+     * Compiles a String that may contain the wildcards '*' and '?' to a regular expression.
+     *
+     * @param wildcardString a String that may contain wildcards
+     *
+     * @return a pattern that matches the wildcard String
+     */
+    private static Pattern compileWildcards(final String wildcardString)
+    {
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+
+        for (final char c : wildcardString.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() != 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+
+                regex.append(c == '*' ? ".*" : ".");
+            } else
+                literal.append(c);
+        }
+
+        if (literal.length() != 0)
+            regex.append(Pattern.quote(literal.toString()));
+
+        return Pattern.compile(regex.toString());
+    }
+
+
+    /**
+     * Checks if a code is a member of a group, or a NUTS region of a member country.
+     * Aggregates are never NUTS regions, even if their codes start with the
+     * code of a member country, e.g. EEA30 and Estonia (EE).
+     *
+     * @param codeId the ID of the code
+     * @param groupMembers the members of a group
+     *
+     * @return true if the code belongs to the group
+     */
+    private static boolean isGroupMember(final String codeId, final Set<String> groupMembers)
+    {
+        if (groupMembers.isEmpty() || codeId.length() < FilterConstants.COUNTRY_CODE_LENGTH)
+            return false;
+
+        if (groupMembers.contains(codeId))
+            return true;
+
+        return FilterConstants.NUTS_REGION_PATTERN.matcher(codeId).matches()
+               && !FilterConstants.AGGREGATE_CODE_PATTERN.matcher(codeId).matches()
+               && groupMembers.contains(codeId.substring(0, FilterConstants.COUNTRY_CODE_LENGTH));
+    }
+}
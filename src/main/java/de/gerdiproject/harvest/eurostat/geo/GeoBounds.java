@@ -0,0 +1,35 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.geo;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that contains the bounding box and the
+ * centroid of a EUROSTAT GEO code in WGS84 coordinates.
+ *
+ * @author agent
+ */
+@Value
+public class GeoBounds
+{
+    private final double westLongitude;
+    private final double eastLongitude;
+    private final double southLatitude;
+    private final double northLatitude;
+    private final double centroidLongitude;
+    private final double centroidLatitude;
+}
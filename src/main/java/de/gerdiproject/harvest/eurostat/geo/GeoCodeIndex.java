@@ -0,0 +1,188 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.geo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.GeoConstants;
+
+/**
+ * This class maps EUROSTAT GEO codes to {@linkplain GeoBounds} without any network calls.
+ * The codes are stored in an open addressing hash table, which allows lookups in
+ * constant time. Codes that are not part of the table are not resolved via
+ * their prefixes, since the bounds of a country, e.g. "DE", would misplace
+ * its NUTS regions, e.g. "DE213".
+ *
+ * @author agent
+ */
+public class GeoCodeIndex
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeoCodeIndex.class);
+
+    private final String[] codes;
+    private final GeoBounds[] bounds;
+    private final int mask;
+
+
+    /**
+     * Constructor that builds the hash table from a list of parsed lines.
+     *
+     * @param codeList the GEO codes
+     * @param boundsList the bounds of the GEO codes, in the same order as the codes
+     */
+    private GeoCodeIndex(final List<String> codeList, final List<GeoBounds> boundsList)
+    {
+        // keep the load factor below 0.5 to keep probe sequences short
+        final int capacity = Integer.highestOneBit(Math.max(codeList.size(), 1) * 4);
+
+        this.codes = new String[capacity];
+        this.bounds = new GeoBounds[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < codeList.size(); i++) {
+            final int slot = findSlot(codeList.get(i));
+            codes[slot] = codeList.get(i);
+            bounds[slot] = boundsList.get(i);
+        }
+    }
+
+
+    /**
+     * Loads GEO codes from a file. If the file is null or cannot be read,
+     * the GEO codes that are bundled with the harvester are loaded instead.
+     *
+     * @param geoCodeFile a file of GEO codes, or null
+     *
+     * @return a new index of GEO codes
+     */
+    public static GeoCodeIndex load(final File geoCodeFile)
+    {
+        if (geoCodeFile != null) {
+            try (BufferedReader reader = Files.newBufferedReader(geoCodeFile.toPath(), StandardCharsets.UTF_8)) {
+                return parse(reader);
+            } catch (final IOException e) {
+                LOGGER.warn(String.format(GeoConstants.CANNOT_LOAD_GEO_CODES, geoCodeFile, e.getMessage()));
+            }
+        }
+
+        try (InputStream bundledCodes = GeoCodeIndex.class.getResourceAsStream(GeoConstants.BUNDLED_GEO_CODES_RESOURCE)) {
+            if (bundledCodes == null)
+                throw new IllegalStateException(GeoConstants.MISSING_BUNDLED_GEO_CODES);
+
+            return parse(new BufferedReader(new InputStreamReader(bundledCodes, StandardCharsets.UTF_8)));
+        } catch (final IOException e) {
+            throw new IllegalStateException(GeoConstants.MISSING_BUNDLED_GEO_CODES, e);
+        }
+    }
+
+
+    /**
+     * Retrieves the bounds of a GEO code.
+     *
+     * @param geoCode a EUROSTAT GEO code, e.g. "DE21" or "EU27_2020"
+     *
+     * @return the bounds of the GEO code, or null if the code is unknown
+     */
+    public GeoBounds get(final String geoCode)
+    {
+        if (geoCode == null)
+            return null;
+
+        final int slot = findSlot(geoCode);
+        return codes[slot] == null ? null : bounds[slot];
+    }
+
+
+    /**
+     * Returns the slot of the hash table that either contains the code,
+     * or the empty slot into which the code is to be inserted.
+     *
+     * @param code the code that is searched
+     *
+     * @return the slot of the code within the hash table
+     */
+    private int findSlot(final String code)
+    {
+        int hash = code.hashCode();
+        hash ^= hash >>> 16;
+
+        int slot = hash & mask;
+
+        while (codes[slot] != null && !codes[slot].equals(code))
+            slot = (slot + 1) & mask;
+
+        return slot;
+    }
+
+
+    /**
+     * Parses semicolon separated lines of GEO codes, bounding boxes, and centroids.
+     *
+     * @param reader a reader of the lines to be parsed
+     *
+     * @return a new index of GEO codes
+     *
+     * @throws IOException if the lines could not be read
+     */
+    private static GeoCodeIndex parse(final BufferedReader reader) throws IOException
+    {
+        final List<String> codeList = new ArrayList<>();
+        final List<GeoBounds> boundsList = new ArrayList<>();
+
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+
+            if (line.isEmpty() || line.startsWith(GeoConstants.COMMENT_PREFIX))
+                continue;
+
+            final String[] columns = line.split(GeoConstants.COLUMN_SEPARATOR);
+
+            if (columns.length != GeoConstants.COLUMN_COUNT) {
+                LOGGER.warn(String.format(GeoConstants.INVALID_LINE, line));
+                continue;
+            }
+
+            try {
+                boundsList.add(new GeoBounds(
+                                   Double.parseDouble(columns[1]),
+                                   Double.parseDouble(columns[2]),
+                                   Double.parseDouble(columns[3]),
+                                   Double.parseDouble(columns[4]),
+                                   Double.parseDouble(columns[5]),
+                                   Double.parseDouble(columns[6])));
+                codeList.add(columns[0].trim());
+
+            } catch (final NumberFormatException e) {
+                LOGGER.warn(String.format(GeoConstants.INVALID_LINE, line));
+            }
+        }
+
+        return new GeoCodeIndex(codeList, boundsList);
+    }
+}
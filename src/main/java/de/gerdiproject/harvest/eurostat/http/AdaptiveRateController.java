@@ -0,0 +1,300 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.http;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.HttpConstants;
+
+/**
+ * This class limits the number of concurrent requests to Eurostat, using
+ * additive increase and multiplicative decrease (AIMD). While the latency
+ * is stable and the limit is fully used, the limit grows by one request per
+ * limit's worth of responses. If Eurostat throttles a request, or if the
+ * latency rises well above the latency of an idle server, the limit is
+ * halved. A Retry-After header pauses all requests until it expires.
+ * The latency is the time until the response headers arrive, because the
+ * total duration of a download grows with the size of the structure
+ * message, which says nothing about the load of the server.
+ *
+ * @author agent
+ */
+public class AdaptiveRateController implements IRateControllerMXBean
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveRateController.class);
+    private static AdaptiveRateController sharedController;
+
+    private double limit;
+    private int inFlightRequests;
+    private long pausedUntil;
+    private long lastDecrease;
+    private double averageLatency;
+    private double baselineLatency;
+
+    private long requestCount;
+    private long throttleCount;
+    private long latencyBackoffCount;
+
+
+    /**
+     * Constructor
+     */
+    public AdaptiveRateController()
+    {
+        this.limit = HttpConstants.INITIAL_LIMIT;
+    }
+
+
+    /**
+     * Returns the controller that is shared by all ETLs, because they all
+     * send requests to the same server. The controller is registered as MBean
+     * when it is first requested.
+     *
+     * @return the shared rate controller
+     */
+    public static synchronized AdaptiveRateController getShared()
+    {
+        if (sharedController == null) {
+            sharedController = new AdaptiveRateController();
+
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    sharedController,
+                    new ObjectName(HttpConstants.MBEAN_NAME));
+            } catch (final JMException e) {
+                LOGGER.warn(String.format(HttpConstants.CANNOT_REGISTER_MBEAN, e.getMessage()));
+            }
+        }
+
+        return sharedController;
+    }
+
+
+    /**
+     * Waits until a request may be sent and reserves it.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized void acquire() throws InterruptedException
+    {
+        acquire(0);
+    }
+
+
+    /**
+     * Waits until a hedged request may be sent and reserves it. Since a hedged
+     * request duplicates a request that stalls, it may exceed the limit by
+     * one request, but it respects pauses that were requested by Eurostat.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized void acquireHedged() throws InterruptedException
+    {
+        acquire(HttpConstants.HEDGED_EXTRA_REQUESTS);
+    }
+
+
+    /**
+     * Waits until a request may be sent and reserves it.
+     *
+     * @param extraRequests the number of requests by which the limit may be exceeded
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    private void acquire(final int extraRequests) throws InterruptedException
+    {
+        while (true) {
+            final long remainingPause = pausedUntil - System.currentTimeMillis();
+
+            if (remainingPause > 0)
+                wait(remainingPause);
+
+            else if (inFlightRequests >= (int) limit + extraRequests)
+                wait();
+
+            else
+                break;
+        }
+
+        inFlightRequests++;
+        requestCount++;
+    }
+
+
+    /**
+     * Releases a request that succeeded, and adapts the limit to its latency.
+     *
+     * @param firstByteNanos the time until the response headers of the request arrived in nanoseconds
+     */
+    public synchronized void releaseSucceeded(final long firstByteNanos)
+    {
+        final boolean wasLimitReached = inFlightRequests >= (int) limit;
+        inFlightRequests--;
+        updateLatency(firstByteNanos);
+
+        if (averageLatency > baselineLatency * HttpConstants.LATENCY_TOLERANCE) {
+            if (decreaseLimit()) {
+                latencyBackoffCount++;
+                LOGGER.info(String.format(HttpConstants.LATENCY_INCREASED,
+                                          getAverageLatencyMillis(),
+                                          getBaselineLatencyMillis(),
+                                          limit));
+            }
+        } else if (wasLimitReached)
+            limit = Math.min(HttpConstants.MAX_LIMIT, limit + 1 / limit);
+
+        notifyAll();
+    }
+
+
+    /**
+     * Releases a request that was rejected with HTTP 429 or 503, pausing
+     * all requests and decreasing the limit.
+     *
+     * @param retryAfterMillis the duration of the Retry-After header in milliseconds, or a negative value if there was none
+     * @param url the URL of the request, used for log messages
+     * @param responseCode the HTTP response code
+     */
+    public synchronized void releaseThrottled(final long retryAfterMillis, final String url, final int responseCode)
+    {
+        inFlightRequests--;
+        throttleCount++;
+
+        final long pause = retryAfterMillis < 0
+                           ? HttpConstants.DEFAULT_RETRY_AFTER_MILLIS
+                           : Math.min(retryAfterMillis, HttpConstants.MAX_RETRY_AFTER_MILLIS);
+        pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + pause);
+        decreaseLimit();
+
+        LOGGER.warn(String.format(HttpConstants.THROTTLED, url, responseCode, pause, limit));
+        notifyAll();
+    }
+
+
+    /**
+     * Releases a request that failed for reasons unrelated to the load of the server.
+     */
+    public synchronized void releaseFailed()
+    {
+        inFlightRequests--;
+        notifyAll();
+    }
+
+
+    @Override
+    public synchronized double getLimit()
+    {
+        return limit;
+    }
+
+
+    @Override
+    public synchronized int getInFlightRequests()
+    {
+        return inFlightRequests;
+    }
+
+
+    @Override
+    public synchronized long getRequestCount()
+    {
+        return requestCount;
+    }
+
+
+    @Override
+    public synchronized long getThrottleCount()
+    {
+        return throttleCount;
+    }
+
+
+    @Override
+    public synchronized long getLatencyBackoffCount()
+    {
+        return latencyBackoffCount;
+    }
+
+
+    @Override
+    public synchronized double getAverageLatencyMillis()
+    {
+        return averageLatency / HttpConstants.NANOS_PER_MILLI;
+    }
+
+
+    @Override
+    public synchronized double getBaselineLatencyMillis()
+    {
+        return baselineLatency / HttpConstants.NANOS_PER_MILLI;
+    }
+
+
+    @Override
+    public synchronized long getRemainingPauseMillis()
+    {
+        return Math.max(0, pausedUntil - System.currentTimeMillis());
+    }
+
+
+    /**
+     * Updates the smoothed latency and the baseline latency. The baseline
+     * follows lower latencies immediately, and higher latencies slowly.
+     *
+     * @param latencyNanos the time until the response headers of a request arrived in nanoseconds
+     */
+    private void updateLatency(final long latencyNanos)
+    {
+        if (averageLatency == 0) {
+            averageLatency = latencyNanos;
+            baselineLatency = latencyNanos;
+            return;
+        }
+
+        averageLatency += (latencyNanos - averageLatency) * HttpConstants.AVERAGE_LATENCY_WEIGHT;
+
+        if (latencyNanos < baselineLatency)
+            baselineLatency = latencyNanos;
+        else
+            baselineLatency += (latencyNanos - baselineLatency) * HttpConstants.BASELINE_DRIFT_WEIGHT;
+    }
+
+
+    /**
+     * Multiplies the limit with the decrease factor, unless it was decreased
+     * very recently, so that responses of the same congestion do not reduce
+     * the limit several times.
+     *
+     * @return true if the limit was decreased
+     */
+    private boolean decreaseLimit()
+    {
+        final long now = System.currentTimeMillis();
+
+        if (now - lastDecrease < HttpConstants.DECREASE_INTERVAL_MILLIS)
+            return false;
+
+        lastDecrease = now;
+        limit = Math.max(HttpConstants.MIN_LIMIT, limit * HttpConstants.DECREASE_FACTOR);
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.http;
+
+import java.util.Arrays;
+
+import de.gerdiproject.harvest.eurostat.constants.HttpConstants;
+
+/**
+ * This class decides when a structure request is hedged, i.e. when a
+ * duplicate request is sent because the original one takes unusually long.
+ * A request is hedged if its response has not arrived after a configured
+ * percentile of the times to the first byte of recent requests. The total
+ * duration of a download is not used, because it depends on the size of
+ * the structure message. The number of hedged requests is
+ * limited to a configured share of all requests, so that hedging never adds
+ * much load to Eurostat.
+ *
+ * @author agent
+ */
+public class HedgingPolicy
+{
+    private final int percentile;
+    private final int budgetPercent;
+    private final long[] latencies;
+
+    private int sampleCount;
+    private int nextSampleIndex;
+    private long hedgeDelayNanos;
+    private boolean isHedgeDelayOutdated;
+
+    private long requestCount;
+    private long hedgeCount;
+    private long hedgeWinCount;
+
+
+    /**
+     * Constructor
+     *
+     * @param percentile the percentile of recent latencies after which a request is hedged, between 1 and 99
+     * @param budgetPercent the maximum share of requests that are hedged in percent
+     */
+    public HedgingPolicy(final int percentile, final int budgetPercent)
+    {
+        this.percentile = percentile;
+        this.budgetPercent = budgetPercent;
+        this.latencies = new long[HttpConstants.HEDGING_WINDOW_SIZE];
+        this.hedgeDelayNanos = -1;
+    }
+
+
+    /**
+     * Records the latency of a request that completed successfully.
+     *
+     * @param latencyNanos the time until the response headers of the request arrived in nanoseconds
+     */
+    public synchronized void recordLatency(final long latencyNanos)
+    {
+        latencies[nextSampleIndex] = latencyNanos;
+        nextSampleIndex = (nextSampleIndex + 1) % latencies.length;
+        sampleCount = Math.min(sampleCount + 1, latencies.length);
+        isHedgeDelayOutdated = true;
+    }
+
+
+    /**
+     * Counts a new request and returns how long to wait before hedging it.
+     *
+     * @return the delay after which the request is hedged if no response arrived, in nanoseconds,
+     *          or -1 if too few latencies were recorded yet
+     */
+    public synchronized long startRequest()
+    {
+        requestCount++;
+
+        if (sampleCount < HttpConstants.HEDGING_MIN_SAMPLES)
+            return -1;
+
+        if (isHedgeDelayOutdated) {
+            final long[] sortedLatencies = Arrays.copyOf(latencies, sampleCount);
+            Arrays.sort(sortedLatencies);
+
+            final int percentileIndex = (int) Math.ceil(percentile / 100.0 * sampleCount) - 1;
+            hedgeDelayNanos = sortedLatencies[Math.max(0, percentileIndex)];
+            isHedgeDelayOutdated = false;
+        }
+
+        return hedgeDelayNanos;
+    }
+
+
+    /**
+     * Checks if another request may be hedged without exceeding the budget,
+     * and counts the hedged request if so.
+     *
+     * @return true if the request may be hedged
+     */
+    public synchronized boolean tryHedge()
+    {
+        if ((hedgeCount + 1) * 100 > requestCount * budgetPercent)
+            return false;
+
+        hedgeCount++;
+        return true;
+    }
+
+
+    /**
+     * Counts a hedged request that completed before the original request.
+     */
+    public synchronized void onHedgeWon()
+    {
+        hedgeWinCount++;
+    }
+
+
+    /**
+     * Returns the number of requests that were counted.
+     *
+     * @return the number of requests
+     */
+    public synchronized long getRequestCount()
+    {
+        return requestCount;
+    }
+
+
+    /**
+     * Returns the number of requests that were hedged.
+     *
+     * @return the number of hedged requests
+     */
+    public synchronized long getHedgeCount()
+    {
+        return hedgeCount;
+    }
+
+
+    /**
+     * Returns the number of hedged requests that completed before the original requests.
+     *
+     * @return the number of hedged requests that were used
+     */
+    public synchronized long getHedgeWinCount()
+    {
+        return hedgeWinCount;
+    }
+}
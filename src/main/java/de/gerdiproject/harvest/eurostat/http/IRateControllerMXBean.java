@@ -0,0 +1,88 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.http;
+
+/**
+ * This interface exposes the state of an {@linkplain AdaptiveRateController}
+ * as JMX metrics.
+ *
+ * @author agent
+ */
+public interface IRateControllerMXBean
+{
+    /**
+     * Returns the current limit of concurrent requests, which may be fractional.
+     *
+     * @return the current concurrency limit
+     */
+    double getLimit();
+
+
+    /**
+     * Returns the number of requests that are currently in flight.
+     *
+     * @return the number of requests in flight
+     */
+    int getInFlightRequests();
+
+
+    /**
+     * Returns the number of requests that were started.
+     *
+     * @return the number of started requests
+     */
+    long getRequestCount();
+
+
+    /**
+     * Returns the number of responses that were rejected with HTTP 429 or 503.
+     *
+     * @return the number of throttled requests
+     */
+    long getThrottleCount();
+
+
+    /**
+     * Returns how often the limit was reduced because the latency rose.
+     *
+     * @return the number of latency back-offs
+     */
+    long getLatencyBackoffCount();
+
+
+    /**
+     * Returns the smoothed time until the response headers of recent requests arrived.
+     *
+     * @return the average latency in milliseconds
+     */
+    double getAverageLatencyMillis();
+
+
+    /**
+     * Returns the time until the response headers of requests to an idle server arrive.
+     *
+     * @return the baseline latency in milliseconds
+     */
+    double getBaselineLatencyMillis();
+
+
+    /**
+     * Returns how long requests are paused because of a Retry-After header.
+     *
+     * @return the remaining pause in milliseconds, or 0 if requests are not paused
+     */
+    long getRemainingPauseMillis();
+}
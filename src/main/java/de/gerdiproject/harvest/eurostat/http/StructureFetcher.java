@@ -0,0 +1,452 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.cancel.CancellationToken;
+import de.gerdiproject.harvest.eurostat.constants.CancellationConstants;
+import de.gerdiproject.harvest.eurostat.constants.EurostatConstants;
+import de.gerdiproject.harvest.eurostat.constants.HttpConstants;
+
+/**
+ * This class downloads structure messages completely, so that their sizes
+ * are known before they are parsed. The requests are admitted by an
+ * {@linkplain AdaptiveRateController}, and throttled requests are retried
+ * after the pause that was requested by Eurostat. If the harvest is
+ * cancelled, requests that wait for a response are closed, and downloads
+ * stop after the next received buffer. If a {@linkplain HedgingPolicy} is
+ * set, a duplicate request is sent when the response of a request takes
+ * unusually long to arrive, and the request that completes first is used
+ * while the other one is cancelled. Once a response arrives, its download
+ * is never hedged, since a large structure message would only be
+ * downloaded twice.
+ *
+ * @author agent
+ */
+public class StructureFetcher
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StructureFetcher.class);
+    private static final ScheduledExecutorService HEDGE_TIMER =
+        Executors.newSingleThreadScheduledExecutor(createDaemonThreadFactory(HttpConstants.HEDGE_TIMER_THREAD_NAME));
+    private static final ExecutorService HEDGE_EXECUTOR =
+        Executors.newCachedThreadPool(createDaemonThreadFactory(HttpConstants.HEDGE_THREAD_NAME));
+
+    private final AdaptiveRateController rateController;
+    private final HedgingPolicy hedgingPolicy;
+
+
+    /**
+     * Constructor for a fetcher that never hedges requests.
+     *
+     * @param rateController the controller that admits the requests
+     */
+    public StructureFetcher(final AdaptiveRateController rateController)
+    {
+        this(rateController, null);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param rateController the controller that admits the requests
+     * @param hedgingPolicy decides when requests are hedged, or null if requests are never hedged
+     */
+    public StructureFetcher(final AdaptiveRateController rateController, final HedgingPolicy hedgingPolicy)
+    {
+        this.rateController = rateController;
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+
+    /**
+     * Downloads a structure message.
+     *
+     * @param url the URL of the structure message
+     * @param cancellation a token that cancels the download
+     *
+     * @throws SdmxException if the structure message could not be downloaded or the download was cancelled
+     *
+     * @return the bytes of the structure message
+     */
+    public byte[] fetch(final String url, final CancellationToken cancellation) throws SdmxException
+    {
+        if (hedgingPolicy == null)
+            return fetchOnce(url, cancellation, false, null);
+
+        final long hedgeDelayNanos = hedgingPolicy.startRequest();
+
+        return hedgeDelayNanos < 0
+               ? fetchOnce(url, cancellation, false, null)
+               : fetchHedged(url, cancellation, hedgeDelayNanos);
+    }
+
+
+    /**
+     * Downloads a structure message in the current thread, and sends a hedged
+     * request in the background if no response arrived in time and the
+     * hedging budget permits it. The download that completes first cancels
+     * the other one.
+     *
+     * @param url the URL of the structure message
+     * @param cancellation a token that cancels both downloads
+     * @param hedgeDelayNanos the time after which the request is hedged if no response arrived, in nanoseconds
+     *
+     * @throws SdmxException if neither download succeeded or the downloads were cancelled
+     *
+     * @return the bytes of the structure message
+     */
+    private byte[] fetchHedged(final String url, final CancellationToken cancellation, final long hedgeDelayNanos)
+    throws SdmxException
+    {
+        final CancellationToken primaryCancellation = new CancellationToken();
+        final CancellationToken hedgeCancellation = new CancellationToken();
+        final CompletableFuture<byte[]> hedgeResult = new CompletableFuture<>();
+        final AtomicBoolean isHedged = new AtomicBoolean();
+        final AtomicBoolean isCompleted = new AtomicBoolean();
+        final AtomicBoolean hasResponse = new AtomicBoolean();
+
+        final ScheduledFuture<?> hedgeLaunch = HEDGE_TIMER.schedule(() -> {
+            // a response that is being downloaded is not stalled, but merely large
+            if (isCompleted.get() || hasResponse.get() || !hedgingPolicy.tryHedge())
+                return;
+
+            LOGGER.debug(String.format(HttpConstants.REQUEST_HEDGED,
+                                       url,
+                                       TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos)));
+            isHedged.set(true);
+
+            HEDGE_EXECUTOR.execute(() -> {
+                try {
+                    final byte[] structure = fetchOnce(url, hedgeCancellation, true, null);
+
+                    // the original request is no longer needed
+                    if (isCompleted.compareAndSet(false, true)) {
+                        hedgingPolicy.onHedgeWon();
+                        primaryCancellation.cancel();
+                    }
+
+                    hedgeResult.complete(structure);
+
+                } catch (final RuntimeException e) { // NOPMD the failure is reported by the original request
+                    hedgeResult.completeExceptionally(e);
+                }
+            });
+        }, hedgeDelayNanos, TimeUnit.NANOSECONDS);
+
+        final Runnable cancelBoth = () -> {
+            primaryCancellation.cancel();
+            hedgeCancellation.cancel();
+        };
+
+        try (CancellationToken.Registration registration = cancellation.onCancel(cancelBoth)) {
+            try {
+                final byte[] structure = fetchOnce(url, primaryCancellation, false, hasResponse);
+                isCompleted.set(true);
+                hedgeLaunch.cancel(false);
+                hedgeCancellation.cancel();
+                return structure;
+
+            } catch (final SdmxException e) {
+                hedgeLaunch.cancel(false);
+
+                // the hedged request may still succeed, or may have cancelled this one
+                if (!isHedged.get() || cancellation.isCancelled()) {
+                    hedgeCancellation.cancel();
+                    throw e;
+                }
+
+                return awaitHedge(url, hedgeResult, hedgeCancellation, e);
+            }
+        }
+    }
+
+
+    /**
+     * Waits for the result of a hedged request after the original request failed.
+     *
+     * @param url the URL of the structure message
+     * @param hedgeResult the future result of the hedged request
+     * @param hedgeCancellation a token that cancels the hedged request
+     * @param primaryFailure the reason why the original request failed
+     *
+     * @throws SdmxException if the hedged request failed as well
+     *
+     * @return the bytes of the structure message
+     */
+    private static byte[] awaitHedge(
+        final String url,
+        final CompletableFuture<byte[]> hedgeResult,
+        final CancellationToken hedgeCancellation,
+        final SdmxException primaryFailure) throws SdmxException
+    {
+        try {
+            return hedgeResult.get();
+
+        } catch (final ExecutionException e) { // NOPMD the original failure is more meaningful
+            throw primaryFailure;
+
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hedgeCancellation.cancel();
+            throw new SdmxException(e, String.format(CancellationConstants.RETRIEVAL_CANCELLED, url));
+        }
+    }
+
+
+    /**
+     * Downloads a structure message in the current thread.
+     *
+     * @param url the URL of the structure message
+     * @param cancellation a token that cancels the download
+     * @param isHedged true if the download duplicates a download that stalls
+     * @param hasResponse a flag that is set when the response headers arrived, or null
+     *
+     * @throws SdmxException if the structure message could not be downloaded or the download was cancelled
+     *
+     * @return the bytes of the structure message
+     */
+    private byte[] fetchOnce(
+        final String url,
+        final CancellationToken cancellation,
+        final boolean isHedged,
+        final AtomicBoolean hasResponse) throws SdmxException
+    {
+        for (int attempt = 0; attempt < HttpConstants.MAX_ATTEMPTS; attempt++) {
+            if (cancellation.isCancelled())
+                throw new SdmxException(String.format(CancellationConstants.RETRIEVAL_CANCELLED, url));
+
+            acquire(url, isHedged);
+            final long startTime = System.nanoTime();
+
+            try {
+                final URLConnection connection = new URL(url).openConnection();
+                connection.setConnectTimeout(HttpConstants.CONNECT_TIMEOUT_MILLIS);
+                connection.setReadTimeout(HttpConstants.READ_TIMEOUT_MILLIS);
+
+                final int responseCode = getResponseCode(connection, cancellation);
+                final long firstByteNanos = System.nanoTime() - startTime;
+
+                if (responseCode == HttpConstants.TOO_MANY_REQUESTS || responseCode == HttpConstants.SERVICE_UNAVAILABLE) {
+                    final long retryAfterMillis = parseRetryAfter(connection.getHeaderField(HttpConstants.RETRY_AFTER_HEADER));
+                    disconnect(connection);
+                    rateController.releaseThrottled(retryAfterMillis, url, responseCode);
+                    continue;
+                }
+
+                if (responseCode >= HttpConstants.FIRST_ERROR_CODE) {
+                    disconnect(connection);
+                    rateController.releaseFailed();
+                    throw new SdmxException(String.format(HttpConstants.HTTP_ERROR, url, responseCode));
+                }
+
+                if (hasResponse != null)
+                    hasResponse.set(true);
+
+                final byte[] structure = readFully(connection, cancellation);
+
+                // the download time grows with the size of the message, the time to the first byte with the load
+                rateController.releaseSucceeded(firstByteNanos);
+
+                if (hedgingPolicy != null)
+                    hedgingPolicy.recordLatency(firstByteNanos);
+
+                return structure;
+
+            } catch (final IOException e) {
+                rateController.releaseFailed();
+
+                if (cancellation.isCancelled())
+                    throw new SdmxException(e, String.format(CancellationConstants.RETRIEVAL_CANCELLED, url));
+
+                throw new SdmxException(e, String.format(EurostatConstants.CANNOT_DOWNLOAD_STRUCTURE, url));
+            }
+        }
+
+        throw new SdmxException(String.format(HttpConstants.TOO_MANY_ATTEMPTS, url, HttpConstants.MAX_ATTEMPTS));
+    }
+
+
+    /**
+     * Returns the policy that decides when requests are hedged.
+     *
+     * @return the hedging policy, or null if requests are never hedged
+     */
+    public HedgingPolicy getHedgingPolicy()
+    {
+        return hedgingPolicy;
+    }
+
+
+    /**
+     * Waits until the rate controller admits a request.
+     *
+     * @param url the URL of the request, used for error messages
+     * @param isHedged true if the request duplicates a request that stalls
+     *
+     * @throws SdmxException if the thread was interrupted while waiting
+     */
+    private void acquire(final String url, final boolean isHedged) throws SdmxException
+    {
+        try {
+            if (isHedged)
+                rateController.acquireHedged();
+            else
+                rateController.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SdmxException(e, String.format(EurostatConstants.CANNOT_DOWNLOAD_STRUCTURE, url));
+        }
+    }
+
+
+    /**
+     * Connects and waits for the response code. If the token is cancelled in
+     * the meantime, the connection is closed, which unblocks the waiting thread.
+     *
+     * @param connection a connection that is not yet connected
+     * @param cancellation a token that cancels the request
+     *
+     * @throws IOException if the request failed or was cancelled
+     *
+     * @return the response code of the request
+     */
+    private static int getResponseCode(final URLConnection connection, final CancellationToken cancellation)
+    throws IOException
+    {
+        if (!(connection instanceof HttpURLConnection))
+            return HttpURLConnection.HTTP_OK;
+
+        try (CancellationToken.Registration registration = cancellation.onCancel(() -> disconnect(connection))) {
+            return ((HttpURLConnection) connection).getResponseCode();
+        }
+    }
+
+
+    /**
+     * Closes an HTTP connection, including the socket of which it reads.
+     *
+     * @param connection the connection that is to be closed
+     */
+    private static void disconnect(final URLConnection connection)
+    {
+        if (connection instanceof HttpURLConnection)
+            ((HttpURLConnection) connection).disconnect();
+    }
+
+
+    /**
+     * Reads the entire response of a connection. A connection that is being
+     * read from cannot be closed by other threads, so the token is checked
+     * after each received buffer instead.
+     *
+     * @param connection an open connection
+     * @param cancellation a token that cancels the download
+     *
+     * @throws IOException if the response could not be read or the download was cancelled
+     *
+     * @return the bytes of the response
+     */
+    private static byte[] readFully(final URLConnection connection, final CancellationToken cancellation)
+    throws IOException
+    {
+        try (InputStream input = connection.getInputStream()) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[HttpConstants.DOWNLOAD_BUFFER_SIZE];
+            int readBytes;
+
+            while ((readBytes = input.read(buffer)) != -1) {
+                if (cancellation.isCancelled())
+                    throw new InterruptedIOException(
+                        String.format(CancellationConstants.RETRIEVAL_CANCELLED, connection.getURL()));
+
+                output.write(buffer, 0, readBytes);
+            }
+
+            return output.toByteArray();
+        }
+    }
+
+
+    /**
+     * Creates a factory of daemon threads, so that hedged requests never
+     * prevent the JVM from shutting down.
+     *
+     * @param threadName the name of the created threads
+     *
+     * @return a factory of daemon threads
+     */
+    private static ThreadFactory createDaemonThreadFactory(final String threadName)
+    {
+        return (final Runnable r) -> {
+            final Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+
+    /**
+     * Parses the value of a Retry-After header, which is either a number
+     * of seconds or an HTTP date.
+     *
+     * @param retryAfter the value of the header, or null if there was none
+     *
+     * @return the duration to wait in milliseconds, or -1 if the value is missing or invalid
+     */
+    private static long parseRetryAfter(final String retryAfter)
+    {
+        if (retryAfter == null || retryAfter.trim().isEmpty())
+            return -1;
+
+        final String trimmedValue = retryAfter.trim();
+
+        try {
+            return Long.parseLong(trimmedValue) * HttpConstants.MILLIS_PER_SECOND;
+        } catch (final NumberFormatException e) { // NOPMD the value may also be a date
+        }
+
+        try {
+            final ZonedDateTime retryDate = ZonedDateTime.parse(trimmedValue, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, retryDate.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (final DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
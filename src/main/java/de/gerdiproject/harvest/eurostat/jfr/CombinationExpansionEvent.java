@@ -0,0 +1,55 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.jfr;
+
+import de.gerdiproject.harvest.eurostat.constants.JfrConstants;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * This event is recorded when the dimension codes of a dataflow are
+ * filtered, combined, and capped.
+ *
+ * @author agent
+ */
+@Name(JfrConstants.COMBINATION_EXPANSION_EVENT)
+@Label("Combination Expansion")
+@Category({JfrConstants.CATEGORY_GERDI, JfrConstants.CATEGORY_EUROSTAT})
+@Description("Computing the dimension combinations of a dataflow")
+@StackTrace(false)
+@Setter
+public class CombinationExpansionEvent extends Event
+{
+    @Label("Maintainable ID")
+    private String dataStructureId;
+
+    @Label("Dimensions")
+    private int dimensionCount;
+
+    @Label("Cardinality")
+    private long cardinality;
+
+    @Label("Planned Cardinality")
+    private long plannedCardinality;
+
+    @Label("Cap Mode")
+    private String capMode;
+}
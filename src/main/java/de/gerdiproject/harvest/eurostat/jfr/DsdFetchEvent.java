@@ -0,0 +1,56 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.jfr;
+
+import de.gerdiproject.harvest.eurostat.constants.JfrConstants;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * This event is recorded when a data structure definition (DSD) is downloaded and parsed.
+ *
+ * @author agent
+ */
+@Name(JfrConstants.DSD_FETCH_EVENT)
+@Label("DSD Fetch")
+@Category({JfrConstants.CATEGORY_GERDI, JfrConstants.CATEGORY_EUROSTAT})
+@Description("Downloading and parsing a data structure definition")
+@StackTrace(false)
+@Setter
+public class DsdFetchEvent extends Event
+{
+    @Label("Maintainable ID")
+    private String dataStructureId;
+
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    @Label("Dimensions")
+    private int dimensionCount;
+
+    @Label("Codes")
+    private int codeCount;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+}
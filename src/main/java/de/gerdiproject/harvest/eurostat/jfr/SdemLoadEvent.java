@@ -0,0 +1,54 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.jfr;
+
+import de.gerdiproject.harvest.eurostat.constants.JfrConstants;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * This event is recorded when an extractor obtains the SDEM, either from the
+ * cached snapshot or by waiting for it to be retrieved.
+ *
+ * @author agent
+ */
+@Name(JfrConstants.SDEM_LOAD_EVENT)
+@Label("SDEM Load")
+@Category({JfrConstants.CATEGORY_GERDI, JfrConstants.CATEGORY_EUROSTAT})
+@Description("Obtaining the Structural Definitions Exchange Message")
+@StackTrace(false)
+@Setter
+public class SdemLoadEvent extends Event
+{
+    @Label("SDEM URL")
+    private String sdemUrl;
+
+    @Label("Version")
+    private String version;
+
+    @Label("Dataflows")
+    private int dataflowCount;
+
+    @Label("Snapshot Age")
+    @Timespan(Timespan.MILLISECONDS)
+    private long snapshotAge;
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.jfr;
+
+import de.gerdiproject.harvest.eurostat.constants.JfrConstants;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * This event is recorded for consecutive documents of the same dataflow that
+ * were transformed. The duration of the event also comprises the extraction
+ * of the documents, whereas the transform time only comprises the transformation.
+ *
+ * @author agent
+ */
+@Name(JfrConstants.TRANSFORM_BATCH_EVENT)
+@Label("Transform Batch")
+@Category({JfrConstants.CATEGORY_GERDI, JfrConstants.CATEGORY_EUROSTAT})
+@Description("Transforming consecutive documents of a dataflow")
+@StackTrace(false)
+@Getter
+@Setter
+public class TransformBatchEvent extends Event
+{
+    @Label("Maintainable ID")
+    private String dataStructureId;
+
+    @Label("Documents")
+    private int documentCount;
+
+    @Label("Unchanged Documents")
+    private int unchangedCount;
+
+    @Label("Transform Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long transformTime;
+}
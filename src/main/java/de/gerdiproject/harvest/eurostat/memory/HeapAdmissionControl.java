@@ -0,0 +1,166 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.memory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.MemoryConstants;
+
+/**
+ * This class delays the retrieval of data structures while the heap usage
+ * of the JVM exceeds a configured limit. Since the heap is shared by all ETLs
+ * of the service, a single large data structure must not cause an
+ * {@linkplain OutOfMemoryError}. The heap usage is the collection usage of
+ * the tenured {@linkplain MemoryPoolMXBean}, i.e. the memory that was still
+ * used after its latest garbage collection, so unreachable objects never
+ * count. If the JVM has no such pool, the current usage of the
+ * {@linkplain MemoryMXBean} is used. A data structure is never refused,
+ * since skipping it would lose its documents, but its retrieval waits for
+ * as long as the heap usage exceeds the limit.
+ *
+ * @author agent
+ */
+public class HeapAdmissionControl
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeapAdmissionControl.class);
+
+    private final MemoryMXBean memoryBean;
+    private final MemoryPoolMXBean tenuredPool;
+    private final double limit;
+
+
+    /**
+     * Constructor
+     *
+     * @param limitPercent the heap usage in percent above which no data
+     *         structures are admitted, or 0 if the heap usage is not checked
+     */
+    public HeapAdmissionControl(final int limitPercent)
+    {
+        this.memoryBean = ManagementFactory.getMemoryMXBean();
+        this.tenuredPool = findTenuredPool();
+        this.limit = limitPercent / MemoryConstants.PERCENT;
+    }
+
+
+    /**
+     * Checks if the heap usage exceeds the limit.
+     *
+     * @return true if the heap usage exceeds the limit
+     */
+    public boolean isUnderPressure()
+    {
+        return limit > 0 && getHeapUsage() >= limit;
+    }
+
+
+    /**
+     * Blocks until the heap usage falls below the limit, so a data structure
+     * can be retrieved. The collection usage only changes when the garbage
+     * collector runs, which it does on its own while other threads allocate.
+     * If the heap usage does not drop within a few minutes, the collection
+     * usage may be outdated because no other thread allocated, so a garbage
+     * collection is requested and the pause continues.
+     *
+     * @param dataStructureId the ID of the data structure that is to be retrieved
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting,
+     *          e.g. because the harvest was aborted
+     */
+    public void admit(final String dataStructureId) throws InterruptedException
+    {
+        if (!isUnderPressure())
+            return;
+
+        LOGGER.warn(String.format(MemoryConstants.PRESSURE_PAUSE,
+                                  getHeapUsage() * MemoryConstants.PERCENT,
+                                  limit * MemoryConstants.PERCENT,
+                                  dataStructureId));
+
+        final long startTime = System.currentTimeMillis();
+        long lastCollectionRequest = startTime;
+
+        while (true) {
+            Thread.sleep(MemoryConstants.POLL_INTERVAL_MILLIS);
+
+            final long now = System.currentTimeMillis();
+
+            if (!isUnderPressure()) {
+                LOGGER.info(String.format(MemoryConstants.PRESSURE_RELIEVED,
+                                          getHeapUsage() * MemoryConstants.PERCENT,
+                                          now - startTime,
+                                          dataStructureId));
+                return;
+            }
+
+            // the collection usage is only updated by a collection of the tenured pool
+            if (now - lastCollectionRequest >= MemoryConstants.COLLECTION_REQUEST_INTERVAL_MILLIS) {
+                LOGGER.warn(String.format(MemoryConstants.PRESSURE_PERSISTS,
+                                          getHeapUsage() * MemoryConstants.PERCENT,
+                                          now - startTime,
+                                          dataStructureId));
+                System.gc(); // NOPMD the collection usage may be outdated
+                lastCollectionRequest = now;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the fraction of the maximum size of the tenured pool that was
+     * used after its latest garbage collection. Without a tenured pool, the
+     * fraction of the maximum heap size that is currently used is returned.
+     * If a maximum is undefined, the committed size is used instead.
+     *
+     * @return the heap usage as a value between 0 and 1
+     */
+    public double getHeapUsage()
+    {
+        final MemoryUsage usage = tenuredPool == null
+                                  ? memoryBean.getHeapMemoryUsage()
+                                  : tenuredPool.getCollectionUsage();
+        final long max = usage.getMax() > 0 ? usage.getMax() : usage.getCommitted();
+        return max > 0 ? (double) usage.getUsed() / max : 0;
+    }
+
+
+    /**
+     * Finds the heap pool that holds the long-lived objects. Only this pool
+     * supports both a usage threshold and a collection usage threshold,
+     * whereas the pools of young objects only support the latter.
+     *
+     * @return the tenured heap pool, or null if the JVM has none
+     */
+    private static MemoryPoolMXBean findTenuredPool()
+    {
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP
+                && pool.isUsageThresholdSupported()
+                && pool.isCollectionUsageThresholdSupported()
+                && pool.getCollectionUsage() != null)
+                return pool;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.PartitionConstants;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class creates the dataflow partitions of this service. Since the partitions
+ * determine how many ETLs exist, they are configured before the ETLs are created,
+ * via system properties or environment variables:
+ * <ul>
+ * <li>EUROSTAT_PARTITIONS: comma separated themes, e.g. "educ,nama", each of which
+ * becomes a partition; all remaining dataflows form an additional partition</li>
+ * <li>EUROSTAT_PARTITION_COUNT: the number of partitions that dataflows are hashed into</li>
+ * <li>EUROSTAT_NODE_PARTITIONS: comma separated names of the partitions that are harvested
+ * by this node, if the partitions are distributed among several nodes</li>
+ * </ul>
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DataflowPartitions
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataflowPartitions.class);
+
+
+    /**
+     * Creates the partitions that are configured via system properties or environment variables.
+     *
+     * @return a list of partitions that are to be harvested by this node
+     */
+    public static List<IDataflowPartition> fromEnvironment()
+    {
+        final List<IDataflowPartition> allPartitions = createPartitions(
+                                                           getSetting(PartitionConstants.THEMES_KEY),
+                                                           getSetting(PartitionConstants.COUNT_KEY));
+
+        final List<IDataflowPartition> nodePartitions =
+            selectPartitions(allPartitions, getSetting(PartitionConstants.NODE_PARTITIONS_KEY));
+
+        if (allPartitions.size() > 1)
+            LOGGER.info(String.format(PartitionConstants.PARTITIONS_CREATED,
+                                      nodePartitions.size(),
+                                      allPartitions.size()));
+
+        return nodePartitions;
+    }
+
+
+    /**
+     * Creates partitions by theme or by hash.
+     *
+     * @param themes comma separated themes, or null
+     * @param count the number of hash partitions, or null
+     *
+     * @throws IllegalArgumentException if both themes and a count are specified, or if the count is invalid
+     *
+     * @return a list of all partitions
+     */
+    public static List<IDataflowPartition> createPartitions(final String themes, final String count)
+    throws IllegalArgumentException
+    {
+        final boolean hasThemes = themes != null && !themes.trim().isEmpty();
+        final boolean hasCount = count != null && !count.trim().isEmpty();
+        final List<IDataflowPartition> partitions = new ArrayList<>();
+
+        if (hasThemes && hasCount)
+            throw new IllegalArgumentException(PartitionConstants.AMBIGUOUS_PARTITIONS_ERROR);
+
+        if (hasThemes) {
+            final List<String> themeList = Arrays.asList(themes.trim().split(PartitionConstants.LIST_SEPARATOR));
+
+            for (final String theme : themeList)
+                partitions.add(new ThemePartition(theme, Arrays.asList(theme), false));
+
+            partitions.add(new ThemePartition(PartitionConstants.REMAINDER_PARTITION_NAME, themeList, true));
+
+        } else if (hasCount) {
+            final int partitionCount;
+
+            try {
+                partitionCount = Integer.parseInt(count.trim());
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException(String.format(PartitionConstants.INVALID_COUNT_ERROR, count)); // NOPMD stack trace not needed here
+            }
+
+            if (partitionCount < 1)
+                throw new IllegalArgumentException(String.format(PartitionConstants.INVALID_COUNT_ERROR, count));
+
+            for (int i = 0; i < partitionCount; i++)
+                partitions.add(partitionCount == 1 ? ThemePartition.all() : new HashPartition(i, partitionCount));
+        } else
+            partitions.add(ThemePartition.all());
+
+        return partitions;
+    }
+
+
+    /**
+     * Selects the partitions that are harvested by this node.
+     *
+     * @param partitions all partitions
+     * @param nodePartitions comma separated names of partitions, or null if all partitions are harvested
+     *
+     * @throws IllegalArgumentException if a partition name is unknown
+     *
+     * @return the partitions that are harvested by this node
+     */
+    private static List<IDataflowPartition> selectPartitions(
+        final List<IDataflowPartition> partitions,
+        final String nodePartitions) throws IllegalArgumentException
+    {
+        if (nodePartitions == null || nodePartitions.trim().isEmpty())
+            return partitions;
+
+        final Set<String> selectedNames =
+            new HashSet<>(Arrays.asList(nodePartitions.trim().split(PartitionConstants.LIST_SEPARATOR)));
+        final List<IDataflowPartition> selectedPartitions = new ArrayList<>();
+
+        for (final IDataflowPartition partition : partitions) {
+            if (selectedNames.remove(partition.getName()))
+                selectedPartitions.add(partition);
+        }
+
+        if (!selectedNames.isEmpty())
+            throw new IllegalArgumentException(
+                String.format(PartitionConstants.UNKNOWN_PARTITIONS_ERROR, selectedNames));
+
+        return selectedPartitions;
+    }
+
+
+    /**
+     * Retrieves a setting from the system properties, or from the environment variables.
+     *
+     * @param key the key of the setting
+     *
+     * @return the value of the setting, or null if it is not set
+     */
+    private static String getSetting(final String key)
+    {
+        final String value = System.getProperty(key);
+        return value == null ? System.getenv(key) : value;
+    }
+}
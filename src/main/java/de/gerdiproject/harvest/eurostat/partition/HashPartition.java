@@ -0,0 +1,59 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.partition;
+
+import de.gerdiproject.harvest.eurostat.constants.PartitionConstants;
+import de.gerdiproject.harvest.eurostat.utils.HashUtil;
+
+/**
+ * This partition contains all dataflows of which the hashed data structure ID
+ * falls into one of several equally sized buckets. The assignment is stable
+ * across restarts and nodes, as long as the number of partitions is unchanged.
+ *
+ * @author agent
+ */
+public class HashPartition implements IDataflowPartition
+{
+    private final int index;
+    private final int count;
+
+
+    /**
+     * Constructor
+     *
+     * @param index the index of this partition, between 0 and count - 1
+     * @param count the total number of partitions
+     */
+    public HashPartition(final int index, final int count)
+    {
+        this.index = index;
+        this.count = count;
+    }
+
+
+    @Override
+    public String getName()
+    {
+        return String.format(PartitionConstants.HASH_PARTITION_NAME_FORMAT, index + 1, count);
+    }
+
+
+    @Override
+    public boolean contains(final String dataStructureId)
+    {
+        return Math.floorMod(HashUtil.hash64(dataStructureId), (long) count) == index;
+    }
+}
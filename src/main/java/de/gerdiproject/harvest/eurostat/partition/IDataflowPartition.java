@@ -0,0 +1,42 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.partition;
+
+/**
+ * This interface represents a subset of all Eurostat dataflows that is
+ * harvested by a single ETL.
+ *
+ * @author agent
+ */
+public interface IDataflowPartition
+{
+    /**
+     * Returns the name of the partition, which is appended to the name of the ETL.
+     *
+     * @return the name of the partition, or an empty String if all dataflows are harvested by one ETL
+     */
+    String getName();
+
+
+    /**
+     * Checks if a dataflow belongs to this partition.
+     *
+     * @param dataStructureId the ID of the data structure of the dataflow, e.g. "DSD_nama_10_gdp"
+     *
+     * @return true if the dataflow is to be harvested by the ETL of this partition
+     */
+    boolean contains(String dataStructureId);
+}
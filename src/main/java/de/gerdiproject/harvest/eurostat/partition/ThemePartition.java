@@ -0,0 +1,95 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.partition;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.gerdiproject.harvest.eurostat.constants.PartitionConstants;
+
+/**
+ * This partition contains all dataflows of one or more themes, where the theme
+ * is the first part of the data structure ID, e.g. "educ" for "DSD_educ_uoe_fine06".
+ * An inverted partition contains all dataflows that do not belong to any of the themes.
+ *
+ * @author agent
+ */
+public class ThemePartition implements IDataflowPartition
+{
+    private final String name;
+    private final Set<String> themes;
+    private final boolean isInverted;
+
+
+    /**
+     * Constructor
+     *
+     * @param name the name of the partition
+     * @param themes the themes of the partition
+     * @param isInverted if true, the partition contains all dataflows that do NOT belong to the themes
+     */
+    public ThemePartition(final String name, final Collection<String> themes, final boolean isInverted)
+    {
+        this.name = name;
+        this.themes = Collections.unmodifiableSet(new HashSet<>(themes));
+        this.isInverted = isInverted;
+    }
+
+
+    /**
+     * Creates a partition that contains all dataflows.
+     *
+     * @return a partition that contains all dataflows
+     */
+    public static ThemePartition all()
+    {
+        return new ThemePartition("", Collections.emptySet(), true);
+    }
+
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+
+    @Override
+    public boolean contains(final String dataStructureId)
+    {
+        return themes.contains(getTheme(dataStructureId)) != isInverted;
+    }
+
+
+    /**
+     * Retrieves the theme of a data structure.
+     *
+     * @param dataStructureId the ID of a data structure, e.g. "DSD_educ_uoe_fine06"
+     *
+     * @return the theme of the data structure, e.g. "educ"
+     */
+    private static String getTheme(final String dataStructureId)
+    {
+        final String id = dataStructureId.startsWith(PartitionConstants.DATA_STRUCTURE_PREFIX)
+                          ? dataStructureId.substring(PartitionConstants.DATA_STRUCTURE_PREFIX.length())
+                          : dataStructureId;
+
+        final int separatorIndex = id.indexOf(PartitionConstants.THEME_SEPARATOR);
+        return separatorIndex == -1 ? id : id.substring(0, separatorIndex);
+    }
+}
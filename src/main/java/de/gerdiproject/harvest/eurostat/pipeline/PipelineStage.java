@@ -0,0 +1,211 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.PipelineConstants;
+
+/**
+ * This iterator decouples the consumer of an iterator from its producer.
+ * The source iterator is iterated by a thread of its own, which hands the
+ * elements over to the consumer via a bounded queue. Elements are handed
+ * over in batches to reduce the contention of the queue. If the queue is
+ * full, the producing thread waits until the consumer catches up.
+ * A stage can be cancelled by any thread, which discards all buffered
+ * elements at once. Elements may be null.
+ *
+ * @param <T> the type of the iterated elements
+ *
+ * @author agent
+ */
+public class PipelineStage<T> implements Iterator<T>
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelineStage.class);
+
+    private final String name;
+    private final int batchSize;
+    private final BlockingQueue<List<T>> queue;
+    private final List<T> endOfStage;
+    private final ExecutorService executor;
+
+    private volatile Throwable failure;
+    private volatile boolean isCancelled;
+    private Iterator<T> currentBatch;
+    private boolean isFinished;
+
+
+    /**
+     * Constructor that starts iterating the source in the background.
+     *
+     * @param source the iterator of which the elements are handed over
+     * @param name the name of the thread of the stage
+     * @param capacity the maximum number of elements that are buffered
+     * @param batchSize the number of elements that are handed over at once
+     */
+    public PipelineStage(final Iterator<T> source, final String name, final int capacity, final int batchSize)
+    {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity / batchSize));
+        this.endOfStage = new ArrayList<>(0);
+        this.currentBatch = Collections.emptyIterator();
+
+        this.executor = Executors.newSingleThreadExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> produce(source));
+    }
+
+
+    @Override
+    public boolean hasNext()
+    {
+        // the elements of a cancelled stage are discarded, including the current batch
+        if (isCancelled)
+            return false;
+
+        while (!currentBatch.hasNext()) {
+            if (isFinished || isCancelled)
+                return false;
+
+            final List<T> batch;
+
+            try {
+                batch = queue.poll(PipelineConstants.POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                return false;
+            }
+
+            // the stage may have been cancelled while waiting
+            if (batch == null)
+                continue;
+
+            if (batch == endOfStage) {
+                isFinished = true;
+                executor.shutdown();
+
+                // forward errors of the producing thread to the consumer
+                if (failure instanceof Error)
+                    throw (Error) failure;
+
+                if (failure != null)
+                    throw (RuntimeException) failure;
+            }
+
+            currentBatch = batch.iterator();
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public T next()
+    {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        return currentBatch.next();
+    }
+
+
+    /**
+     * Interrupts the producing thread and discards all buffered elements,
+     * without waiting for the thread to terminate. This method may be called
+     * by any thread, and the consumer stops iterating within
+     * {@value PipelineConstants#POLL_INTERVAL_MILLIS} milliseconds.
+     */
+    public void cancel()
+    {
+        isCancelled = true;
+        executor.shutdownNow();
+        queue.clear();
+    }
+
+
+    /**
+     * Stops the producing thread and discards all buffered elements.
+     */
+    public void close()
+    {
+        cancel();
+        isFinished = true;
+        currentBatch = Collections.emptyIterator();
+
+        try {
+            if (!executor.awaitTermination(PipelineConstants.SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                LOGGER.warn(String.format(PipelineConstants.STAGE_NOT_TERMINATED, name, PipelineConstants.SHUTDOWN_TIMEOUT_SECONDS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Iterates the source and hands its elements over to the consumer.
+     * This method is executed by the thread of the stage.
+     *
+     * @param source the iterator of which the elements are handed over
+     */
+    private void produce(final Iterator<T> source)
+    {
+        try {
+            List<T> batch = new ArrayList<>(batchSize);
+
+            while (source.hasNext() && !Thread.currentThread().isInterrupted()) {
+                batch.add(source.next());
+
+                if (batch.size() == batchSize) {
+                    queue.put(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty())
+                queue.put(batch);
+
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+
+        } catch (final RuntimeException | Error e) { // NOPMD errors must reach the consumer
+            failure = e;
+        }
+
+        try {
+            queue.put(endOfStage);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
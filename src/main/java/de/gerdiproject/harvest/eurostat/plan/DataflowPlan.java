@@ -0,0 +1,63 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.plan;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that contains the projected size of the
+ * harvest of a single dataflow.
+ *
+ * @author agent
+ */
+@Value
+public class DataflowPlan
+{
+    private final String dataflowId;
+    private final String dataStructureId;
+
+    /**
+     * The number of codes of each allowed dimension
+     */
+    private final Map<String, Integer> dimensionCodeCounts;
+
+    /**
+     * The number of records if no maximum number of combinations was applied
+     */
+    private final long projectedRecords;
+
+    /**
+     * The number of records after the maximum number of combinations was applied
+     */
+    private final long plannedRecords;
+
+    /**
+     * The estimated size of the planned records in bytes
+     */
+    private final long estimatedBytes;
+
+    /**
+     * What happens due to the maximum number of combinations per dataflow
+     */
+    private final String capAction;
+
+    /**
+     * An error message if the data structure could not be retrieved, or null
+     */
+    private final String error;
+}
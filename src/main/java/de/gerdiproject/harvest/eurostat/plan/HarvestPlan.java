@@ -0,0 +1,39 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.plan;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that contains the projected size of a harvest,
+ * per dataflow and in total.
+ *
+ * @author agent
+ */
+@Value
+public class HarvestPlan
+{
+    private final String state;
+    private final String version;
+    private final int plannedDataflows;
+    private final int totalDataflows;
+    private final long totalProjectedRecords;
+    private final long totalPlannedRecords;
+    private final long totalEstimatedBytes;
+    private final List<DataflowPlan> dataflows;
+}
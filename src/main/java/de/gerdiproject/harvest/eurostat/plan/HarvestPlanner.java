@@ -0,0 +1,340 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.plan;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.etls.HarvestContext;
+import de.gerdiproject.harvest.etls.extractors.CombinationSpace;
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+import de.gerdiproject.harvest.etls.extractors.DimensionCode;
+import de.gerdiproject.harvest.etls.extractors.DimensionModel;
+import de.gerdiproject.harvest.etls.extractors.EurostatExtractor;
+import de.gerdiproject.harvest.eurostat.constants.PlanConstants;
+import de.gerdiproject.harvest.eurostat.sdem.DataflowEntry;
+
+/**
+ * This class projects the number of records and the output size of a harvest,
+ * using only the structure metadata of the dataflows. The planning runs in
+ * the background, and the (partial) result can be retrieved at any time.
+ *
+ * @author agent
+ */
+public class HarvestPlanner
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(HarvestPlanner.class);
+
+    private final EurostatETL etl;
+    private final EurostatExtractor extractor;
+    private final ExecutorService executor;
+    private final List<DataflowPlan> dataflowPlans;
+
+    private String state;
+    private String version;
+    private int totalDataflows;
+
+
+    /**
+     * Constructor
+     *
+     * @param etl the ETL of which the harvest is to be planned
+     */
+    public HarvestPlanner(final EurostatETL etl)
+    {
+        this.etl = etl;
+        this.extractor = new EurostatExtractor();
+        this.dataflowPlans = new ArrayList<>();
+        this.state = PlanConstants.STATE_IDLE;
+        this.executor = Executors.newSingleThreadExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, PlanConstants.THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Starts planning the harvest in the background, unless a plan is already being computed.
+     *
+     * @return true if the planning was started
+     */
+    public synchronized boolean startPlanning()
+    {
+        if (PlanConstants.STATE_PLANNING.equals(state))
+            return false;
+
+        state = PlanConstants.STATE_PLANNING;
+        version = null;
+        totalDataflows = 0;
+        dataflowPlans.clear();
+
+        executor.execute(this::plan);
+        return true;
+    }
+
+
+    /**
+     * Returns the current harvest plan, which is incomplete while the planning is in progress.
+     *
+     * @return the current harvest plan
+     */
+    public synchronized HarvestPlan getPlan()
+    {
+        long projectedRecords = 0;
+        long plannedRecords = 0;
+        long estimatedBytes = 0;
+
+        for (final DataflowPlan dataflowPlan : dataflowPlans) {
+            projectedRecords = saturatedAdd(projectedRecords, dataflowPlan.getProjectedRecords());
+            plannedRecords = saturatedAdd(plannedRecords, dataflowPlan.getPlannedRecords());
+            estimatedBytes = saturatedAdd(estimatedBytes, dataflowPlan.getEstimatedBytes());
+        }
+
+        return new HarvestPlan(state,
+                               version,
+                               dataflowPlans.size(),
+                               totalDataflows,
+                               projectedRecords,
+                               plannedRecords,
+                               estimatedBytes,
+                               new ArrayList<>(dataflowPlans));
+    }
+
+
+    /**
+     * Projects the harvest of a single dataflow from its data structure.
+     *
+     * @param dataflowId the ID of the dataflow
+     * @param dataStructure the data structure of the dataflow
+     * @param dataflowName the name of the dataflow
+     * @param etl the ETL that provides the configuration
+     *
+     * @return the projected size of the harvest of the dataflow
+     */
+    public static DataflowPlan planDataflow(
+        final String dataflowId,
+        final DataStructureModel dataStructure,
+        final String dataflowName,
+        final EurostatETL etl)
+    {
+        final CombinationSpace allCombinations = EurostatExtractor.getCombinationSpace(dataStructure, etl);
+        final CombinationSpace cappedCombinations =
+            EurostatExtractor.applyCombinationCap(dataStructure.getId(), allCombinations, etl);
+        final CombinationSpace plannedCombinations = cappedCombinations == null
+                                                     ? null
+                                                     : EurostatExtractor.applySampling(dataStructure.getId(), cappedCombinations, etl);
+
+        final Map<String, Integer> dimensionCodeCounts = new LinkedHashMap<>();
+
+        for (final DimensionModel dimension : allCombinations.getDimensions())
+            dimensionCodeCounts.put(dimension.getId(), dimension.getCodes().size());
+
+        final String capAction;
+        final long plannedRecords;
+        final long estimatedBytes;
+
+        if (plannedCombinations == null) {
+            capAction = etl.getCombinationCapMode().toString();
+            plannedRecords = 0;
+            estimatedBytes = 0;
+        } else {
+            capAction = cappedCombinations == allCombinations
+                        ? PlanConstants.CAP_ACTION_NONE
+                        : etl.getCombinationCapMode().toString();
+            plannedRecords = plannedCombinations.size();
+
+            // filtered dimensions may have no codes, yielding no records
+            estimatedBytes = plannedRecords == 0
+                             ? 0
+                             : saturatedMultiply(
+                                 plannedRecords,
+                                 estimateBytesPerRecord(plannedCombinations, dataStructure.getId(), dataflowName, etl));
+        }
+
+        return new DataflowPlan(dataflowId,
+                                dataStructure.getId(),
+                                dimensionCodeCounts,
+                                allCombinations.size(),
+                                plannedRecords,
+                                estimatedBytes,
+                                capAction,
+                                null);
+    }
+
+
+    /**
+     * Computes the harvest plan. This method is executed in the background.
+     */
+    private void plan()
+    {
+        try {
+            // the plans reuse the extractor, and the SDEM snapshot of the ETL
+            extractor.initForPlanning(etl, new HarvestContext(null));
+
+            final List<DataflowEntry> dataflows = extractor.getSelectedDataflows();
+
+            synchronized (this) {
+                version = extractor.getUniqueVersionString();
+                totalDataflows = dataflows.size();
+            }
+
+            LOGGER.info(String.format(PlanConstants.PLANNING_STARTED, dataflows.size()));
+
+            for (final DataflowEntry dataflow : dataflows) {
+                final DataflowPlan dataflowPlan = planDataflow(dataflow);
+
+                synchronized (this) {
+                    dataflowPlans.add(dataflowPlan);
+                }
+            }
+
+            final HarvestPlan plan;
+
+            synchronized (this) {
+                state = PlanConstants.STATE_DONE;
+                plan = getPlan();
+            }
+
+            LOGGER.info(String.format(PlanConstants.PLANNING_FINISHED,
+                                      plan.getPlannedDataflows(),
+                                      plan.getTotalProjectedRecords(),
+                                      plan.getTotalPlannedRecords(),
+                                      plan.getTotalEstimatedBytes()));
+
+        } catch (final RuntimeException e) { // NOPMD planning must never kill the executor
+            LOGGER.error(PlanConstants.PLANNING_FAILED, e);
+
+            synchronized (this) {
+                state = PlanConstants.STATE_FAILED;
+            }
+        }
+    }
+
+
+    /**
+     * Retrieves the data structure of a dataflow and projects its harvest.
+     *
+     * @param dataflow the dataflow that is to be planned
+     *
+     * @return the projected size of the harvest of the dataflow
+     */
+    private DataflowPlan planDataflow(final DataflowEntry dataflow)
+    {
+        final String dataStructureId = dataflow.getDataStructureId();
+
+        try {
+            final DataStructureModel dataStructure = extractor.fetchDataStructure(dataStructureId);
+            final String dataflowName = dataflow.getNames(etl.getLabelLanguages()).getPrimary();
+
+            return planDataflow(dataflow.getId(), dataStructure, dataflowName, etl);
+
+        } catch (final SdmxException e) {
+            return new DataflowPlan(dataflow.getId(),
+                                    dataStructureId,
+                                    new LinkedHashMap<>(),
+                                    0,
+                                    0,
+                                    0,
+                                    PlanConstants.CAP_ACTION_NONE,
+                                    e.getMessage());
+        }
+    }
+
+
+    /**
+     * Estimates the number of bytes of a single document, using the average
+     * lengths of the code IDs and names of each dimension.
+     *
+     * @param combinations the combinations of which documents are generated
+     * @param dataStructureId the ID of the data structure
+     * @param dataflowName the name of the dataflow
+     * @param etl the ETL that provides the configuration
+     *
+     * @return the estimated number of bytes of a single document
+     */
+    private static long estimateBytesPerRecord(
+        final CombinationSpace combinations,
+        final String dataStructureId,
+        final String dataflowName,
+        final EurostatETL etl)
+    {
+        long identifierBytes = etl.getRestBaseUrl().length() + dataStructureId.length();
+        long bytes = PlanConstants.DOCUMENT_BASE_BYTES
+                     + PlanConstants.DATAFLOW_NAME_OCCURRENCES * dataflowName.length();
+
+        for (final DimensionModel dimension : combinations.getDimensions()) {
+            long codeIdLength = 0;
+            long codeNameLength = 0;
+
+            for (final DimensionCode code : dimension.getCodes()) {
+                codeIdLength += code.getId().length();
+                codeNameLength += code.getNames().getPrimary().length();
+            }
+
+            final int codeCount = dimension.getCodes().size();
+            final long averageCodeIdLength = codeIdLength / codeCount;
+
+            identifierBytes += dimension.getId().length() + averageCodeIdLength + 2;
+            bytes += PlanConstants.DIMENSION_BASE_BYTES
+                     + dimension.getId().length()
+                     + averageCodeIdLength
+                     + PlanConstants.CODE_NAME_OCCURRENCES * codeNameLength / codeCount;
+        }
+
+        return bytes + PlanConstants.IDENTIFIER_OCCURRENCES * identifierBytes;
+    }
+
+
+    /**
+     * Adds two non-negative numbers, returning {@linkplain Long#MAX_VALUE} on overflow.
+     *
+     * @param a the first summand
+     * @param b the second summand
+     *
+     * @return the sum of both numbers
+     */
+    private static long saturatedAdd(final long a, final long b)
+    {
+        final long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+
+    /**
+     * Multiplies two non-negative numbers, returning {@linkplain Long#MAX_VALUE} on overflow.
+     *
+     * @param a the first factor
+     * @param b the second factor
+     *
+     * @return the product of both numbers
+     */
+    private static long saturatedMultiply(final long a, final long b)
+    {
+        return b != 0 && a > Long.MAX_VALUE / b
+               ? Long.MAX_VALUE
+               : a * b;
+    }
+}
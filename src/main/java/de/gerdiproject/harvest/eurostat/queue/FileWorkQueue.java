@@ -0,0 +1,425 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.queue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.QueueConstants;
+
+/**
+ * This class is a work queue that is shared via a folder, which all
+ * harvester instances can access. Each harvest round has its own sub-folder.
+ * The first instance publishes the data structures of the round to a queue
+ * file. A data structure is claimed by atomically creating a lease file,
+ * which is renewed periodically while the data structure is harvested.
+ * Leases that were not renewed within the lease timeout, e.g. because the
+ * instance crashed, are taken over by other instances. Harvested data
+ * structures are marked by a done file.
+ *
+ * @author agent
+ */
+public class FileWorkQueue implements IWorkQueue
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileWorkQueue.class);
+
+    private final File roundFolder;
+    private final String nodeId;
+    private final long leaseTimeoutMillis;
+    private final Set<String> ownClaims;
+    private final ScheduledExecutorService renewalExecutor;
+    private volatile List<String> publishedIds;
+
+
+    /**
+     * Constructor
+     *
+     * @param queueFolder the folder that is shared by all instances
+     * @param roundName the name of the harvest round, e.g. the name and version of the ETL
+     * @param nodeId a unique name of this instance
+     * @param leaseTimeoutMillis the duration after which a lease that was not renewed expires
+     */
+    public FileWorkQueue(final File queueFolder, final String roundName, final String nodeId, final long leaseTimeoutMillis)
+    {
+        this.roundFolder = new File(queueFolder, toFileName(roundName));
+        this.nodeId = nodeId;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.ownClaims = new HashSet<>();
+        this.publishedIds = Collections.emptyList();
+
+        this.renewalExecutor = Executors.newSingleThreadScheduledExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, QueueConstants.THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long renewalInterval = Math.max(1, leaseTimeoutMillis / QueueConstants.RENEWALS_PER_TIMEOUT);
+        renewalExecutor.scheduleWithFixedDelay(this::renewLeases, renewalInterval, renewalInterval, TimeUnit.MILLISECONDS);
+    }
+
+
+    @Override
+    public List<String> publish(final List<String> dataStructureIds)
+    {
+        final Path queueFile = new File(roundFolder, QueueConstants.QUEUE_FILE_NAME).toPath();
+        final Path tempFile = new File(roundFolder, nodeId + QueueConstants.TEMP_FILE_SUFFIX).toPath();
+
+        try {
+            Files.createDirectories(roundFolder.toPath());
+
+            if (!Files.exists(queueFile)) {
+                Files.write(tempFile, dataStructureIds, StandardCharsets.UTF_8);
+
+                // only the first instance succeeds, all others read its queue
+                try {
+                    Files.move(tempFile, queueFile);
+                } catch (final FileAlreadyExistsException e) {
+                    Files.deleteIfExists(tempFile);
+                }
+            }
+
+            final List<String> publishedIds = new ArrayList<>();
+
+            for (final String line : Files.readAllLines(queueFile, StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty())
+                    publishedIds.add(line.trim());
+            }
+
+            LOGGER.info(String.format(QueueConstants.QUEUE_JOINED, roundFolder, publishedIds.size(), nodeId));
+            this.publishedIds = publishedIds;
+            return publishedIds;
+
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(QueueConstants.CANNOT_PUBLISH_QUEUE, roundFolder, e.getMessage()));
+            this.publishedIds = dataStructureIds;
+            return dataStructureIds;
+        }
+    }
+
+
+    @Override
+    public List<String> getUnclaimed()
+    {
+        final List<String> unclaimedIds = new ArrayList<>();
+
+        for (final String dataStructureId : publishedIds) {
+            if (!getDoneFile(dataStructureId).exists() && !hasLiveLease(getLeaseFile(dataStructureId).toPath()))
+                unclaimedIds.add(dataStructureId);
+        }
+
+        return unclaimedIds;
+    }
+
+
+    @Override
+    public synchronized boolean claim(final String dataStructureId)
+    {
+        if (getDoneFile(dataStructureId).exists())
+            return false;
+
+        final Path leaseFile = getLeaseFile(dataStructureId).toPath();
+
+        try {
+            if (!createLease(leaseFile) && !(takeOverExpiredLease(leaseFile) && createLease(leaseFile)))
+                return false;
+
+            // the data structure may have been completed since the done file was checked
+            if (getDoneFile(dataStructureId).exists()) {
+                Files.deleteIfExists(leaseFile);
+                return false;
+            }
+
+            ownClaims.add(dataStructureId);
+            return true;
+
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(QueueConstants.QUEUE_ERROR, dataStructureId, e.getMessage()));
+            return false;
+        }
+    }
+
+
+    @Override
+    public synchronized void complete(final String dataStructureId)
+    {
+        if (!ownClaims.remove(dataStructureId))
+            return;
+
+        try {
+            Files.write(getDoneFile(dataStructureId).toPath(), nodeId.getBytes(StandardCharsets.UTF_8));
+            deleteOwnLease(getLeaseFile(dataStructureId).toPath());
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(QueueConstants.QUEUE_ERROR, dataStructureId, e.getMessage()));
+        }
+    }
+
+
+    @Override
+    public synchronized void release(final String dataStructureId)
+    {
+        if (!ownClaims.remove(dataStructureId))
+            return;
+
+        LOGGER.info(String.format(QueueConstants.LEASE_RELEASED, dataStructureId));
+
+        try {
+            deleteOwnLease(getLeaseFile(dataStructureId).toPath());
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(QueueConstants.QUEUE_ERROR, dataStructureId, e.getMessage()));
+        }
+    }
+
+
+    @Override
+    public synchronized void close()
+    {
+        renewalExecutor.shutdownNow();
+
+        for (final String dataStructureId : new ArrayList<>(ownClaims))
+            release(dataStructureId);
+    }
+
+
+    /**
+     * Attempts to create a lease file, which fails if the file already exists.
+     *
+     * @param leaseFile the lease file of a data structure
+     *
+     * @throws IOException if the file could not be created for other reasons
+     *
+     * @return true if the lease file was created
+     */
+    private boolean createLease(final Path leaseFile) throws IOException
+    {
+        try {
+            Files.createFile(leaseFile);
+            Files.write(leaseFile, nodeId.getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (final FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+
+    /**
+     * Removes a lease file that was not renewed within the lease timeout.
+     * The file is atomically moved aside to a name of this instance, so only
+     * one instance can take over the lease. Since the lease may have been
+     * renewed, or replaced by the lease of another instance, between checking
+     * and moving it, the moved file is checked again, and put back if it is
+     * not the expired lease.
+     *
+     * @param leaseFile the lease file of a data structure
+     *
+     * @throws IOException if the lease file could not be moved
+     *
+     * @return true if the expired lease was removed
+     */
+    private boolean takeOverExpiredLease(final Path leaseFile) throws IOException
+    {
+        try {
+            final String owner = readOwner(leaseFile);
+            final FileTime lastRenewal = Files.getLastModifiedTime(leaseFile);
+
+            if (System.currentTimeMillis() - lastRenewal.toMillis() < leaseTimeoutMillis)
+                return false;
+
+            final Path expiredFile = leaseFile.resolveSibling(
+                                         String.format(QueueConstants.EXPIRED_FILE_FORMAT, leaseFile.getFileName(), nodeId));
+            Files.move(leaseFile, expiredFile, StandardCopyOption.ATOMIC_MOVE);
+
+            // moving a file keeps its content and its modification time
+            if (!owner.equals(readOwner(expiredFile)) || !lastRenewal.equals(Files.getLastModifiedTime(expiredFile))) {
+                restoreLease(expiredFile, leaseFile);
+                return false;
+            }
+
+            Files.deleteIfExists(expiredFile);
+
+            LOGGER.info(String.format(QueueConstants.LEASE_EXPIRED, leaseFile.getFileName()));
+            return true;
+
+        } catch (final NoSuchFileException e) {
+            // the lease was released or taken over by another instance in the meantime
+            return false;
+        }
+    }
+
+
+    /**
+     * Checks if a lease file exists and was renewed within the lease timeout.
+     *
+     * @param leaseFile the lease file of a data structure
+     *
+     * @return true if the data structure is claimed by a running instance
+     */
+    private boolean hasLiveLease(final Path leaseFile)
+    {
+        try {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(leaseFile).toMillis() < leaseTimeoutMillis;
+        } catch (final IOException e) { // NOPMD a missing lease file means that nobody claimed the data structure
+            return false;
+        }
+    }
+
+
+    /**
+     * Puts back a lease that was moved aside, because it was renewed or
+     * replaced after it was found to be expired. If another instance created
+     * a new lease in the meantime, the new lease is kept.
+     *
+     * @param movedFile the file to which the lease was moved
+     * @param leaseFile the lease file of a data structure
+     *
+     * @throws IOException if the lease could not be put back
+     */
+    private static void restoreLease(final Path movedFile, final Path leaseFile) throws IOException
+    {
+        LOGGER.info(String.format(QueueConstants.LEASE_RENEWED, leaseFile.getFileName()));
+
+        try {
+            Files.move(movedFile, leaseFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final FileAlreadyExistsException e) {
+            LOGGER.warn(String.format(QueueConstants.LEASE_LOST, leaseFile.getFileName()));
+            Files.deleteIfExists(movedFile);
+        }
+    }
+
+
+    /**
+     * Reads the ID of the instance that owns a lease file.
+     *
+     * @param leaseFile the lease file of a data structure
+     *
+     * @throws IOException if the lease file could not be read
+     *
+     * @return the ID of the instance that created the lease file
+     */
+    private static String readOwner(final Path leaseFile) throws IOException
+    {
+        return new String(Files.readAllBytes(leaseFile), StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Renews the leases of all claimed data structures by updating the
+     * modification times of their lease files.
+     */
+    private synchronized void renewLeases()
+    {
+        final FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+
+        for (final String dataStructureId : ownClaims) {
+            final Path leaseFile = getLeaseFile(dataStructureId).toPath();
+
+            try {
+                if (isOwnLease(leaseFile))
+                    Files.setLastModifiedTime(leaseFile, now);
+            } catch (final IOException e) {
+                LOGGER.warn(String.format(QueueConstants.QUEUE_ERROR, dataStructureId, e.getMessage()));
+            }
+        }
+    }
+
+
+    /**
+     * Deletes a lease file, unless the lease expired and was taken over by another instance.
+     *
+     * @param leaseFile the lease file of a data structure
+     *
+     * @throws IOException if the lease file could not be read or deleted
+     */
+    private void deleteOwnLease(final Path leaseFile) throws IOException
+    {
+        if (isOwnLease(leaseFile))
+            Files.deleteIfExists(leaseFile);
+    }
+
+
+    /**
+     * Checks if a lease file was created by this instance.
+     *
+     * @param leaseFile the lease file of a data structure
+     *
+     * @throws IOException if the lease file could not be read
+     *
+     * @return true if the lease file exists and belongs to this instance
+     */
+    private boolean isOwnLease(final Path leaseFile) throws IOException
+    {
+        try {
+            return nodeId.equals(readOwner(leaseFile));
+        } catch (final NoSuchFileException e) {
+            return false;
+        }
+    }
+
+
+    /**
+     * Returns the lease file of a data structure.
+     *
+     * @param dataStructureId the ID of the data structure
+     *
+     * @return the lease file of the data structure
+     */
+    private File getLeaseFile(final String dataStructureId)
+    {
+        return new File(roundFolder, toFileName(dataStructureId) + QueueConstants.LEASE_FILE_SUFFIX);
+    }
+
+
+    /**
+     * Returns the file that marks a data structure as harvested.
+     *
+     * @param dataStructureId the ID of the data structure
+     *
+     * @return the done file of the data structure
+     */
+    private File getDoneFile(final String dataStructureId)
+    {
+        return new File(roundFolder, toFileName(dataStructureId) + QueueConstants.DONE_FILE_SUFFIX);
+    }
+
+
+    /**
+     * Replaces all characters that may not be part of file names.
+     *
+     * @param name an arbitrary String
+     *
+     * @return a String that can be used as file name
+     */
+    private static String toFileName(final String name)
+    {
+        return name.replaceAll(QueueConstants.INVALID_FILE_CHARACTERS, QueueConstants.FILE_CHARACTER_REPLACEMENT);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.queue;
+
+import java.util.List;
+
+/**
+ * This interface represents a queue of data structures that is shared by
+ * several harvester instances. Each data structure is harvested by the
+ * instance that claims it first. A claim is held until the data structure
+ * is either completed, or released so that another instance can claim it.
+ *
+ * @author agent
+ */
+public interface IWorkQueue
+{
+    /**
+     * Publishes the data structures of a harvest, unless another instance
+     * already published the data structures of the same harvest.
+     *
+     * @param dataStructureIds the IDs of the data structures selected by this instance
+     *
+     * @return the IDs of the data structures of the shared queue
+     */
+    List<String> publish(List<String> dataStructureIds);
+
+
+    /**
+     * Attempts to claim a data structure.
+     *
+     * @param dataStructureId the ID of the data structure
+     *
+     * @return true if this instance is to harvest the data structure
+     */
+    boolean claim(String dataStructureId);
+
+
+    /**
+     * Returns the published data structures that are neither harvested nor
+     * claimed, e.g. because an instance handed them back, or because the
+     * lease of a crashed instance expired.
+     *
+     * @return the IDs of the data structures that can be claimed
+     */
+    List<String> getUnclaimed();
+
+
+    /**
+     * Marks a claimed data structure as harvested, so it is never claimed again.
+     *
+     * @param dataStructureId the ID of the data structure
+     */
+    void complete(String dataStructureId);
+
+
+    /**
+     * Hands a claimed data structure back to the queue, so another instance can claim it.
+     *
+     * @param dataStructureId the ID of the data structure
+     */
+    void release(String dataStructureId);
+
+
+    /**
+     * Releases all claimed data structures and stops renewing claims.
+     */
+    void close();
+}
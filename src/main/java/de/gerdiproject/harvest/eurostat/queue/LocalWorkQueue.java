@@ -0,0 +1,140 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.queue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is a stand-in for a shared work queue, which is only shared
+ * by the ETLs of the same process. It behaves like a {@linkplain FileWorkQueue}
+ * without requiring a shared folder.
+ *
+ * @author agent
+ */
+public class LocalWorkQueue implements IWorkQueue
+{
+    private static final Map<String, Round> ROUNDS = new ConcurrentHashMap<>();
+
+    private final Round round;
+    private final Set<String> ownClaims;
+
+
+    /**
+     * Constructor that joins the queue of a harvest round of this process.
+     *
+     * @param roundName the name of the harvest round, e.g. the name and version of the ETL
+     */
+    public LocalWorkQueue(final String roundName)
+    {
+        this.round = ROUNDS.computeIfAbsent(roundName, (final String r) -> new Round());
+        this.ownClaims = new HashSet<>();
+    }
+
+
+    @Override
+    public List<String> publish(final List<String> dataStructureIds)
+    {
+        synchronized (round) {
+            if (round.publishedIds == null)
+                round.publishedIds = Collections.unmodifiableList(new ArrayList<>(dataStructureIds));
+
+            return round.publishedIds;
+        }
+    }
+
+
+    @Override
+    public boolean claim(final String dataStructureId)
+    {
+        synchronized (round) {
+            if (round.completedIds.contains(dataStructureId) || !round.claimedIds.add(dataStructureId))
+                return false;
+
+            ownClaims.add(dataStructureId);
+            return true;
+        }
+    }
+
+
+    @Override
+    public List<String> getUnclaimed()
+    {
+        synchronized (round) {
+            final List<String> unclaimedIds = new ArrayList<>();
+
+            if (round.publishedIds != null) {
+                for (final String dataStructureId : round.publishedIds) {
+                    if (!round.claimedIds.contains(dataStructureId) && !round.completedIds.contains(dataStructureId))
+                        unclaimedIds.add(dataStructureId);
+                }
+            }
+
+            return unclaimedIds;
+        }
+    }
+
+
+    @Override
+    public void complete(final String dataStructureId)
+    {
+        synchronized (round) {
+            if (ownClaims.remove(dataStructureId)) {
+                round.claimedIds.remove(dataStructureId);
+                round.completedIds.add(dataStructureId);
+            }
+        }
+    }
+
+
+    @Override
+    public void release(final String dataStructureId)
+    {
+        synchronized (round) {
+            if (ownClaims.remove(dataStructureId))
+                round.claimedIds.remove(dataStructureId);
+        }
+    }
+
+
+    @Override
+    public void close()
+    {
+        synchronized (round) {
+            round.claimedIds.removeAll(ownClaims);
+            ownClaims.clear();
+        }
+    }
+
+
+    /**
+     * This class contains the state of a harvest round that is shared by
+     * all queues of the round.
+     *
+     * @author agent
+     */
+    private static class Round
+    {
+        private final Set<String> claimedIds = new HashSet<>();
+        private final Set<String> completedIds = new HashSet<>();
+        private List<String> publishedIds;
+    }
+}
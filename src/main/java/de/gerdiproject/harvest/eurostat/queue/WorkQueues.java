@@ -0,0 +1,68 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.queue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.QueueConstants;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class creates the work queue that is configured for an ETL.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WorkQueues
+{
+    /**
+     * Creates a work queue for a harvest round.
+     *
+     * @param setting either an empty String if no queue is to be used,
+     *         "local" for a queue that is shared by the ETLs of this process,
+     *         or the path of a folder that is shared by all harvester instances
+     * @param roundName the name of the harvest round, e.g. the name and version of the ETL
+     * @param leaseTimeoutSeconds the number of seconds after which a lease that was not renewed expires
+     *
+     * @return a work queue, or null if no queue is to be used
+     */
+    public static IWorkQueue create(final String setting, final String roundName, final int leaseTimeoutSeconds)
+    {
+        if (setting == null || setting.isEmpty())
+            return null;
+
+        if (QueueConstants.LOCAL_QUEUE.equals(setting))
+            return new LocalWorkQueue(roundName);
+
+        return new FileWorkQueue(new File(setting),
+                                 roundName,
+                                 getNodeId(),
+                                 leaseTimeoutSeconds * QueueConstants.MILLIS_PER_SECOND);
+    }
+
+
+    /**
+     * Returns a name that identifies this process, consisting of the process ID and host name.
+     *
+     * @return a name that identifies this process
+     */
+    public static String getNodeId()
+    {
+        return ManagementFactory.getRuntimeMXBean().getName();
+    }
+}
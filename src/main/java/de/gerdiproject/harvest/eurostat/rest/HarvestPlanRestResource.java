@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.rest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import de.gerdiproject.harvest.EurostatContextListener;
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.eurostat.constants.PlanConstants;
+import de.gerdiproject.harvest.eurostat.plan.HarvestPlan;
+
+/**
+ * This REST resource projects the number of records and the output size
+ * of the next harvest, per dataflow, without harvesting anything.
+ *
+ * @author agent
+ */
+@Path("eurostat/plan")
+public class HarvestPlanRestResource
+{
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+
+    /**
+     * Returns the current harvest plans of all EUROSTAT ETLs.
+     *
+     * @return a JSON object that maps ETL names to harvest plans
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getPlans()
+    {
+        final Map<String, HarvestPlan> plans = new LinkedHashMap<>();
+
+        for (final EurostatETL etl : EurostatContextListener.getEurostatETLs())
+            plans.put(etl.getName(), etl.getPlanner().getPlan());
+
+        return Response.ok(gson.toJson(plans)).build();
+    }
+
+
+    /**
+     * Starts planning the next harvest of all EUROSTAT ETLs in the background.
+     *
+     * @return a status message
+     */
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    public Response startPlanning()
+    {
+        boolean hasStarted = false;
+
+        for (final EurostatETL etl : EurostatContextListener.getEurostatETLs())
+            hasStarted |= etl.getPlanner().startPlanning();
+
+        return hasStarted
+               ? Response.status(Status.ACCEPTED).entity(PlanConstants.PLANNING_TRIGGERED).build()
+               : Response.status(Status.CONFLICT).entity(PlanConstants.PLANNING_IN_PROGRESS).build();
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.rest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import de.gerdiproject.harvest.EurostatContextListener;
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.eurostat.constants.TargetConstants;
+import de.gerdiproject.harvest.eurostat.target.HarvestTarget;
+import de.gerdiproject.harvest.eurostat.target.TargetedHarvestStatus;
+
+/**
+ * This REST resource re-harvests a single dataflow or a single record,
+ * without harvesting the other dataflows.
+ *
+ * @author agent
+ */
+@Path("eurostat/reharvest")
+public class ReharvestRestResource
+{
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+
+    /**
+     * Returns the status of the latest re-harvests of all EUROSTAT ETLs.
+     *
+     * @return a JSON object that maps ETL names to re-harvest summaries
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getStatus()
+    {
+        final Map<String, TargetedHarvestStatus> states = new LinkedHashMap<>();
+
+        for (final EurostatETL etl : EurostatContextListener.getEurostatETLs())
+            states.put(etl.getName(), etl.getTargetedHarvester().getStatus());
+
+        return Response.ok(gson.toJson(states)).build();
+    }
+
+
+    /**
+     * Starts re-harvesting a dataflow or a record in the background, using
+     * the ETL that harvests the data structure of the dataflow.
+     *
+     * @param dataflow the ID of a dataflow or of its data structure, e.g. "nama_10_gdp"
+     * @param identifier the identifier of a document that is to be re-harvested
+     *
+     * @return a status message
+     */
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    public Response startReharvest(
+        @QueryParam(TargetConstants.DATAFLOW_PARAM) final String dataflow,
+        @QueryParam(TargetConstants.IDENTIFIER_PARAM) final String identifier)
+    {
+        final boolean hasDataflow = dataflow != null && !dataflow.trim().isEmpty();
+        final boolean hasIdentifier = identifier != null && !identifier.trim().isEmpty();
+
+        if (hasDataflow == hasIdentifier)
+            return Response.status(Status.BAD_REQUEST).entity(TargetConstants.MISSING_TARGET_ERROR).build();
+
+        HarvestTarget unharvestedTarget = null;
+
+        for (final EurostatETL etl : EurostatContextListener.getEurostatETLs()) {
+            final HarvestTarget target;
+
+            try {
+                target = hasDataflow
+                         ? HarvestTarget.forDataflow(dataflow)
+                         : HarvestTarget.forIdentifier(identifier, etl.getRestBaseUrl());
+            } catch (final IllegalArgumentException e) { // NOPMD the identifier may belong to another ETL
+                continue;
+            }
+
+            if (!etl.getPartition().contains(target.getDataStructureId())) {
+                unharvestedTarget = target;
+                continue;
+            }
+
+            if (!etl.getTargetedHarvester().start(target))
+                return Response.status(Status.CONFLICT)
+                       .entity(String.format(TargetConstants.ETL_BUSY_ERROR, etl.getName()))
+                       .build();
+
+            return Response.status(Status.ACCEPTED)
+                   .entity(String.format(TargetConstants.HARVEST_TRIGGERED, target))
+                   .build();
+        }
+
+        if (unharvestedTarget == null)
+            return Response.status(Status.BAD_REQUEST)
+                   .entity(String.format(TargetConstants.UNKNOWN_IDENTIFIER_ERROR, identifier))
+                   .build();
+
+        return Response.status(Status.NOT_FOUND)
+               .entity(String.format(TargetConstants.NO_ETL_ERROR, unharvestedTarget.getDataStructureId()))
+               .build();
+    }
+}
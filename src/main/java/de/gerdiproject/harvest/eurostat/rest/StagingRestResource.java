@@ -0,0 +1,82 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.rest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import de.gerdiproject.harvest.EurostatContextListener;
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.eurostat.constants.StagingConstants;
+import de.gerdiproject.harvest.eurostat.staging.StagingStatus;
+
+/**
+ * This REST resource reports the staging areas of the ETLs, and allows to
+ * prepare the documents of the next harvest in the background.
+ *
+ * @author agent
+ */
+@Path("eurostat/staging")
+public class StagingRestResource
+{
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+
+    /**
+     * Returns the status of the staging areas of all EUROSTAT ETLs.
+     *
+     * @return a JSON object that maps ETL names to staging summaries
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getStatus()
+    {
+        final Map<String, StagingStatus> states = new LinkedHashMap<>();
+
+        for (final EurostatETL etl : EurostatContextListener.getEurostatETLs())
+            states.put(etl.getName(), etl.getStagingArea().getStatus());
+
+        return Response.ok(gson.toJson(states)).build();
+    }
+
+
+    /**
+     * Starts preparing the documents of the next harvest of all EUROSTAT ETLs
+     * in the background.
+     *
+     * @return a status message
+     */
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    public Response startPreparation()
+    {
+        for (final EurostatETL etl : EurostatContextListener.getEurostatETLs())
+            etl.getStagingArea().startPreparation();
+
+        return Response.status(Status.ACCEPTED).entity(StagingConstants.PREPARATION_TRIGGERED).build();
+    }
+}
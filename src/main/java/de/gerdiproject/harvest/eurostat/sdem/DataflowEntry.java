@@ -0,0 +1,57 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.sdem;
+
+import java.util.List;
+import java.util.Map;
+
+import de.gerdiproject.harvest.etls.extractors.LocalizedLabels;
+import lombok.Value;
+
+/**
+ * This class is a value object that contains the parts of a dataflow
+ * of the SDEM that are required for harvesting it.
+ *
+ * @author agent
+ */
+@Value
+public class DataflowEntry
+{
+    private final String id;
+    private final String dataStructureId;
+
+    /**
+     * The names of the dataflow, mapped by their locales in the order of the SDEM
+     */
+    private final Map<String, String> names;
+
+
+    /**
+     * Resolves the names of the dataflow for a list of languages.
+     *
+     * @param languages the languages in order of preference
+     *
+     * @return a table of names, one for each language
+     */
+    public LocalizedLabels getNames(final List<String> languages)
+    {
+        final String fallbackName = names.isEmpty()
+                                    ? id
+                                    : names.values().iterator().next();
+
+        return LocalizedLabels.resolve(names, fallbackName, languages);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.sdem;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that contains a compact snapshot of the
+ * Structural Definitions Exchange Message (SDEM).
+ *
+ * @author agent
+ */
+@Value
+public class SdemSnapshot
+{
+    /**
+     * The URL from which the SDEM was retrieved
+     */
+    private final String sdemUrl;
+
+    /**
+     * The header ID of the SDEM, which serves as the version of the harvested data
+     */
+    private final String version;
+
+    /**
+     * The epoch milliseconds at which the SDEM was retrieved
+     */
+    private final long retrievedAt;
+
+    private final List<DataflowEntry> dataflows;
+
+
+    /**
+     * Checks if the snapshot was retrieved from a specified URL no longer than a specified duration ago.
+     *
+     * @param url the URL from which the SDEM is to be retrieved
+     * @param maxAgeMillis the maximum age of the snapshot in milliseconds
+     *
+     * @return true if the snapshot can be harvested without retrieving the SDEM again
+     */
+    public boolean isCurrent(final String url, final long maxAgeMillis)
+    {
+        return sdemUrl.equals(url) && System.currentTimeMillis() - retrievedAt <= maxAgeMillis;
+    }
+}
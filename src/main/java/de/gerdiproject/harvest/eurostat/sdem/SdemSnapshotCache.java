@@ -0,0 +1,382 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.sdem;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.sdmxsource.sdmx.api.manager.parse.StructureParsingManager;
+import org.sdmxsource.sdmx.api.model.StructureWorkspace;
+import org.sdmxsource.sdmx.api.model.beans.base.TextTypeWrapper;
+import org.sdmxsource.sdmx.api.model.beans.datastructure.DataflowBean;
+import org.sdmxsource.sdmx.api.util.ReadableDataLocation;
+import org.sdmxsource.util.factory.SdmxSourceReadableDataLocationFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.eurostat.constants.SdemConstants;
+
+/**
+ * This class keeps the last successfully retrieved SDEM of an ETL in memory
+ * and on disk. A refreshed SDEM is retrieved in the background and replaces
+ * the previous snapshot atomically, so running harvests and status requests
+ * are never blocked by a slow Eurostat service.
+ *
+ * @author agent
+ */
+public class SdemSnapshotCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(SdemSnapshotCache.class);
+
+    private final EurostatETL etl;
+    private final ExecutorService executor;
+    private final AtomicReference<SdemSnapshot> snapshot;
+    private final Gson gson;
+
+    private Future<SdemSnapshot> pendingRefresh;
+    private boolean hasRefreshFailed;
+
+    private StructureParsingManager parser;
+    private SdmxSourceReadableDataLocationFactory rdlFactory;
+
+
+    /**
+     * Constructor
+     *
+     * @param etl the ETL of which the SDEM is cached
+     */
+    public SdemSnapshotCache(final EurostatETL etl)
+    {
+        this.etl = etl;
+        this.snapshot = new AtomicReference<>();
+        this.gson = new Gson();
+        this.executor = Executors.newSingleThreadExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, SdemConstants.THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Loads the snapshot that was saved by a previous run of the service,
+     * and starts retrieving the SDEM in the background if the snapshot is
+     * missing or outdated. This method is meant to be called at startup.
+     */
+    public void warmUp()
+    {
+        load();
+
+        final SdemSnapshot loadedSnapshot = snapshot.get();
+
+        if (loadedSnapshot == null || !loadedSnapshot.isCurrent(getSdemUrl(), etl.getSdemMaxAgeMillis()))
+            startRefresh();
+    }
+
+
+    /**
+     * Returns the snapshot that is currently cached, without blocking.
+     *
+     * @return the cached snapshot, or null if there is none
+     */
+    public SdemSnapshot getSnapshot()
+    {
+        return snapshot.get();
+    }
+
+
+    /**
+     * Returns a snapshot that is recent enough to be harvested. If the cached
+     * snapshot is outdated, the SDEM is retrieved and this method blocks until
+     * it is available. If the SDEM cannot be retrieved, the outdated snapshot
+     * is returned instead.
+     *
+     * @throws IllegalStateException if the SDEM cannot be retrieved and there is no snapshot
+     *
+     * @return a snapshot of the SDEM
+     */
+    public SdemSnapshot getCurrentSnapshot() throws IllegalStateException
+    {
+        final SdemSnapshot cachedSnapshot = snapshot.get();
+
+        if (cachedSnapshot != null && cachedSnapshot.isCurrent(getSdemUrl(), etl.getSdemMaxAgeMillis()))
+            return cachedSnapshot;
+
+        Throwable cause;
+
+        try {
+            return startRefresh().get();
+        } catch (final ExecutionException e) {
+            cause = e.getCause();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cause = e;
+        }
+
+        final SdemSnapshot outdatedSnapshot = snapshot.get();
+
+        if (outdatedSnapshot == null)
+            throw new IllegalStateException(String.format(SdemConstants.NO_SNAPSHOT_ERROR, getSdemUrl()), cause);
+
+        LOGGER.warn(String.format(SdemConstants.USING_OUTDATED_SNAPSHOT, outdatedSnapshot.getVersion()));
+        return outdatedSnapshot;
+    }
+
+
+    /**
+     * Starts retrieving the SDEM in the background, unless it is already being retrieved.
+     *
+     * @return a future that yields the refreshed snapshot
+     */
+    public synchronized Future<SdemSnapshot> startRefresh()
+    {
+        if (pendingRefresh == null || pendingRefresh.isDone())
+            pendingRefresh = executor.submit(this::refresh);
+
+        return pendingRefresh;
+    }
+
+
+    /**
+     * Returns a summary of the cached snapshot.
+     *
+     * @return a summary of the cached snapshot
+     */
+    public synchronized SdemStatus getStatus()
+    {
+        final String state;
+
+        if (pendingRefresh != null && !pendingRefresh.isDone())
+            state = SdemConstants.STATE_REFRESHING;
+        else
+            state = hasRefreshFailed ? SdemConstants.STATE_FAILED : SdemConstants.STATE_IDLE;
+
+        final SdemSnapshot cachedSnapshot = snapshot.get();
+
+        return cachedSnapshot == null
+               ? new SdemStatus(state, null, null, 0, 0)
+               : new SdemStatus(state,
+                                cachedSnapshot.getSdemUrl(),
+                                cachedSnapshot.getVersion(),
+                                cachedSnapshot.getRetrievedAt(),
+                                cachedSnapshot.getDataflows().size());
+    }
+
+
+    /**
+     * Retrieves and parses the SDEM, and replaces the cached snapshot.
+     * This method is executed in the background.
+     *
+     * @return the refreshed snapshot
+     */
+    private SdemSnapshot refresh()
+    {
+        final URL sdemUrl = etl.getSdemUrl();
+        final long startTime = System.currentTimeMillis();
+
+        try {
+            final ReadableDataLocation rdl = getReadableDataLocationFactory().getReadableDataLocation(sdemUrl);
+            final StructureWorkspace sdem = parser.parseStructures(rdl);
+            final SdemSnapshot refreshedSnapshot = toSnapshot(sdemUrl.toString(), sdem);
+
+            snapshot.set(refreshedSnapshot);
+            save(refreshedSnapshot);
+
+            LOGGER.info(String.format(SdemConstants.SNAPSHOT_REFRESHED,
+                                      refreshedSnapshot.getVersion(),
+                                      refreshedSnapshot.getDataflows().size(),
+                                      System.currentTimeMillis() - startTime));
+            setRefreshFailed(false);
+            return refreshedSnapshot;
+
+        } catch (final RuntimeException e) { // NOPMD sdmxsource throws various unchecked exceptions
+            LOGGER.error(String.format(SdemConstants.REFRESH_FAILED, sdemUrl), e);
+            setRefreshFailed(true);
+            throw e;
+        }
+    }
+
+
+    /**
+     * Loads the snapshot from the cache folder, if it exists.
+     */
+    private void load()
+    {
+        final File snapshotFile = getSnapshotFile();
+
+        if (snapshotFile == null || !snapshotFile.isFile())
+            return;
+
+        try (Reader reader = new InputStreamReader(
+                 new GZIPInputStream(new FileInputStream(snapshotFile)),
+                 StandardCharsets.UTF_8)) {
+            final SdemSnapshot loadedSnapshot = gson.fromJson(reader, SdemSnapshot.class);
+
+            if (loadedSnapshot == null || loadedSnapshot.getDataflows() == null)
+                throw new JsonParseException(snapshotFile.getName());
+
+            snapshot.compareAndSet(null, loadedSnapshot);
+            LOGGER.info(String.format(SdemConstants.SNAPSHOT_LOADED,
+                                      loadedSnapshot.getVersion(),
+                                      loadedSnapshot.getDataflows().size(),
+                                      snapshotFile));
+
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn(String.format(SdemConstants.CANNOT_LOAD_SNAPSHOT, snapshotFile, e.getMessage()));
+        }
+    }
+
+
+    /**
+     * Saves a snapshot to the cache folder, replacing the previous snapshot.
+     *
+     * @param savedSnapshot the snapshot that is to be saved
+     */
+    private void save(final SdemSnapshot savedSnapshot)
+    {
+        final File snapshotFile = getSnapshotFile();
+
+        if (snapshotFile == null)
+            return;
+
+        final File tempFile = new File(snapshotFile.getPath() + SdemConstants.TEMP_FILE_SUFFIX);
+
+        try {
+            Files.createDirectories(snapshotFile.getAbsoluteFile().getParentFile().toPath());
+
+            try (Writer writer = new OutputStreamWriter(
+                     new GZIPOutputStream(new FileOutputStream(tempFile)),
+                     StandardCharsets.UTF_8)) {
+                gson.toJson(savedSnapshot, writer);
+            }
+
+            Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(SdemConstants.CANNOT_SAVE_SNAPSHOT, snapshotFile, e.getMessage()));
+        }
+    }
+
+
+    /**
+     * Converts a parsed SDEM to a compact snapshot that only contains the dataflows.
+     *
+     * @param sdemUrl the URL from which the SDEM was retrieved
+     * @param sdem the parsed SDEM
+     *
+     * @return a compact snapshot of the SDEM
+     */
+    private static SdemSnapshot toSnapshot(final String sdemUrl, final StructureWorkspace sdem)
+    {
+        final List<DataflowEntry> dataflows = new ArrayList<>();
+
+        for (final DataflowBean dataflowBean : sdem.getStructureBeans(false).getDataflows()) {
+            final Map<String, String> names = new LinkedHashMap<>();
+
+            for (final TextTypeWrapper name : dataflowBean.getNames())
+                names.putIfAbsent(name.getLocale(), name.getValue());
+
+            dataflows.add(new DataflowEntry(dataflowBean.getId(),
+                                            dataflowBean.getDataStructureRef().getMaintainableId(),
+                                            names));
+        }
+
+        return new SdemSnapshot(sdemUrl,
+                                sdem.getStructureBeans(false).getHeader().getId(),
+                                System.currentTimeMillis(),
+                                dataflows);
+    }
+
+
+    /**
+     * Returns the file in which the snapshot is saved.
+     *
+     * @return the snapshot file, or null if no cache folder is configured
+     */
+    private File getSnapshotFile()
+    {
+        final String cacheFolder = etl.getCacheFolder();
+        return cacheFolder.isEmpty()
+               ? null
+               : new File(cacheFolder, SdemConstants.SNAPSHOT_FILE_NAME);
+    }
+
+
+    /**
+     * Returns the configured SDEM URL as a String.
+     *
+     * @return the configured SDEM URL
+     */
+    private String getSdemUrl()
+    {
+        return etl.getSdemUrl().toString();
+    }
+
+
+    /**
+     * Initializes the SDMX parser if needed, and returns the factory of readable data locations.
+     *
+     * @return a factory of readable data locations
+     */
+    private SdmxSourceReadableDataLocationFactory getReadableDataLocationFactory()
+    {
+        if (rdlFactory == null) {
+            // see SdmxSourceStructureReader for why the beans are created via Spring
+            final ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext("spring/beans.xml");
+            parser = (StructureParsingManager) context.getBean("structureParsingManager");
+            rdlFactory = (SdmxSourceReadableDataLocationFactory) context.getBean("readableDataLocationFactory");
+        }
+
+        return rdlFactory;
+    }
+
+
+    /**
+     * Marks whether the last refresh failed.
+     *
+     * @param hasFailed true if the last refresh failed
+     */
+    private synchronized void setRefreshFailed(final boolean hasFailed)
+    {
+        this.hasRefreshFailed = hasFailed;
+    }
+}
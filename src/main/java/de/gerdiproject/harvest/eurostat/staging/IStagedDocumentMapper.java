@@ -0,0 +1,40 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.staging;
+
+import de.gerdiproject.json.datacite.DataCiteJson;
+
+/**
+ * This functional interface converts a prepared document of the staging
+ * area to a document that is to be submitted.
+ *
+ * @author agent
+ */
+@FunctionalInterface
+public interface IStagedDocumentMapper
+{
+    /**
+     * Converts a prepared document.
+     *
+     * @param dataStructureId the ID of the data structure of the document
+     * @param identifier the identifier of the document
+     * @param contentHash a hash of everything that the content of the document depends on
+     * @param json the document as a JSON String
+     *
+     * @return the document that is to be submitted, or null if it is to be skipped
+     */
+    DataCiteJson map(String dataStructureId, String identifier, long contentHash, String json);
+}
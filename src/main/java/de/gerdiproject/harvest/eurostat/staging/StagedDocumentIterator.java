@@ -0,0 +1,217 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.staging;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.zip.GZIPInputStream;
+
+import de.gerdiproject.harvest.eurostat.cancel.CancellationToken;
+import de.gerdiproject.harvest.eurostat.constants.StagingConstants;
+import de.gerdiproject.harvest.eurostat.utils.HashUtil;
+import de.gerdiproject.json.datacite.DataCiteJson;
+
+/**
+ * This iterator reads the prepared documents of the staging area one
+ * dataflow after another, and continues with the documents of another
+ * iterator afterwards. Documents that are skipped by the
+ * {@linkplain IStagedDocumentMapper} are not iterated. If the harvest is
+ * cancelled, the remaining prepared documents are discarded.
+ *
+ * @author agent
+ */
+class StagedDocumentIterator implements Iterator<DataCiteJson>
+{
+    private final File stagingFolder;
+    private final Queue<StagedDataflow> dataflows;
+    private final IStagedDocumentMapper mapper;
+    private final Iterator<DataCiteJson> followingDocuments;
+    private final CancellationToken cancellation;
+
+    private BufferedReader reader;
+    private String currentDataStructureId;
+    private DataCiteJson nextDocument;
+
+
+    /**
+     * Constructor
+     *
+     * @param stagingFolder the folder that contains the prepared documents
+     * @param dataflows the dataflows of which the prepared documents are to be iterated
+     * @param mapper converts the prepared documents
+     * @param followingDocuments the documents that follow the prepared documents
+     * @param cancellation a token that stops the iteration when the harvest is aborted
+     */
+    StagedDocumentIterator(
+        final File stagingFolder,
+        final List<StagedDataflow> dataflows,
+        final IStagedDocumentMapper mapper,
+        final Iterator<DataCiteJson> followingDocuments,
+        final CancellationToken cancellation)
+    {
+        this.stagingFolder = stagingFolder;
+        this.dataflows = new LinkedList<>(dataflows);
+        this.mapper = mapper;
+        this.followingDocuments = followingDocuments;
+        this.cancellation = cancellation;
+    }
+
+
+    @Override
+    public boolean hasNext()
+    {
+        return readNextDocument() || followingDocuments.hasNext();
+    }
+
+
+    @Override
+    public DataCiteJson next()
+    {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        if (nextDocument == null)
+            return followingDocuments.next();
+
+        final DataCiteJson document = nextDocument;
+        nextDocument = null;
+        return document;
+    }
+
+
+    /**
+     * Reads prepared documents until one of them is not skipped, or until
+     * all prepared documents were read.
+     *
+     * @throws IllegalStateException if the prepared documents could not be read
+     *
+     * @return true if a prepared document is to be iterated next
+     */
+    private boolean readNextDocument() throws IllegalStateException
+    {
+        try {
+            while (nextDocument == null) {
+                // an aborted harvest discards the remaining prepared documents
+                if (cancellation.isCancelled()) {
+                    dataflows.clear();
+                    closeReader();
+                    return false;
+                }
+
+                if (reader == null) {
+                    if (dataflows.isEmpty())
+                        return false;
+
+                    openReader(dataflows.remove().getDataStructureId());
+                }
+
+                final String line = reader.readLine();
+
+                if (line == null)
+                    closeReader();
+                else
+                    nextDocument = mapLine(line);
+            }
+        } catch (final IOException | RuntimeException e) { // NOPMD every unreadable document is reported alike
+            closeQuietly();
+            throw new IllegalStateException(
+                String.format(StagingConstants.CANNOT_READ_DOCUMENTS, currentDataStructureId), e);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Maps a line of a documents file, which consists of the identifier, the
+     * content hash and the JSON of a document. Files that were prepared by
+     * older versions lack the content hash, in which case the JSON is hashed
+     * instead. The JSON never contains tabs, because they are escaped.
+     *
+     * @param line a line of a documents file
+     *
+     * @return the document that is to be submitted, or null if it is to be skipped
+     */
+    private DataCiteJson mapLine(final String line)
+    {
+        final int separatorIndex = line.indexOf(StagingConstants.IDENTIFIER_SEPARATOR);
+        final int hashSeparatorIndex = line.indexOf(StagingConstants.IDENTIFIER_SEPARATOR, separatorIndex + 1);
+        final String identifier = line.substring(0, separatorIndex);
+
+        if (hashSeparatorIndex < 0) {
+            final String json = line.substring(separatorIndex + 1);
+            return mapper.map(currentDataStructureId, identifier, HashUtil.hash64(json), json);
+        }
+
+        return mapper.map(currentDataStructureId,
+                          identifier,
+                          Long.parseLong(line.substring(separatorIndex + 1, hashSeparatorIndex)),
+                          line.substring(hashSeparatorIndex + 1));
+    }
+
+
+    /**
+     * Opens the file that contains the prepared documents of a dataflow.
+     *
+     * @param dataStructureId the ID of the data structure of the dataflow
+     *
+     * @throws IOException if the file could not be opened
+     */
+    private void openReader(final String dataStructureId) throws IOException
+    {
+        currentDataStructureId = dataStructureId;
+        reader = new BufferedReader(new InputStreamReader(
+                                        new GZIPInputStream(new FileInputStream(
+                                                                StagingArea.getDocumentsFile(stagingFolder, dataStructureId))),
+                                        StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Closes the file of the current dataflow.
+     *
+     * @throws IOException if the file could not be closed
+     */
+    private void closeReader() throws IOException
+    {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+
+    /**
+     * Closes the file of the current dataflow after an error.
+     */
+    private void closeQuietly()
+    {
+        try {
+            closeReader();
+        } catch (final IOException e) { // NOPMD the error that caused the closing is reported instead
+            reader = null;
+        }
+    }
+}
@@ -0,0 +1,634 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.staging;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.etls.HarvestContext;
+import de.gerdiproject.harvest.etls.enums.ETLState;
+import de.gerdiproject.harvest.etls.extractors.CombinationSpace;
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+import de.gerdiproject.harvest.etls.extractors.EurostatExtractor;
+import de.gerdiproject.harvest.etls.extractors.LocalizedLabels;
+import de.gerdiproject.harvest.etls.extractors.SdmxVO;
+import de.gerdiproject.harvest.etls.transformers.EurostatTransformer;
+import de.gerdiproject.harvest.etls.transformers.TransformerException;
+import de.gerdiproject.harvest.eurostat.cancel.CancellationToken;
+import de.gerdiproject.harvest.eurostat.constants.SdemConstants;
+import de.gerdiproject.harvest.eurostat.constants.StagingConstants;
+import de.gerdiproject.harvest.eurostat.sdem.DataflowEntry;
+import de.gerdiproject.json.datacite.DataCiteJson;
+
+/**
+ * This class prepares the documents of the next harvest of an ETL in the
+ * background, while the ETL is idle. The documents of each dataflow are
+ * saved to a file of the staging folder, together with the version of the
+ * dataflow from which they were transformed. A harvest submits the prepared
+ * documents of all dataflows that did not change since, and only transforms
+ * the remaining dataflows. A running preparation is cancelled as soon as a
+ * harvest starts.
+ *
+ * @author agent
+ */
+public class StagingArea
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StagingArea.class);
+
+    private final EurostatETL etl;
+    private final ScheduledExecutorService executor;
+    private final Gson gson;
+    private final Object preparationLock;
+
+    private Future<?> pendingPreparation;
+    private CancellationToken preparationCancellation;
+    private boolean isPreparing;
+    private boolean hasPreparationFailed;
+    private long lastPreparationStart;
+
+
+    /**
+     * Constructor
+     *
+     * @param etl the ETL of which the documents are prepared
+     */
+    public StagingArea(final EurostatETL etl)
+    {
+        this.etl = etl;
+        this.gson = new Gson();
+        this.preparationLock = new Object();
+        this.executor = Executors.newSingleThreadScheduledExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, StagingConstants.THREAD_NAME);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Starts checking every minute if the documents are due to be prepared,
+     * according to the configured staging interval. Since the interval is
+     * checked each time, it can be changed while the service is running.
+     * This method is meant to be called at startup.
+     */
+    public void schedule()
+    {
+        executor.scheduleWithFixedDelay(this::prepareIfDue,
+                                        SdemConstants.MILLIS_PER_MINUTE,
+                                        SdemConstants.MILLIS_PER_MINUTE,
+                                        TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Starts preparing the documents of the next harvest in the background,
+     * unless they are already being prepared or no staging folder is configured.
+     *
+     * @return true if the preparation was started
+     */
+    public synchronized boolean startPreparation()
+    {
+        if (etl.getStagingFolder().isEmpty() || isPreparing || pendingPreparation != null && !pendingPreparation.isDone())
+            return false;
+
+        pendingPreparation = executor.submit(this::prepare);
+        return true;
+    }
+
+
+    /**
+     * Returns a summary of the staging area.
+     *
+     * @return a summary of the staging area
+     */
+    public StagingStatus getStatus()
+    {
+        final File stagingFolder = getStagingFolder();
+
+        if (stagingFolder == null)
+            return new StagingStatus(StagingConstants.STATE_DISABLED, null, 0, 0, 0);
+
+        long lastPreparedAt = 0;
+        long documentCount = 0;
+        final Map<String, StagedDataflow> index = loadIndex(stagingFolder);
+
+        for (final StagedDataflow stagedDataflow : index.values()) {
+            lastPreparedAt = Math.max(lastPreparedAt, stagedDataflow.getPreparedAt());
+            documentCount += stagedDataflow.getDocumentCount();
+        }
+
+        final String state;
+
+        synchronized (this) {
+            if (isPreparing)
+                state = StagingConstants.STATE_PREPARING;
+            else
+                state = hasPreparationFailed ? StagingConstants.STATE_FAILED : StagingConstants.STATE_IDLE;
+        }
+
+        return new StagingStatus(state, stagingFolder.getPath(), lastPreparedAt, index.size(), documentCount);
+    }
+
+
+    /**
+     * Cancels a running preparation and returns the prepared dataflows that
+     * are current, meaning that their version did not change since the
+     * preparation, and that they are not older than the configured maximum age.
+     * This method is meant to be called at the beginning of a harvest.
+     *
+     * @param dataflows the dataflows that are to be harvested
+     * @param versionFunction a function that returns the current version of a dataflow
+     *
+     * @return the prepared dataflows that can be submitted by the harvest
+     */
+    public List<StagedDataflow> takeCurrentDataflows(
+        final List<DataflowEntry> dataflows,
+        final Function<DataflowEntry, String> versionFunction)
+    {
+        final File stagingFolder = getStagingFolder();
+
+        if (stagingFolder == null)
+            return Collections.emptyList();
+
+        synchronized (this) {
+            if (preparationCancellation != null)
+                preparationCancellation.cancel();
+        }
+
+        final List<StagedDataflow> currentDataflows = new ArrayList<>();
+
+        // wait for the cancelled preparation to release the staging folder
+        synchronized (preparationLock) {
+            final Map<String, StagedDataflow> index = loadIndex(stagingFolder);
+
+            for (final DataflowEntry dataflow : dataflows) {
+                final StagedDataflow stagedDataflow = index.get(dataflow.getDataStructureId());
+
+                if (isCurrent(stagedDataflow, versionFunction.apply(dataflow), stagingFolder))
+                    currentDataflows.add(stagedDataflow);
+            }
+        }
+
+        if (!currentDataflows.isEmpty())
+            LOGGER.info(String.format(StagingConstants.STAGED_DATAFLOWS, currentDataflows.size(), dataflows.size()));
+
+        return currentDataflows;
+    }
+
+
+    /**
+     * Returns an iterator over the prepared documents of several dataflows,
+     * which continues with the documents of another iterator afterwards.
+     *
+     * @param stagedDataflows the dataflows of which the prepared documents are to be iterated
+     * @param mapper converts the prepared documents, and decides which ones are skipped
+     * @param followingDocuments the documents that follow the prepared documents
+     * @param cancellation a token that stops the iteration when the harvest is aborted
+     *
+     * @return an iterator over the prepared documents, followed by the other documents
+     */
+    public Iterator<DataCiteJson> readDocuments(
+        final List<StagedDataflow> stagedDataflows,
+        final IStagedDocumentMapper mapper,
+        final Iterator<DataCiteJson> followingDocuments,
+        final CancellationToken cancellation)
+    {
+        return new StagedDocumentIterator(getStagingFolder(),
+                                          stagedDataflows,
+                                          mapper,
+                                          followingDocuments,
+                                          cancellation);
+    }
+
+
+    /**
+     * Returns the file that contains the prepared documents of a dataflow.
+     *
+     * @param stagingFolder the folder that contains the prepared documents
+     * @param dataStructureId the ID of the data structure of the dataflow
+     *
+     * @return the file that contains the prepared documents of the dataflow
+     */
+    static File getDocumentsFile(final File stagingFolder, final String dataStructureId)
+    {
+        return new File(stagingFolder, dataStructureId + StagingConstants.DOCUMENTS_FILE_SUFFIX);
+    }
+
+
+    /**
+     * Prepares the documents if a staging interval is configured, and if the
+     * interval has passed since the previous preparation started.
+     * This method is executed in the background.
+     */
+    private void prepareIfDue()
+    {
+        final long stagingInterval = etl.getStagingIntervalMillis();
+        final boolean isDue;
+
+        synchronized (this) {
+            isDue = stagingInterval > 0 && System.currentTimeMillis() - lastPreparationStart >= stagingInterval;
+        }
+
+        if (isDue)
+            prepare();
+    }
+
+
+    /**
+     * Prepares the documents of all dataflows that are not prepared yet,
+     * or of which the prepared documents are outdated. The documents are
+     * prepared by an extractor and a transformer of their own, so the state
+     * of the next harvest is not affected. This method is executed in the background.
+     */
+    private void prepare()
+    {
+        final File stagingFolder = getStagingFolder();
+
+        if (stagingFolder == null)
+            return;
+
+        if (etl.getState() == ETLState.HARVESTING) {
+            LOGGER.info(String.format(StagingConstants.PREPARATION_SKIPPED, etl.getName()));
+            return;
+        }
+
+        final EurostatExtractor extractor = new EurostatExtractor();
+        final EurostatTransformer transformer = new EurostatTransformer();
+
+        synchronized (preparationLock) {
+            setPreparing(true);
+
+            try {
+                final HarvestContext context = new HarvestContext(null);
+                extractor.init(etl, context);
+                transformer.initForStaging(etl, context);
+
+                synchronized (this) {
+                    preparationCancellation = extractor.getCancellation();
+                }
+
+                prepareDataflows(extractor, transformer, stagingFolder);
+                setPreparationFailed(false);
+
+            } catch (final RuntimeException e) { // NOPMD the preparation must never kill the executor
+                LOGGER.error(StagingConstants.PREPARATION_FAILED, e);
+                setPreparationFailed(true);
+
+            } finally {
+                transformer.clear();
+
+                synchronized (this) {
+                    preparationCancellation = null;
+                }
+
+                setPreparing(false);
+            }
+        }
+    }
+
+
+    /**
+     * Prepares the documents of all selected dataflows that are not current,
+     * and removes the documents of dataflows that are no longer selected.
+     *
+     * @param extractor the extractor that retrieves the data structures
+     * @param transformer the transformer that creates the documents
+     * @param stagingFolder the folder to which the documents are saved
+     */
+    private void prepareDataflows(
+        final EurostatExtractor extractor,
+        final EurostatTransformer transformer,
+        final File stagingFolder)
+    {
+        final long startTime = System.currentTimeMillis();
+        final CancellationToken cancellation = extractor.getCancellation();
+        final Map<String, StagedDataflow> index = loadIndex(stagingFolder);
+        final List<DataflowEntry> dataflows = extractor.getSelectedDataflows();
+        final Set<String> selectedIds = new HashSet<>();
+        int currentDataflows = 0;
+        int preparedDataflows = 0;
+        long preparedDocuments = 0;
+
+        LOGGER.info(String.format(StagingConstants.PREPARATION_STARTED, dataflows.size()));
+
+        for (final DataflowEntry dataflow : dataflows) {
+            final String dataStructureId = dataflow.getDataStructureId();
+            selectedIds.add(dataStructureId);
+
+            // a starting harvest has priority over the preparation
+            if (etl.getState() == ETLState.HARVESTING)
+                cancellation.cancel();
+
+            if (cancellation.isCancelled()) {
+                LOGGER.info(String.format(StagingConstants.PREPARATION_CANCELLED, preparedDataflows));
+                return;
+            }
+
+            final String version = extractor.getDataflowVersion(dataflow);
+
+            if (isCurrent(index.get(dataStructureId), version, stagingFolder)) {
+                currentDataflows++;
+                continue;
+            }
+
+            final StagedDataflow stagedDataflow =
+                prepareDataflow(extractor, transformer, dataflow, version, stagingFolder);
+
+            if (stagedDataflow != null) {
+                index.put(dataStructureId, stagedDataflow);
+                saveIndex(stagingFolder, index);
+                preparedDataflows++;
+                preparedDocuments += stagedDataflow.getDocumentCount();
+            }
+        }
+
+        // documents of dataflows that are no longer harvested are obsolete
+        if (index.keySet().retainAll(selectedIds)) {
+            saveIndex(stagingFolder, index);
+            deleteObsoleteFiles(stagingFolder, selectedIds);
+        }
+
+        LOGGER.info(String.format(StagingConstants.PREPARATION_FINISHED,
+                                  preparedDocuments,
+                                  preparedDataflows,
+                                  System.currentTimeMillis() - startTime,
+                                  currentDataflows));
+    }
+
+
+    /**
+     * Transforms all documents of a dataflow and saves them to a file of the
+     * staging folder. The file is replaced atomically, so a harvest never
+     * reads an incomplete file.
+     *
+     * @param extractor the extractor that retrieves the data structure
+     * @param transformer the transformer that creates the documents
+     * @param dataflow the dataflow of which the documents are prepared
+     * @param version the current version of the dataflow
+     * @param stagingFolder the folder to which the documents are saved
+     *
+     * @return the prepared dataflow, or null if it could not be prepared or the preparation was cancelled
+     */
+    private StagedDataflow prepareDataflow(
+        final EurostatExtractor extractor,
+        final EurostatTransformer transformer,
+        final DataflowEntry dataflow,
+        final String version,
+        final File stagingFolder)
+    {
+        final String dataStructureId = dataflow.getDataStructureId();
+        final CancellationToken cancellation = extractor.getCancellation();
+        final File documentsFile = getDocumentsFile(stagingFolder, dataStructureId);
+        final File tempFile = new File(documentsFile.getPath() + StagingConstants.TEMP_FILE_SUFFIX);
+        long documentCount = 0;
+
+        try {
+            final DataStructureModel dataStructure = extractor.fetchDataStructure(dataStructureId);
+            final CombinationSpace allCombinations = EurostatExtractor.getCombinationSpace(dataStructure, etl);
+            final CombinationSpace cappedCombinations =
+                EurostatExtractor.applyCombinationCap(dataStructureId, allCombinations, etl);
+            final CombinationSpace combinations = cappedCombinations == null
+                                                  ? null
+                                                  : EurostatExtractor.applySampling(dataStructureId, cappedCombinations, etl);
+
+            final LocalizedLabels dataflowNames = dataflow.getNames(etl.getLabelLanguages());
+            final Iterator<SdmxVO> elements = combinations == null
+                                              ? Collections.emptyIterator()
+                                              : LongStream.range(0, combinations.size())
+                                              .mapToObj((final long i) ->
+                                                        new SdmxVO(dataflowNames, dataStructure.getId(), combinations.get(i)))
+                                              .iterator();
+
+            final Iterator<DataCiteJson> documents = transformer.transform(elements);
+
+            Files.createDirectories(stagingFolder.toPath());
+
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                                                        new GZIPOutputStream(new FileOutputStream(tempFile)),
+                                                        StandardCharsets.UTF_8))) {
+                while (documents.hasNext() && !cancellation.isCancelled()) {
+                    final DataCiteJson document = documents.next();
+
+                    final String identifier = document.getIdentifier().getValue();
+
+                    writer.write(identifier);
+                    writer.write(StagingConstants.IDENTIFIER_SEPARATOR);
+                    writer.write(Long.toString(transformer.takeContentHash(identifier)));
+                    writer.write(StagingConstants.IDENTIFIER_SEPARATOR);
+                    writer.write(gson.toJson(document));
+                    writer.write('\n');
+                    documentCount++;
+                }
+            }
+
+            if (cancellation.isCancelled()) {
+                Files.deleteIfExists(tempFile.toPath());
+                return null;
+            }
+
+            Files.move(tempFile.toPath(), documentsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (SdmxException | TransformerException | IOException e) {
+            LOGGER.warn(String.format(StagingConstants.DATAFLOW_NOT_PREPARED, dataStructureId, e.getMessage()));
+            tempFile.delete();
+            return null;
+        }
+
+        LOGGER.debug(String.format(StagingConstants.DATAFLOW_PREPARED, documentCount, dataStructureId));
+        return new StagedDataflow(dataStructureId, version, System.currentTimeMillis(), documentCount);
+    }
+
+
+    /**
+     * Checks if the prepared documents of a dataflow can be submitted.
+     *
+     * @param stagedDataflow the prepared dataflow, or null if the dataflow was not prepared
+     * @param version the current version of the dataflow
+     * @param stagingFolder the folder that contains the prepared documents
+     *
+     * @return true if the prepared documents are current
+     */
+    private boolean isCurrent(final StagedDataflow stagedDataflow, final String version, final File stagingFolder)
+    {
+        return stagedDataflow != null
+               && stagedDataflow.getVersion().equals(version)
+               && System.currentTimeMillis() - stagedDataflow.getPreparedAt() <= etl.getStagingMaxAgeMillis()
+               && getDocumentsFile(stagingFolder, stagedDataflow.getDataStructureId()).isFile();
+    }
+
+
+    /**
+     * Deletes all document files of the staging folder that do not belong to
+     * one of the selected dataflows.
+     *
+     * @param stagingFolder the folder that contains the prepared documents
+     * @param selectedIds the IDs of the data structures of the selected dataflows
+     */
+    private static void deleteObsoleteFiles(final File stagingFolder, final Set<String> selectedIds)
+    {
+        final File[] files = stagingFolder.listFiles((final File dir, final String name) ->
+                                                     name.endsWith(StagingConstants.DOCUMENTS_FILE_SUFFIX));
+
+        if (files == null)
+            return;
+
+        for (final File file : files) {
+            final String name = file.getName();
+
+            if (!selectedIds.contains(name.substring(0, name.length() - StagingConstants.DOCUMENTS_FILE_SUFFIX.length()))) {
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (final IOException e) {
+                    LOGGER.warn(String.format(StagingConstants.CANNOT_DELETE_FILE, file, e.getMessage()));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Loads the index of prepared dataflows from the staging folder.
+     *
+     * @param stagingFolder the folder that contains the prepared documents
+     *
+     * @return a map of data structure IDs to prepared dataflows, which is empty if there is no index
+     */
+    private Map<String, StagedDataflow> loadIndex(final File stagingFolder)
+    {
+        final Map<String, StagedDataflow> index = new LinkedHashMap<>();
+        final File indexFile = new File(stagingFolder, StagingConstants.INDEX_FILE_NAME);
+
+        if (!indexFile.isFile())
+            return index;
+
+        try (Reader reader = new InputStreamReader(
+                 new GZIPInputStream(new FileInputStream(indexFile)),
+                 StandardCharsets.UTF_8)) {
+            final StagedDataflow[] stagedDataflows = gson.fromJson(reader, StagedDataflow[].class);
+
+            if (stagedDataflows == null)
+                throw new JsonParseException(indexFile.getName());
+
+            for (final StagedDataflow stagedDataflow : stagedDataflows)
+                index.put(stagedDataflow.getDataStructureId(), stagedDataflow);
+
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn(String.format(StagingConstants.CANNOT_LOAD_INDEX, indexFile, e.getMessage()));
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Saves the index of prepared dataflows to the staging folder, replacing the previous index.
+     *
+     * @param stagingFolder the folder that contains the prepared documents
+     * @param index a map of data structure IDs to prepared dataflows
+     */
+    private void saveIndex(final File stagingFolder, final Map<String, StagedDataflow> index)
+    {
+        final File indexFile = new File(stagingFolder, StagingConstants.INDEX_FILE_NAME);
+        final File tempFile = new File(indexFile.getPath() + StagingConstants.TEMP_FILE_SUFFIX);
+
+        try {
+            Files.createDirectories(stagingFolder.toPath());
+
+            try (Writer writer = new OutputStreamWriter(
+                     new GZIPOutputStream(new FileOutputStream(tempFile)),
+                     StandardCharsets.UTF_8)) {
+                gson.toJson(index.values().toArray(new StagedDataflow[0]), writer);
+            }
+
+            Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(StagingConstants.CANNOT_SAVE_INDEX, indexFile, e.getMessage()));
+        }
+    }
+
+
+    /**
+     * Returns the configured staging folder.
+     *
+     * @return the staging folder, or null if no staging folder is configured
+     */
+    private File getStagingFolder()
+    {
+        final String stagingFolder = etl.getStagingFolder();
+        return stagingFolder.isEmpty() ? null : new File(stagingFolder);
+    }
+
+
+    /**
+     * Marks whether documents are being prepared, and when the preparation started.
+     *
+     * @param isPreparing true if documents are being prepared
+     */
+    private synchronized void setPreparing(final boolean isPreparing)
+    {
+        this.isPreparing = isPreparing;
+
+        if (isPreparing)
+            lastPreparationStart = System.currentTimeMillis();
+    }
+
+
+    /**
+     * Marks whether the last preparation failed.
+     *
+     * @param hasFailed true if the last preparation failed
+     */
+    private synchronized void setPreparationFailed(final boolean hasFailed)
+    {
+        this.hasPreparationFailed = hasFailed;
+    }
+}
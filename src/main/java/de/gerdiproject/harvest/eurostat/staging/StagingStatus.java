@@ -0,0 +1,34 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.staging;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that describes the staging area of an ETL,
+ * and whether documents are being prepared.
+ *
+ * @author agent
+ */
+@Value
+public class StagingStatus
+{
+    private final String state;
+    private final String stagingFolder;
+    private final long lastPreparedAt;
+    private final int dataflowCount;
+    private final long documentCount;
+}
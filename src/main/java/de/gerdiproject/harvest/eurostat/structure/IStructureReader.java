@@ -0,0 +1,60 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.structure;
+
+import java.util.List;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+
+/**
+ * This interface represents a parser of SDMX-ML structure messages that
+ * contain one or more data structure definitions (DSDs) and the code lists
+ * they refer to.
+ *
+ * @author agent
+ */
+public interface IStructureReader
+{
+    /**
+     * Parses the first data structure of a structure message. Only dimensions
+     * that have codes are part of the resulting model.
+     *
+     * @param structure the bytes of the structure message
+     * @param languages the languages of the code names in order of preference
+     *
+     * @throws SdmxException if the structure message cannot be parsed
+     *
+     * @return a compact model of the data structure
+     */
+    DataStructureModel read(byte[] structure, List<String> languages) throws SdmxException;
+
+
+    /**
+     * Parses all data structures of a structure message. Code lists that are
+     * shared by several data structures are only parsed once. Only dimensions
+     * that have codes are part of the resulting models.
+     *
+     * @param structure the bytes of the structure message
+     * @param languages the languages of the code names in order of preference
+     *
+     * @throws SdmxException if the structure message cannot be parsed or contains no data structure
+     *
+     * @return compact models of all data structures in the order of the message
+     */
+    List<DataStructureModel> readAll(byte[] structure, List<String> languages) throws SdmxException;
+}
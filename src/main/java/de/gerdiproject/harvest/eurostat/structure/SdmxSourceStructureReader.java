@@ -0,0 +1,170 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.structure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.sdmxsource.sdmx.api.manager.parse.StructureParsingManager;
+import org.sdmxsource.sdmx.api.model.StructureWorkspace;
+import org.sdmxsource.sdmx.api.model.superbeans.codelist.CodeSuperBean;
+import org.sdmxsource.sdmx.api.model.superbeans.codelist.CodelistSuperBean;
+import org.sdmxsource.sdmx.api.model.superbeans.datastructure.DataStructureSuperBean;
+import org.sdmxsource.sdmx.api.model.superbeans.datastructure.DimensionSuperBean;
+import org.sdmxsource.sdmx.api.util.ReadableDataLocation;
+import org.sdmxsource.util.factory.SdmxSourceReadableDataLocationFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+import de.gerdiproject.harvest.etls.extractors.DimensionCode;
+import de.gerdiproject.harvest.etls.extractors.DimensionModel;
+import de.gerdiproject.harvest.etls.extractors.LocalizedLabels;
+import de.gerdiproject.harvest.eurostat.constants.StructureConstants;
+
+/**
+ * This {@linkplain IStructureReader} builds a complete sdmxsource
+ * {@linkplain StructureWorkspace} and resolves the code lists of each
+ * dimension via super beans.
+ *
+ * @author agent
+ */
+public class SdmxSourceStructureReader implements IStructureReader
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(SdmxSourceStructureReader.class);
+
+    private final StructureParsingManager parser;
+    private final SdmxSourceReadableDataLocationFactory rdlFactory;
+
+
+    /**
+     * Constructor
+     */
+    public SdmxSourceStructureReader()
+    {
+        //This nonsense is the only way to avoid a NullPointerException that I (weber@lrz.de) found.
+        //We need to let spring initialise the specific class in order to initialise them correctly
+        final ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext("spring/beans.xml");
+        rdlFactory = (SdmxSourceReadableDataLocationFactory) context.getBean("readableDataLocationFactory");
+        parser = (StructureParsingManager) context.getBean("structureParsingManager");
+    }
+
+
+    @Override
+    public DataStructureModel read(final byte[] structure, final List<String> languages) throws SdmxException
+    {
+        final ReadableDataLocation rdl = rdlFactory.getReadableDataLocation(structure);
+        final StructureWorkspace workspace = parser.parseStructures(rdl);
+
+        final DataStructureSuperBean dataStructureSuperBean =
+            (DataStructureSuperBean) workspace.getSuperBeans()
+            .getDataStructures().toArray()[0];
+
+        return toDataStructureModel(dataStructureSuperBean, languages);
+    }
+
+
+    @Override
+    public List<DataStructureModel> readAll(final byte[] structure, final List<String> languages) throws SdmxException
+    {
+        final ReadableDataLocation rdl = rdlFactory.getReadableDataLocation(structure);
+        final StructureWorkspace workspace = parser.parseStructures(rdl);
+        final List<DataStructureModel> dataStructures = new ArrayList<>();
+
+        for (final DataStructureSuperBean dataStructureSuperBean : workspace.getSuperBeans().getDataStructures()) {
+            // sdmxsource cannot be interrupted while parsing, but the conversion can be skipped
+            if (Thread.currentThread().isInterrupted())
+                throw new SdmxException(new InterruptedException(), StructureConstants.PARSING_INTERRUPTED);
+
+            dataStructures.add(toDataStructureModel(dataStructureSuperBean, languages));
+        }
+
+        if (dataStructures.isEmpty())
+            throw new SdmxException(StructureConstants.NO_DATA_STRUCTURE_ERROR);
+
+        return dataStructures;
+    }
+
+
+    /**
+     * Converts a data structure super bean to a compact model that only
+     * contains dimensions with codes.
+     *
+     * @param dataStructureSuperBean the data structure in question
+     * @param languages the languages of the code names in order of preference
+     *
+     * @return a compact model of the data structure
+     */
+    public static DataStructureModel toDataStructureModel(
+        final DataStructureSuperBean dataStructureSuperBean,
+        final List<String> languages)
+    {
+        final List<DimensionModel> dimensions = new ArrayList<>();
+
+        for (final DimensionSuperBean dimensionSuperBean : dataStructureSuperBean.getDimensions()) {
+            final String id = dimensionSuperBean.getId();
+            final List<DimensionCode> codeList = getCodeList(dataStructureSuperBean, id, languages);
+
+            if (!codeList.isEmpty())
+                dimensions.add(new DimensionModel(id, codeList));
+        }
+
+        return new DataStructureModel(dataStructureSuperBean.getId(), dimensions);
+    }
+
+
+    /**
+     * Get a list of all Codes given a dimensionId. The names of each code are
+     * resolved once for all configured languages.
+     *
+     * @param dataStructureSuperBean the data structure to be searched
+     * @param dimensionId the ID of the dimension to be iterated over
+     * @param languages the languages of the code names in order of preference
+     *
+     * @return A list of all code values for the dimension in source
+     */
+    public static List<DimensionCode> getCodeList(
+        final DataStructureSuperBean dataStructureSuperBean,
+        final String dimensionId,
+        final List<String> languages)
+    {
+        final List<DimensionCode> codes = new ArrayList<>();
+
+        final DimensionSuperBean dimensionSuperBean = dataStructureSuperBean
+                                                      .getDimensionById(dimensionId);
+
+        final CodelistSuperBean codeList = dimensionSuperBean == null
+                                           ? null
+                                           : dimensionSuperBean.getCodelist(true);
+
+        final List<CodeSuperBean> codeBeans =  codeList == null
+                                               ? null
+                                               : codeList.getCodes();
+
+        if (codeBeans == null)
+            LOGGER.warn(String.format(StructureConstants.NO_CODES_WARNING, dimensionId));
+        else {
+            for (final CodeSuperBean codeBean : codeBeans)
+                codes.add(new DimensionCode(
+                              codeBean.getId(),
+                              LocalizedLabels.resolve(codeBean.getBuiltFrom().getNames(), languages)));
+        }
+
+        return codes;
+    }
+}
@@ -0,0 +1,416 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.structure;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+import de.gerdiproject.harvest.etls.extractors.DimensionCode;
+import de.gerdiproject.harvest.etls.extractors.DimensionModel;
+import de.gerdiproject.harvest.etls.extractors.LocalizedLabels;
+import de.gerdiproject.harvest.eurostat.constants.StructureConstants;
+
+/**
+ * This {@linkplain IStructureReader} parses SDMX-ML 2.1 structure messages
+ * in a single streaming pass. It only collects the dimensions of the data
+ * structures, the code lists, and the concepts that refer to code lists.
+ * Unlike sdmxsource, it neither validates the message nor builds any beans
+ * that are not needed for harvesting.
+ *
+ * @author agent
+ */
+public class StaxStructureReader implements IStructureReader
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StaxStructureReader.class);
+
+    private final XMLInputFactory inputFactory;
+
+
+    /**
+     * Constructor
+     */
+    public StaxStructureReader()
+    {
+        this.inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+
+    @Override
+    public DataStructureModel read(final byte[] structure, final List<String> languages) throws SdmxException
+    {
+        return readAll(structure, languages).get(0);
+    }
+
+
+    @Override
+    public List<DataStructureModel> readAll(final byte[] structure, final List<String> languages) throws SdmxException
+    {
+        final StructureHandler handler = new StructureHandler(languages);
+
+        try {
+            final XMLStreamReader reader = inputFactory.createXMLStreamReader(new ByteArrayInputStream(structure));
+
+            try {
+                while (reader.hasNext()) {
+                    // a cancelled harvest interrupts the parsing of large structure messages
+                    if (Thread.currentThread().isInterrupted())
+                        throw new SdmxException(new InterruptedException(), StructureConstants.PARSING_INTERRUPTED);
+
+                    final int event = reader.next();
+
+                    if (event == XMLStreamConstants.START_ELEMENT)
+                        handler.onStartElement(reader);
+                    else if (event == XMLStreamConstants.END_ELEMENT)
+                        handler.onEndElement(reader.getLocalName());
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            throw new SdmxException(e, String.format(StructureConstants.CANNOT_PARSE_STRUCTURE, e.getMessage()));
+        }
+
+        return handler.toDataStructureModels();
+    }
+
+
+    /**
+     * Extracts the ID of an artefact from its URN. The URN of an item, e.g. of
+     * a concept, appends the ID of the item to the version of its scheme.
+     *
+     * @param urn a URN, e.g. "urn:sdmx:org.sdmx.infomodel.codelist.Codelist=ESTAT:CL_GEO(1.0)"
+     *         or "urn:sdmx:org.sdmx.infomodel.conceptscheme.Concept=ESTAT:DSD_nama_10_gdp(1.0).GEO"
+     *
+     * @return the ID of the artefact, e.g. "CL_GEO" or "GEO", or null if the URN has no ID
+     */
+    private static String getIdFromUrn(final String urn)
+    {
+        final int versionEnd = urn.lastIndexOf(')');
+        final int itemStart = urn.lastIndexOf('.') + 1;
+
+        // the ID of an item follows the version of its scheme
+        if (versionEnd != -1 && itemStart > versionEnd)
+            return itemStart < urn.length() ? urn.substring(itemStart) : null;
+
+        final int idStart = urn.lastIndexOf(':') + 1;
+        final int versionStart = urn.indexOf('(', idStart);
+        final int idEnd = versionStart == -1 ? urn.length() : versionStart;
+
+        return idStart == 0 || idStart >= idEnd ? null : urn.substring(idStart, idEnd);
+    }
+
+
+    /**
+     * This class collects the relevant elements of a structure message while it is being parsed.
+     *
+     * @author agent
+     */
+    private static class StructureHandler
+    {
+        private final List<String> languages;
+        private final Map<String, List<DimensionCode>> codelists = new HashMap<>();
+        private final Map<String, String> conceptCodelists = new HashMap<>();
+        private final Map<String, List<DimensionReference>> dataStructures = new LinkedHashMap<>();
+
+        private List<DimensionReference> currentDimensions;
+        private boolean isInDimensionList;
+        private boolean isInEnumeration;
+        private boolean isInConceptIdentity;
+
+        private List<DimensionCode> currentCodelist;
+        private String currentCodeId;
+        private Map<String, String> currentCodeNames;
+        private String currentConceptId;
+        private DimensionReference currentDimension;
+
+
+        /**
+         * Constructor
+         *
+         * @param languages the languages of the code names in order of preference
+         */
+        StructureHandler(final List<String> languages)
+        {
+            this.languages = languages;
+        }
+
+
+        /**
+         * Processes the start of an element.
+         *
+         * @param reader the reader that is positioned at the start of an element
+         *
+         * @throws XMLStreamException if the element text cannot be read
+         */
+        void onStartElement(final XMLStreamReader reader) throws XMLStreamException
+        {
+            switch (reader.getLocalName()) {
+                case StructureConstants.CODELIST_ELEMENT:
+                    currentCodelist = new ArrayList<>();
+                    codelists.put(reader.getAttributeValue(null, StructureConstants.ID_ATTRIBUTE), currentCodelist);
+                    break;
+
+                case StructureConstants.CODE_ELEMENT:
+                    currentCodeId = reader.getAttributeValue(null, StructureConstants.ID_ATTRIBUTE);
+                    currentCodeNames = new LinkedHashMap<>();
+                    break;
+
+                case StructureConstants.NAME_ELEMENT:
+                    // only the names of codes are relevant
+                    if (currentCodeNames != null)
+                        currentCodeNames.putIfAbsent(
+                            reader.getAttributeValue(XMLConstants.XML_NS_URI, StructureConstants.LANG_ATTRIBUTE),
+                            reader.getElementText().trim());
+
+                    break;
+
+                case StructureConstants.CONCEPT_ELEMENT:
+                    currentConceptId = reader.getAttributeValue(null, StructureConstants.ID_ATTRIBUTE);
+                    break;
+
+                case StructureConstants.DATA_STRUCTURE_ELEMENT:
+                    onDataStructure(reader.getAttributeValue(null, StructureConstants.ID_ATTRIBUTE));
+                    break;
+
+                case StructureConstants.DIMENSION_LIST_ELEMENT:
+                    isInDimensionList = true;
+                    break;
+
+                case StructureConstants.DIMENSION_ELEMENT:
+                case StructureConstants.MEASURE_DIMENSION_ELEMENT:
+                    // attributes refer to dimensions via elements of the same name
+                    if (currentDimensions != null && isInDimensionList)
+                        currentDimension = new DimensionReference(
+                            reader.getAttributeValue(null, StructureConstants.ID_ATTRIBUTE));
+
+                    break;
+
+                case StructureConstants.ENUMERATION_ELEMENT:
+                    isInEnumeration = true;
+                    break;
+
+                case StructureConstants.CONCEPT_IDENTITY_ELEMENT:
+                    isInConceptIdentity = true;
+                    break;
+
+                case StructureConstants.REF_ELEMENT:
+                    onReference(reader.getAttributeValue(null, StructureConstants.ID_ATTRIBUTE));
+                    break;
+
+                case StructureConstants.URN_ELEMENT:
+                    onReference(getIdFromUrn(reader.getElementText().trim()));
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+
+        /**
+         * Processes the end of an element.
+         *
+         * @param localName the local name of the element
+         */
+        void onEndElement(final String localName)
+        {
+            switch (localName) {
+                case StructureConstants.CODELIST_ELEMENT:
+                    currentCodelist = null;
+                    break;
+
+                case StructureConstants.CODE_ELEMENT:
+                    if (currentCodelist != null && currentCodeId != null) {
+                        final String fallbackName = currentCodeNames.isEmpty()
+                                                    ? currentCodeId
+                                                    : currentCodeNames.values().iterator().next();
+
+                        currentCodelist.add(new DimensionCode(
+                                                currentCodeId,
+                                                LocalizedLabels.resolve(currentCodeNames, fallbackName, languages)));
+                    }
+
+                    currentCodeId = null;
+                    currentCodeNames = null;
+                    break;
+
+                case StructureConstants.CONCEPT_ELEMENT:
+                    currentConceptId = null;
+                    break;
+
+                case StructureConstants.DATA_STRUCTURE_ELEMENT:
+                    currentDimensions = null;
+                    break;
+
+                case StructureConstants.DIMENSION_LIST_ELEMENT:
+                    isInDimensionList = false;
+                    break;
+
+                case StructureConstants.DIMENSION_ELEMENT:
+                case StructureConstants.MEASURE_DIMENSION_ELEMENT:
+                    if (currentDimension != null)
+                        currentDimensions.add(currentDimension);
+
+                    currentDimension = null;
+                    break;
+
+                case StructureConstants.ENUMERATION_ELEMENT:
+                    isInEnumeration = false;
+                    break;
+
+                case StructureConstants.CONCEPT_IDENTITY_ELEMENT:
+                    isInConceptIdentity = false;
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+
+        /**
+         * Starts collecting the dimensions of a data structure.
+         * Only the first data structure of each ID is read.
+         *
+         * @param dataStructureId the ID of the data structure
+         */
+        private void onDataStructure(final String dataStructureId)
+        {
+            if (!dataStructures.containsKey(dataStructureId)) {
+                currentDimensions = new ArrayList<>();
+                dataStructures.put(dataStructureId, currentDimensions);
+            }
+        }
+
+
+        /**
+         * Assigns a referenced artefact to the dimension or concept that is currently parsed.
+         *
+         * @param referencedId the ID of the referenced artefact
+         */
+        private void onReference(final String referencedId)
+        {
+            if (currentDimension != null) {
+                if (isInEnumeration)
+                    currentDimension.codelistId = referencedId;
+                else if (isInConceptIdentity)
+                    currentDimension.conceptId = referencedId;
+
+            } else if (currentConceptId != null && isInEnumeration)
+                conceptCodelists.put(currentConceptId, referencedId);
+        }
+
+
+        /**
+         * Assembles the parsed dimensions and code lists to compact models that
+         * only contain dimensions with codes.
+         *
+         * @throws SdmxException if the structure message contains no data structure
+         *
+         * @return compact models of all data structures
+         */
+        List<DataStructureModel> toDataStructureModels() throws SdmxException
+        {
+            if (dataStructures.isEmpty())
+                throw new SdmxException(StructureConstants.NO_DATA_STRUCTURE_ERROR);
+
+            final List<DataStructureModel> dataStructureModels = new ArrayList<>();
+
+            for (final Map.Entry<String, List<DimensionReference>> dataStructure : dataStructures.entrySet())
+                dataStructureModels.add(toDataStructureModel(dataStructure.getKey(), dataStructure.getValue()));
+
+            return dataStructureModels;
+        }
+
+
+        /**
+         * Assembles the parsed dimensions of a data structure and their code lists
+         * to a compact model that only contains dimensions with codes.
+         *
+         * @param dataStructureId the ID of the data structure
+         * @param dimensions the dimensions of the data structure
+         *
+         * @return a compact model of the data structure
+         */
+        private DataStructureModel toDataStructureModel(
+            final String dataStructureId,
+            final List<DimensionReference> dimensions)
+        {
+            final List<DimensionModel> dimensionModels = new ArrayList<>();
+
+            for (final DimensionReference dimension : dimensions) {
+                // a dimension without local representation uses the code list of its concept
+                final String codelistId = dimension.codelistId == null
+                                          ? conceptCodelists.get(dimension.conceptId)
+                                          : dimension.codelistId;
+
+                final List<DimensionCode> codes = codelistId == null
+                                                  ? Collections.emptyList()
+                                                  : codelists.getOrDefault(codelistId, Collections.emptyList());
+
+                if (codes.isEmpty())
+                    LOGGER.warn(String.format(StructureConstants.NO_CODES_WARNING, dimension.id));
+                else
+                    dimensionModels.add(new DimensionModel(dimension.id, codes));
+            }
+
+            return new DataStructureModel(dataStructureId, dimensionModels);
+        }
+    }
+
+
+    /**
+     * This class contains the references of a dimension to its concept and code list.
+     *
+     * @author agent
+     */
+    private static class DimensionReference
+    {
+        private final String id;
+        private String conceptId;
+        private String codelistId;
+
+
+        /**
+         * Constructor
+         *
+         * @param id the ID of the dimension
+         */
+        DimensionReference(final String id)
+        {
+            this.id = id;
+        }
+    }
+}
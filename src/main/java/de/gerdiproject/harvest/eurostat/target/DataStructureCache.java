@@ -0,0 +1,143 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.target;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+import de.gerdiproject.harvest.eurostat.constants.TargetConstants;
+
+/**
+ * This class caches the most recently retrieved data structures of targeted
+ * harvests, so that re-harvesting several records of the same dataflow only
+ * retrieves its data structure once. Data structures are only reused as
+ * long as a cached SDEM snapshot would be reused.
+ *
+ * @author agent
+ */
+public class DataStructureCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataStructureCache.class);
+
+    private final Map<String, CachedDataStructure> cache;
+
+
+    /**
+     * Constructor
+     */
+    public DataStructureCache()
+    {
+        this.cache = new LinkedHashMap<String, CachedDataStructure>(
+            16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedDataStructure> eldest)
+            {
+                return size() > TargetConstants.STRUCTURE_CACHE_CAPACITY;
+            }
+        };
+    }
+
+
+    /**
+     * Returns a cached data structure, if it was retrieved with the same
+     * label languages and is not older than the specified age.
+     *
+     * @param dataStructureId the ID of the data structure
+     * @param labelLanguages the languages of the labels of the data structure
+     * @param maxAgeMillis the maximum age of the data structure in milliseconds
+     *
+     * @return the cached data structure, or null if no fresh data structure is cached
+     */
+    public synchronized DataStructureModel get(
+        final String dataStructureId,
+        final List<String> labelLanguages,
+        final long maxAgeMillis)
+    {
+        final String key = getKey(dataStructureId, labelLanguages);
+        final CachedDataStructure cachedStructure = cache.get(key);
+
+        if (cachedStructure == null)
+            return null;
+
+        final long age = System.currentTimeMillis() - cachedStructure.retrievedAt;
+
+        if (age > maxAgeMillis) {
+            cache.remove(key);
+            return null;
+        }
+
+        LOGGER.info(String.format(TargetConstants.CACHED_STRUCTURE_USED, dataStructureId, age));
+        return cachedStructure.dataStructure;
+    }
+
+
+    /**
+     * Caches a data structure that was just retrieved.
+     *
+     * @param dataStructure the data structure that is to be cached
+     * @param labelLanguages the languages of the labels of the data structure
+     */
+    public synchronized void put(final DataStructureModel dataStructure, final List<String> labelLanguages)
+    {
+        cache.put(getKey(dataStructure.getId(), labelLanguages),
+                  new CachedDataStructure(dataStructure, System.currentTimeMillis()));
+    }
+
+
+    /**
+     * Returns the key of a data structure, which depends on the languages of its labels.
+     *
+     * @param dataStructureId the ID of the data structure
+     * @param labelLanguages the languages of the labels of the data structure
+     *
+     * @return the key of the data structure in the cache
+     */
+    private static String getKey(final String dataStructureId, final List<String> labelLanguages)
+    {
+        return dataStructureId + labelLanguages;
+    }
+
+
+    /**
+     * A data structure and the time at which it was retrieved.
+     */
+    private static final class CachedDataStructure
+    {
+        private final DataStructureModel dataStructure;
+        private final long retrievedAt;
+
+
+        /**
+         * Constructor
+         *
+         * @param dataStructure the cached data structure
+         * @param retrievedAt the time at which the data structure was retrieved, in milliseconds since epoch
+         */
+        CachedDataStructure(final DataStructureModel dataStructure, final long retrievedAt)
+        {
+            this.dataStructure = dataStructure;
+            this.retrievedAt = retrievedAt;
+        }
+    }
+}
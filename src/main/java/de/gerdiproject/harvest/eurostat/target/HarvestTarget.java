@@ -0,0 +1,148 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.target;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.gerdiproject.harvest.eurostat.constants.TargetConstants;
+import de.gerdiproject.harvest.eurostat.sdem.DataflowEntry;
+import lombok.Value;
+
+/**
+ * This class is a value object that describes the part of Eurostat that is
+ * re-harvested by a targeted harvest: either a whole dataflow, or a single
+ * record, which is a combination of one code per dimension of a dataflow.
+ *
+ * @author agent
+ */
+@Value
+public class HarvestTarget
+{
+    /**
+     * The ID of the targeted dataflow, or null if the target is identified by its data structure
+     */
+    private final String dataflowId;
+
+    /**
+     * The ID of the data structure of the targeted dataflow, e.g. "DSD_nama_10_gdp"
+     */
+    private final String dataStructureId;
+
+    /**
+     * The codes of a targeted record, mapped by their dimension IDs, or an empty map if the whole dataflow is targeted
+     */
+    private final Map<String, String> dimensionCodes;
+
+
+    /**
+     * Creates a target for a whole dataflow.
+     *
+     * @param dataflow the ID of the dataflow, or the ID of its data structure
+     *
+     * @return a target for the whole dataflow
+     */
+    public static HarvestTarget forDataflow(final String dataflow)
+    {
+        final String trimmedDataflow = dataflow.trim();
+        final String dataStructureId = trimmedDataflow.startsWith(TargetConstants.DATA_STRUCTURE_PREFIX)
+                                       ? trimmedDataflow
+                                       : TargetConstants.DATA_STRUCTURE_PREFIX + trimmedDataflow;
+
+        return new HarvestTarget(trimmedDataflow, dataStructureId, Collections.emptyMap());
+    }
+
+
+    /**
+     * Decodes the identifier of a document to the data structure and the
+     * dimension codes of the record it describes. The identifier of the
+     * parent document of a dataflow targets the whole dataflow.
+     *
+     * @param identifier the identifier of a document, e.g. ".../nama_10_gdp?GEO=DE&UNIT=CP_MEUR"
+     * @param restBaseUrl the base URL of all identifiers
+     *
+     * @throws IllegalArgumentException if the identifier is not a record of the base URL
+     *
+     * @return a target for a single record, or for a whole dataflow
+     */
+    public static HarvestTarget forIdentifier(final String identifier, final String restBaseUrl)
+    throws IllegalArgumentException
+    {
+        final String trimmedIdentifier = identifier.trim();
+        final String prefix = restBaseUrl + TargetConstants.PATH_SEPARATOR;
+        final int queryIndex = trimmedIdentifier.indexOf(TargetConstants.QUERY_SEPARATOR);
+
+        if (!trimmedIdentifier.startsWith(prefix) || queryIndex <= prefix.length())
+            throw new IllegalArgumentException(
+                String.format(TargetConstants.INVALID_IDENTIFIER_ERROR, identifier, restBaseUrl));
+
+        final String dataStructureId =
+            TargetConstants.DATA_STRUCTURE_PREFIX + trimmedIdentifier.substring(prefix.length(), queryIndex);
+        final String query = trimmedIdentifier.substring(queryIndex + 1);
+
+        // the parent document of a dataflow has no dimension codes
+        if (query.isEmpty())
+            return new HarvestTarget(null, dataStructureId, Collections.emptyMap());
+
+        final Map<String, String> dimensionCodes = new LinkedHashMap<>();
+
+        for (final String queryParam : query.split(TargetConstants.QUERY_PARAM_SEPARATOR)) {
+            final int valueIndex = queryParam.indexOf(TargetConstants.QUERY_VALUE_SEPARATOR);
+
+            if (valueIndex < 1 || dimensionCodes.put(queryParam.substring(0, valueIndex),
+                                                     queryParam.substring(valueIndex + 1)) != null)
+                throw new IllegalArgumentException(
+                    String.format(TargetConstants.INVALID_IDENTIFIER_ERROR, identifier, restBaseUrl));
+        }
+
+        return new HarvestTarget(null, dataStructureId, Collections.unmodifiableMap(dimensionCodes));
+    }
+
+
+    /**
+     * Checks if a single record is targeted.
+     *
+     * @return true if a single record is targeted, false if a whole dataflow is targeted
+     */
+    public boolean isRecord()
+    {
+        return !dimensionCodes.isEmpty();
+    }
+
+
+    /**
+     * Checks if a dataflow is targeted, either by its ID or by the ID of its data structure.
+     *
+     * @param dataflow the dataflow that is to be checked
+     *
+     * @return true if the dataflow is targeted
+     */
+    public boolean matches(final DataflowEntry dataflow)
+    {
+        return dataStructureId.equals(dataflow.getDataStructureId())
+               || dataflowId != null && dataflowId.equals(dataflow.getId());
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return isRecord()
+               ? dataStructureId + dimensionCodes
+               : dataStructureId;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.target;
+
+import lombok.Value;
+
+/**
+ * This class is a value object that describes the latest targeted harvest of an ETL.
+ *
+ * @author agent
+ */
+@Value
+public class TargetedHarvestStatus
+{
+    private final String state;
+    private final String target;
+    private final long startedAt;
+    private final long duration;
+    private final String message;
+}
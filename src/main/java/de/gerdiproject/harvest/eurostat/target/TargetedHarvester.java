@@ -0,0 +1,145 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.target;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.eurostat.constants.TargetConstants;
+
+/**
+ * This class re-harvests a single dataflow or a single record of an ETL in
+ * the background. The re-harvest uses the regular harvest of the ETL, so the
+ * documents are submitted by the configured loader, but only the targeted
+ * dataflow is extracted and transformed.
+ *
+ * @author agent
+ */
+public class TargetedHarvester
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(TargetedHarvester.class);
+
+    private final EurostatETL etl;
+    private final ExecutorService executor;
+
+    private String state;
+    private HarvestTarget target;
+    private long startedAt;
+    private long duration;
+    private String message;
+
+
+    /**
+     * Constructor
+     *
+     * @param etl the ETL of which dataflows or records are re-harvested
+     */
+    public TargetedHarvester(final EurostatETL etl)
+    {
+        this.etl = etl;
+        this.state = TargetConstants.STATE_IDLE;
+        this.executor = Executors.newSingleThreadExecutor((final Runnable r) -> {
+            final Thread thread = new Thread(r, TargetConstants.THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Starts re-harvesting a dataflow or a record in the background, unless
+     * the ETL already prepared or started another harvest.
+     *
+     * @param harvestTarget the dataflow or record that is to be re-harvested
+     *
+     * @return true if the re-harvest was started
+     */
+    public synchronized boolean start(final HarvestTarget harvestTarget)
+    {
+        if (TargetConstants.STATE_HARVESTING.equals(state) || !etl.reserveHarvest(harvestTarget))
+            return false;
+
+        state = TargetConstants.STATE_HARVESTING;
+        target = harvestTarget;
+        startedAt = System.currentTimeMillis();
+        duration = 0;
+        message = null;
+
+        executor.execute(this::harvest);
+        return true;
+    }
+
+
+    /**
+     * Returns the status of the current or the latest re-harvest.
+     *
+     * @return the status of the current or the latest re-harvest
+     */
+    public synchronized TargetedHarvestStatus getStatus()
+    {
+        return new TargetedHarvestStatus(state,
+                                         target == null ? null : target.toString(),
+                                         startedAt,
+                                         TargetConstants.STATE_HARVESTING.equals(state)
+                                         ? System.currentTimeMillis() - startedAt
+                                         : duration,
+                                         message);
+    }
+
+
+    /**
+     * Re-harvests the target. This method is executed in the background.
+     */
+    private void harvest()
+    {
+        final HarvestTarget harvestTarget;
+
+        synchronized (this) {
+            harvestTarget = target;
+        }
+
+        final String targetType = harvestTarget.isRecord() ? "record" : "dataflow";
+        LOGGER.info(String.format(TargetConstants.HARVEST_STARTED, targetType, harvestTarget));
+
+        String failure = null;
+
+        try {
+            etl.harvestReserved();
+
+        } catch (final Exception e) { // NOPMD a failed re-harvest must never kill the executor
+            LOGGER.error(String.format(TargetConstants.HARVEST_FAILED, targetType, harvestTarget), e);
+            failure = e.toString();
+        }
+
+        final long harvestDuration;
+
+        synchronized (this) {
+            harvestDuration = System.currentTimeMillis() - startedAt;
+            duration = harvestDuration;
+            message = failure;
+            state = failure == null
+                    ? TargetConstants.STATE_DONE
+                    : TargetConstants.STATE_FAILED;
+        }
+
+        if (failure == null)
+            LOGGER.info(String.format(TargetConstants.HARVEST_FINISHED, targetType, harvestTarget, harvestDuration));
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.toc;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.gerdiproject.harvest.eurostat.constants.TocConstants;
+import de.gerdiproject.harvest.eurostat.sdem.DataflowEntry;
+import lombok.Value;
+
+/**
+ * This class is a value object that contains the datasets and tables of the
+ * table of contents of the Eurostat bulk download, along with the dates on
+ * which their data were last updated. The table of contents is read in a
+ * single streaming pass, so folders and duplicate entries are never held
+ * in memory.
+ *
+ * @author agent
+ */
+@Value
+public class TableOfContents
+{
+    private final List<DataflowEntry> dataflows;
+
+    /**
+     * The dates of the last data updates, mapped by the data structure IDs of the datasets
+     */
+    private final Map<String, LocalDate> lastUpdates;
+
+
+    /**
+     * Reads the table of contents from a URL or from a local file.
+     *
+     * @param location a URL or the path of a local copy of the table of contents
+     *
+     * @throws IOException if the table of contents could not be read
+     *
+     * @return the datasets and tables of the table of contents
+     */
+    public static TableOfContents read(final String location) throws IOException
+    {
+        final boolean isUrl = location.contains(TocConstants.URL_SCHEME_SEPARATOR)
+                              || location.startsWith(TocConstants.FILE_URL_PREFIX);
+
+        try (InputStream input = isUrl ? new URL(location).openStream() : new FileInputStream(location)) {
+            return read(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        }
+    }
+
+
+    /**
+     * Reads the tab separated, quoted lines of the table of contents. The
+     * first line names the columns. Datasets that are listed in several
+     * folders are only added once.
+     *
+     * @param reader a reader of the table of contents
+     *
+     * @throws IOException if the table of contents could not be read
+     *
+     * @return the datasets and tables of the table of contents
+     */
+    public static TableOfContents read(final BufferedReader reader) throws IOException
+    {
+        final List<DataflowEntry> dataflows = new ArrayList<>();
+        final Map<String, LocalDate> lastUpdates = new HashMap<>();
+
+        final String header = reader.readLine();
+
+        if (header == null)
+            throw new IOException(String.format(TocConstants.MISSING_COLUMN_ERROR, TocConstants.CODE_COLUMN));
+
+        // the header may start with a byte order mark
+        final List<String> columns = splitLine(
+                                         !header.isEmpty() && header.charAt(0) == TocConstants.BYTE_ORDER_MARK
+                                         ? header.substring(1)
+                                         : header);
+        final int titleColumn = getColumnIndex(columns, TocConstants.TITLE_COLUMN);
+        final int codeColumn = getColumnIndex(columns, TocConstants.CODE_COLUMN);
+        final int typeColumn = getColumnIndex(columns, TocConstants.TYPE_COLUMN);
+        final int lastUpdateColumn = getColumnIndex(columns, TocConstants.LAST_UPDATE_COLUMN);
+        final int minColumnCount = Math.max(Math.max(titleColumn, codeColumn), Math.max(typeColumn, lastUpdateColumn)) + 1;
+
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            final List<String> values = splitLine(line);
+
+            if (values.size() < minColumnCount || !isDataset(values.get(typeColumn)))
+                continue;
+
+            final String dataStructureId = TocConstants.DATA_STRUCTURE_PREFIX + values.get(codeColumn);
+
+            if (lastUpdates.containsKey(dataStructureId))
+                continue;
+
+            final Map<String, String> names = new LinkedHashMap<>();
+            names.put(TocConstants.TOC_LANGUAGE, values.get(titleColumn));
+
+            dataflows.add(new DataflowEntry(values.get(codeColumn), dataStructureId, names));
+            lastUpdates.put(dataStructureId, parseDate(values.get(lastUpdateColumn)));
+        }
+
+        return new TableOfContents(Collections.unmodifiableList(dataflows), Collections.unmodifiableMap(lastUpdates));
+    }
+
+
+    /**
+     * Returns the date on which the data of a dataset were last updated.
+     *
+     * @param dataStructureId the ID of the data structure of the dataset
+     *
+     * @return the date of the last data update, or null if it is unknown
+     */
+    public LocalDate getLastUpdate(final String dataStructureId)
+    {
+        return lastUpdates.get(dataStructureId);
+    }
+
+
+    /**
+     * Returns a version of the table of contents, which changes if a dataset
+     * is updated, added, or removed.
+     *
+     * @return the date of the latest data update, followed by the number of datasets
+     */
+    public String getVersion()
+    {
+        LocalDate latestUpdate = LocalDate.MIN;
+
+        for (final LocalDate lastUpdate : lastUpdates.values()) {
+            if (lastUpdate != null && lastUpdate.isAfter(latestUpdate))
+                latestUpdate = lastUpdate;
+        }
+
+        return String.format(TocConstants.VERSION_FORMAT, latestUpdate, dataflows.size());
+    }
+
+
+    /**
+     * Splits a line of the table of contents into its unquoted and trimmed values.
+     *
+     * @param line a tab separated line
+     *
+     * @return the values of the line
+     */
+    private static List<String> splitLine(final String line)
+    {
+        final String[] fields = line.split(TocConstants.COLUMN_SEPARATOR, -1);
+        final List<String> values = new ArrayList<>(fields.length);
+
+        for (final String field : fields) {
+            String value = field.trim();
+
+            if (value.length() > 1 && value.startsWith(TocConstants.QUOTE) && value.endsWith(TocConstants.QUOTE))
+                value = value.substring(1, value.length() - 1).replace(TocConstants.ESCAPED_QUOTE, TocConstants.QUOTE);
+
+            values.add(value.trim());
+        }
+
+        return values;
+    }
+
+
+    /**
+     * Finds the position of a column in the header of the table of contents.
+     *
+     * @param columns the names of the columns
+     * @param columnName the name of the column that is to be found
+     *
+     * @throws IOException if the column does not exist
+     *
+     * @return the position of the column
+     */
+    private static int getColumnIndex(final List<String> columns, final String columnName) throws IOException
+    {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).equalsIgnoreCase(columnName))
+                return i;
+        }
+
+        throw new IOException(String.format(TocConstants.MISSING_COLUMN_ERROR, columnName));
+    }
+
+
+    /**
+     * Checks if an entry of the table of contents is a dataset or a table,
+     * and not a folder.
+     *
+     * @param type the type of the entry
+     *
+     * @return true if the entry is a dataset or a table
+     */
+    private static boolean isDataset(final String type)
+    {
+        return TocConstants.TYPE_DATASET.equalsIgnoreCase(type) || TocConstants.TYPE_TABLE.equalsIgnoreCase(type);
+    }
+
+
+    /**
+     * Parses a date of the table of contents.
+     *
+     * @param date a date, e.g. "20.10.2020"
+     *
+     * @return the parsed date, or null if the date is missing or invalid
+     */
+    private static LocalDate parseDate(final String date)
+    {
+        if (date.isEmpty())
+            return null;
+
+        try {
+            return LocalDate.parse(date, TocConstants.DATE_FORMAT);
+        } catch (final DateTimeParseException e) { // NOPMD a dataset without a valid date is always harvested
+            return null;
+        }
+    }
+}
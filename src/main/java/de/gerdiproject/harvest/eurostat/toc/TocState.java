@@ -0,0 +1,149 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.toc;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.eurostat.constants.TocConstants;
+
+/**
+ * This class remembers the date of the last data update of every dataset
+ * that was harvested, so datasets that were not updated since can be
+ * skipped by the next harvest. The dates of the current harvest only
+ * replace those of the previous harvest when they are saved.
+ *
+ * @author agent
+ */
+public class TocState
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(TocState.class);
+
+    private final File stateFile;
+    private final Map<String, LocalDate> previousUpdates;
+    private final Map<String, LocalDate> harvestedUpdates;
+
+
+    /**
+     * Constructor that loads the state of the previous harvest, if it exists.
+     *
+     * @param stateFile the file in which the state is stored, or null if it is not to be stored
+     */
+    public TocState(final File stateFile)
+    {
+        this.stateFile = stateFile;
+        this.previousUpdates = load(stateFile);
+        this.harvestedUpdates = new HashMap<>();
+    }
+
+
+    /**
+     * Checks if a dataset was harvested by the previous harvest and not updated since.
+     *
+     * @param dataStructureId the ID of the data structure of the dataset
+     * @param lastUpdate the date of the last data update, or null if it is unknown
+     *
+     * @return true if the dataset does not need to be harvested again
+     */
+    public boolean isUnchanged(final String dataStructureId, final LocalDate lastUpdate)
+    {
+        final LocalDate previousUpdate = previousUpdates.get(dataStructureId);
+        return previousUpdate != null && lastUpdate != null && !lastUpdate.isAfter(previousUpdate);
+    }
+
+
+    /**
+     * Marks a dataset as harvested, or as still being up-to-date.
+     *
+     * @param dataStructureId the ID of the data structure of the dataset
+     * @param lastUpdate the date of the last data update, or null if it is unknown
+     */
+    public synchronized void setHarvested(final String dataStructureId, final LocalDate lastUpdate)
+    {
+        if (lastUpdate != null)
+            harvestedUpdates.put(dataStructureId, lastUpdate);
+    }
+
+
+    /**
+     * Replaces the state of the previous harvest with that of the current harvest.
+     */
+    public synchronized void save()
+    {
+        if (stateFile == null)
+            return;
+
+        final File tempFile = new File(stateFile.getPath() + TocConstants.TEMP_FILE_SUFFIX);
+
+        try {
+            Files.createDirectories(stateFile.getAbsoluteFile().getParentFile().toPath());
+
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+                for (final Map.Entry<String, LocalDate> entry : harvestedUpdates.entrySet())
+                    writer.write(String.format(TocConstants.STATE_LINE_FORMAT, entry.getKey(), entry.getValue()));
+            }
+
+            Files.move(tempFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (final IOException e) {
+            LOGGER.warn(String.format(TocConstants.CANNOT_SAVE_STATE, stateFile, e.getMessage()));
+        }
+    }
+
+
+    /**
+     * Loads the dates of the datasets of the previous harvest.
+     *
+     * @param stateFile the file in which the state is stored, or null
+     *
+     * @return a map of data structure IDs to the dates of their last data updates
+     */
+    private static Map<String, LocalDate> load(final File stateFile)
+    {
+        final Map<String, LocalDate> updates = new HashMap<>();
+
+        if (stateFile == null || !stateFile.isFile())
+            return updates;
+
+        try (BufferedReader reader = Files.newBufferedReader(stateFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                final String[] columns = line.split(TocConstants.COLUMN_SEPARATOR);
+
+                if (columns.length == 2)
+                    updates.put(columns[0], LocalDate.parse(columns[1]));
+            }
+        } catch (IOException | DateTimeParseException e) {
+            LOGGER.warn(String.format(TocConstants.CANNOT_LOAD_STATE, stateFile, e.getMessage()));
+            updates.clear();
+        }
+
+        return updates;
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class is a bounded cache of immutable objects that are identical
+ * across many documents, such as the subject of a code name. Instead of
+ * allocating an equal object for every document, the same instance is
+ * shared. If the cache is full, the least recently used object is evicted.
+ * The shared objects must not be modified after they were created.
+ *
+ * @param <K> the type of the keys that identify the shared objects
+ * @param <V> the type of the shared objects
+ *
+ * @author agent
+ */
+public class FlyweightCache<K, V>
+{
+    private final Map<K, V> sharedObjects;
+    private long requestCount;
+    private long hitCount;
+
+
+    /**
+     * Constructor
+     *
+     * @param capacity the maximum number of shared objects
+     */
+    public FlyweightCache(final int capacity)
+    {
+        this.sharedObjects = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+
+    /**
+     * Returns the shared object of a key, creating it if it is not cached.
+     *
+     * @param key the key that identifies the shared object
+     * @param factory a function that creates the object if it is not cached
+     *
+     * @return the shared object
+     */
+    public synchronized V get(final K key, final Function<K, V> factory)
+    {
+        requestCount++;
+        V sharedObject = sharedObjects.get(key);
+
+        if (sharedObject == null) {
+            sharedObject = factory.apply(key);
+            sharedObjects.put(key, sharedObject);
+        } else
+            hitCount++;
+
+        return sharedObject;
+    }
+
+
+    /**
+     * Returns the number of objects that were requested from the cache.
+     *
+     * @return the number of requested objects
+     */
+    public synchronized long getRequestCount()
+    {
+        return requestCount;
+    }
+
+
+    /**
+     * Returns the number of requested objects that were shared instead of created.
+     *
+     * @return the number of shared objects
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+
+    /**
+     * Removes all shared objects from the cache, so they can be garbage collected.
+     */
+    public synchronized void clear()
+    {
+        sharedObjects.clear();
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class bundles static helper methods for computing compact,
+ * non-cryptographic hashes of identifiers and documents.
+ *
+ * @author agent
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HashUtil
+{
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+
+    /**
+     * Computes a 64 bit hash of a character sequence, using FNV-1a
+     * followed by a MurmurHash3 finalizer for a better bit distribution.
+     *
+     * @param text the character sequence to be hashed
+     *
+     * @return a 64 bit hash of the text
+     */
+    public static long hash64(final CharSequence text)
+    {
+        return hash64(text, FNV_OFFSET_BASIS);
+    }
+
+
+    /**
+     * Computes a 64 bit hash of a character sequence, using FNV-1a with a custom seed
+     * followed by a MurmurHash3 finalizer for a better bit distribution.
+     *
+     * @param text the character sequence to be hashed
+     * @param seed the initial value of the hash
+     *
+     * @return a 64 bit hash of the text
+     */
+    public static long hash64(final CharSequence text, final long seed)
+    {
+        long hash = seed;
+        final int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return mix64(hash ^ length);
+    }
+
+
+    /**
+     * Scrambles the bits of a 64 bit value, using the MurmurHash3 finalizer.
+     *
+     * @param value the value to be scrambled
+     *
+     * @return the scrambled value
+     */
+    public static long mix64(final long value)
+    {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,360 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.etls.transformers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+
+import de.gerdiproject.harvest.etls.EurostatETL;
+import de.gerdiproject.harvest.etls.HarvestContext;
+import de.gerdiproject.harvest.etls.extractors.CombinationSpace;
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+import de.gerdiproject.harvest.etls.extractors.EurostatExtractor;
+import de.gerdiproject.harvest.etls.extractors.LocalizedLabels;
+import de.gerdiproject.harvest.etls.extractors.SdmxVO;
+import de.gerdiproject.harvest.eurostat.constants.EurostatConstants;
+import de.gerdiproject.harvest.eurostat.enums.DimensionSelection;
+import de.gerdiproject.harvest.eurostat.enums.DocumentProfile;
+import de.gerdiproject.harvest.eurostat.filters.HarvestFilter;
+import de.gerdiproject.harvest.eurostat.structure.StaxStructureReader;
+import de.gerdiproject.json.datacite.DataCiteJson;
+import de.gerdiproject.json.datacite.Rights;
+
+/**
+ * This class tests that the objects which are created for each harvested
+ * dimension combination stay within their byte budgets. The sizes are
+ * measured via object layout introspection on a recorded data structure.
+ * Only the retained size of an object is measured, i.e. the bytes that are
+ * solely reachable through the object. The codes of the data structure and
+ * the parts that the {@linkplain EurostatTransformer} shares between its
+ * documents are allocated once per harvest and do not count.
+ *
+ * @author agent
+ */
+public class RetainedHeapBudgetTest
+{
+    private static final String DATA_STRUCTURE_FIXTURE = "/structures/DSD_nama_10_gdp.xml";
+    private static final List<String> LABEL_LANGUAGES = Arrays.asList("en", "de", "fr");
+    private static final long FIXTURE_COMBINATIONS = 96;
+
+    // budgets in bytes
+    private static final long COMBINATION_SPACE_BUDGET = 512;
+    private static final long SDMX_VO_BUDGET = 512;
+    private static final long FULL_DOCUMENT_BUDGET = 12 * 1024;
+    private static final long LEAN_DOCUMENT_BUDGET = 4 * 1024;
+
+    private DataStructureModel dataStructure;
+    private LocalizedLabels dataflowNames;
+
+
+    /**
+     * Parses the recorded data structure and the names of its dataflow.
+     *
+     * @throws IOException if the fixture cannot be read
+     * @throws URISyntaxException if the fixture cannot be located
+     * @throws SdmxException if the fixture cannot be parsed
+     */
+    @Before
+    public void setUp() throws IOException, URISyntaxException, SdmxException
+    {
+        final byte[] structure = Files.readAllBytes(
+                                     Paths.get(getClass().getResource(DATA_STRUCTURE_FIXTURE).toURI()));
+        dataStructure = new StaxStructureReader().read(structure, LABEL_LANGUAGES);
+
+        final Map<String, String> names = new HashMap<>();
+        names.put("en", "GDP and main components (output, expenditure and income)");
+        names.put("de", "BIP und Hauptkomponenten (Produktionswert, Ausgaben und Einkommen)");
+        names.put("fr", "PIB et principaux composants (production, dépenses et revenu)");
+        dataflowNames = LocalizedLabels.resolve(names, names.get("en"), LABEL_LANGUAGES);
+    }
+
+
+    /**
+     * Tests that the combination space of a data structure does not
+     * materialize its combinations.
+     */
+    @Test
+    public void testCombinationSpaceBudget()
+    {
+        final CombinationSpace combinations =
+            EurostatExtractor.getCombinationSpace(dataStructure, new FixtureETL(DocumentProfile.FULL));
+
+        assertEquals(FIXTURE_COMBINATIONS, combinations.size());
+        assertWithinBudget("CombinationSpace", getRetainedSize(combinations, dataStructure), COMBINATION_SPACE_BUDGET);
+    }
+
+
+    /**
+     * Tests that the value objects of all combinations share the codes of
+     * the data structure and the names of the dataflow.
+     */
+    @Test
+    public void testSdmxVOBudget()
+    {
+        long maxRetainedSize = 0;
+
+        for (final SdmxVO source : getSdmxVOs())
+            maxRetainedSize = Math.max(maxRetainedSize, getRetainedSize(source, dataStructure, dataflowNames));
+
+        assertWithinBudget("SdmxVO", maxRetainedSize, SDMX_VO_BUDGET);
+    }
+
+
+    /**
+     * Tests that the documents of the full profile share their formats,
+     * rights, subjects, and geo locations.
+     */
+    @Test
+    public void testFullDocumentBudget()
+    {
+        assertWithinBudget("DataCiteJson (full)", getMaxDocumentSize(DocumentProfile.FULL), FULL_DOCUMENT_BUDGET);
+    }
+
+
+    /**
+     * Tests that the documents of the lean profile only contain the fields
+     * that distinguish them from their parent document.
+     */
+    @Test
+    public void testLeanDocumentBudget()
+    {
+        assertWithinBudget("DataCiteJson (lean)", getMaxDocumentSize(DocumentProfile.LEAN), LEAN_DOCUMENT_BUDGET);
+    }
+
+
+    /**
+     * Creates the value objects of all combinations of the fixture.
+     *
+     * @return the value objects of all combinations
+     */
+    private List<SdmxVO> getSdmxVOs()
+    {
+        final CombinationSpace combinations =
+            EurostatExtractor.getCombinationSpace(dataStructure, new FixtureETL(DocumentProfile.FULL));
+        final List<SdmxVO> sources = new ArrayList<>();
+
+        for (long i = 0; i < combinations.size(); i++)
+            sources.add(new SdmxVO(dataflowNames, dataStructure.getId(), combinations.get(i)));
+
+        return sources;
+    }
+
+
+    /**
+     * Transforms all combinations of the fixture and returns the largest
+     * retained size of the documents. The shared parts are measured after
+     * all documents were transformed, when the caches of the transformer
+     * are filled.
+     *
+     * @param profile the profile of the transformed documents
+     *
+     * @return the largest retained size of a document in bytes
+     */
+    private long getMaxDocumentSize(final DocumentProfile profile)
+    {
+        final EurostatTransformer transformer = new EurostatTransformer();
+        transformer.init(new FixtureETL(profile), new HarvestContext(null));
+
+        final List<DataCiteJson> documents = new ArrayList<>();
+
+        for (final SdmxVO source : getSdmxVOs()) {
+            final DataCiteJson document = transformer.transformElement(source);
+            assertNotNull(document);
+            documents.add(document);
+        }
+
+        long maxRetainedSize = 0;
+
+        for (final DataCiteJson document : documents)
+            maxRetainedSize = Math.max(maxRetainedSize,
+                                       getRetainedSize(document, transformer, dataStructure, dataflowNames));
+
+        return maxRetainedSize;
+    }
+
+
+    /**
+     * Measures the bytes that are only reachable through an object.
+     * Both graphs are measured in full, instead of subtracting the objects
+     * by their addresses, since the garbage collector may move objects
+     * between two measurements.
+     *
+     * @param object the object of which the retained size is measured
+     * @param sharedObjects objects that may be shared with other instances
+     *
+     * @return the retained size of the object in bytes
+     */
+    private static long getRetainedSize(final Object object, final Object... sharedObjects)
+    {
+        final Object[] roots = Arrays.copyOf(sharedObjects, sharedObjects.length + 1);
+        roots[sharedObjects.length] = object;
+
+        return GraphLayout.parseInstance(roots).totalSize() - GraphLayout.parseInstance(sharedObjects).totalSize();
+    }
+
+
+    /**
+     * Asserts that a retained size does not exceed its budget.
+     *
+     * @param objectName a readable name of the measured object
+     * @param retainedSize the retained size in bytes
+     * @param budget the maximum retained size in bytes
+     */
+    private static void assertWithinBudget(final String objectName, final long retainedSize, final long budget)
+    {
+        assertTrue(String.format("%s retains %d bytes, exceeding its budget of %d bytes!", objectName, retainedSize, budget),
+                   retainedSize <= budget);
+    }
+
+
+    /**
+     * This ETL provides the default configuration without registering
+     * parameters, so the extractor and the transformer can be used
+     * without a running harvester service.
+     *
+     * @author agent
+     */
+    private static class FixtureETL extends EurostatETL
+    {
+        private final DocumentProfile documentProfile;
+
+
+        /**
+         * Constructor
+         *
+         * @param documentProfile the profile of the transformed documents
+         */
+        FixtureETL(final DocumentProfile documentProfile)
+        {
+            super();
+            this.documentProfile = documentProfile;
+        }
+
+
+        @Override
+        public String getPublisher()
+        {
+            return EurostatConstants.PUBLISHER_DEFAULT_VALUE;
+        }
+
+
+        @Override
+        public String getLanguage()
+        {
+            return EurostatConstants.LANGUAGE_DEFAULT_VALUE;
+        }
+
+
+        @Override
+        public List<String> getLabelLanguages()
+        {
+            return LABEL_LANGUAGES;
+        }
+
+
+        @Override
+        public Set<String> getFormats()
+        {
+            return new HashSet<>(Arrays.asList(EurostatConstants.FORMAT_DEFAULT_VALUE));
+        }
+
+
+        @Override
+        public Set<Rights> getRightsList()
+        {
+            return new HashSet<>(Arrays.asList(new Rights(EurostatConstants.RIGHTS_NAME_DEFAULT_VALUE,
+                                                          "en-US",
+                                                          EurostatConstants.RIGHTS_URI_DEFAULT_VALUE)));
+        }
+
+
+        @Override
+        public String getRestBaseUrl()
+        {
+            return EurostatConstants.REST_URL_BASE_DEFAULT_VALUE;
+        }
+
+
+        @Override
+        public List<String> getAllowedDimensions()
+        {
+            return Arrays.asList(EurostatConstants.ALLOWED_DIMENSIONS_DEFAULT_VALUE.split(","));
+        }
+
+
+        @Override
+        public DimensionSelection getDimensionSelection()
+        {
+            return DimensionSelection.valueOf(
+                       EurostatConstants.DIMENSION_SELECTION_DEFAULT_VALUE.toUpperCase(Locale.ENGLISH));
+        }
+
+
+        @Override
+        public synchronized HarvestFilter getHarvestFilter()
+        {
+            return HarvestFilter.compile(EurostatConstants.HARVEST_FILTER_DEFAULT_VALUE);
+        }
+
+
+        @Override
+        public String getDeltaIndexFolder()
+        {
+            return "";
+        }
+
+
+        @Override
+        public int getDuplicateFilterMegabytes()
+        {
+            return 0;
+        }
+
+
+        @Override
+        public DocumentProfile getDocumentProfile()
+        {
+            return documentProfile;
+        }
+
+
+        @Override
+        public File getGeoCodeFile()
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.structure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+
+/**
+ * This class compares the parse times of the {@linkplain SdmxSourceStructureReader}
+ * and the {@linkplain StaxStructureReader} on all recorded structure messages.
+ * The times are only logged, since they depend on the machine that runs the
+ * tests, but both readers must parse the same number of dimensions.
+ *
+ * @author agent
+ */
+public class StructureReaderBenchmarkTest
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StructureReaderBenchmarkTest.class);
+    private static final List<String> LABEL_LANGUAGES = Arrays.asList("en", "de", "fr");
+    private static final String FIXTURE_FOLDER = "/structures";
+    private static final String FIXTURE_GLOB = "*.xml";
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int TIMED_ROUNDS = 50;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String TIMING_RESULT = "%s: sdmxsource %.2f ms, StAX %.2f ms per message (%.1fx)";
+
+
+    /**
+     * Parses every recorded structure message repeatedly with both readers
+     * and logs the average parse time of each reader.
+     *
+     * @throws IOException if a fixture cannot be read
+     * @throws URISyntaxException if the fixtures cannot be located
+     * @throws SdmxException if a fixture cannot be parsed
+     */
+    @Test
+    public void testParseTimes() throws IOException, URISyntaxException, SdmxException
+    {
+        final Path fixtureFolder = Paths.get(getClass().getResource(FIXTURE_FOLDER).toURI());
+        int fixtureCount = 0;
+
+        try (DirectoryStream<Path> fixtures = Files.newDirectoryStream(fixtureFolder, FIXTURE_GLOB)) {
+            for (final Path fixture : fixtures) {
+                final byte[] structure = Files.readAllBytes(fixture);
+                final double sdmxSourceMillis = getAverageParseMillis(new SdmxSourceStructureReader(), structure);
+                final double staxMillis = getAverageParseMillis(new StaxStructureReader(), structure);
+
+                LOGGER.info(String.format(TIMING_RESULT,
+                                          fixture.getFileName(),
+                                          sdmxSourceMillis,
+                                          staxMillis,
+                                          sdmxSourceMillis / staxMillis));
+                fixtureCount++;
+            }
+        }
+
+        assertFalse("No structure messages were found!", fixtureCount == 0);
+    }
+
+
+    /**
+     * Parses a structure message repeatedly after a warm-up, and checks
+     * that every round yields the same data structure.
+     *
+     * @param reader the reader that parses the structure message
+     * @param structure the bytes of the structure message
+     *
+     * @throws SdmxException if the structure message cannot be parsed
+     *
+     * @return the average parse time in milliseconds
+     */
+    private static double getAverageParseMillis(final IStructureReader reader, final byte[] structure)
+    throws SdmxException
+    {
+        final DataStructureModel expected = reader.read(structure, LABEL_LANGUAGES);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+            reader.read(structure, LABEL_LANGUAGES);
+
+        final long startTime = System.nanoTime();
+
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            final DataStructureModel actual = reader.read(structure, LABEL_LANGUAGES);
+            assertEquals(expected.getDimensions().size(), actual.getDimensions().size());
+        }
+
+        return (double)(System.nanoTime() - startTime) / TIMED_ROUNDS / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright © 2026 agent (http://www.gerdi-project.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.gerdiproject.harvest.eurostat.structure;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.sdmxsource.sdmx.api.exception.SdmxException;
+
+import de.gerdiproject.harvest.etls.extractors.DataStructureModel;
+import de.gerdiproject.harvest.etls.extractors.DimensionCode;
+import de.gerdiproject.harvest.etls.extractors.DimensionModel;
+import de.gerdiproject.harvest.etls.extractors.LocalizedLabels;
+
+/**
+ * This class tests that the {@linkplain StaxStructureReader} yields the same
+ * data structures as the {@linkplain SdmxSourceStructureReader}, which builds
+ * a complete sdmxsource workspace, on recorded structure messages.
+ *
+ * @author agent
+ */
+public class StructureReaderEquivalenceTest
+{
+    private static final List<String> LABEL_LANGUAGES = Arrays.asList("en", "de", "fr");
+
+
+    /**
+     * Tests a data structure that refers to its concepts and code lists via
+     * Ref elements, and of which an attribute refers to a dimension.
+     *
+     * @throws IOException if the fixture cannot be read
+     * @throws URISyntaxException if the fixture cannot be located
+     * @throws SdmxException if the fixture cannot be parsed
+     */
+    @Test
+    public void testReferencesById() throws IOException, URISyntaxException, SdmxException
+    {
+        final DataStructureModel dataStructure = assertEquivalent("/structures/DSD_nama_10_gdp.xml");
+
+        assertEquals(Arrays.asList("FREQ", "UNIT", "NA_ITEM", "GEO"), getDimensionIds(dataStructure));
+    }
+
+
+    /**
+     * Tests a data structure that refers to its concepts and code lists via
+     * URNs, and of which some dimensions use the code lists of their concepts.
+     *
+     * @throws IOException if the fixture cannot be read
+     * @throws URISyntaxException if the fixture cannot be located
+     * @throws SdmxException if the fixture cannot be parsed
+     */
+    @Test
+    public void testReferencesByUrn() throws IOException, URISyntaxException, SdmxException
+    {
+        final DataStructureModel dataStructure = assertEquivalent("/structures/DSD_demo_r_gind3.xml");
+
+        assertEquals(Arrays.asList("FREQ", "INDIC_DE", "GEO"), getDimensionIds(dataStructure));
+    }
+
+
+    /**
+     * Parses a structure message with both readers and asserts that the
+     * data structures have the same dimensions, codes, and labels.
+     *
+     * @param fixture the path of the structure message on the class path
+     *
+     * @throws IOException if the fixture cannot be read
+     * @throws URISyntaxException if the fixture cannot be located
+     * @throws SdmxException if the fixture cannot be parsed
+     *
+     * @return the data structure that was parsed by the {@linkplain StaxStructureReader}
+     */
+    private DataStructureModel assertEquivalent(final String fixture)
+    throws IOException, URISyntaxException, SdmxException
+    {
+        final byte[] structure = Files.readAllBytes(Paths.get(getClass().getResource(fixture).toURI()));
+        final DataStructureModel expected = new SdmxSourceStructureReader().read(structure, LABEL_LANGUAGES);
+        final DataStructureModel actual = new StaxStructureReader().read(structure, LABEL_LANGUAGES);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(getDimensionIds(expected), getDimensionIds(actual));
+
+        for (int i = 0; i < expected.getDimensions().size(); i++) {
+            final DimensionModel expectedDimension = expected.getDimensions().get(i);
+            final DimensionModel actualDimension = actual.getDimensions().get(i);
+            assertEquals(expectedDimension.getCodes().size(), actualDimension.getCodes().size());
+
+            for (int j = 0; j < expectedDimension.getCodes().size(); j++)
+                assertEquivalent(expectedDimension.getId(),
+                                 expectedDimension.getCodes().get(j),
+                                 actualDimension.getCodes().get(j));
+        }
+
+        return actual;
+    }
+
+
+    /**
+     * Asserts that two codes have the same ID and the same labels.
+     *
+     * @param dimensionId the ID of the dimension of the codes
+     * @param expected the code that was parsed by sdmxsource
+     * @param actual the code that was parsed by the {@linkplain StaxStructureReader}
+     */
+    private static void assertEquivalent(final String dimensionId, final DimensionCode expected, final DimensionCode actual)
+    {
+        assertEquals(dimensionId, expected.getId(), actual.getId());
+
+        final LocalizedLabels expectedNames = expected.getNames();
+        final LocalizedLabels actualNames = actual.getNames();
+        assertEquals(expectedNames.size(), actualNames.size());
+
+        for (int i = 0; i < expectedNames.size(); i++) {
+            final String message = String.format("%s.%s [%s]", dimensionId, expected.getId(), LABEL_LANGUAGES.get(i));
+            assertEquals(message, expectedNames.get(i), actualNames.get(i));
+            assertEquals(message, expectedNames.isAvailable(i), actualNames.isAvailable(i));
+        }
+    }
+
+
+    /**
+     * Returns the IDs of the dimensions of a data structure.
+     *
+     * @param dataStructure the data structure
+     *
+     * @return the IDs of the dimensions in the order of the data structure
+     */
+    private static List<String> getDimensionIds(final DataStructureModel dataStructure)
+    {
+        final List<String> dimensionIds = new ArrayList<>();
+
+        for (final DimensionModel dimension : dataStructure.getDimensions())
+            dimensionIds.add(dimension.getId());
+
+        return dimensionIds;
+    }
+}